@@ -0,0 +1,19 @@
+package com.stock.bion.back.archive;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Sparse index entry for one independently gzip-compressed block of a segment. Records in a segment
+ * are sorted by {@code (createdAt, id)}, so {@code first*}/{@code last*} bound every record in the
+ * block.
+ */
+public record ArchiveBlock(
+        long offset,
+        int length,
+        int count,
+        Instant firstCreatedAt,
+        long firstId,
+        Instant lastCreatedAt,
+        long lastId,
+        List<Long> serviceIds) {}
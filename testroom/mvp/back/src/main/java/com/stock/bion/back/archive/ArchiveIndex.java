@@ -0,0 +1,6 @@
+package com.stock.bion.back.archive;
+
+import java.util.List;
+
+/** Contents of a segment's {@code .idx.json} sidecar. */
+public record ArchiveIndex(String segment, List<ArchiveBlock> blocks) {}
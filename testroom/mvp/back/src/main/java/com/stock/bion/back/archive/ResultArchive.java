@@ -0,0 +1,259 @@
+package com.stock.bion.back.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stock.bion.back.result.ResultCursor;
+import com.stock.bion.back.result.TestResultQuery;
+import com.stock.bion.back.result.TestResultSummary;
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only cold storage for result summaries that have left {@code test_results}.
+ *
+ * <p>Each {@link #append} writes one immutable segment: NDJSON records sorted by
+ * {@code (createdAt, id)} and cut into blocks of {@value #BLOCK_ROWS}, each block its own gzip
+ * member (so the file is still a plain {@code .ndjson.gz}). A small {@code .idx.json} sidecar
+ * holds every block's offset, time and id bounds and service ids; it is written last, so a segment
+ * without one is incomplete and ignored. All indexes are kept in memory. Queries memory-map the
+ * segments and decompress only blocks whose index entry can match, newest first, stopping at the
+ * first one that can no longer make it into the page.
+ */
+@Component
+@Slf4j
+public class ResultArchive {
+
+    static final int BLOCK_ROWS = 256;
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    private static final String INDEX_SUFFIX = ".idx.json";
+
+    private final Path dir;
+    private final ObjectMapper objectMapper;
+    private final List<LoadedBlock> blocks = new CopyOnWriteArrayList<>();
+    private final Map<Path, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+
+    public ResultArchive(@Value("${archive.dir:./data/archive}") Path dir, ObjectMapper objectMapper) {
+        this.dir = dir;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path index : files.filter(path -> path.toString().endsWith(INDEX_SUFFIX)).sorted().toList()) {
+                register(objectMapper.readValue(index.toFile(), ArchiveIndex.class));
+            }
+        }
+        log.info("Loaded {} archive blocks from {}", blocks.size(), dir);
+    }
+
+    public boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    /** Writes {@code results} as a new segment and makes it queryable. */
+    public void append(List<TestResultSummary> results) throws IOException {
+        if (results.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(dir);
+        List<TestResultSummary> sorted = new ArrayList<>(results);
+        sorted.sort(TestResultSummary.NEWEST_FIRST.reversed());
+
+        String name = "segment-" + sorted.get(0).getCreatedAt().toEpochMilli() + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+        Path temp = dir.resolve(name + ".tmp");
+        List<ArchiveBlock> index = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long offset = 0;
+            for (int start = 0; start < sorted.size(); start += BLOCK_ROWS) {
+                List<TestResultSummary> rows = sorted.subList(start, Math.min(start + BLOCK_ROWS, sorted.size()));
+                byte[] block = compress(rows);
+                channel.write(ByteBuffer.wrap(block));
+                index.add(describe(rows, offset, block.length));
+                offset += block.length;
+            }
+            channel.force(true);
+        }
+        Files.move(temp, dir.resolve(name + SEGMENT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+
+        ArchiveIndex archiveIndex = new ArchiveIndex(name + SEGMENT_SUFFIX, index);
+        Path indexTemp = dir.resolve(name + ".idx.tmp");
+        objectMapper.writeValue(indexTemp.toFile(), archiveIndex);
+        Files.move(indexTemp, dir.resolve(name + INDEX_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        register(archiveIndex);
+    }
+
+    /**
+     * Returns up to {@code limit} archived results matching {@code query} after {@code after}, in
+     * {@link TestResultSummary#NEWEST_FIRST} order.
+     */
+    public List<TestResultSummary> find(TestResultQuery query, ResultCursor after, int limit) {
+        List<LoadedBlock> candidates = blocks.stream()
+                .filter(block -> mayMatch(block.block(), query, after))
+                .sorted(Comparator.comparing((LoadedBlock block) -> block.block().lastCreatedAt())
+                        .thenComparing(block -> block.block().lastId())
+                        .reversed())
+                .toList();
+
+        TreeSet<TestResultSummary> page = new TreeSet<>(TestResultSummary.NEWEST_FIRST);
+        for (LoadedBlock candidate : candidates) {
+            // Once the page is full, a block whose newest row is older than the page's oldest entry has
+            // nothing left to add, and neither has any block after it.
+            ArchiveBlock block = candidate.block();
+            if (page.size() >= limit && ResultCursor.of(page.last()).admits(block.lastCreatedAt(), block.lastId())) {
+                break;
+            }
+            for (TestResultSummary result : read(candidate)) {
+                if (matches(result, query, after)) {
+                    page.add(result);
+                    if (page.size() > limit) {
+                        page.pollLast();
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(page);
+    }
+
+    private void register(ArchiveIndex index) {
+        Path segment = dir.resolve(index.segment());
+        for (ArchiveBlock block : index.blocks()) {
+            blocks.add(new LoadedBlock(segment, block));
+        }
+    }
+
+    private byte[] compress(List<TestResultSummary> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            for (TestResultSummary row : rows) {
+                out.write(objectMapper.writeValueAsString(row));
+                out.write('\n');
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ArchiveBlock describe(List<TestResultSummary> rows, long offset, int length) {
+        TestResultSummary first = rows.get(0);
+        TestResultSummary last = rows.get(rows.size() - 1);
+        List<Long> serviceIds = rows.stream()
+                .map(TestResultSummary::getServiceId)
+                .filter(id -> id != null)
+                .distinct()
+                .sorted()
+                .toList();
+        return new ArchiveBlock(
+                offset, length, rows.size(),
+                first.getCreatedAt(), first.getId(), last.getCreatedAt(), last.getId(), serviceIds);
+    }
+
+    private List<TestResultSummary> read(LoadedBlock loaded) {
+        ArchiveBlock block = loaded.block();
+        ByteBuffer slice = mapping(loaded.segment()).slice((int) block.offset(), block.length());
+        List<TestResultSummary> rows = new ArrayList<>(block.count());
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteBufferInputStream(slice)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    rows.add(objectMapper.readValue(line, TestResultSummary.class));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read archive segment " + loaded.segment(), ex);
+        }
+        return rows;
+    }
+
+    private MappedByteBuffer mapping(Path segment) {
+        return mappings.computeIfAbsent(segment, path -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to map archive segment " + path, ex);
+            }
+        });
+    }
+
+    private static boolean mayMatch(ArchiveBlock block, TestResultQuery query, ResultCursor after) {
+        if (query.getFrom() != null && block.lastCreatedAt().isBefore(query.getFrom())) {
+            return false;
+        }
+        if (query.getTo() != null && !block.firstCreatedAt().isBefore(query.getTo())) {
+            return false;
+        }
+        if (after != null && !after.admits(block.firstCreatedAt(), block.firstId())) {
+            return false;
+        }
+        return query.getServiceId() == null || block.serviceIds().contains(query.getServiceId());
+    }
+
+    private static boolean matches(TestResultSummary result, TestResultQuery query, ResultCursor after) {
+        return (query.getServiceId() == null || query.getServiceId().equals(result.getServiceId()))
+                && (query.getScenarioId() == null || query.getScenarioId().equals(result.getScenarioId()))
+                && (query.getStatus() == null || query.getStatus().equals(result.getStatus()))
+                && (query.getScope() == null || query.getScope() == result.getScope())
+                && (query.getFrom() == null || !result.getCreatedAt().isBefore(query.getFrom()))
+                && (query.getTo() == null || result.getCreatedAt().isBefore(query.getTo()))
+                && (after == null || after.admits(result.getCreatedAt(), result.getId()));
+    }
+
+    private record LoadedBlock(Path segment, ArchiveBlock block) {}
+
+    /** Reads a slice of a mapped segment without copying it onto the heap first. */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+}
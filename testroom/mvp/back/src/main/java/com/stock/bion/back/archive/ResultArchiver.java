@@ -0,0 +1,163 @@
+package com.stock.bion.back.archive;
+
+import com.stock.bion.back.result.TestResultSummary;
+import com.stock.bion.back.runner.RunScope;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves results older than {@code archive.after} out of {@code test_results} into
+ * {@link ResultArchive} segments, {@code archive.segment-rows} per segment. Only rows whose
+ * artifacts retention has already released ({@code artifacts_cleared_at} is set) are moved, and
+ * never the newest {@code retention.keep-last} runs of a scenario or full-service run series. A
+ * segment is made durable before its rows are deleted (in chunks, each in its own transaction);
+ * should the delete not happen, the rows are archived again next time and the results listing
+ * drops the duplicates by run id.
+ */
+@Component
+@Slf4j
+public class ResultArchiver {
+
+    private static final int DELETE_CHUNK = 500;
+    private static final String[] BREAKDOWN_TABLES = {
+            "step_results", "scenario_results", "feature_results", "search_postings", "duration_regressions",
+            "report_slices"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ResultArchive resultArchive;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration after;
+    private final int segmentRows;
+    private final int keepLast;
+
+    public ResultArchiver(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ResultArchive resultArchive,
+            Clock clock,
+            @Value("${archive.enabled:false}") boolean enabled,
+            @Value("${archive.after:180d}") Duration after,
+            @Value("${archive.segment-rows:10000}") int segmentRows,
+            @Value("${retention.keep-last:10}") int keepLast) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.resultArchive = resultArchive;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.after = after;
+        this.segmentRows = Math.max(segmentRows, 1);
+        this.keepLast = keepLast;
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /** Returns the number of results moved into the archive. */
+    public long archive() {
+        Instant cutoff = Instant.now(clock).minus(after);
+        Set<Long> kept = newestRunIds();
+        long moved = 0;
+        long afterId = 0;
+        while (true) {
+            List<TestResultSummary> rows = jdbcTemplate.query(
+                    "select id, scope, service_id, service_name, scenario_id, scenario_title, service_full_run,"
+                            + " status, duration_ms, run_id, error, http_status, passed_steps, failed_steps,"
+                            + " skipped_steps, undefined_steps, duration_regressions, created_at from test_results"
+                            + " where created_at < ? and id > ?"
+                            + " and artifacts_cleared_at is not null"
+                            + " order by id fetch first " + segmentRows + " rows only",
+                    ResultArchiver::summary,
+                    Timestamp.from(cutoff),
+                    afterId);
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+            rows = rows.stream().filter(row -> !kept.contains(row.getId())).toList();
+            if (rows.isEmpty()) {
+                continue;
+            }
+            try {
+                resultArchive.append(rows);
+            } catch (IOException ex) {
+                log.error("Failed to write archive segment; {} results stay in the database", rows.size(), ex);
+                break;
+            }
+            delete(rows.stream().map(TestResultSummary::getId).toList());
+            moved += rows.size();
+        }
+        if (moved > 0) {
+            log.info("Archived {} results older than {}", moved, cutoff);
+        }
+        return moved;
+    }
+
+    private Set<Long> newestRunIds() {
+        if (keepLast <= 0) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select id from (select id, row_number() over ("
+                        + "partition by scope, service_id, scenario_id order by created_at desc, id desc) as rn"
+                        + " from test_results) ranked where rn <= ?",
+                Long.class,
+                keepLast));
+    }
+
+    private void delete(List<Long> ids) {
+        for (int start = 0; start < ids.size(); start += DELETE_CHUNK) {
+            List<Long> chunk = ids.subList(start, Math.min(start + DELETE_CHUNK, ids.size()));
+            String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = chunk.toArray();
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (String table : BREAKDOWN_TABLES) {
+                    jdbcTemplate.update("delete from " + table + " where result_id in (" + in + ")", args);
+                }
+                jdbcTemplate.update("delete from test_results where id in (" + in + ")", args);
+            });
+        }
+    }
+
+    private static TestResultSummary summary(ResultSet rs, int row) throws SQLException {
+        return new TestResultSummary(
+                rs.getLong("id"),
+                RunScope.valueOf(rs.getString("scope")),
+                rs.getObject("service_id", Long.class),
+                rs.getString("service_name"),
+                rs.getObject("scenario_id", Long.class),
+                rs.getString("scenario_title"),
+                rs.getObject("service_full_run", Boolean.class),
+                rs.getString("status"),
+                rs.getObject("duration_ms", Long.class),
+                rs.getString("run_id"),
+                rs.getString("error"),
+                rs.getObject("http_status", Integer.class),
+                rs.getObject("passed_steps", Integer.class),
+                rs.getObject("failed_steps", Integer.class),
+                rs.getObject("skipped_steps", Integer.class),
+                rs.getObject("undefined_steps", Integer.class),
+                rs.getObject("duration_regressions", Integer.class),
+                rs.getTimestamp("created_at").toInstant());
+    }
+}
@@ -0,0 +1,78 @@
+package com.stock.bion.back.artifact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Content-addressed storage for run artifacts (stdout, stderr, cucumber reports). Content is keyed
+ * by its SHA-256 so identical artifacts are stored once, and is always read back as a stream.
+ */
+public interface ArtifactStore {
+
+    /**
+     * Stores whatever {@code writer} writes and returns the content key. The writer receives the
+     * uncompressed stream; hashing and compression happen on the fly.
+     */
+    String put(ArtifactWriter writer) throws IOException;
+
+    /** Opens the uncompressed content of {@code key}. */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Opens the uncompressed content of {@code key} from byte {@code offset} on. By default the
+     * bytes before the offset are decompressed and discarded; stores that compress in blocks
+     * start at the block that holds the offset instead.
+     */
+    default InputStream open(String key, long offset) throws IOException {
+        InputStream in = open(key);
+        try {
+            in.skipNBytes(offset);
+        } catch (IOException ex) {
+            in.close();
+            throw ex;
+        }
+        return in;
+    }
+
+    boolean exists(String key);
+
+    /** Stored (compressed) size in bytes, or {@code 0} if the key is unknown. */
+    long size(String key);
+
+    /**
+     * When {@code key} was last put, including puts that found the content already stored, or
+     * {@code null} if the key is unknown. Garbage collection uses it to leave alone artifacts that
+     * were referenced again while it was deciding to delete them.
+     */
+    Instant lastWritten(String key);
+
+    void delete(String key) throws IOException;
+
+    default String put(InputStream content) throws IOException {
+        return put(content::transferTo);
+    }
+
+    default String put(Reader content) throws IOException {
+        return put(out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            content.transferTo(writer);
+            writer.flush();
+        });
+    }
+
+    default String put(String content) throws IOException {
+        return put(out -> out.write(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @FunctionalInterface
+    interface ArtifactWriter {
+
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,291 @@
+package com.stock.bion.back.artifact;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps artifacts as gzip files under {@code artifacts.dir}, fanned out as {@code ab/cd/<sha256>.gz}.
+ * Content is hashed and compressed while it is written to a temp file, which is then moved into
+ * place; if the key already exists the temp file is dropped, so duplicates cost no extra space.
+ *
+ * <p>Content is compressed in blocks of {@value #BLOCK_SIZE} bytes, each its own gzip member whose
+ * header carries the member's compressed length in a {@code BK} extra field. The file is still a
+ * plain {@code .gz}, and {@link #open(String, long)} steps from header to header to the block that
+ * holds the offset, inflating nothing before it. Files written before, as a single member, are
+ * read from the start instead.
+ */
+@Component
+@ConditionalOnProperty(name = "artifacts.store", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalArtifactStore implements ArtifactStore {
+
+    static final int BLOCK_SIZE = 64 * 1024;
+    private static final String SUFFIX = ".gz";
+    private static final int HEADER_SIZE = 20;
+
+    private final Path root;
+
+    public LocalArtifactStore(@Value("${artifacts.dir:${java.io.tmpdir}/bion-artifacts}") Path root)
+            throws IOException {
+        this.root = Files.createDirectories(root);
+    }
+
+    @Override
+    public String put(ArtifactWriter writer) throws IOException {
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp));
+                    OutputStream blocks = new BlockGzipOutputStream(file);
+                    OutputStream hashing = new DigestingOutputStream(blocks, digest)) {
+                writer.writeTo(hashing);
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = path(key);
+            if (Files.exists(target)) {
+                touch(target);
+                return key;
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                // Stored concurrently by another writer; same content, nothing to do.
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return new GZIPInputStream(Files.newInputStream(path(key)), 64 * 1024);
+    }
+
+    @Override
+    public InputStream open(String key, long offset) throws IOException {
+        FileChannel channel = FileChannel.open(path(key), StandardOpenOption.READ);
+        try {
+            long position = 0;
+            long skip = offset;
+            while (skip >= BLOCK_SIZE && position < channel.size()) {
+                long length = memberLength(channel, position);
+                if (length < 0) {
+                    channel.close();
+                    return ArtifactStore.super.open(key, offset);
+                }
+                position += length;
+                skip -= BLOCK_SIZE;
+            }
+            if (position >= channel.size()) {
+                channel.close();
+                return InputStream.nullInputStream();
+            }
+            InputStream in = new GZIPInputStream(Channels.newInputStream(channel.position(position)), 64 * 1024);
+            in.skipNBytes(skip);
+            return in;
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(path(key));
+    }
+
+    @Override
+    public long size(String key) {
+        try {
+            return Files.size(path(key));
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+
+    @Override
+    public Instant lastWritten(String key) {
+        try {
+            return Files.getLastModifiedTime(path(key)).toInstant();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(path(key));
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException ex) {
+            log.debug("Could not touch {}", file, ex);
+        }
+    }
+
+    private Path path(String key) {
+        if (key.length() < 4 || !key.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException("Invalid artifact key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key + SUFFIX);
+    }
+
+    // The compressed length of the member at position, or -1 if its header has no BK field.
+    private static long memberLength(FileChannel channel, long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, position + header.position()) < 0) {
+                return -1;
+            }
+        }
+        if (header.get(3) != BlockGzipOutputStream.FLAGS
+                || header.getShort(10) != 8
+                || header.get(12) != 'B'
+                || header.get(13) != 'K') {
+            return -1;
+        }
+        return Integer.toUnsignedLong(header.getInt(16));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /** Hashes the uncompressed bytes on their way into the compressor. */
+    private static final class DigestingOutputStream extends FilterOutputStream {
+
+        private final MessageDigest digest;
+
+        DigestingOutputStream(OutputStream out, MessageDigest digest) {
+            super(out);
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            digest.update((byte) b);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            digest.update(b, off, len);
+            out.write(b, off, len);
+        }
+    }
+
+    /**
+     * Compresses every {@value #BLOCK_SIZE} bytes into a gzip member of its own. Each member is
+     * deflated in memory first, so its header can say how long it is.
+     */
+    private static final class BlockGzipOutputStream extends OutputStream {
+
+        static final byte FLAGS = 4; // FEXTRA
+
+        private final OutputStream out;
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private final byte[] chunk = new byte[8192];
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        private final CRC32 crc = new CRC32();
+        private int filled;
+        private boolean written;
+        private boolean closed;
+
+        BlockGzipOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, BLOCK_SIZE - filled);
+                System.arraycopy(b, off, block, filled, n);
+                filled += n;
+                off += n;
+                len -= n;
+                if (filled == BLOCK_SIZE) {
+                    writeMember();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                // Empty content still gets one (empty) member, so it reads back as valid gzip.
+                if (filled > 0 || !written) {
+                    writeMember();
+                }
+                out.close();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        private void writeMember() throws IOException {
+            deflater.reset();
+            deflater.setInput(block, 0, filled);
+            deflater.finish();
+            compressed.reset();
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            crc.reset();
+            crc.update(block, 0, filled);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                    .put((byte) 0x1f).put((byte) 0x8b).put((byte) Deflater.DEFLATED).put(FLAGS)
+                    .putInt(0).put((byte) 0).put((byte) 0xff)
+                    .putShort((short) 8).put((byte) 'B').put((byte) 'K').putShort((short) 4)
+                    .putInt(HEADER_SIZE + compressed.size() + 8);
+            out.write(header.array());
+            compressed.writeTo(out);
+            out.write(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt((int) crc.getValue()).putInt(filled).array());
+            filled = 0;
+            written = true;
+        }
+    }
+}
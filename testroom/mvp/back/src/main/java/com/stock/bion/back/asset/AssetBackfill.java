@@ -0,0 +1,111 @@
+package com.stock.bion.back.asset;
+
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the text of feature and step files saved before the {@link AssetStore} existed into it.
+ * Those rows keep their text in the old {@code content} column and have no {@code content_hash};
+ * when the application starts each of them is put into the store and given its hash (and its
+ * length, for scenario files), {@value #BATCH_SIZE} rows per transaction. The old column is made
+ * nullable, since files saved now leave it empty, and is otherwise left as it is.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AssetBackfill {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final List<Table> TABLES = List.of(
+            new Table("scenario_features", List.of("scenario_id", "position"), true),
+            new Table("scenario_steps", List.of("scenario_id", "position"), true),
+            new Table("service_steps", List.of("id"), false));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AssetStore assetStore;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (Table table : TABLES) {
+            List<Map<String, Object>> column = jdbcTemplate.queryForList(
+                    "select data_type, is_nullable from information_schema.columns"
+                            + " where lower(table_name) = ? and lower(column_name) = 'content'",
+                    table.name());
+            if (column.isEmpty()) {
+                continue;
+            }
+            if ("NO".equalsIgnoreCase(String.valueOf(column.get(0).get("is_nullable")))) {
+                jdbcTemplate.execute("alter table " + table.name() + " alter column content drop not null");
+            }
+            boolean largeObject = "oid".equalsIgnoreCase(String.valueOf(column.get(0).get("data_type")));
+            int moved = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute(tx -> moveBatch(table, largeObject));
+                moved += batch;
+            } while (batch == BATCH_SIZE);
+            if (moved > 0) {
+                log.info("Moved the content of {} {} rows to the asset store", moved, table.name());
+            }
+        }
+    }
+
+    private int moveBatch(Table table, boolean largeObject) {
+        String keys = String.join(", ", table.keys());
+        List<Object[]> rows = jdbcTemplate.query(
+                "select " + keys + ", content from " + table.name() + " where content_hash is null"
+                        + " order by " + keys + " fetch first " + BATCH_SIZE + " rows only",
+                (rs, row) -> row(rs, table, largeObject));
+        List<Object[]> updates = new ArrayList<>();
+        for (Object[] row : rows) {
+            String content = (String) row[row.length - 1];
+            List<Object> values = new ArrayList<>();
+            values.add(assetStore.put(content));
+            if (table.hasLength()) {
+                values.add((long) content.length());
+            }
+            values.addAll(List.of(row).subList(0, row.length - 1));
+            updates.add(values.toArray());
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "update " + table.name() + " set content_hash = ?"
+                            + (table.hasLength() ? ", content_length = ?" : "")
+                            + " where " + String.join(" = ? and ", table.keys()) + " = ?",
+                    updates);
+        }
+        return rows.size();
+    }
+
+    // The key columns followed by the text, which is read as a large object where it was stored as one.
+    private static Object[] row(ResultSet rs, Table table, boolean largeObject) throws SQLException {
+        Object[] row = new Object[table.keys().size() + 1];
+        for (int i = 0; i < table.keys().size(); i++) {
+            row[i] = rs.getObject(table.keys().get(i));
+        }
+        String content;
+        if (largeObject) {
+            Clob clob = rs.getClob("content");
+            content = clob != null ? clob.getSubString(1, (int) clob.length()) : null;
+        } else {
+            content = rs.getString("content");
+        }
+        row[row.length - 1] = content != null ? content : "";
+        return row;
+    }
+
+    private record Table(String name, List<String> keys, boolean hasLength) {}
+}
@@ -0,0 +1,42 @@
+package com.stock.bion.back.asset;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The text of a feature or step file, stored once however many scenarios and step libraries use
+ * it. {@code refCount} is the number of those uses; {@code updatedAt} is when it last changed.
+ */
+@Entity
+@Table(name = "asset_blobs", indexes = @Index(name = "idx_asset_blobs_ref_count", columnList = "ref_count"))
+@Getter
+@NoArgsConstructor
+public class AssetBlob {
+
+    @Id
+    @Column(length = AssetHash.LENGTH)
+    private String hash;
+
+    @Lob
+    @Column(nullable = false)
+    private String content;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    AssetBlob(String hash, String content, Instant updatedAt) {
+        this.hash = hash;
+        this.content = content;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,23 @@
+package com.stock.bion.back.asset;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** Keys of the {@link AssetStore}: the hex SHA-256 of a text's UTF-8 bytes. */
+public final class AssetHash {
+
+    public static final int LENGTH = 64;
+
+    private AssetHash() {}
+
+    public static String of(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
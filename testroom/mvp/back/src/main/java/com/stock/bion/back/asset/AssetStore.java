@@ -0,0 +1,124 @@
+package com.stock.bion.back.asset;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Content-addressed storage for the text of feature and step files. Files refer to their text by
+ * {@link AssetHash}, so identical text is stored once, and every reference is counted: writers
+ * {@link #put} the text of a file they save and {@link #release} the hash of one they replace or
+ * delete, in the transaction that changes the file. Text that is no longer referenced is deleted
+ * once it has stayed unreferenced for {@code assets.gc-grace}.
+ */
+@Component
+@Slf4j
+public class AssetStore {
+
+    private static final int SELECT_CHUNK = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate separateTransaction;
+    private final Clock clock;
+    private final Duration grace;
+
+    public AssetStore(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            @Value("${assets.gc-grace:1h}") Duration grace) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.grace = grace;
+    }
+
+    /** Stores {@code content} unless it is stored already, counts one more reference and returns its hash. */
+    public String put(String content) {
+        String hash = AssetHash.of(content);
+        if (retain(hash)) {
+            return hash;
+        }
+        // Created unreferenced and committed on its own, so a concurrent put of the same text just
+        // fails to create it too; the grace period keeps it from being collected in between.
+        RuntimeException failure = null;
+        try {
+            separateTransaction.executeWithoutResult(tx -> {
+                entityManager.persist(new AssetBlob(hash, content, Instant.now(clock)));
+                entityManager.flush();
+            });
+        } catch (RuntimeException ex) {
+            failure = ex;
+        }
+        if (!retain(hash)) {
+            IllegalStateException missing = new IllegalStateException("Failed to store asset " + hash);
+            if (failure != null) {
+                missing.initCause(failure);
+            }
+            throw missing;
+        }
+        return hash;
+    }
+
+    /** Drops one reference to each of {@code hashes}; a hash listed twice loses two. */
+    public void release(Collection<String> hashes) {
+        if (hashes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now(clock));
+        jdbcTemplate.batchUpdate(
+                "update asset_blobs set ref_count = ref_count - 1, updated_at = ? where hash = ? and ref_count > 0",
+                hashes.stream().map(hash -> new Object[] {now, hash}).toList());
+    }
+
+    /** The text of each of {@code hashes} that is stored, by hash. */
+    public Map<String, String> contents(Collection<String> hashes) {
+        List<String> distinct = hashes.stream().filter(Objects::nonNull).distinct().toList();
+        Map<String, String> contents = new HashMap<>();
+        for (int start = 0; start < distinct.size(); start += SELECT_CHUNK) {
+            entityManager.createQuery(
+                            "select b.hash, b.content from AssetBlob b where b.hash in :hashes", Object[].class)
+                    .setParameter("hashes", distinct.subList(start, Math.min(start + SELECT_CHUNK, distinct.size())))
+                    .getResultList()
+                    .forEach(row -> contents.put((String) row[0], (String) row[1]));
+        }
+        return contents;
+    }
+
+    @Scheduled(cron = "${assets.gc-cron:0 15 * * * *}")
+    public int collect() {
+        int deleted = jdbcTemplate.update(
+                "delete from asset_blobs where ref_count = 0 and updated_at < ?",
+                Timestamp.from(Instant.now(clock).minus(grace)));
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced assets", deleted);
+        }
+        return deleted;
+    }
+
+    private boolean retain(String hash) {
+        return jdbcTemplate.update(
+                "update asset_blobs set ref_count = ref_count + 1, updated_at = ? where hash = ?",
+                Timestamp.from(Instant.now(clock)), hash) == 1;
+    }
+}
@@ -32,10 +32,14 @@ public class SecurityConfig {
                 .requestMatchers(
                         "/api/users/register",
                         "/api/auth/login",
+                        "/api/flakiness",
+                        "/api/regressions",
                         "/api/run",
                         "/api/results",
+                        "/api/results/**",
                         "/api/scenarios/**",
                         "/api/services/**",
+                        "/api/step-results/**",
                         "/api/types/**")
                 .permitAll()
                 .anyRequest().authenticated())
@@ -0,0 +1,11 @@
+package com.stock.bion.back.diff;
+
+/** How a feature, scenario or step of the head run differs from the base run. */
+public enum DiffChange {
+    ADDED,
+    REMOVED,
+    STATUS_CHANGED,
+    SLOWER,
+    FASTER,
+    UNCHANGED
+}
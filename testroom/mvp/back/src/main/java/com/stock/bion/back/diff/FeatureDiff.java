@@ -0,0 +1,21 @@
+package com.stock.bion.back.diff;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class FeatureDiff {
+
+    String uri;
+    String name;
+    DiffChange change;
+    String baseStatus;
+    String headStatus;
+    Long baseDurationMs;
+    Long headDurationMs;
+    Long durationDeltaMs;
+    /** Only the scenarios that differ. */
+    List<ScenarioDiff> scenarios;
+}
@@ -0,0 +1,26 @@
+package com.stock.bion.back.diff;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+/** What changed from the base run to the head run, listing only the features that differ. */
+@Value
+@Builder
+public class ResultDiff {
+
+    Long baseId;
+    Long headId;
+    String baseStatus;
+    String headStatus;
+    Long durationDeltaMs;
+    int scenariosAdded;
+    int scenariosRemoved;
+    /** Scenarios that failed in the head run but not in the base run. */
+    int newlyFailing;
+    /** Scenarios that failed in the base run and passed in the head run. */
+    int fixed;
+    int slower;
+    int faster;
+    List<FeatureDiff> features;
+}
@@ -0,0 +1,32 @@
+package com.stock.bion.back.diff;
+
+import com.stock.bion.back.result.ResultRecorder;
+import com.stock.bion.back.result.TestResultNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/results")
+@RequiredArgsConstructor
+public class ResultDiffController {
+
+    private final ResultDiffService resultDiffService;
+    private final ResultRecorder resultRecorder;
+
+    /** Features, scenarios and steps whose status or duration changed from run {@code a} to run {@code b}. */
+    @GetMapping("/{a}/diff/{b}")
+    public ResultDiff diff(@PathVariable Long a, @PathVariable Long b) {
+        resultRecorder.awaitFlush();
+        return resultDiffService.diff(a, b);
+    }
+
+    @ExceptionHandler(TestResultNotFoundException.class)
+    public ResponseEntity<Void> handleNotFound() {
+        return ResponseEntity.notFound().build();
+    }
+}
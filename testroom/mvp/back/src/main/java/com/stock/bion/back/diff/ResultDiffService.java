@@ -0,0 +1,71 @@
+package com.stock.bion.back.diff;
+
+import com.stock.bion.back.report.ReportBreakdownReader;
+import com.stock.bion.back.result.TestResult;
+import com.stock.bion.back.result.TestResultNotFoundException;
+import com.stock.bion.back.result.TestResultRepository;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Diffs two stored runs from their report breakdown rows. Stored runs never change, so each diff
+ * is computed once and kept in a bounded least-recently-used cache keyed by the pair of result ids.
+ */
+@Service
+public class ResultDiffService {
+
+    private final TestResultRepository testResultRepository;
+    private final ReportBreakdownReader reportBreakdownReader;
+    private final Map<DiffKey, ResultDiff> cache;
+
+    public ResultDiffService(
+            TestResultRepository testResultRepository,
+            ReportBreakdownReader reportBreakdownReader,
+            @Value("${results.diff.cache-size:256}") int cacheSize) {
+        this.testResultRepository = testResultRepository;
+        this.reportBreakdownReader = reportBreakdownReader;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DiffKey, ResultDiff> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * @throws TestResultNotFoundException if either result does not exist
+     */
+    @Transactional(readOnly = true)
+    public ResultDiff diff(Long baseId, Long headId) {
+        DiffKey key = new DiffKey(baseId, headId);
+        ResultDiff cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        TestResult base = find(baseId);
+        TestResult head = find(headId);
+        ResultDiff diff = ResultDiffer.diff(
+                ResultDiff.builder()
+                        .baseId(baseId)
+                        .headId(headId)
+                        .baseStatus(base.getStatus())
+                        .headStatus(head.getStatus())
+                        .durationDeltaMs(base.getDurationMs() != null && head.getDurationMs() != null
+                                ? head.getDurationMs() - base.getDurationMs()
+                                : null),
+                reportBreakdownReader.read(baseId),
+                reportBreakdownReader.read(headId));
+        cache.put(key, diff);
+        return diff;
+    }
+
+    private TestResult find(Long id) {
+        return testResultRepository.findById(id).orElseThrow(() -> new TestResultNotFoundException(id));
+    }
+
+    private record DiffKey(Long baseId, Long headId) {}
+}
@@ -0,0 +1,212 @@
+package com.stock.bion.back.diff;
+
+import com.stock.bion.back.report.ReportBreakdown;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Compares the breakdowns of two runs. Features are matched by uri, scenarios by name and steps by
+ * keyword and name, the n-th occurrence of a name with the n-th one of the other run, so outline
+ * examples and repeated steps line up. A duration only counts as changed when it moved by at least
+ * {@value #MIN_DELTA_MS} ms and {@value #MIN_DELTA_PERCENT}%, so jitter does not flood the diff.
+ */
+final class ResultDiffer {
+
+    static final long MIN_DELTA_MS = 100;
+    static final long MIN_DELTA_PERCENT = 20;
+
+    private int scenariosAdded;
+    private int scenariosRemoved;
+    private int newlyFailing;
+    private int fixed;
+    private int slower;
+    private int faster;
+
+    private ResultDiffer() {}
+
+    /** Completes {@code diff} with the differences between {@code base} and {@code head}. */
+    static ResultDiff diff(ResultDiff.ResultDiffBuilder diff, ReportBreakdown base, ReportBreakdown head) {
+        ResultDiffer differ = new ResultDiffer();
+        List<FeatureDiff> features = new ArrayList<>();
+        for (Pair<ReportBreakdown.Feature> pair
+                : match(base.features(), head.features(), ReportBreakdown.Feature::uri)) {
+            FeatureDiff feature = differ.feature(pair.base(), pair.head());
+            if (feature != null) {
+                features.add(feature);
+            }
+        }
+        return diff.scenariosAdded(differ.scenariosAdded)
+                .scenariosRemoved(differ.scenariosRemoved)
+                .newlyFailing(differ.newlyFailing)
+                .fixed(differ.fixed)
+                .slower(differ.slower)
+                .faster(differ.faster)
+                .features(features)
+                .build();
+    }
+
+    private FeatureDiff feature(ReportBreakdown.Feature base, ReportBreakdown.Feature head) {
+        List<ReportBreakdown.Scenario> baseScenarios = base != null ? base.scenarios() : List.of();
+        List<ReportBreakdown.Scenario> headScenarios = head != null ? head.scenarios() : List.of();
+        List<ScenarioDiff> scenarios = new ArrayList<>();
+        for (Pair<ReportBreakdown.Scenario> pair
+                : match(baseScenarios, headScenarios, ReportBreakdown.Scenario::name)) {
+            ScenarioDiff scenario = scenario(pair.base(), pair.head());
+            if (scenario != null) {
+                scenarios.add(scenario);
+            }
+        }
+        ReportBreakdown.Feature either = head != null ? head : base;
+        DiffChange change = change(
+                base != null ? base.status() : null, head != null ? head.status() : null,
+                base != null ? base.durationNs() : null, head != null ? head.durationNs() : null);
+        if (change == DiffChange.UNCHANGED && scenarios.isEmpty()) {
+            return null;
+        }
+        return FeatureDiff.builder()
+                .uri(either.uri())
+                .name(either.name())
+                .change(change)
+                .baseStatus(base != null ? base.status() : null)
+                .headStatus(head != null ? head.status() : null)
+                .baseDurationMs(base != null ? millis(base.durationNs()) : null)
+                .headDurationMs(head != null ? millis(head.durationNs()) : null)
+                .durationDeltaMs(base != null && head != null ? millis(head.durationNs() - base.durationNs()) : null)
+                .scenarios(scenarios)
+                .build();
+    }
+
+    private ScenarioDiff scenario(ReportBreakdown.Scenario base, ReportBreakdown.Scenario head) {
+        String baseStatus = base != null ? base.status() : null;
+        String headStatus = head != null ? head.status() : null;
+        DiffChange change = change(
+                baseStatus, headStatus,
+                base != null ? base.durationNs() : null, head != null ? head.durationNs() : null);
+        count(change, baseStatus, headStatus);
+
+        List<StepDiff> steps = new ArrayList<>();
+        if (base != null && head != null) {
+            List<Pair<ReportBreakdown.Step>> pairs = match(base.steps(), head.steps(), ResultDiffer::stepText);
+            for (Pair<ReportBreakdown.Step> pair : pairs) {
+                StepDiff step = step(pair.base(), pair.head());
+                if (step != null) {
+                    steps.add(step);
+                }
+            }
+        }
+        if (change == DiffChange.UNCHANGED && steps.isEmpty()) {
+            return null;
+        }
+        ReportBreakdown.Scenario either = head != null ? head : base;
+        return ScenarioDiff.builder()
+                .name(either.name())
+                .line(either.line())
+                .change(change)
+                .baseStatus(baseStatus)
+                .headStatus(headStatus)
+                .baseDurationMs(base != null ? millis(base.durationNs()) : null)
+                .headDurationMs(head != null ? millis(head.durationNs()) : null)
+                .durationDeltaMs(base != null && head != null ? millis(head.durationNs() - base.durationNs()) : null)
+                .errorMessage(head != null ? head.errorMessage() : null)
+                .steps(steps)
+                .build();
+    }
+
+    private static StepDiff step(ReportBreakdown.Step base, ReportBreakdown.Step head) {
+        DiffChange change = change(
+                base != null ? base.status() : null, head != null ? head.status() : null,
+                base != null ? base.durationNs() : null, head != null ? head.durationNs() : null);
+        if (change == DiffChange.UNCHANGED) {
+            return null;
+        }
+        ReportBreakdown.Step either = head != null ? head : base;
+        return StepDiff.builder()
+                .position(either.position())
+                .text(stepText(either))
+                .change(change)
+                .baseStatus(base != null ? base.status() : null)
+                .headStatus(head != null ? head.status() : null)
+                .baseDurationMs(base != null ? millis(base.durationNs()) : null)
+                .headDurationMs(head != null ? millis(head.durationNs()) : null)
+                .durationDeltaMs(base != null && head != null ? millis(head.durationNs() - base.durationNs()) : null)
+                .errorMessage(head != null ? head.errorMessage() : null)
+                .build();
+    }
+
+    private void count(DiffChange change, String baseStatus, String headStatus) {
+        switch (change) {
+            case ADDED -> scenariosAdded++;
+            case REMOVED -> scenariosRemoved++;
+            case SLOWER -> slower++;
+            case FASTER -> faster++;
+            default -> { }
+        }
+        boolean failedBefore = ReportBreakdown.FAILED.equals(baseStatus);
+        boolean failsNow = ReportBreakdown.FAILED.equals(headStatus);
+        if (failsNow && !failedBefore) {
+            newlyFailing++;
+        } else if (failedBefore && ReportBreakdown.PASSED.equals(headStatus)) {
+            fixed++;
+        }
+    }
+
+    static DiffChange change(String baseStatus, String headStatus, Long baseNs, Long headNs) {
+        if (baseStatus == null && baseNs == null) {
+            return DiffChange.ADDED;
+        }
+        if (headStatus == null && headNs == null) {
+            return DiffChange.REMOVED;
+        }
+        if (!Objects.equals(baseStatus, headStatus)) {
+            return DiffChange.STATUS_CHANGED;
+        }
+        long baseMs = millis(baseNs);
+        long deltaMs = millis(headNs) - baseMs;
+        if (Math.abs(deltaMs) < MIN_DELTA_MS || Math.abs(deltaMs) * 100 < baseMs * MIN_DELTA_PERCENT) {
+            return DiffChange.UNCHANGED;
+        }
+        return deltaMs > 0 ? DiffChange.SLOWER : DiffChange.FASTER;
+    }
+
+    /**
+     * Pairs up the items of both runs by key and occurrence: first every head item in head order
+     * (with its base counterpart, if any), then the base items that are gone.
+     */
+    static <T> List<Pair<T>> match(List<T> base, List<T> head, Function<T, String> key) {
+        Map<String, List<T>> remaining = new LinkedHashMap<>();
+        for (T item : base) {
+            remaining.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(item);
+        }
+        Map<String, Integer> taken = new HashMap<>();
+        List<Pair<T>> pairs = new ArrayList<>();
+        for (T item : head) {
+            String k = key.apply(item);
+            List<T> candidates = remaining.getOrDefault(k, List.of());
+            int index = taken.merge(k, 1, Integer::sum) - 1;
+            pairs.add(new Pair<>(index < candidates.size() ? candidates.get(index) : null, item));
+        }
+        remaining.forEach((k, items) -> {
+            for (int i = taken.getOrDefault(k, 0); i < items.size(); i++) {
+                pairs.add(new Pair<>(items.get(i), null));
+            }
+        });
+        return pairs;
+    }
+
+    private static String stepText(ReportBreakdown.Step step) {
+        String keyword = step.keyword() == null ? "" : step.keyword().trim();
+        String name = step.name() == null ? "" : step.name();
+        return keyword.isEmpty() ? name : keyword + " " + name;
+    }
+
+    private static long millis(Long ns) {
+        return ns == null ? 0 : ns / 1_000_000;
+    }
+
+    record Pair<T>(T base, T head) {}
+}
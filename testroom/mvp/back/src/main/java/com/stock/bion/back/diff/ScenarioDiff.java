@@ -0,0 +1,23 @@
+package com.stock.bion.back.diff;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ScenarioDiff {
+
+    String name;
+    /** Line in the head run, or in the base run for removed scenarios. */
+    Integer line;
+    DiffChange change;
+    String baseStatus;
+    String headStatus;
+    Long baseDurationMs;
+    Long headDurationMs;
+    Long durationDeltaMs;
+    String errorMessage;
+    /** Only the steps that differ. */
+    List<StepDiff> steps;
+}
@@ -0,0 +1,20 @@
+package com.stock.bion.back.diff;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class StepDiff {
+
+    /** Position in the head run, or in the base run for removed steps. */
+    int position;
+    String text;
+    DiffChange change;
+    String baseStatus;
+    String headStatus;
+    Long baseDurationMs;
+    Long headDurationMs;
+    Long durationDeltaMs;
+    String errorMessage;
+}
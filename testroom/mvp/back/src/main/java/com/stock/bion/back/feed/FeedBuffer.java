@@ -0,0 +1,70 @@
+package com.stock.bion.back.feed;
+
+import com.stock.bion.back.result.TestResultSummary;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The most recent {@link FeedEvent}s, numbered in publication order. Event ids carry the epoch of
+ * the buffer, so an id handed out before a restart is recognized as unknown rather than mistaken
+ * for a position in the new sequence.
+ */
+class FeedBuffer {
+
+    private final String epoch;
+    private final int capacity;
+    private final Deque<FeedEvent> events = new ArrayDeque<>();
+    private long sequence;
+
+    FeedBuffer(String epoch, int capacity) {
+        this.epoch = epoch;
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    synchronized FeedEvent append(TestResultSummary result) {
+        sequence++;
+        FeedEvent event = new FeedEvent(epoch + "-" + sequence, sequence, result);
+        if (events.size() == capacity) {
+            events.removeFirst();
+        }
+        events.addLast(event);
+        return event;
+    }
+
+    /**
+     * The events published after {@code lastEventId}, or empty if the client may have missed
+     * events: the id is from another epoch, malformed, or older than anything still buffered.
+     */
+    synchronized Optional<List<FeedEvent>> after(String lastEventId) {
+        long last = parseSequence(lastEventId);
+        if (last < 0 || last > sequence) {
+            return Optional.empty();
+        }
+        long oldest = events.isEmpty() ? sequence + 1 : events.peekFirst().sequence();
+        if (last + 1 < oldest) {
+            return Optional.empty();
+        }
+        List<FeedEvent> missed = new ArrayList<>();
+        for (FeedEvent event : events) {
+            if (event.sequence() > last) {
+                missed.add(event);
+            }
+        }
+        return Optional.of(missed);
+    }
+
+    private long parseSequence(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !epoch.equals(eventId.substring(0, dash))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
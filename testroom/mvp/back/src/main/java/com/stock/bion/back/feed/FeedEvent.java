@@ -0,0 +1,11 @@
+package com.stock.bion.back.feed;
+
+import com.stock.bion.back.result.TestResultSummary;
+
+/**
+ * One stored result as published on the {@link ResultFeed}.
+ *
+ * @param id the SSE event id, {@code <epoch>-<sequence>}; clients send it back as
+ *     {@code Last-Event-ID} to resume
+ */
+public record FeedEvent(String id, long sequence, TestResultSummary result) {}
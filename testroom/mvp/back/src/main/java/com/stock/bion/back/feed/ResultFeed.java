@@ -0,0 +1,211 @@
+package com.stock.bion.back.feed;
+
+import com.stock.bion.back.outbox.ResultConsumer;
+import com.stock.bion.back.outbox.ResultEvent;
+import com.stock.bion.back.result.TestResult;
+import com.stock.bion.back.result.TestResultRepository;
+import com.stock.bion.back.result.TestResultSummary;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes every stored result to subscribed clients as a server-sent event, so dashboards no longer
+ * poll {@code /api/results}.
+ *
+ * <p>Results are fed in from the result outbox and kept in a {@link FeedBuffer} of the
+ * last {@code results.feed.replay-size} events. A client reconnecting with the id of the last event
+ * it saw gets what it missed replayed; if that is no longer possible (the id is too old or from
+ * before a restart) it gets a {@code reset} event and should reload the list once.
+ *
+ * <p>All sends happen on one dispatcher thread, which keeps events in order per client and keeps a
+ * slow client from holding up the request that stored the result. Idle connections get a comment
+ * every {@code results.feed.heartbeat} so proxies keep them open and dead ones are noticed.
+ */
+@Component
+@Slf4j
+public class ResultFeed implements ResultConsumer {
+
+    static final String RESULT_EVENT = "result";
+    static final String RESET_EVENT = "reset";
+
+    private final TestResultRepository testResultRepository;
+    private final FeedBuffer buffer;
+    private final Duration timeout;
+    private final ScheduledExecutorService dispatcher;
+    // Only touched on the dispatcher thread.
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private long dispatchedSequence;
+
+    public ResultFeed(
+            TestResultRepository testResultRepository,
+            Clock clock,
+            @Value("${results.feed.replay-size:1000}") int replaySize,
+            @Value("${results.feed.timeout:30m}") Duration timeout,
+            @Value("${results.feed.heartbeat:15s}") Duration heartbeat) {
+        this.testResultRepository = testResultRepository;
+        this.buffer = new FeedBuffer(Long.toString(clock.millis(), 36), replaySize);
+        this.timeout = timeout;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "result-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = Math.max(heartbeat.toMillis(), 1000);
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    @Override
+    public String name() {
+        return "result-feed";
+    }
+
+    /** Publishes the stored results; a redelivered batch is published again and clients dedupe by id. */
+    @Override
+    public void accept(List<ResultEvent> events) {
+        List<Long> ids = events.stream().filter(ResultEvent::exists).map(ResultEvent::resultId).toList();
+        Map<Long, TestResult> results = testResultRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TestResult::getId, Function.identity()));
+        for (Long id : ids) {
+            TestResult result = results.get(id);
+            if (result != null) {
+                publish(TestResultSummary.of(result));
+            }
+        }
+    }
+
+    // Appending and queueing under one lock hands events to the dispatcher in sequence order.
+    synchronized void publish(TestResultSummary result) {
+        FeedEvent event = buffer.append(result);
+        dispatch(() -> {
+            dispatchedSequence = event.sequence();
+            for (Subscriber subscriber : List.copyOf(subscribers)) {
+                if (event.sequence() > subscriber.lastSequence && subscriber.accepts(result)) {
+                    send(subscriber, event);
+                }
+            }
+        });
+    }
+
+    /**
+     * Opens a feed of the results of {@code serviceId}, or of all services when it is {@code null}.
+     * With a {@code lastEventId} the events published after it are sent first.
+     */
+    public SseEmitter subscribe(Long serviceId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        dispatch(() -> {
+            // Replay and registration happen on the dispatcher, so no event falls between the two.
+            // Events appended but not yet dispatched are replayed here and skipped by their dispatch.
+            Subscriber subscriber = new Subscriber(emitter, serviceId);
+            subscriber.lastSequence = dispatchedSequence;
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                Optional<List<FeedEvent>> missed = buffer.after(lastEventId);
+                if (missed.isEmpty()) {
+                    if (!sendReset(subscriber)) {
+                        return;
+                    }
+                } else {
+                    for (FeedEvent event : missed.get()) {
+                        if (subscriber.accepts(event.result()) && !send(subscriber, event)) {
+                            return;
+                        }
+                        subscriber.lastSequence = Math.max(subscriber.lastSequence, event.sequence());
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+            emitter.onCompletion(() -> dispatch(() -> subscribers.remove(subscriber)));
+            emitter.onTimeout(emitter::complete);
+            emitter.onError(error -> emitter.complete());
+        });
+        return emitter;
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            try {
+                subscriber.emitter().send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException ex) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    private boolean send(Subscriber subscriber, FeedEvent event) {
+        try {
+            subscriber.emitter().send(SseEmitter.event()
+                    .id(event.id())
+                    .name(RESULT_EVENT)
+                    .data(event.result(), MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            drop(subscriber);
+            return false;
+        }
+    }
+
+    private boolean sendReset(Subscriber subscriber) {
+        try {
+            subscriber.emitter().send(SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            drop(subscriber);
+            return false;
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.emitter().complete();
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Result feed is shut down; dropping a dispatch");
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long serviceId;
+        private long lastSequence;
+
+        Subscriber(SseEmitter emitter, Long serviceId) {
+            this.emitter = emitter;
+            this.serviceId = serviceId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        boolean accepts(TestResultSummary result) {
+            return serviceId == null || serviceId.equals(result.getServiceId());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.stock.bion.back.feed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/results")
+@RequiredArgsConstructor
+public class ResultFeedController {
+
+    private final ResultFeed resultFeed;
+
+    /**
+     * Streams a {@code result} event for every stored result. Browsers resend the last event id in
+     * {@code Last-Event-ID} when they reconnect; {@code lastEventId} does the same for a fresh
+     * connection.
+     */
+    @GetMapping(path = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feed(
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        return resultFeed.subscribe(serviceId, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
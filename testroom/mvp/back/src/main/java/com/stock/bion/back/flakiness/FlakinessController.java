@@ -0,0 +1,42 @@
+package com.stock.bion.back.flakiness;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/flakiness")
+@RequiredArgsConstructor
+public class FlakinessController {
+
+    private static final int MAX_ENTRIES = 200;
+
+    private final FlakinessService flakinessService;
+
+    /** The flakiest scenarios first. */
+    @GetMapping
+    public List<FlakinessEntry> leaderboard(
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(defaultValue = "false") boolean flakyOnly,
+            @RequestParam(defaultValue = "20") int limit) {
+        return flakinessService.leaderboard(serviceId, flakyOnly, Math.min(Math.max(limit, 1), MAX_ENTRIES));
+    }
+
+    /** Quarantined scenarios keep running, but their failures no longer fail full service runs. */
+    @PutMapping("/{id}/quarantine")
+    public ResponseEntity<FlakinessEntry> quarantine(@PathVariable Long id) {
+        return ResponseEntity.of(flakinessService.setQuarantined(id, true));
+    }
+
+    @DeleteMapping("/{id}/quarantine")
+    public ResponseEntity<FlakinessEntry> release(@PathVariable Long id) {
+        return ResponseEntity.of(flakinessService.setQuarantined(id, false));
+    }
+}
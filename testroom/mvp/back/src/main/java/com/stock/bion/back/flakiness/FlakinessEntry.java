@@ -0,0 +1,46 @@
+package com.stock.bion.back.flakiness;
+
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class FlakinessEntry {
+
+    Long id;
+    Long serviceId;
+    String featureUri;
+    String scenarioName;
+    long runs;
+    long failures;
+    long flips;
+    long recoveries;
+    double flipScore;
+    String lastStatus;
+    Instant lastRunAt;
+    boolean flaky;
+    boolean quarantined;
+    boolean quarantineAuto;
+    Instant quarantinedAt;
+
+    static FlakinessEntry of(ScenarioFlakiness stats) {
+        return FlakinessEntry.builder()
+                .id(stats.getId())
+                .serviceId(stats.getServiceId())
+                .featureUri(stats.getFeatureUri())
+                .scenarioName(stats.getScenarioName())
+                .runs(stats.getRuns())
+                .failures(stats.getFailures())
+                .flips(stats.getFlips())
+                .recoveries(stats.getRecoveries())
+                .flipScore(stats.getFlipScore())
+                .lastStatus(stats.getLastStatus())
+                .lastRunAt(stats.getLastRunAt())
+                .flaky(stats.isFlaky())
+                .quarantined(stats.isQuarantined())
+                .quarantineAuto(stats.isQuarantineAuto())
+                .quarantinedAt(stats.getQuarantinedAt())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.stock.bion.back.flakiness;
+
+import com.stock.bion.back.report.ReportBreakdown;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Folds one run of a scenario into its {@link ScenarioFlakiness} statistics.
+ *
+ * <p>Only passed and failed runs take part in transitions; a run older than the last one seen (a
+ * late write-behind flush, a backfill) is counted but does not move the score. A scenario becomes
+ * flaky once it has {@code flakiness.min-runs} runs and its flip score reaches
+ * {@code flakiness.threshold}, and stops being flaky only when the score drops below half of that,
+ * so it does not toggle on every run. With {@code flakiness.auto-quarantine} a scenario is
+ * quarantined when it becomes flaky and released when it stops being flaky, unless it was
+ * quarantined by hand.
+ */
+@Component
+public class FlakinessPolicy {
+
+    private final double alpha;
+    private final double threshold;
+    private final int minRuns;
+    private final Duration rerunWindow;
+    private final boolean autoQuarantine;
+
+    public FlakinessPolicy(
+            @Value("${flakiness.alpha:0.1}") double alpha,
+            @Value("${flakiness.threshold:0.2}") double threshold,
+            @Value("${flakiness.min-runs:5}") int minRuns,
+            @Value("${flakiness.rerun-window:1h}") Duration rerunWindow,
+            @Value("${flakiness.auto-quarantine:false}") boolean autoQuarantine) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("flakiness.alpha must be in (0, 1]");
+        }
+        this.alpha = alpha;
+        this.threshold = threshold;
+        this.minRuns = minRuns;
+        this.rerunWindow = rerunWindow;
+        this.autoQuarantine = autoQuarantine;
+    }
+
+    public void apply(ScenarioFlakiness stats, String status, Instant at) {
+        stats.setRuns(stats.getRuns() + 1);
+        boolean failed = ReportBreakdown.FAILED.equals(status);
+        if (failed) {
+            stats.setFailures(stats.getFailures() + 1);
+        }
+
+        boolean decisive = failed || ReportBreakdown.PASSED.equals(status);
+        boolean inOrder = stats.getLastRunAt() == null || !at.isBefore(stats.getLastRunAt());
+        if (decisive && inOrder) {
+            boolean flip = stats.getLastStatus() != null && !stats.getLastStatus().equals(status);
+            if (flip) {
+                stats.setFlips(stats.getFlips() + 1);
+                if (!failed && stats.getLastFailedAt() != null
+                        && Duration.between(stats.getLastFailedAt(), at).compareTo(rerunWindow) <= 0) {
+                    stats.setRecoveries(stats.getRecoveries() + 1);
+                }
+            }
+            stats.setFlipScore(stats.getFlipScore() * (1 - alpha) + (flip ? alpha : 0));
+            stats.setLastStatus(status);
+            if (failed) {
+                stats.setLastFailedAt(at);
+            }
+        }
+        if (inOrder) {
+            stats.setLastRunAt(at);
+        }
+
+        if (!stats.isFlaky() && stats.getRuns() >= minRuns && stats.getFlipScore() >= threshold) {
+            stats.setFlaky(true);
+            if (autoQuarantine && !stats.isQuarantined()) {
+                stats.setQuarantined(true);
+                stats.setQuarantineAuto(true);
+                stats.setQuarantinedAt(at);
+            }
+        } else if (stats.isFlaky() && stats.getFlipScore() < threshold / 2) {
+            stats.setFlaky(false);
+            if (stats.isQuarantineAuto()) {
+                stats.setQuarantined(false);
+                stats.setQuarantineAuto(false);
+                stats.setQuarantinedAt(null);
+            }
+        }
+    }
+}
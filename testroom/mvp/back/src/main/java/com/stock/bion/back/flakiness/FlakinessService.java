@@ -0,0 +1,60 @@
+package com.stock.bion.back.flakiness;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class FlakinessService {
+
+    private final ScenarioFlakinessRepository repository;
+    private final Clock clock;
+
+    /** Scenarios by flip score, highest first, optionally of one service and only those flagged flaky. */
+    @Transactional(readOnly = true)
+    public List<FlakinessEntry> leaderboard(Long serviceId, boolean flakyOnly, int limit) {
+        Pageable page = PageRequest.of(0, limit);
+        List<ScenarioFlakiness> rows;
+        if (serviceId != null) {
+            rows = flakyOnly
+                    ? repository.findByServiceIdAndFlakyTrueOrderByFlipScoreDescIdAsc(serviceId, page)
+                    : repository.findByServiceIdOrderByFlipScoreDescIdAsc(serviceId, page);
+        } else {
+            rows = flakyOnly
+                    ? repository.findByFlakyTrueOrderByFlipScoreDescIdAsc(page)
+                    : repository.findAllByOrderByFlipScoreDescIdAsc(page);
+        }
+        return rows.stream().map(FlakinessEntry::of).toList();
+    }
+
+    /** Quarantines or releases a scenario by hand; the engine never lifts a manual quarantine. */
+    @Transactional
+    public Optional<FlakinessEntry> setQuarantined(Long id, boolean quarantined) {
+        if (repository.setQuarantined(id, quarantined, quarantined ? Instant.now(clock) : null) == 0) {
+            return Optional.empty();
+        }
+        return repository.findById(id).map(FlakinessEntry::of);
+    }
+
+    /**
+     * Tells whether a report scenario, given by feature uri and scenario name, is quarantined in
+     * {@code serviceId}; suitable for {@code RunStatusResolver.resolveStatus}.
+     */
+    @Transactional(readOnly = true)
+    public BiPredicate<String, String> quarantineOf(Long serviceId) {
+        Set<FlakinessTracker.ScenarioKey> keys = repository.findByServiceIdAndQuarantinedTrue(serviceId).stream()
+                .map(stats -> new FlakinessTracker.ScenarioKey(stats.getFeatureUri(), stats.getScenarioName()))
+                .collect(Collectors.toSet());
+        return (featureUri, scenarioName) -> keys.contains(FlakinessTracker.ScenarioKey.of(featureUri, scenarioName));
+    }
+}
@@ -0,0 +1,176 @@
+package com.stock.bion.back.flakiness;
+
+import com.stock.bion.back.outbox.ResultConsumer;
+import com.stock.bion.back.outbox.ResultEvent;
+import com.stock.bion.back.report.ReportBreakdown;
+import com.stock.bion.back.report.ReportBreakdownReader;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Folds the scenarios of every stored report into their {@link ScenarioFlakiness} rows, so the
+ * statistics are kept up to date without ever rescanning results.
+ *
+ * <p>Reports are fed in from the result outbox, a batch at a time, and read back from their
+ * breakdown rows. The service's rows are read {@code for update}, so batches touching the same
+ * service are folded in one at a time and every transition is seen exactly once.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlakinessTracker implements ResultConsumer {
+
+    private static final int MAX_URI = 255;
+    private static final int MAX_NAME = 500;
+
+    private static final String UPDATE =
+            "update scenario_flakiness set runs = ?, failures = ?, flips = ?, recoveries = ?, flip_score = ?,"
+                    + " last_status = ?, last_run_at = ?, last_failed_at = ?, flaky = ?, quarantined = ?,"
+                    + " quarantine_auto = ?, quarantined_at = ? where id = ?";
+    private static final String INSERT =
+            "insert into scenario_flakiness (runs, failures, flips, recoveries, flip_score, last_status, last_run_at,"
+                    + " last_failed_at, flaky, quarantined, quarantine_auto, quarantined_at, service_id, feature_uri,"
+                    + " scenario_name) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportBreakdownReader reportBreakdownReader;
+    private final FlakinessPolicy policy;
+
+    @Override
+    public String name() {
+        return "flakiness";
+    }
+
+    @Override
+    public void accept(List<ResultEvent> events) {
+        List<ResultEvent> relevant = events.stream()
+                .filter(event -> event.exists() && event.serviceId() != null)
+                .toList();
+        Map<Long, ReportBreakdown> breakdowns =
+                reportBreakdownReader.readAll(relevant.stream().map(ResultEvent::resultId).toList());
+        Map<Long, List<ResultEvent>> byService = new LinkedHashMap<>();
+        for (ResultEvent event : relevant) {
+            if (breakdowns.containsKey(event.resultId())) {
+                byService.computeIfAbsent(event.serviceId(), id -> new ArrayList<>()).add(event);
+            }
+        }
+        byService.forEach((serviceId, reports) -> fold(serviceId, reports, breakdowns));
+    }
+
+    // The service's rows are read once per batch and every report is applied to them in order.
+    private void fold(Long serviceId, List<ResultEvent> reports, Map<Long, ReportBreakdown> breakdowns) {
+        Map<ScenarioKey, ScenarioFlakiness> current = new HashMap<>();
+        jdbcTemplate.query(
+                "select * from scenario_flakiness where service_id = ? for update",
+                rs -> {
+                    ScenarioFlakiness stats = map(rs);
+                    current.put(new ScenarioKey(stats.getFeatureUri(), stats.getScenarioName()), stats);
+                },
+                serviceId);
+
+        Map<ScenarioKey, ScenarioFlakiness> changed = new LinkedHashMap<>();
+        for (ResultEvent report : reports) {
+            statuses(breakdowns.get(report.resultId())).forEach((key, status) -> {
+                ScenarioFlakiness stats = current.computeIfAbsent(key, k -> new ScenarioFlakiness());
+                policy.apply(stats, status, report.createdAt());
+                changed.put(key, stats);
+            });
+        }
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        changed.forEach((key, stats) -> {
+            if (stats.getId() == null) {
+                inserts.add(concat(values(stats), serviceId, key.featureUri(), key.scenarioName()));
+            } else {
+                updates.add(concat(values(stats), stats.getId()));
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, inserts);
+        }
+    }
+
+    /** One status per scenario; outline example rows with the same name are rolled up together. */
+    static Map<ScenarioKey, String> statuses(ReportBreakdown breakdown) {
+        Map<ScenarioKey, List<String>> grouped = new LinkedHashMap<>();
+        for (ReportBreakdown.Feature feature : breakdown.features()) {
+            for (ReportBreakdown.Scenario scenario : feature.scenarios()) {
+                ScenarioKey key = ScenarioKey.of(feature.uri(), scenario.name());
+                grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(scenario.status());
+            }
+        }
+        Map<ScenarioKey, String> statuses = new LinkedHashMap<>();
+        grouped.forEach((key, list) -> statuses.put(key, ReportBreakdown.rollUp(list)));
+        return statuses;
+    }
+
+    private static Object[] values(ScenarioFlakiness stats) {
+        return new Object[] {
+            stats.getRuns(), stats.getFailures(), stats.getFlips(), stats.getRecoveries(), stats.getFlipScore(),
+            stats.getLastStatus(), timestamp(stats.getLastRunAt()), timestamp(stats.getLastFailedAt()),
+            stats.isFlaky(), stats.isQuarantined(), stats.isQuarantineAuto(), timestamp(stats.getQuarantinedAt())
+        };
+    }
+
+    private static ScenarioFlakiness map(ResultSet rs) throws SQLException {
+        ScenarioFlakiness stats = new ScenarioFlakiness();
+        stats.setId(rs.getLong("id"));
+        stats.setServiceId(rs.getLong("service_id"));
+        stats.setFeatureUri(rs.getString("feature_uri"));
+        stats.setScenarioName(rs.getString("scenario_name"));
+        stats.setRuns(rs.getLong("runs"));
+        stats.setFailures(rs.getLong("failures"));
+        stats.setFlips(rs.getLong("flips"));
+        stats.setRecoveries(rs.getLong("recoveries"));
+        stats.setFlipScore(rs.getDouble("flip_score"));
+        stats.setLastStatus(rs.getString("last_status"));
+        stats.setLastRunAt(instant(rs.getTimestamp("last_run_at")));
+        stats.setLastFailedAt(instant(rs.getTimestamp("last_failed_at")));
+        stats.setFlaky(rs.getBoolean("flaky"));
+        stats.setQuarantined(rs.getBoolean("quarantined"));
+        stats.setQuarantineAuto(rs.getBoolean("quarantine_auto"));
+        stats.setQuarantinedAt(instant(rs.getTimestamp("quarantined_at")));
+        return stats;
+    }
+
+    private static Object[] concat(Object[] values, Object... more) {
+        Object[] args = new Object[values.length + more.length];
+        System.arraycopy(values, 0, args, 0, values.length);
+        System.arraycopy(more, 0, args, values.length, more.length);
+        return args;
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    /** A report scenario, cut to the column sizes it is stored with. */
+    record ScenarioKey(String featureUri, String scenarioName) {
+
+        static ScenarioKey of(String featureUri, String scenarioName) {
+            return new ScenarioKey(truncate(featureUri, MAX_URI), truncate(scenarioName, MAX_NAME));
+        }
+
+        private static String truncate(String value, int max) {
+            String text = value == null ? "" : value;
+            return text.length() <= max ? text : text.substring(0, max);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.stock.bion.back.flakiness;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Status transition statistics of one report scenario of a service, identified like
+ * {@code scenario_results} rows by feature uri and scenario name. Outline example rows share one
+ * entry. {@code flipScore} is an exponentially weighted moving average of "the status flipped
+ * between passed and failed on this run", so it follows recent behaviour without keeping history.
+ */
+@Entity
+@Table(
+        name = "scenario_flakiness",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_scenario_flakiness_scenario",
+                columnNames = {"service_id", "feature_uri", "scenario_name"}),
+        indexes = @Index(name = "idx_scenario_flakiness_score", columnList = "flip_score"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ScenarioFlakiness {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "feature_uri", nullable = false)
+    private String featureUri;
+
+    @Column(name = "scenario_name", nullable = false, length = 500)
+    private String scenarioName;
+
+    @Column(nullable = false)
+    private long runs;
+
+    @Column(nullable = false)
+    private long failures;
+
+    @Column(nullable = false)
+    private long flips;
+
+    /** Failures followed by a pass within the rerun window. */
+    @Column(nullable = false)
+    private long recoveries;
+
+    @Column(name = "flip_score", nullable = false)
+    private double flipScore;
+
+    @Column(name = "last_status", length = 16)
+    private String lastStatus;
+
+    @Column(name = "last_run_at")
+    private Instant lastRunAt;
+
+    @Column(name = "last_failed_at")
+    private Instant lastFailedAt;
+
+    @Column(nullable = false)
+    private boolean flaky;
+
+    @Column(nullable = false)
+    private boolean quarantined;
+
+    /** Whether the quarantine was set by the engine, which then also lifts it. */
+    @Column(name = "quarantine_auto", nullable = false)
+    private boolean quarantineAuto;
+
+    @Column(name = "quarantined_at")
+    private Instant quarantinedAt;
+}
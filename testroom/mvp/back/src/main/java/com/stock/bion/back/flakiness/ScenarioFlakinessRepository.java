@@ -0,0 +1,28 @@
+package com.stock.bion.back.flakiness;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ScenarioFlakinessRepository extends JpaRepository<ScenarioFlakiness, Long> {
+
+    List<ScenarioFlakiness> findAllByOrderByFlipScoreDescIdAsc(Pageable page);
+
+    List<ScenarioFlakiness> findByServiceIdOrderByFlipScoreDescIdAsc(Long serviceId, Pageable page);
+
+    List<ScenarioFlakiness> findByFlakyTrueOrderByFlipScoreDescIdAsc(Pageable page);
+
+    List<ScenarioFlakiness> findByServiceIdAndFlakyTrueOrderByFlipScoreDescIdAsc(Long serviceId, Pageable page);
+
+    List<ScenarioFlakiness> findByServiceIdAndQuarantinedTrue(Long serviceId);
+
+    /** Changes only the quarantine columns, so statistics folded in concurrently are not overwritten. */
+    @Modifying(clearAutomatically = true)
+    @Query("update ScenarioFlakiness f set f.quarantined = :quarantined, f.quarantineAuto = false,"
+            + " f.quarantinedAt = :at where f.id = :id")
+    int setQuarantined(@Param("id") Long id, @Param("quarantined") boolean quarantined, @Param("at") Instant at);
+}
@@ -0,0 +1,28 @@
+package com.stock.bion.back.latency;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class StepLatency {
+
+    String stepText;
+
+    long runs;
+
+    long totalDurationMs;
+
+    /** This step's part of the time spent in all steps of the service over the range, 0 to 1. */
+    double shareOfTotal;
+
+    long avgDurationMs;
+
+    Long p50DurationMs;
+
+    Long p95DurationMs;
+
+    Long p99DurationMs;
+
+    long maxDurationMs;
+}
@@ -0,0 +1,35 @@
+package com.stock.bion.back.latency;
+
+import com.stock.bion.back.trend.DurationHistogram;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** Number of executions of a {@link StepLatencyRollup} whose duration fell in one {@link DurationHistogram} bin. */
+@Entity
+@Table(
+        name = "step_latency_bins",
+        uniqueConstraints = @UniqueConstraint(name = "uk_step_latency_bins_bin", columnNames = {"rollup_id", "bin"}))
+@Getter
+@NoArgsConstructor
+public class StepLatencyBin {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_id", nullable = false)
+    private Long rollupId;
+
+    @Column(nullable = false)
+    private int bin;
+
+    @Column(name = "run_count", nullable = false)
+    private long runCount;
+}
@@ -0,0 +1,49 @@
+package com.stock.bion.back.latency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/services/{serviceId}/step-latency")
+@RequiredArgsConstructor
+public class StepLatencyController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+    private static final int MAX_STEPS = 100;
+
+    private final StepLatencyService stepLatencyService;
+    private final Clock clock;
+
+    /**
+     * The slowest steps of a service in {@code [from, to)}, last 30 days by default, by total time
+     * spent in them unless {@code sort} is {@code avg}, {@code p95} or {@code max}.
+     */
+    @GetMapping
+    public List<StepLatency> slowest(
+            @PathVariable Long serviceId,
+            @RequestParam(defaultValue = "total") String sort,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to != null ? to : Instant.now(clock);
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        return stepLatencyService.findSlowest(
+                serviceId, start, end, StepLatencySort.fromParam(sort), Math.min(Math.max(limit, 1), MAX_STEPS));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest() {
+        return ResponseEntity.badRequest().build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.stock.bion.back.latency;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StepLatencyRepository extends JpaRepository<StepLatencyRollup, Long> {
+
+    /** Totals of every step text of a service over the days in {@code [from, to)}. */
+    @Query("select r.stepText as stepText, sum(r.runs) as runs, sum(r.durationMsSum) as durationMsSum,"
+            + " max(r.durationMsMax) as durationMsMax from StepLatencyRollup r"
+            + " where r.serviceId = :serviceId and r.bucketStart >= :from and r.bucketStart < :to"
+            + " group by r.stepText")
+    List<StepTotals> findTotals(
+            @Param("serviceId") Long serviceId, @Param("from") Instant from, @Param("to") Instant to);
+
+    /** Histogram bins of the given step texts over the days in {@code [from, to)}, merged across days. */
+    @Query("select r.stepText as stepText, b.bin as bin, sum(b.runCount) as runCount"
+            + " from StepLatencyBin b, StepLatencyRollup r where b.rollupId = r.id"
+            + " and r.serviceId = :serviceId and r.bucketStart >= :from and r.bucketStart < :to"
+            + " and r.stepText in :stepTexts group by r.stepText, b.bin")
+    List<StepBinCount> findBins(
+            @Param("serviceId") Long serviceId,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("stepTexts") Collection<String> stepTexts);
+
+    interface StepTotals {
+        String getStepText();
+
+        long getRuns();
+
+        long getDurationMsSum();
+
+        long getDurationMsMax();
+    }
+
+    interface StepBinCount {
+        String getStepText();
+
+        int getBin();
+
+        long getRunCount();
+    }
+}
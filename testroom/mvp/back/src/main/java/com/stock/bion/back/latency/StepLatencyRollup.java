@@ -0,0 +1,49 @@
+package com.stock.bion.back.latency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Executions and duration totals of one step text of one service over one UTC day. The step text
+ * is the keyword and name as written in the feature, e.g. {@code Given I open the login page}.
+ */
+@Entity
+@Table(
+        name = "step_latency_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_step_latency_rollups_bucket",
+                columnNames = {"service_id", "bucket_start", "step_text"}))
+@Getter
+@NoArgsConstructor
+public class StepLatencyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(name = "step_text", nullable = false, length = 500)
+    private String stepText;
+
+    @Column(nullable = false)
+    private long runs;
+
+    @Column(name = "duration_ms_sum", nullable = false)
+    private long durationMsSum;
+
+    @Column(name = "duration_ms_max", nullable = false)
+    private long durationMsMax;
+}
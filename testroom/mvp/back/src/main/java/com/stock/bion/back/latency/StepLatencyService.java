@@ -0,0 +1,76 @@
+package com.stock.bion.back.latency;
+
+import com.stock.bion.back.trend.DurationHistogram;
+import com.stock.bion.back.trend.TrendGranularity;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class StepLatencyService {
+
+    private final StepLatencyRepository stepLatencyRepository;
+
+    /**
+     * Returns the {@code limit} slowest steps of a service over the days in {@code [from, to)}.
+     * Percentiles come from the merged daily histograms; see {@link DurationHistogram}. Unless
+     * sorted by percentile, only the histograms of the returned steps are read.
+     */
+    @Transactional(readOnly = true)
+    public List<StepLatency> findSlowest(Long serviceId, Instant from, Instant to, StepLatencySort sort, int limit) {
+        Instant start = TrendGranularity.DAY.bucketStart(from);
+        List<StepLatencyRepository.StepTotals> totals = stepLatencyRepository.findTotals(serviceId, start, to);
+        long suiteMs = totals.stream().mapToLong(StepLatencyRepository.StepTotals::getDurationMsSum).sum();
+
+        List<StepLatency> ranked = totals.stream()
+                .map(step -> toLatency(step, suiteMs, Map.of()))
+                .sorted(sort.slowestFirst())
+                .limit(sort.needsHistogram() ? Long.MAX_VALUE : limit)
+                .toList();
+        if (ranked.isEmpty()) {
+            return ranked;
+        }
+
+        Map<String, StepLatencyRepository.StepTotals> byText = new HashMap<>();
+        totals.forEach(step -> byText.put(step.getStepText(), step));
+        Map<String, Map<Integer, Long>> histograms = new HashMap<>();
+        List<String> texts = ranked.stream().map(StepLatency::getStepText).toList();
+        for (StepLatencyRepository.StepBinCount bin : stepLatencyRepository.findBins(serviceId, start, to, texts)) {
+            histograms.computeIfAbsent(bin.getStepText(), key -> new TreeMap<>())
+                    .merge(bin.getBin(), bin.getRunCount(), Long::sum);
+        }
+        return texts.stream()
+                .map(text -> toLatency(byText.get(text), suiteMs, histograms.getOrDefault(text, Map.of())))
+                .sorted(sort.slowestFirst())
+                .limit(limit)
+                .toList();
+    }
+
+    private static StepLatency toLatency(
+            StepLatencyRepository.StepTotals step, long suiteMs, Map<Integer, Long> histogram) {
+        long runs = step.getRuns();
+        long max = step.getDurationMsMax();
+        return StepLatency.builder()
+                .stepText(step.getStepText())
+                .runs(runs)
+                .totalDurationMs(step.getDurationMsSum())
+                .shareOfTotal(suiteMs == 0 ? 0 : (double) step.getDurationMsSum() / suiteMs)
+                .avgDurationMs(runs == 0 ? 0 : step.getDurationMsSum() / runs)
+                .p50DurationMs(DurationHistogram.percentile(histogram, 0.5))
+                .p95DurationMs(atMost(DurationHistogram.percentile(histogram, 0.95), max))
+                .p99DurationMs(atMost(DurationHistogram.percentile(histogram, 0.99), max))
+                .maxDurationMs(max)
+                .build();
+    }
+
+    // A percentile is reported as its bin's upper bound, which may lie above the slowest run seen.
+    private static Long atMost(Long percentile, long max) {
+        return percentile == null ? null : Math.min(percentile, max);
+    }
+}
@@ -0,0 +1,35 @@
+package com.stock.bion.back.latency;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/** Order of the step latency list, slowest first. */
+public enum StepLatencySort {
+    TOTAL(Comparator.comparingLong(StepLatency::getTotalDurationMs)),
+    AVG(Comparator.comparingLong(StepLatency::getAvgDurationMs)),
+    P95(Comparator.comparing(StepLatency::getP95DurationMs, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    MAX(Comparator.comparingLong(StepLatency::getMaxDurationMs));
+
+    private final Comparator<StepLatency> slowestFirst;
+
+    StepLatencySort(Comparator<StepLatency> ascending) {
+        this.slowestFirst = ascending.reversed().thenComparing(StepLatency::getStepText);
+    }
+
+    public Comparator<StepLatency> slowestFirst() {
+        return slowestFirst;
+    }
+
+    /** Whether ranking needs the histograms of all steps rather than only the totals. */
+    boolean needsHistogram() {
+        return this == P95;
+    }
+
+    public static StepLatencySort fromParam(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown step latency sort: " + value);
+        }
+    }
+}
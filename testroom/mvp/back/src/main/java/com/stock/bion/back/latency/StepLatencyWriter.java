@@ -0,0 +1,167 @@
+package com.stock.bion.back.latency;
+
+import com.stock.bion.back.outbox.ResultConsumer;
+import com.stock.bion.back.outbox.ResultEvent;
+import com.stock.bion.back.report.ReportBreakdown;
+import com.stock.bion.back.report.ReportBreakdownReader;
+import com.stock.bion.back.trend.DurationHistogram;
+import com.stock.bion.back.trend.TrendGranularity;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the step durations of a stored report to the daily {@link StepLatencyRollup} rows of its
+ * service, so step latency percentiles never have to be recomputed from {@code step_results}.
+ *
+ * <p>Only steps that ran (passed or failed) are counted. A report is first summed up per step
+ * text, and the reports of one outbox batch are summed up per service and day, before they are
+ * applied with one batch of in-place increments per table.
+ */
+@Component
+@RequiredArgsConstructor
+public class StepLatencyWriter implements ResultConsumer {
+
+    public static final int MAX_STEP_TEXT = 500;
+
+    private static final String UPDATE_ROLLUP =
+            "update step_latency_rollups set runs = runs + ?, duration_ms_sum = duration_ms_sum + ?,"
+                    + " duration_ms_max = greatest(duration_ms_max, ?)"
+                    + " where service_id = ? and bucket_start = ? and step_text = ?";
+    private static final String INSERT_ROLLUP =
+            "insert into step_latency_rollups (runs, duration_ms_sum, duration_ms_max, service_id, bucket_start,"
+                    + " step_text) values (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_BIN =
+            "update step_latency_bins set run_count = run_count + ? where rollup_id = ? and bin = ?";
+    private static final String INSERT_BIN =
+            "insert into step_latency_bins (run_count, rollup_id, bin) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportBreakdownReader reportBreakdownReader;
+
+    @Override
+    public String name() {
+        return "step-latency";
+    }
+
+    @Override
+    public void accept(List<ResultEvent> events) {
+        List<ResultEvent> relevant = events.stream()
+                .filter(event -> event.exists() && event.serviceId() != null)
+                .toList();
+        Map<Long, ReportBreakdown> breakdowns =
+                reportBreakdownReader.readAll(relevant.stream().map(ResultEvent::resultId).toList());
+        // Reports of the same service and day share their rollup rows, so they are summed up first.
+        Map<Bucket, Map<String, StepSample>> buckets = new LinkedHashMap<>();
+        for (ResultEvent event : relevant) {
+            ReportBreakdown breakdown = breakdowns.get(event.resultId());
+            if (breakdown == null) {
+                continue;
+            }
+            Bucket bucket = new Bucket(event.serviceId(), TrendGranularity.DAY.bucketStart(event.createdAt()));
+            Map<String, StepSample> merged = buckets.computeIfAbsent(bucket, key -> new LinkedHashMap<>());
+            samples(breakdown).forEach(
+                    (text, sample) -> merged.computeIfAbsent(text, t -> new StepSample()).add(sample));
+        }
+        buckets.forEach((bucket, samples) -> {
+            if (!samples.isEmpty()) {
+                increment(bucket.serviceId(), bucket.start(), samples);
+            }
+        });
+    }
+
+    private void increment(Long serviceId, Instant dayStart, Map<String, StepSample> samples) {
+        Timestamp bucketStart = Timestamp.from(dayStart);
+        List<Object[]> rollups = new ArrayList<>();
+        samples.forEach((text, sample) -> rollups.add(
+                new Object[] {sample.runs, sample.durationMsSum, sample.durationMsMax, serviceId, bucketStart, text}));
+        upsert(UPDATE_ROLLUP, INSERT_ROLLUP, rollups);
+
+        Map<String, Long> rollupIds = new HashMap<>();
+        jdbcTemplate.query(
+                "select id, step_text from step_latency_rollups where service_id = ? and bucket_start = ?",
+                rs -> {
+                    rollupIds.put(rs.getString("step_text"), rs.getLong("id"));
+                },
+                serviceId,
+                bucketStart);
+        List<Object[]> bins = new ArrayList<>();
+        samples.forEach((text, sample) -> {
+            Long rollupId = rollupIds.get(text);
+            sample.bins.forEach((bin, count) -> bins.add(new Object[] {count, rollupId, bin}));
+        });
+        upsert(UPDATE_BIN, INSERT_BIN, bins);
+    }
+
+    // The update and insert statements take the same parameters in the same order.
+    private void upsert(String update, String insert, List<Object[]> rows) {
+        int[] updated = jdbcTemplate.batchUpdate(update, rows);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, missing);
+        }
+    }
+
+    /** Executed steps of a report summed up per step text. */
+    static Map<String, StepSample> samples(ReportBreakdown breakdown) {
+        Map<String, StepSample> samples = new LinkedHashMap<>();
+        for (ReportBreakdown.Feature feature : breakdown.features()) {
+            for (ReportBreakdown.Scenario scenario : feature.scenarios()) {
+                for (ReportBreakdown.Step step : scenario.steps()) {
+                    if (!ReportBreakdown.PASSED.equals(step.status())
+                            && !ReportBreakdown.FAILED.equals(step.status())) {
+                        continue;
+                    }
+                    long durationMs = Math.max(step.durationNs(), 0) / 1_000_000;
+                    samples.computeIfAbsent(stepText(step), text -> new StepSample()).add(durationMs);
+                }
+            }
+        }
+        return samples;
+    }
+
+    /** The keyword and name of a step, cut to the length it is stored with. */
+    public static String stepText(ReportBreakdown.Step step) {
+        String keyword = step.keyword() == null ? "" : step.keyword().trim();
+        String name = step.name() == null ? "" : step.name().trim();
+        String text = keyword.isEmpty() ? name : keyword + " " + name;
+        return text.length() <= MAX_STEP_TEXT ? text : text.substring(0, MAX_STEP_TEXT);
+    }
+
+    static final class StepSample {
+
+        long runs;
+        long durationMsSum;
+        long durationMsMax;
+        final Map<Integer, Long> bins = new TreeMap<>();
+
+        void add(long durationMs) {
+            runs++;
+            durationMsSum += durationMs;
+            durationMsMax = Math.max(durationMsMax, durationMs);
+            bins.merge(DurationHistogram.bin(durationMs), 1L, Long::sum);
+        }
+
+        void add(StepSample other) {
+            runs += other.runs;
+            durationMsSum += other.durationMsSum;
+            durationMsMax = Math.max(durationMsMax, other.durationMsMax);
+            other.bins.forEach((bin, count) -> bins.merge(bin, count, Long::sum));
+        }
+    }
+
+    private record Bucket(Long serviceId, Instant start) {}
+}
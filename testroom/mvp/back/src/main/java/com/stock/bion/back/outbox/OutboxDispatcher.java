@@ -0,0 +1,289 @@
+package com.stock.bion.back.outbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers the {@code result_outbox} to every {@link ResultConsumer}, in batches of up to
+ * {@code outbox.batch-size} events, on one thread per consumer.
+ *
+ * <ul>
+ *   <li>Each batch runs in one transaction that locks the consumer's {@link OutboxOffset} row,
+ *       hands the events to the consumer and moves the offset past them. Several instances can
+ *       share the outbox; the lock makes them take turns.
+ *   <li>Outbox ids are assigned at insert but become visible at commit, so an id can show up
+ *       before a smaller one. Delivery stops at such a gap until the event after it is
+ *       {@code outbox.gap-timeout} old, then moves on and records the missing ids as
+ *       {@link OutboxGap}s. Every batch first looks for gaps that have been filled since, so a
+ *       result committed late is still delivered; gaps left by rolled-back transactions are
+ *       forgotten after {@code outbox.gap-retention}.
+ *   <li>A batch that fails is retried one event at a time; an event that fails
+ *       {@code outbox.max-attempts} times in a row is logged and skipped, so one bad result cannot
+ *       stall a consumer forever.
+ *   <li>Consumers poll every {@code outbox.poll-interval} and are woken right away when a result
+ *       is stored. Events every consumer is done with, and that fill no gap, are pruned every
+ *       minute.
+ * </ul>
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final String SELECT_EVENTS =
+            "select o.id, o.enqueued_at, o.result_id, r.service_id, r.scenario_id, r.status, r.duration_ms,"
+                    + " r.created_at from result_outbox o left join test_results r on r.id = o.result_id";
+
+    private final List<ResultConsumer> consumers;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration gapRetention;
+    private final int maxAttempts;
+    private final Object wakeMonitor = new Object();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private long wakeups;
+    private volatile boolean running;
+
+    public OutboxDispatcher(
+            List<ResultConsumer> consumers,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Clock clock,
+            @Value("${outbox.batch-size:200}") int batchSize,
+            @Value("${outbox.poll-interval:1s}") Duration pollInterval,
+            @Value("${outbox.gap-timeout:10s}") Duration gapTimeout,
+            @Value("${outbox.gap-retention:1d}") Duration gapRetention,
+            @Value("${outbox.max-attempts:5}") int maxAttempts) {
+        this.consumers = consumers;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = Math.max(batchSize, 1);
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.gapRetention = gapRetention;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (ResultConsumer consumer : consumers) {
+            createOffset(consumer.name());
+            Thread worker = new Thread(() -> deliverLoop(consumer), "outbox-" + consumer.name());
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        wake();
+        for (Thread worker : workers) {
+            worker.join(pollInterval.toMillis() + 1000);
+        }
+    }
+
+    /** Makes idle consumers look for new events now instead of at their next poll. */
+    public void wake() {
+        synchronized (wakeMonitor) {
+            wakeups++;
+            wakeMonitor.notifyAll();
+        }
+    }
+
+    @Scheduled(cron = "${outbox.prune-cron:0 * * * * *}")
+    public void prune() {
+        int forgotten = jdbcTemplate.update(
+                "delete from outbox_gaps where skipped_at < ?", Timestamp.from(Instant.now(clock).minus(gapRetention)));
+        if (forgotten > 0) {
+            log.info("Forgot {} outbox gaps that were never filled", forgotten);
+        }
+        if (consumers.isEmpty()) {
+            return;
+        }
+        List<String> names = consumers.stream().map(ResultConsumer::name).toList();
+        Long done = jdbcTemplate.queryForObject(
+                "select min(last_id) from outbox_offsets where consumer in ("
+                        + String.join(", ", Collections.nCopies(names.size(), "?")) + ")",
+                Long.class,
+                names.toArray());
+        if (done != null && done > 0) {
+            int pruned = jdbcTemplate.update(
+                    "delete from result_outbox where id <= ? and id not in (select outbox_id from outbox_gaps)", done);
+            log.debug("Pruned {} delivered outbox events", pruned);
+        }
+    }
+
+    private void deliverLoop(ResultConsumer consumer) {
+        int failures = 0;
+        while (running) {
+            long seen;
+            synchronized (wakeMonitor) {
+                seen = wakeups;
+            }
+            int delivered;
+            try {
+                delivered = deliver(consumer, failures > 0 ? 1 : batchSize, failures >= maxAttempts);
+                failures = 0;
+            } catch (RuntimeException ex) {
+                failures++;
+                log.warn("Consumer {} failed to handle outbox events (attempt {})", consumer.name(), failures, ex);
+                delivered = 0;
+            }
+            if (delivered == 0 || failures > 0) {
+                await(seen);
+            }
+        }
+    }
+
+    private void await(long seen) {
+        synchronized (wakeMonitor) {
+            if (wakeups != seen || !running) {
+                return;
+            }
+            try {
+                wakeMonitor.wait(pollInterval.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * Delivers the next batch to the consumer and returns how many events it contained. With
+     * {@code skip} the next event is not delivered but only stepped over.
+     */
+    int deliver(ResultConsumer consumer, int limit, boolean skip) {
+        try {
+            return transactionTemplate.execute(tx -> deliverBatch(consumer, limit, skip));
+        } catch (DuplicateKeyException race) {
+            // A consumer on another instance inserted a row this batch meant to insert; redo it as updates.
+            return transactionTemplate.execute(tx -> deliverBatch(consumer, limit, skip));
+        }
+    }
+
+    private int deliverBatch(ResultConsumer consumer, int limit, boolean skip) {
+        long lastId = jdbcTemplate.queryForObject(
+                "select last_id from outbox_offsets where consumer = ? for update", Long.class, consumer.name());
+        List<ResultEvent> late = jdbcTemplate.query(
+                SELECT_EVENTS + " join outbox_gaps g on g.outbox_id = o.id where g.consumer = ?"
+                        + " order by o.id fetch first " + limit + " rows only",
+                (rs, row) -> pending(rs, row).event(),
+                consumer.name());
+        List<ResultEvent> events = late;
+        if (late.isEmpty()) {
+            List<Pending> pending = jdbcTemplate.query(
+                    SELECT_EVENTS + " where o.id > ? order by o.id fetch first " + limit + " rows only",
+                    OutboxDispatcher::pending,
+                    lastId);
+            events = contiguous(pending, lastId, Instant.now(clock).minus(gapTimeout));
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+        if (skip) {
+            log.error("Consumer {} skips outbox event {} of result {} after {} failed attempts",
+                    consumer.name(), events.get(0).id(), events.get(0).resultId(), maxAttempts);
+            events = events.subList(0, 1);
+        } else {
+            consumer.accept(events);
+        }
+        Timestamp now = Timestamp.from(Instant.now(clock));
+        if (!late.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "delete from outbox_gaps where consumer = ? and outbox_id = ?",
+                    events.stream().map(event -> new Object[] {consumer.name(), event.id()}).toList());
+            return events.size();
+        }
+        List<Long> gaps = gaps(events, lastId);
+        if (!gaps.isEmpty()) {
+            log.warn("Consumer {} moves past outbox ids {} that are not committed yet", consumer.name(), gaps);
+            jdbcTemplate.batchUpdate(
+                    "insert into outbox_gaps (consumer, outbox_id, skipped_at) values (?, ?, ?)",
+                    gaps.stream().map(id -> new Object[] {consumer.name(), id, now}).toList());
+        }
+        jdbcTemplate.update(
+                "update outbox_offsets set last_id = ?, updated_at = ? where consumer = ?",
+                events.get(events.size() - 1).id(), now, consumer.name());
+        return events.size();
+    }
+
+    /** The leading events that follow {@code lastId} without a gap that may still be filled. */
+    static List<ResultEvent> contiguous(List<Pending> pending, long lastId, Instant settledBefore) {
+        List<ResultEvent> events = new ArrayList<>();
+        long expected = lastId + 1;
+        for (Pending next : pending) {
+            if (next.event().id() != expected && next.enqueuedAt().isAfter(settledBefore)) {
+                break;
+            }
+            events.add(next.event());
+            expected = next.event().id() + 1;
+        }
+        return events;
+    }
+
+    /** The ids between {@code lastId} and the last of {@code events} that are not among them. */
+    static List<Long> gaps(List<ResultEvent> events, long lastId) {
+        List<Long> gaps = new ArrayList<>();
+        long expected = lastId + 1;
+        for (ResultEvent event : events) {
+            for (long id = expected; id < event.id(); id++) {
+                gaps.add(id);
+            }
+            expected = event.id() + 1;
+        }
+        return gaps;
+    }
+
+    private void createOffset(String consumer) {
+        try {
+            jdbcTemplate.update(
+                    "insert into outbox_offsets (consumer, last_id, updated_at)"
+                            + " select ?, 0, ? where not exists (select 1 from outbox_offsets where consumer = ?)",
+                    consumer, Timestamp.from(Instant.now(clock)), consumer);
+        } catch (DuplicateKeyException race) {
+            // Another instance created it first.
+        }
+    }
+
+    private static Pending pending(ResultSet rs, int row) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new Pending(
+                new ResultEvent(
+                        rs.getLong("id"),
+                        rs.getLong("result_id"),
+                        rs.getObject("service_id", Long.class),
+                        rs.getObject("scenario_id", Long.class),
+                        rs.getString("status"),
+                        rs.getObject("duration_ms", Long.class),
+                        createdAt != null ? createdAt.toInstant() : null),
+                rs.getTimestamp("enqueued_at").toInstant());
+    }
+
+    record Pending(ResultEvent event, Instant enqueuedAt) {}
+}
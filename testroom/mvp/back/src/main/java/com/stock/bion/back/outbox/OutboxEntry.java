@@ -0,0 +1,29 @@
+package com.stock.bion.back.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** A stored result waiting to be delivered to the {@link ResultConsumer}s. */
+@Entity
+@Table(name = "result_outbox")
+@Getter
+@NoArgsConstructor
+public class OutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "result_id", nullable = false)
+    private Long resultId;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private Instant enqueuedAt;
+}
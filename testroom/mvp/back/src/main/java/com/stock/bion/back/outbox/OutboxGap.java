@@ -0,0 +1,40 @@
+package com.stock.bion.back.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * An outbox id a consumer's offset moved past while it was not visible yet. The event is
+ * delivered if its transaction commits later, and forgotten after {@code outbox.gap-retention}.
+ */
+@Entity
+@Table(
+        name = "outbox_gaps",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"consumer", "outbox_id"}),
+        indexes = @Index(name = "idx_outbox_gaps_outbox_id", columnList = "outbox_id"))
+@Getter
+@NoArgsConstructor
+public class OutboxGap {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String consumer;
+
+    @Column(name = "outbox_id", nullable = false)
+    private long outboxId;
+
+    @Column(name = "skipped_at", nullable = false)
+    private Instant skippedAt;
+}
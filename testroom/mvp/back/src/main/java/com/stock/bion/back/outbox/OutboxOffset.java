@@ -0,0 +1,27 @@
+package com.stock.bion.back.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** The id of the last {@link OutboxEntry} a consumer has processed. */
+@Entity
+@Table(name = "outbox_offsets")
+@Getter
+@NoArgsConstructor
+public class OutboxOffset {
+
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
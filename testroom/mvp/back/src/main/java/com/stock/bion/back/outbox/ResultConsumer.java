@@ -0,0 +1,24 @@
+package com.stock.bion.back.outbox;
+
+import java.util.List;
+
+/**
+ * Something built on top of stored results: rollups, statistics, notifications. Consumers are
+ * picked up as beans and fed by the {@link OutboxDispatcher}, each on its own thread and at its
+ * own pace, so none of them adds to the time it takes to store a result.
+ *
+ * <p>{@link #accept} runs in the transaction that also advances the consumer's offset, so database
+ * writes made in it are applied exactly once. If it throws, the transaction rolls back and the
+ * batch is delivered again; side effects outside the database must tolerate that.
+ */
+public interface ResultConsumer {
+
+    /** Identifies the consumer's offset; renaming a consumer makes it start over. */
+    String name();
+
+    /**
+     * Handles a batch of events, in outbox order. Events whose transaction committed after later
+     * events were delivered come afterwards, in a batch of such late events.
+     */
+    void accept(List<ResultEvent> events);
+}
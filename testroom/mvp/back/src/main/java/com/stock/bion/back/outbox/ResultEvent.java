@@ -0,0 +1,17 @@
+package com.stock.bion.back.outbox;
+
+import java.time.Instant;
+
+/**
+ * A stored result as handed to the {@link ResultConsumer}s, with the columns most of them need.
+ * The result fields are {@code null} if the result was deleted before the event was delivered.
+ *
+ * @param id the outbox id; events are delivered in id order
+ */
+public record ResultEvent(
+        long id, Long resultId, Long serviceId, Long scenarioId, String status, Long durationMs, Instant createdAt) {
+
+    public boolean exists() {
+        return createdAt != null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.stock.bion.back.outbox;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records stored results in the {@code result_outbox} table, in the transaction that stores them,
+ * so an event exists exactly when its result does. The dispatcher is woken once the transaction
+ * commits instead of waiting for its next poll.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResultOutbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final OutboxDispatcher outboxDispatcher;
+
+    /**
+     * Call this last in the storing transaction: an id that is not committed within
+     * {@code outbox.gap-timeout} is delivered late, after events stored since.
+     */
+    public void append(List<Long> resultIds) {
+        if (resultIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(clock.instant());
+        jdbcTemplate.batchUpdate(
+                "insert into result_outbox (result_id, enqueued_at) values (?, ?)",
+                resultIds.stream().map(id -> new Object[] {id, now}).toList());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxDispatcher.wake();
+                }
+            });
+        } else {
+            outboxDispatcher.wake();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.stock.bion.back.regression;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Rolling duration baseline of one scenario or step of a service, on a log scale: {@code center}
+ * is the weighted mean of {@code ln(ms)} and {@code spread} the weighted mean absolute deviation
+ * from it. Steps are keyed by their text alone and have an empty {@code featureUri}.
+ */
+@Entity
+@Table(
+        name = "duration_baselines",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_duration_baselines_subject",
+                columnNames = {"service_id", "kind", "name", "feature_uri"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class DurationBaseline {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RegressionKind kind;
+
+    @Column(name = "feature_uri", nullable = false)
+    private String featureUri;
+
+    @Column(nullable = false, length = 500)
+    private String name;
+
+    @Column(nullable = false)
+    private long samples;
+
+    @Column(nullable = false)
+    private double center;
+
+    @Column(nullable = false)
+    private double spread;
+
+    @Column(name = "last_duration_ms")
+    private Long lastDurationMs;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,62 @@
+package com.stock.bion.back.regression;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** A scenario or step of one stored run that took significantly longer than its baseline. */
+@Entity
+@Table(
+        name = "duration_regressions",
+        indexes = {
+            @Index(name = "idx_duration_regressions_result", columnList = "result_id"),
+            @Index(name = "idx_duration_regressions_service_created", columnList = "service_id, created_at, id"),
+            @Index(name = "idx_duration_regressions_created", columnList = "created_at, id")
+        })
+@Getter
+@NoArgsConstructor
+public class DurationRegression {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "result_id", nullable = false)
+    private Long resultId;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RegressionKind kind;
+
+    @Column(name = "feature_uri", nullable = false)
+    private String featureUri;
+
+    @Column(nullable = false, length = 500)
+    private String name;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+
+    /** The typical duration before this run, {@code exp(center)} of the baseline. */
+    @Column(name = "baseline_ms", nullable = false)
+    private long baselineMs;
+
+    /** How many robust standard deviations above the baseline this run was. */
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,28 @@
+package com.stock.bion.back.regression;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DurationRegressionRepository extends JpaRepository<DurationRegression, Long> {
+
+    /** Regressions in {@code [from, to)}, newest first; {@code null} filters match everything. */
+    @Query("select r from DurationRegression r"
+            + " where (:serviceId is null or r.serviceId = :serviceId)"
+            + " and (:resultId is null or r.resultId = :resultId)"
+            + " and (:kind is null or r.kind = :kind)"
+            + " and r.createdAt >= :from and r.createdAt < :to"
+            + " order by r.createdAt desc, r.id desc")
+    List<DurationRegression> find(
+            @Param("serviceId") Long serviceId,
+            @Param("resultId") Long resultId,
+            @Param("kind") RegressionKind kind,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            Pageable page);
+}
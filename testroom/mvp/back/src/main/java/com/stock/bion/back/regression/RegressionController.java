@@ -0,0 +1,58 @@
+package com.stock.bion.back.regression;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/regressions")
+@RequiredArgsConstructor
+public class RegressionController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+    private static final int MAX_REGRESSIONS = 200;
+
+    private final DurationRegressionRepository regressionRepository;
+    private final Clock clock;
+
+    /**
+     * Scenarios and steps that ran significantly slower than their baseline in {@code [from, to)},
+     * last 30 days by default, newest first.
+     */
+    @GetMapping
+    public List<RegressionResponse> find(
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) Long resultId,
+            @RequestParam(required = false) String kind,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "50") int limit) {
+        Instant end = to != null ? to : Instant.now(clock);
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        return regressionRepository.find(
+                        serviceId,
+                        resultId,
+                        kind != null ? RegressionKind.fromParam(kind) : null,
+                        start,
+                        end,
+                        PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_REGRESSIONS)))
+                .stream()
+                .map(RegressionResponse::of)
+                .toList();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest() {
+        return ResponseEntity.badRequest().build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.stock.bion.back.regression;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compares a duration to its {@link DurationBaseline} and then folds it in.
+ *
+ * <p>Durations are compared on a log scale, where a slowdown is a ratio. The score is the distance
+ * above the baseline's center in robust standard deviations, estimated from the mean absolute
+ * deviation and never taken below {@value #MIN_SCALE} (about 5%). A run is a regression when the
+ * baseline has {@code regressions.min-samples} samples and the score reaches
+ * {@code regressions.threshold}, and the run is also at least {@code regressions.min-ratio} times
+ * and {@code regressions.min-delta} slower than the baseline, so tiny steps do not trip it.
+ *
+ * <p>The baseline is an exponentially weighted average with weight {@code regressions.alpha}
+ * (a plain average while it warms up). Once warmed up, every deviation is clipped to
+ * {@value #CLIP} scales before it is folded in, so a single outlier barely moves it while a lasting
+ * slowdown still becomes the new normal after a few dozen runs.
+ */
+@Component
+public class RegressionDetector {
+
+    static final double MIN_SCALE = 0.05;
+    static final double CLIP = 3;
+    private static final double ABS_DEVIATION_TO_SIGMA = 1.2533;
+
+    private final double alpha;
+    private final double threshold;
+    private final int minSamples;
+    private final double minRatio;
+    private final long minDeltaMs;
+
+    public RegressionDetector(
+            @Value("${regressions.alpha:0.05}") double alpha,
+            @Value("${regressions.threshold:4}") double threshold,
+            @Value("${regressions.min-samples:10}") int minSamples,
+            @Value("${regressions.min-ratio:1.3}") double minRatio,
+            @Value("${regressions.min-delta:200ms}") Duration minDelta) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("regressions.alpha must be in (0, 1]");
+        }
+        this.alpha = alpha;
+        this.threshold = threshold;
+        this.minSamples = Math.max(minSamples, 1);
+        this.minRatio = minRatio;
+        this.minDeltaMs = minDelta.toMillis();
+    }
+
+    /**
+     * Returns the score when {@code durationMs} is a regression, otherwise {@code null}, and folds
+     * it into the baseline either way.
+     */
+    public Double observe(DurationBaseline baseline, long durationMs, Instant at) {
+        double x = Math.log(Math.max(durationMs, 1));
+        long samples = baseline.getSamples();
+        double scale = Math.max(baseline.getSpread() * ABS_DEVIATION_TO_SIGMA, MIN_SCALE);
+        double deviation = x - baseline.getCenter();
+
+        Double score = null;
+        if (samples >= minSamples) {
+            double expectedMs = Math.exp(baseline.getCenter());
+            double z = deviation / scale;
+            if (z >= threshold && durationMs >= expectedMs * minRatio && durationMs - expectedMs >= minDeltaMs) {
+                score = z;
+            }
+        }
+
+        if (samples == 0) {
+            baseline.setCenter(x);
+            baseline.setSpread(0);
+        } else {
+            double weight = Math.max(alpha, 1.0 / (samples + 1));
+            double folded = samples >= minSamples
+                    ? Math.max(-CLIP * scale, Math.min(CLIP * scale, deviation))
+                    : deviation;
+            baseline.setCenter(baseline.getCenter() + weight * folded);
+            baseline.setSpread(baseline.getSpread() + weight * (Math.abs(folded) - baseline.getSpread()));
+        }
+        baseline.setSamples(samples + 1);
+        baseline.setLastDurationMs(durationMs);
+        baseline.setUpdatedAt(at);
+        return score;
+    }
+
+    /** The typical duration of a baseline in milliseconds. */
+    public static long typicalMs(DurationBaseline baseline) {
+        return Math.round(Math.exp(baseline.getCenter()));
+    }
+}
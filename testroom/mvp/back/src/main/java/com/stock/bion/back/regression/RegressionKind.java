@@ -0,0 +1,17 @@
+package com.stock.bion.back.regression;
+
+import java.util.Locale;
+
+/** What a duration baseline is kept for: a report scenario, or a step text across all scenarios. */
+public enum RegressionKind {
+    SCENARIO,
+    STEP;
+
+    public static RegressionKind fromParam(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown regression kind: " + value);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.stock.bion.back.regression;
+
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class RegressionResponse {
+
+    Long id;
+    Long resultId;
+    Long serviceId;
+    RegressionKind kind;
+    String featureUri;
+    String name;
+    long durationMs;
+    long baselineMs;
+    /** {@code durationMs / baselineMs}. */
+    double slowdown;
+    double score;
+    Instant createdAt;
+
+    static RegressionResponse of(DurationRegression regression) {
+        return RegressionResponse.builder()
+                .id(regression.getId())
+                .resultId(regression.getResultId())
+                .serviceId(regression.getServiceId())
+                .kind(regression.getKind())
+                .featureUri(regression.getFeatureUri())
+                .name(regression.getName())
+                .durationMs(regression.getDurationMs())
+                .baselineMs(regression.getBaselineMs())
+                .slowdown(regression.getBaselineMs() == 0
+                        ? 0 : (double) regression.getDurationMs() / regression.getBaselineMs())
+                .score(regression.getScore())
+                .createdAt(regression.getCreatedAt())
+                .build();
+    }
+}
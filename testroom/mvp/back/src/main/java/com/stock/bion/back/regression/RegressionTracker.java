@@ -0,0 +1,211 @@
+package com.stock.bion.back.regression;
+
+import com.stock.bion.back.latency.StepLatencyWriter;
+import com.stock.bion.back.outbox.ResultConsumer;
+import com.stock.bion.back.outbox.ResultEvent;
+import com.stock.bion.back.report.ReportBreakdown;
+import com.stock.bion.back.report.ReportBreakdownReader;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the passed scenarios and steps of every stored report against their
+ * {@link DurationBaseline}, records the {@link DurationRegression}s found, sets their number on the
+ * result and folds the durations into the baselines.
+ *
+ * <p>Reports are fed in from the result outbox and read back from their breakdown rows. Only the
+ * baselines a report touches are read, {@code for update}, so reports of the same service are
+ * checked one at a time against an up-to-date baseline.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RegressionTracker implements ResultConsumer {
+
+    private static final int MAX_URI = 255;
+    private static final int MAX_NAME = 500;
+    private static final int SELECT_CHUNK = 500;
+
+    private static final String UPDATE_BASELINE =
+            "update duration_baselines set samples = ?, center = ?, spread = ?, last_duration_ms = ?, updated_at = ?"
+                    + " where id = ?";
+    private static final String INSERT_BASELINE =
+            "insert into duration_baselines (samples, center, spread, last_duration_ms, updated_at, service_id, kind,"
+                    + " feature_uri, name) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REGRESSION =
+            "insert into duration_regressions (result_id, service_id, kind, feature_uri, name, duration_ms,"
+                    + " baseline_ms, score, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportBreakdownReader reportBreakdownReader;
+    private final RegressionDetector detector;
+
+    @Override
+    public String name() {
+        return "duration-regressions";
+    }
+
+    // Reports are checked one at a time, each against the baselines the previous one left behind.
+    @Override
+    public void accept(List<ResultEvent> events) {
+        List<ResultEvent> relevant = events.stream()
+                .filter(event -> event.exists() && event.serviceId() != null)
+                .toList();
+        Map<Long, ReportBreakdown> breakdowns =
+                reportBreakdownReader.readAll(relevant.stream().map(ResultEvent::resultId).toList());
+        for (ResultEvent event : relevant) {
+            ReportBreakdown breakdown = breakdowns.get(event.resultId());
+            if (breakdown != null) {
+                check(event.resultId(), event.serviceId(), event.createdAt(), durations(breakdown));
+            }
+        }
+    }
+
+    private void check(Long resultId, Long serviceId, Instant createdAt, Map<Subject, Long> durations) {
+        Map<Subject, DurationBaseline> baselines = lock(serviceId, durations.keySet());
+        Timestamp at = Timestamp.from(createdAt);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> regressions = new ArrayList<>();
+        durations.forEach((subject, durationMs) -> {
+            DurationBaseline baseline = baselines.get(subject);
+            boolean known = baseline != null;
+            if (!known) {
+                baseline = new DurationBaseline();
+            }
+            long typicalMs = RegressionDetector.typicalMs(baseline);
+            Double score = detector.observe(baseline, durationMs, createdAt);
+            if (score != null) {
+                regressions.add(new Object[] {
+                    resultId, serviceId, subject.kind().name(), subject.featureUri(), subject.name(), durationMs,
+                    typicalMs, score, at
+                });
+            }
+            Object[] values = {
+                baseline.getSamples(), baseline.getCenter(), baseline.getSpread(), baseline.getLastDurationMs(), at
+            };
+            if (known) {
+                updates.add(concat(values, baseline.getId()));
+            } else {
+                inserts.add(concat(values, serviceId, subject.kind().name(), subject.featureUri(), subject.name()));
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_BASELINE, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BASELINE, inserts);
+        }
+        if (!regressions.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REGRESSION, regressions);
+            log.info("Result {} ran {} scenarios or steps significantly slower than usual",
+                    resultId, regressions.size());
+        }
+        jdbcTemplate.update(
+                "update test_results set duration_regressions = ? where id = ?", regressions.size(), resultId);
+    }
+
+    private Map<Subject, DurationBaseline> lock(Long serviceId, Iterable<Subject> subjects) {
+        Map<RegressionKind, List<String>> names = new LinkedHashMap<>();
+        for (Subject subject : subjects) {
+            names.computeIfAbsent(subject.kind(), kind -> new ArrayList<>()).add(subject.name());
+        }
+        Map<Subject, DurationBaseline> baselines = new HashMap<>();
+        names.forEach((kind, list) -> {
+            List<String> distinct = list.stream().distinct().toList();
+            for (int start = 0; start < distinct.size(); start += SELECT_CHUNK) {
+                List<String> chunk = distinct.subList(start, Math.min(start + SELECT_CHUNK, distinct.size()));
+                List<Object> args = new ArrayList<>(List.of(serviceId, kind.name()));
+                args.addAll(chunk);
+                jdbcTemplate.query(
+                        "select * from duration_baselines where service_id = ? and kind = ? and name in ("
+                                + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") for update",
+                        rs -> {
+                            DurationBaseline baseline = map(rs);
+                            baselines.put(
+                                    new Subject(kind, baseline.getFeatureUri(), baseline.getName()), baseline);
+                        },
+                        args.toArray());
+            }
+        });
+        return baselines;
+    }
+
+    /**
+     * Durations of the passed scenarios and steps of a report. Scenarios that appear more than once
+     * (outline examples) and steps used more than once are represented by their mean duration.
+     */
+    static Map<Subject, Long> durations(ReportBreakdown breakdown) {
+        Map<Subject, long[]> sums = new LinkedHashMap<>();
+        for (ReportBreakdown.Feature feature : breakdown.features()) {
+            for (ReportBreakdown.Scenario scenario : feature.scenarios()) {
+                if (ReportBreakdown.PASSED.equals(scenario.status())) {
+                    add(sums, Subject.scenario(feature.uri(), scenario.name()), scenario.durationNs());
+                }
+                for (ReportBreakdown.Step step : scenario.steps()) {
+                    if (ReportBreakdown.PASSED.equals(step.status())) {
+                        add(sums, new Subject(RegressionKind.STEP, "", StepLatencyWriter.stepText(step)),
+                                step.durationNs());
+                    }
+                }
+            }
+        }
+        Map<Subject, Long> durations = new LinkedHashMap<>();
+        sums.forEach((subject, sum) -> durations.put(subject, sum[0] / sum[1] / 1_000_000));
+        return durations;
+    }
+
+    private static void add(Map<Subject, long[]> sums, Subject subject, long durationNs) {
+        long[] sum = sums.computeIfAbsent(subject, key -> new long[2]);
+        sum[0] += Math.max(durationNs, 0);
+        sum[1]++;
+    }
+
+    private static DurationBaseline map(ResultSet rs) throws SQLException {
+        DurationBaseline baseline = new DurationBaseline();
+        baseline.setId(rs.getLong("id"));
+        baseline.setServiceId(rs.getLong("service_id"));
+        baseline.setKind(RegressionKind.valueOf(rs.getString("kind")));
+        baseline.setFeatureUri(rs.getString("feature_uri"));
+        baseline.setName(rs.getString("name"));
+        baseline.setSamples(rs.getLong("samples"));
+        baseline.setCenter(rs.getDouble("center"));
+        baseline.setSpread(rs.getDouble("spread"));
+        baseline.setLastDurationMs(rs.getObject("last_duration_ms", Long.class));
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        baseline.setUpdatedAt(updatedAt != null ? updatedAt.toInstant() : null);
+        return baseline;
+    }
+
+    private static Object[] concat(Object[] values, Object... more) {
+        Object[] args = new Object[values.length + more.length];
+        System.arraycopy(values, 0, args, 0, values.length);
+        System.arraycopy(more, 0, args, values.length, more.length);
+        return args;
+    }
+
+    /** A scenario (by feature uri and name) or a step (by text) of a service. */
+    record Subject(RegressionKind kind, String featureUri, String name) {
+
+        static Subject scenario(String featureUri, String name) {
+            return new Subject(RegressionKind.SCENARIO, truncate(featureUri, MAX_URI), truncate(name, MAX_NAME));
+        }
+
+        private static String truncate(String value, int max) {
+            String text = value == null ? "" : value;
+            return text.length() <= max ? text : text.substring(0, max);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.stock.bion.back.report;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a cucumber-messages NDJSON stream envelope by envelope and produces the same
+ * {@link ReportAnalysis} as a cucumber JSON report. Only the envelopes needed to name and place
+ * scenarios and steps are materialized; attachments, usually the bulk of the stream, are skipped
+ * token by token, so even a line holding a large screenshot is never held in memory. Attempts that
+ * cucumber retries are ignored; only the final attempt of each test case counts.
+ */
+public final class CucumberMessagesAnalyzer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<String> READ = Set.of(
+            "gherkinDocument", "pickle", "testCase", "testCaseStarted", "testStepFinished", "testCaseFinished");
+
+    private final ReportTally tally = new ReportTally();
+    private final Map<String, String> featureNames = new HashMap<>();
+    private final Map<String, Integer> astLines = new HashMap<>();
+    private final Map<String, String> stepKeywords = new HashMap<>();
+    private final Map<String, JsonNode> pickles = new HashMap<>();
+    private final Map<String, JsonNode> testCases = new HashMap<>();
+    private final Map<String, Attempt> attempts = new HashMap<>();
+    private final Map<String, List<ReportBreakdown.Scenario>> scenariosByUri = new LinkedHashMap<>();
+
+    private CucumberMessagesAnalyzer() {}
+
+    public static ReportAnalysis analyze(InputStream messages) throws IOException {
+        CucumberMessagesAnalyzer analyzer = new CucumberMessagesAnalyzer();
+        try (JsonParser parser = MAPPER.createParser(messages)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected one message envelope per line, got " + token);
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String type = parser.currentName();
+                    parser.nextToken();
+                    if (READ.contains(type)) {
+                        analyzer.accept(type, MAPPER.readTree(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return analyzer.result();
+    }
+
+    private void accept(String type, JsonNode message) {
+        switch (type) {
+            case "gherkinDocument" -> gherkinDocument(message);
+            case "pickle" -> pickles.put(message.path("id").asText(), message);
+            case "testCase" -> testCases.put(message.path("id").asText(), message);
+            case "testCaseStarted" -> attempts.put(
+                    message.path("id").asText(), new Attempt(message.path("testCaseId").asText()));
+            case "testStepFinished" -> {
+                Attempt attempt = attempts.get(message.path("testCaseStartedId").asText());
+                if (attempt != null) {
+                    attempt.results.put(message.path("testStepId").asText(), message.path("testStepResult"));
+                }
+            }
+            case "testCaseFinished" -> {
+                Attempt attempt = attempts.remove(message.path("testCaseStartedId").asText());
+                if (attempt != null && !message.path("willBeRetried").asBoolean(false)) {
+                    finish(attempt);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void gherkinDocument(JsonNode document) {
+        JsonNode feature = document.path("feature");
+        featureNames.put(document.path("uri").asText(), feature.path("name").asText(null));
+        children(feature.path("children"));
+    }
+
+    private void children(JsonNode children) {
+        for (JsonNode child : children) {
+            if (child.has("rule")) {
+                children(child.path("rule").path("children"));
+            }
+            JsonNode container = child.has("scenario") ? child.path("scenario") : child.path("background");
+            astLines.put(container.path("id").asText(), line(container));
+            for (JsonNode step : container.path("steps")) {
+                stepKeywords.put(step.path("id").asText(), step.path("keyword").asText("").trim());
+            }
+            for (JsonNode examples : container.path("examples")) {
+                for (JsonNode row : examples.path("tableBody")) {
+                    astLines.put(row.path("id").asText(), line(row));
+                }
+            }
+        }
+    }
+
+    private void finish(Attempt attempt) {
+        JsonNode testCase = testCases.get(attempt.testCaseId);
+        JsonNode pickle = testCase == null ? null : pickles.get(testCase.path("pickleId").asText());
+        if (pickle == null) {
+            return;
+        }
+        Map<String, JsonNode> pickleSteps = new HashMap<>();
+        for (JsonNode step : pickle.path("steps")) {
+            pickleSteps.put(step.path("id").asText(), step);
+        }
+
+        List<ReportBreakdown.Step> steps = new ArrayList<>();
+        List<String> statuses = new ArrayList<>();
+        long duration = 0;
+        String error = null;
+        for (JsonNode testStep : testCase.path("testSteps")) {
+            JsonNode result = attempt.results.get(testStep.path("id").asText());
+            String cucumberStatus = result == null ? "skipped" : result.path("status").asText("unknown");
+            long durationNs = result == null ? 0 : durationNs(result.path("duration"));
+            String message = result == null ? null : result.path("message").asText(null);
+            JsonNode pickleStep = pickleSteps.get(testStep.path("pickleStepId").asText());
+            duration += durationNs;
+            error = error != null ? error : message;
+            if (pickleStep == null) {
+                tally.hook(cucumberStatus, durationNs);
+                statuses.add(ReportBreakdown.normalize(cucumberStatus));
+                continue;
+            }
+            tally.step(cucumberStatus, durationNs);
+            String status = ReportBreakdown.normalize(cucumberStatus);
+            statuses.add(status);
+            steps.add(new ReportBreakdown.Step(
+                    steps.size(),
+                    stepKeywords.get(pickleStep.path("astNodeIds").path(0).asText()),
+                    pickleStep.path("text").asText(null),
+                    status,
+                    durationNs,
+                    message));
+        }
+
+        JsonNode astNodeIds = pickle.path("astNodeIds");
+        Integer line = astLines.get(astNodeIds.path(astNodeIds.size() - 1).asText());
+        scenariosByUri.computeIfAbsent(pickle.path("uri").asText(), uri -> new ArrayList<>())
+                .add(new ReportBreakdown.Scenario(
+                        pickle.path("name").asText(null), line, ReportBreakdown.rollUp(statuses), duration, error,
+                        steps));
+    }
+
+    private ReportAnalysis result() {
+        List<ReportBreakdown.Feature> features = new ArrayList<>(scenariosByUri.size());
+        scenariosByUri.forEach((uri, scenarios) ->
+                features.add(ReportBreakdown.feature(uri, featureNames.get(uri), scenarios)));
+        return tally.analysis(features);
+    }
+
+    private static Integer line(JsonNode node) {
+        JsonNode line = node.path("location").path("line");
+        return line.isInt() ? line.asInt() : null;
+    }
+
+    private static long durationNs(JsonNode duration) {
+        return duration.path("seconds").asLong(0) * 1_000_000_000L + duration.path("nanos").asLong(0);
+    }
+
+    private static final class Attempt {
+
+        final String testCaseId;
+        final Map<String, JsonNode> results = new HashMap<>();
+
+        Attempt(String testCaseId) {
+            this.testCaseId = testCaseId;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.stock.bion.back.report;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** One feature of one stored run. Rows are written in batches by {@link ReportBreakdownWriter}. */
+@Entity
+@Table(
+        name = "feature_results",
+        indexes = {
+            @Index(name = "idx_feature_results_result", columnList = "result_id"),
+            @Index(name = "idx_feature_results_service_uri", columnList = "service_id, uri, created_at")
+        })
+@Getter
+@NoArgsConstructor
+public class FeatureResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "result_id", nullable = false)
+    private Long resultId;
+
+    @Column(name = "service_id")
+    private Long serviceId;
+
+    private String uri;
+
+    private String name;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "duration_ns")
+    private Long durationNs;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
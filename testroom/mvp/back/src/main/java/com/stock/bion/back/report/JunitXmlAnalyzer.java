@@ -0,0 +1,177 @@
+package com.stock.bion.back.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads a JUnit XML report with StAX and produces the same {@link ReportAnalysis} as a cucumber
+ * report. Each {@code <testsuite>} becomes a feature and each {@code <testcase>} a scenario with a
+ * single step: failures and errors fail it, {@code <skipped>} skips it. Output captured in
+ * {@code system-out}/{@code system-err} is skipped without being buffered, and failure text is
+ * kept only up to {@value #MAX_MESSAGE} characters.
+ */
+public final class JunitXmlAnalyzer {
+
+    static final int MAX_MESSAGE = 4000;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newInputFactory();
+
+    private JunitXmlAnalyzer() {}
+
+    public static ReportAnalysis analyze(InputStream report) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(report);
+            ReportTally tally = new ReportTally();
+            // Suites with the same name (e.g. one per shard) are folded into one feature.
+            Map<String, List<ReportBreakdown.Scenario>> suites = new LinkedHashMap<>();
+            String suite = null;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "testsuite" -> suite = firstNonNull(
+                            reader.getAttributeValue(null, "file"), reader.getAttributeValue(null, "name"), "");
+                    case "testcase" -> {
+                        String key = suite != null
+                                ? suite
+                                : firstNonNull(reader.getAttributeValue(null, "classname"), "");
+                        suites.computeIfAbsent(key, name -> new ArrayList<>()).add(readTestCase(reader, tally));
+                    }
+                    default -> {
+                    }
+                }
+            }
+            List<ReportBreakdown.Feature> features = new ArrayList<>(suites.size());
+            suites.forEach((name, scenarios) -> features.add(ReportBreakdown.feature(name, name, scenarios)));
+            return tally.analysis(features);
+        } catch (XMLStreamException ex) {
+            throw new IOException("Report is not valid JUnit XML", ex);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // Nothing is left to release once parsing has stopped.
+                }
+            }
+        }
+    }
+
+    private static ReportBreakdown.Scenario readTestCase(XMLStreamReader reader, ReportTally tally)
+            throws XMLStreamException {
+        String name = firstNonNull(reader.getAttributeValue(null, "name"), "");
+        long durationNs = seconds(reader.getAttributeValue(null, "time"));
+        Integer line = integer(reader.getAttributeValue(null, "line"));
+        String status = ReportBreakdown.PASSED;
+        String error = null;
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "failure", "error" -> {
+                        status = ReportBreakdown.FAILED;
+                        error = error != null ? error : readMessage(reader);
+                    }
+                    case "skipped" -> {
+                        if (!ReportBreakdown.FAILED.equals(status)) {
+                            status = ReportBreakdown.SKIPPED;
+                        }
+                        skipElement(reader);
+                    }
+                    default -> skipElement(reader);
+                }
+            }
+        }
+
+        tally.step(status, durationNs);
+        ReportBreakdown.Step step = new ReportBreakdown.Step(0, null, name, status, durationNs, error);
+        return new ReportBreakdown.Scenario(name, line, status, durationNs, error, List.of(step));
+    }
+
+    /** The {@code message} attribute, else the start of the element's text; leaves the reader on its end. */
+    private static String readMessage(XMLStreamReader reader) throws XMLStreamException {
+        String message = reader.getAttributeValue(null, "message");
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (message == null && text.length() < MAX_MESSAGE
+                    && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                text.append(reader.getTextCharacters(), reader.getTextStart(),
+                        Math.min(reader.getTextLength(), MAX_MESSAGE - text.length()));
+            }
+        }
+        String result = message != null ? message : text.toString().strip();
+        if (result.length() > MAX_MESSAGE) {
+            result = result.substring(0, MAX_MESSAGE);
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static long seconds(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Math.round(Double.parseDouble(value.replace(",", "")) * 1_000_000_000d));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static Integer integer(String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String firstNonNull(String... values) {
+        for (String value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    // Reports come from outside, so no DTDs and no external entities.
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
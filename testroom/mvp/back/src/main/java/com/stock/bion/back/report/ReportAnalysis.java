@@ -0,0 +1,32 @@
+package com.stock.bion.back.report;
+
+import com.stock.bion.back.runner.StepCounts;
+import java.util.List;
+
+/**
+ * Everything derived from a cucumber report in one streaming pass: the run status, step counts,
+ * total step and hook duration, and the per-feature breakdown. A failed step or hook fails the run;
+ * otherwise an undefined or pending step makes it undefined.
+ *
+ * @param status {@code PASSED}, {@code FAILED} or {@code UNDEFINED}; {@code COMPLETED} when the
+ *     value was not a cucumber report array
+ * @param slices byte ranges of the features and scenarios in the report; empty when the report was
+ *     not read from bytes, as for converted JUnit XML and cucumber-messages reports
+ */
+public record ReportAnalysis(
+        String status, StepCounts counts, long durationNs, ReportBreakdown breakdown, List<ReportSlice> slices) {
+
+    public static final String COMPLETED = "COMPLETED";
+
+    /**
+     * Whether a run with this status counts as passed in summaries and trends: a passed report, or
+     * a run that finished without error and without a cucumber report.
+     */
+    public static boolean passed(String status) {
+        return ReportBreakdown.PASSED.equals(status) || COMPLETED.equals(status);
+    }
+
+    static ReportAnalysis notAReport() {
+        return new ReportAnalysis(COMPLETED, new StepCounts(0, 0, 0, 0), 0L, new ReportBreakdown(List.of()), List.of());
+    }
+}
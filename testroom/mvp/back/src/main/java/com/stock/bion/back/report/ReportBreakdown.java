@@ -0,0 +1,79 @@
+package com.stock.bion.back.report;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Flattened view of a cucumber JSON report: features, their scenarios and steps, each with a
+ * status, a duration in nanoseconds and the first error message. Statuses are upper-case.
+ */
+public record ReportBreakdown(List<Feature> features) {
+
+    public static final String PASSED = "PASSED";
+    public static final String FAILED = "FAILED";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String UNDEFINED = "UNDEFINED";
+
+    public record Feature(String uri, String name, String status, long durationNs, List<Scenario> scenarios) {}
+
+    public record Scenario(
+            String name, Integer line, String status, long durationNs, String errorMessage, List<Step> steps) {}
+
+    public record Step(
+            int position, String keyword, String name, String status, long durationNs, String errorMessage) {}
+
+    public static ReportBreakdown from(JsonNode report) {
+        if (report == null) {
+            return new ReportBreakdown(List.of());
+        }
+        try (JsonParser parser = report.traverse()) {
+            parser.nextToken();
+            return StreamingReportAnalyzer.analyze(parser).breakdown();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static Feature feature(String uri, String name, List<Scenario> scenarios) {
+        long duration = 0;
+        List<String> statuses = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            duration += scenario.durationNs();
+            statuses.add(scenario.status());
+        }
+        return new Feature(uri, name, rollUp(statuses), duration, scenarios);
+    }
+
+    /** Normalizes a cucumber step status to the upper-case status stored for it. */
+    public static String normalize(String cucumberStatus) {
+        String status = cucumberStatus == null ? "" : cucumberStatus.toLowerCase(Locale.ROOT);
+        return switch (status) {
+            case "passed" -> PASSED;
+            case "failed", "ambiguous" -> FAILED;
+            case "undefined", "pending" -> UNDEFINED;
+            default -> SKIPPED;
+        };
+    }
+
+    /** Failed beats undefined beats passed; only an all-skipped (or empty) list is skipped. */
+    public static String rollUp(List<String> statuses) {
+        boolean anyPassed = false;
+        boolean anyUndefined = false;
+        for (String status : statuses) {
+            if (FAILED.equals(status)) {
+                return FAILED;
+            }
+            anyUndefined |= UNDEFINED.equals(status);
+            anyPassed |= PASSED.equals(status);
+        }
+        if (anyUndefined) {
+            return UNDEFINED;
+        }
+        return anyPassed ? PASSED : SKIPPED;
+    }
+}
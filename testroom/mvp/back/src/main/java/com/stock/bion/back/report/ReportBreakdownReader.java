@@ -0,0 +1,101 @@
+package com.stock.bion.back.report;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the {@link ReportBreakdown} of stored runs from the feature, scenario and step rows
+ * written by {@link ReportBreakdownWriter}, with one query per table for a whole chunk of results.
+ * Texts come back cut to the lengths they were stored with.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportBreakdownReader {
+
+    private static final int SELECT_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** The breakdown of one run; empty if it has no breakdown rows. */
+    public ReportBreakdown read(Long resultId) {
+        return readAll(List.of(resultId)).getOrDefault(resultId, new ReportBreakdown(List.of()));
+    }
+
+    /** Breakdowns by result id; runs without breakdown rows are left out. */
+    public Map<Long, ReportBreakdown> readAll(Collection<Long> resultIds) {
+        List<Long> ids = resultIds.stream().distinct().toList();
+        Map<Long, ReportBreakdown> breakdowns = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += SELECT_CHUNK) {
+            readChunk(ids.subList(start, Math.min(start + SELECT_CHUNK, ids.size())), breakdowns);
+        }
+        return breakdowns;
+    }
+
+    private void readChunk(List<Long> ids, Map<Long, ReportBreakdown> breakdowns) {
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+
+        Map<String, List<ReportBreakdown.Step>> steps = new HashMap<>();
+        jdbcTemplate.query(
+                "select result_id, feature_uri, scenario_name, scenario_line, position, keyword, name, status,"
+                        + " duration_ns, error_message from step_results where result_id in (" + in + ") order by id",
+                rs -> {
+                    String key = scenarioKey(
+                            rs.getLong("result_id"), rs.getString("feature_uri"), rs.getString("scenario_name"),
+                            rs.getObject("scenario_line", Integer.class));
+                    steps.computeIfAbsent(key, k -> new ArrayList<>())
+                            .add(new ReportBreakdown.Step(
+                                    rs.getInt("position"), rs.getString("keyword"), rs.getString("name"),
+                                    rs.getString("status"), rs.getLong("duration_ns"), rs.getString("error_message")));
+                },
+                args);
+
+        Map<String, List<ReportBreakdown.Scenario>> scenarios = new HashMap<>();
+        jdbcTemplate.query(
+                "select result_id, feature_uri, name, line, status, duration_ns, error_message from scenario_results"
+                        + " where result_id in (" + in + ") order by id",
+                rs -> {
+                    long resultId = rs.getLong("result_id");
+                    String uri = rs.getString("feature_uri");
+                    String name = rs.getString("name");
+                    Integer line = rs.getObject("line", Integer.class);
+                    List<ReportBreakdown.Step> scenarioSteps =
+                            steps.getOrDefault(scenarioKey(resultId, uri, name, line), List.of());
+                    scenarios.computeIfAbsent(featureKey(resultId, uri), k -> new ArrayList<>())
+                            .add(new ReportBreakdown.Scenario(
+                                    name, line, rs.getString("status"), rs.getLong("duration_ns"),
+                                    rs.getString("error_message"), scenarioSteps));
+                },
+                args);
+
+        Map<Long, List<ReportBreakdown.Feature>> features = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "select result_id, uri, name, status, duration_ns from feature_results"
+                        + " where result_id in (" + in + ") order by id",
+                rs -> {
+                    long resultId = rs.getLong("result_id");
+                    String uri = rs.getString("uri");
+                    features.computeIfAbsent(resultId, k -> new ArrayList<>()).add(new ReportBreakdown.Feature(
+                            uri, rs.getString("name"), rs.getString("status"), rs.getLong("duration_ns"),
+                            scenarios.getOrDefault(featureKey(resultId, uri), List.of())));
+                },
+                args);
+        features.forEach((resultId, list) -> breakdowns.put(resultId, new ReportBreakdown(list)));
+    }
+
+    private static String featureKey(long resultId, String featureUri) {
+        return resultId + "\n" + featureUri;
+    }
+
+    private static String scenarioKey(long resultId, String featureUri, String scenarioName, Integer line) {
+        return resultId + "\n" + featureUri + '\n' + scenarioName + '\n' + line;
+    }
+}
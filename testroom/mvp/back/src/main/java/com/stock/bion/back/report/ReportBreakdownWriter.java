@@ -0,0 +1,77 @@
+package com.stock.bion.back.report;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the feature/scenario/step rows of a stored run with one JDBC batch per table. The rows
+ * have identity keys, which would make Hibernate fall back to one INSERT per entity, so they are
+ * inserted directly; it runs inside the transaction that stores the {@code TestResult}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportBreakdownWriter {
+
+    private static final int MAX_TEXT = 1000;
+    private static final int MAX_ERROR = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void write(Long resultId, Long serviceId, Instant createdAt, ReportBreakdown breakdown) {
+        Timestamp at = Timestamp.from(createdAt);
+        List<Object[]> features = new ArrayList<>();
+        List<Object[]> scenarios = new ArrayList<>();
+        List<Object[]> steps = new ArrayList<>();
+
+        for (ReportBreakdown.Feature feature : breakdown.features()) {
+            features.add(new Object[] {
+                resultId, serviceId, truncate(feature.uri(), 255), truncate(feature.name(), 255),
+                feature.status(), feature.durationNs(), at
+            });
+            for (ReportBreakdown.Scenario scenario : feature.scenarios()) {
+                scenarios.add(new Object[] {
+                    resultId, serviceId, truncate(feature.uri(), 255), truncate(scenario.name(), MAX_TEXT),
+                    scenario.line(), scenario.status(), scenario.durationNs(),
+                    truncate(scenario.errorMessage(), MAX_ERROR), at
+                });
+                for (ReportBreakdown.Step step : scenario.steps()) {
+                    steps.add(new Object[] {
+                        resultId, serviceId, truncate(feature.uri(), 255), truncate(scenario.name(), MAX_TEXT),
+                        scenario.line(), step.position(), truncate(step.keyword(), 255),
+                        truncate(step.name(), MAX_TEXT), step.status(), step.durationNs(),
+                        truncate(step.errorMessage(), MAX_ERROR), at
+                    });
+                }
+            }
+        }
+
+        if (!features.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into feature_results (result_id, service_id, uri, name, status, duration_ns, created_at)"
+                            + " values (?, ?, ?, ?, ?, ?, ?)",
+                    features);
+        }
+        if (!scenarios.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into scenario_results (result_id, service_id, feature_uri, name, line, status,"
+                            + " duration_ns, error_message, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    scenarios);
+        }
+        if (!steps.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into step_results (result_id, service_id, feature_uri, scenario_name, scenario_line,"
+                            + " position, keyword, name, status, duration_ns, error_message, created_at)"
+                            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    steps);
+        }
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+}
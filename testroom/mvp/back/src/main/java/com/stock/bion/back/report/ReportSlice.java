@@ -0,0 +1,11 @@
+package com.stock.bion.back.report;
+
+/**
+ * Where one feature, or one scenario of it, sits in the stored report: a byte range of the report
+ * exactly as it was stored, so it can be served without parsing the rest of the document.
+ *
+ * @param scenario the scenario name, or {@code null} for the slice covering the whole feature
+ * @param offset byte offset of the opening brace, from the start of the stored report
+ * @param length byte length up to and including the closing brace
+ */
+public record ReportSlice(String featureUri, String scenario, Integer line, long offset, long length) {}
@@ -0,0 +1,10 @@
+package com.stock.bion.back.report;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReportSliceRepository extends JpaRepository<ReportSliceRow, Long> {
+
+    /** The feature slice comes first, followed by its scenarios in report order. */
+    List<ReportSliceRow> findByResultIdAndFeatureUriOrderByByteOffsetAsc(Long resultId, String featureUri);
+}
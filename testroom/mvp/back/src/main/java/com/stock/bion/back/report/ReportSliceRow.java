@@ -0,0 +1,42 @@
+package com.stock.bion.back.report;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** One {@link ReportSlice} of a stored run's report. */
+@Entity
+@Table(
+        name = "report_slices",
+        indexes = @Index(name = "idx_report_slices_result_feature", columnList = "result_id, feature_uri"))
+@Getter
+@NoArgsConstructor
+public class ReportSliceRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "result_id", nullable = false)
+    private Long resultId;
+
+    @Column(name = "feature_uri", nullable = false)
+    private String featureUri;
+
+    @Column(length = 1000)
+    private String scenario;
+
+    private Integer line;
+
+    @Column(name = "byte_offset", nullable = false)
+    private long byteOffset;
+
+    @Column(name = "byte_length", nullable = false)
+    private long byteLength;
+}
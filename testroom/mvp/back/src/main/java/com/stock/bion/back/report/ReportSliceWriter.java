@@ -0,0 +1,39 @@
+package com.stock.bion.back.report;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the {@link ReportSlice} index of a stored report with one JDBC batch, inside the
+ * transaction that stores the {@code TestResult}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportSliceWriter {
+
+    private static final int MAX_SCENARIO = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void write(Long resultId, List<ReportSlice> slices) {
+        if (slices.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into report_slices (result_id, feature_uri, scenario, line, byte_offset, byte_length)"
+                        + " values (?, ?, ?, ?, ?, ?)",
+                slices.stream()
+                        .filter(slice -> slice.featureUri().length() <= 255)
+                        .map(slice -> new Object[] {
+                            resultId, slice.featureUri(), truncate(slice.scenario()), slice.line(), slice.offset(),
+                            slice.length()
+                        })
+                        .toList());
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_SCENARIO ? value : value.substring(0, MAX_SCENARIO);
+    }
+}
@@ -0,0 +1,58 @@
+package com.stock.bion.back.report;
+
+import com.stock.bion.back.runner.StepCounts;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Run-level status flags, step counts and duration, accumulated step by step while a report is
+ * read. Every report format goes through it, so they all resolve a run's status the same way.
+ */
+final class ReportTally {
+
+    private boolean failed;
+    private boolean undefined;
+    private int passed;
+    private int failedSteps;
+    private int skipped;
+    private int undefinedSteps;
+    private long durationNs;
+
+    /** Counts a step with its cucumber status, in any case. */
+    void step(String status, long stepDurationNs) {
+        durationNs += stepDurationNs;
+        switch (status.toLowerCase(Locale.ROOT)) {
+            case "passed" -> passed++;
+            case "failed", "ambiguous" -> {
+                failedSteps++;
+                failed = true;
+            }
+            case "skipped" -> skipped++;
+            case "undefined", "pending" -> {
+                undefinedSteps++;
+                undefined = true;
+            }
+            default -> {
+            }
+        }
+    }
+
+    /** Hooks are not counted as steps, but a failed hook fails the run. */
+    void hook(String status, long hookDurationNs) {
+        durationNs += hookDurationNs;
+        failed |= "failed".equalsIgnoreCase(status);
+    }
+
+    ReportAnalysis analysis(List<ReportBreakdown.Feature> features) {
+        return analysis(features, List.of());
+    }
+
+    ReportAnalysis analysis(List<ReportBreakdown.Feature> features, List<ReportSlice> slices) {
+        return new ReportAnalysis(
+                failed ? ReportBreakdown.FAILED : undefined ? ReportBreakdown.UNDEFINED : ReportBreakdown.PASSED,
+                new StepCounts(passed, failedSteps, skipped, undefinedSteps),
+                durationNs,
+                new ReportBreakdown(features),
+                slices);
+    }
+}
@@ -0,0 +1,56 @@
+package com.stock.bion.back.report;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** One scenario (or outline example row) of one stored run. */
+@Entity
+@Table(
+        name = "scenario_results",
+        indexes = {
+            @Index(name = "idx_scenario_results_result", columnList = "result_id"),
+            @Index(name = "idx_scenario_results_service_name", columnList = "service_id, name, created_at"),
+            @Index(name = "idx_scenario_results_status", columnList = "status, created_at")
+        })
+@Getter
+@NoArgsConstructor
+public class ScenarioResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "result_id", nullable = false)
+    private Long resultId;
+
+    @Column(name = "service_id")
+    private Long serviceId;
+
+    @Column(name = "feature_uri")
+    private String featureUri;
+
+    @Column(length = 1000)
+    private String name;
+
+    private Integer line;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "duration_ns")
+    private Long durationNs;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,64 @@
+package com.stock.bion.back.report;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** One step of one scenario of one stored run. */
+@Entity
+@Table(
+        name = "step_results",
+        indexes = {
+            @Index(name = "idx_step_results_result", columnList = "result_id"),
+            @Index(name = "idx_step_results_name_status", columnList = "name, status, created_at"),
+            @Index(name = "idx_step_results_status", columnList = "status, created_at")
+        })
+@Getter
+@NoArgsConstructor
+public class StepResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "result_id", nullable = false)
+    private Long resultId;
+
+    @Column(name = "service_id")
+    private Long serviceId;
+
+    @Column(name = "feature_uri")
+    private String featureUri;
+
+    @Column(name = "scenario_name", length = 1000)
+    private String scenarioName;
+
+    @Column(name = "scenario_line")
+    private Integer scenarioLine;
+
+    private Integer position;
+
+    private String keyword;
+
+    @Column(length = 1000)
+    private String name;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "duration_ns")
+    private Long durationNs;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,55 @@
+package com.stock.bion.back.report;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/step-results")
+@RequiredArgsConstructor
+public class StepResultController {
+
+    private static final int MAX_ROWS = 500;
+
+    private final StepResultRepository stepResultRepository;
+    private final Clock clock;
+
+    /** Every failure of the step with this exact text in {@code [from, to)}, last week by default. */
+    @GetMapping("/failures")
+    public List<StepResultResponse> failures(
+            @RequestParam String name,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to != null ? to : Instant.now(clock);
+        Instant start = from != null ? from : end.minus(Duration.ofDays(7));
+        return stepResultRepository
+                .findByNameAndStatus(name, ReportBreakdown.FAILED, start, end, PageRequest.of(0, MAX_ROWS))
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private StepResultResponse toResponse(StepResult step) {
+        return StepResultResponse.builder()
+                .resultId(step.getResultId())
+                .serviceId(step.getServiceId())
+                .featureUri(step.getFeatureUri())
+                .scenarioName(step.getScenarioName())
+                .scenarioLine(step.getScenarioLine())
+                .keyword(step.getKeyword())
+                .name(step.getName())
+                .status(step.getStatus())
+                .durationNs(step.getDurationNs())
+                .errorMessage(step.getErrorMessage())
+                .createdAt(step.getCreatedAt())
+                .build();
+    }
+}
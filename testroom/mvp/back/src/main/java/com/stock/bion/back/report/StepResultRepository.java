@@ -0,0 +1,23 @@
+package com.stock.bion.back.report;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StepResultRepository extends JpaRepository<StepResult, Long> {
+
+    @Query("select s from StepResult s"
+            + " where s.name = :name and s.status = :status and s.createdAt >= :from and s.createdAt < :to"
+            + " order by s.createdAt desc")
+    List<StepResult> findByNameAndStatus(
+            @Param("name") String name,
+            @Param("status") String status,
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            Pageable pageable);
+}
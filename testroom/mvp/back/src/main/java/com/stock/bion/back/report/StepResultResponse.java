@@ -0,0 +1,22 @@
+package com.stock.bion.back.report;
+
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class StepResultResponse {
+
+    Long resultId;
+    Long serviceId;
+    String featureUri;
+    String scenarioName;
+    Integer scenarioLine;
+    String keyword;
+    String name;
+    String status;
+    Long durationNs;
+    String errorMessage;
+    Instant createdAt;
+}
@@ -0,0 +1,245 @@
+package com.stock.bion.back.report;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a cucumber JSON report token by token and produces its {@link ReportAnalysis} in a single
+ * pass. Nothing but the handful of fields it needs is materialized; embeddings such as failure
+ * screenshots are skipped without being decoded, which is where most of a large report's bytes are.
+ *
+ * <p>When the parser reports byte offsets, the byte range of every feature and scenario is recorded
+ * on the way as a {@link ReportSlice}, relative to the first byte of the report.
+ */
+public final class StreamingReportAnalyzer {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private StreamingReportAnalyzer() {}
+
+    public static ReportAnalysis analyze(byte[] report) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(report)) {
+            if (parser.nextToken() == null) {
+                return ReportAnalysis.notAReport();
+            }
+            return analyze(parser, 0L);
+        }
+    }
+
+    /**
+     * Analyzes the value the parser is positioned on and leaves the parser on its last token, so
+     * callers embedding the report in a larger document can keep reading after it.
+     */
+    public static ReportAnalysis analyze(JsonParser parser) throws IOException {
+        return analyze(parser, parser.currentTokenLocation().getByteOffset());
+    }
+
+    // A negative base means the parser has no byte offsets (e.g. it walks a tree) and no slices are kept.
+    private static ReportAnalysis analyze(JsonParser parser, long base) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return ReportAnalysis.notAReport();
+        }
+
+        ReportTally tally = new ReportTally();
+        List<ReportBreakdown.Feature> features = new ArrayList<>();
+        List<ReportSlice> slices = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                features.add(readFeature(parser, tally, base, slices));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return tally.analysis(features, base < 0 ? List.of() : slices);
+    }
+
+    private static ReportBreakdown.Feature readFeature(
+            JsonParser parser, ReportTally tally, long base, List<ReportSlice> slices) throws IOException {
+        long start = parser.currentTokenLocation().getByteOffset();
+        String uri = null;
+        String name = null;
+        List<Element> elements = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "uri" -> uri = parser.getValueAsString();
+                case "name" -> name = parser.getValueAsString();
+                case "elements" -> {
+                    if (token == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                                long elementStart = parser.currentTokenLocation().getByteOffset();
+                                Element element = readElement(parser, tally);
+                                element.offset = elementStart - base;
+                                element.length = parser.currentLocation().getByteOffset() - elementStart;
+                                elements.add(element);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (uri != null) {
+            long length = parser.currentLocation().getByteOffset() - start;
+            slices.add(new ReportSlice(uri, null, null, start - base, length));
+        }
+
+        // Cucumber emits the background before every scenario; its steps run as part of it.
+        List<ReportBreakdown.Scenario> scenarios = new ArrayList<>();
+        Element background = null;
+        for (Element element : elements) {
+            if ("background".equals(element.type)) {
+                background = element;
+            } else {
+                scenarios.add(element.toScenario(background));
+                background = null;
+                if (uri != null) {
+                    slices.add(new ReportSlice(uri, element.name, element.line, element.offset, element.length));
+                }
+            }
+        }
+        return ReportBreakdown.feature(uri, name, scenarios);
+    }
+
+    private static Element readElement(JsonParser parser, ReportTally tally) throws IOException {
+        Element element = new Element();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "type" -> element.type = parser.getValueAsString();
+                case "name" -> element.name = parser.getValueAsString();
+                case "line" -> element.line = token == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                case "steps" -> readSteps(parser, element.steps, tally, false);
+                case "before" -> readSteps(parser, element.before, tally, true);
+                case "after" -> readSteps(parser, element.after, tally, true);
+                default -> parser.skipChildren();
+            }
+        }
+        return element;
+    }
+
+    private static void readSteps(JsonParser parser, List<RawStep> target, ReportTally tally, boolean hooks)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            RawStep step = readStep(parser);
+            if (hooks) {
+                tally.hook(step.status, step.durationNs);
+            } else {
+                tally.step(step.status, step.durationNs);
+            }
+            target.add(step);
+        }
+    }
+
+    private static RawStep readStep(JsonParser parser) throws IOException {
+        RawStep step = new RawStep();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "keyword" -> step.keyword = parser.getValueAsString();
+                case "name" -> step.name = parser.getValueAsString();
+                case "result" -> {
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String resultField = parser.currentName();
+                        parser.nextToken();
+                        switch (resultField) {
+                            case "status" -> step.status = parser.getValueAsString("").toLowerCase(Locale.ROOT);
+                            case "duration" -> step.durationNs = parser.getValueAsLong(0L);
+                            case "error_message" -> step.errorMessage = parser.getValueAsString();
+                            default -> parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return step;
+    }
+
+    private static final class RawStep {
+
+        String keyword;
+        String name;
+        String status = "";
+        long durationNs;
+        String errorMessage;
+    }
+
+    private static final class Element {
+
+        String type;
+        String name;
+        Integer line;
+        long offset;
+        long length;
+        final List<RawStep> before = new ArrayList<>();
+        final List<RawStep> steps = new ArrayList<>();
+        final List<RawStep> after = new ArrayList<>();
+
+        ReportBreakdown.Scenario toScenario(Element background) {
+            List<ReportBreakdown.Step> parsedSteps = new ArrayList<>();
+            List<String> statuses = new ArrayList<>();
+            long duration = 0;
+            String error = null;
+
+            List<RawStep> allSteps = new ArrayList<>();
+            if (background != null) {
+                allSteps.addAll(background.steps);
+            }
+            allSteps.addAll(steps);
+
+            for (RawStep hook : before) {
+                duration += hook.durationNs;
+                statuses.add(ReportBreakdown.normalize(hook.status));
+                error = error != null ? error : hook.errorMessage;
+            }
+            int position = 0;
+            for (RawStep step : allSteps) {
+                ReportBreakdown.Step parsed = new ReportBreakdown.Step(
+                        position++,
+                        step.keyword == null ? null : step.keyword.trim(),
+                        step.name,
+                        ReportBreakdown.normalize(step.status),
+                        step.durationNs,
+                        step.errorMessage);
+                parsedSteps.add(parsed);
+                statuses.add(parsed.status());
+                duration += parsed.durationNs();
+                error = error != null ? error : parsed.errorMessage();
+            }
+            for (RawStep hook : after) {
+                duration += hook.durationNs;
+                statuses.add(ReportBreakdown.normalize(hook.status));
+                error = error != null ? error : hook.errorMessage;
+            }
+            return new ReportBreakdown.Scenario(
+                    name, line, ReportBreakdown.rollUp(statuses), duration, error, parsedSteps);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.stock.bion.back.result;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BatchIngestResponse {
+
+    int created;
+
+    int existing;
+
+    int invalid;
+
+    List<BatchItemOutcome> items;
+
+    /**
+     * Set when the body stopped being valid JSON. Items before that point are stored and listed;
+     * since ingestion is idempotent the corrected batch can simply be sent again.
+     */
+    String error;
+}
@@ -0,0 +1,22 @@
+package com.stock.bion.back.result;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BatchItemOutcome {
+
+    /** Zero-based position of the item in the request body. */
+    int index;
+
+    String runId;
+
+    BatchItemStatus status;
+
+    /** Id of the stored result, for created and existing items. */
+    Long id;
+
+    List<String> errors;
+}
@@ -0,0 +1,10 @@
+package com.stock.bion.back.result;
+
+public enum BatchItemStatus {
+    /** Stored as a new result. */
+    CREATED,
+    /** A result with the same run id was already stored; nothing was written. */
+    EXISTING,
+    /** Rejected; see the item's errors. */
+    INVALID
+}
@@ -0,0 +1,122 @@
+package com.stock.bion.back.result;
+
+import com.stock.bion.back.artifact.ArtifactStore;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the stdout/stderr/report LOB columns that older versions stored inline on
+ * {@code test_results} into the {@link ArtifactStore}, in small id-ordered batches, and drops the
+ * columns once every row has been moved. Does nothing on databases that never had them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class LegacyArtifactMigration implements ApplicationRunner {
+
+    private static final String[] LEGACY_COLUMNS = {"stdout", "stderr", "report"};
+    private static final int BATCH_SIZE = 100;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArtifactStore artifactStore;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        if (!hasLegacyColumns()) {
+            return;
+        }
+
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            long from = lastId;
+            List<Object[]> batch = transactionTemplate.execute(status -> migrateBatch(from));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            lastId = (Long) batch.get(batch.size() - 1)[3];
+            migrated += batch.size();
+        }
+
+        for (String column : LEGACY_COLUMNS) {
+            jdbcTemplate.execute("alter table test_results drop column " + column);
+        }
+        log.info("Moved inline artifacts of {} test results into the artifact store", migrated);
+    }
+
+    /** Migrates the next batch of rows after {@code afterId} and returns their update parameters. */
+    private List<Object[]> migrateBatch(long afterId) {
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query(
+                "select id, stdout, stderr, report from test_results where id > ? order by id"
+                        + " fetch first " + BATCH_SIZE + " rows only",
+                rs -> {
+                    updates.add(new Object[] {
+                        store(rs, "stdout"), store(rs, "stderr"), store(rs, "report"), rs.getLong("id")
+                    });
+                },
+                afterId);
+        if (updates.isEmpty()) {
+            return updates;
+        }
+        jdbcTemplate.batchUpdate(
+                "update test_results set"
+                        + " stdout_key = coalesce(stdout_key, ?),"
+                        + " stderr_key = coalesce(stderr_key, ?),"
+                        + " report_key = coalesce(report_key, ?)"
+                        + " where id = ?",
+                updates);
+        return updates;
+    }
+
+    private String store(ResultSet rs, String column) throws SQLException {
+        Clob clob = rs.getClob(column);
+        if (clob == null) {
+            return null;
+        }
+        try (Reader reader = clob.getCharacterStream()) {
+            return artifactStore.put(reader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to migrate " + column + " of test result " + rs.getLong("id"), ex);
+        } finally {
+            clob.free();
+        }
+    }
+
+    private boolean hasLegacyColumns() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[] {"test_results", "TEST_RESULTS"}) {
+                try (ResultSet columns = metaData.getColumns(null, null, table, null)) {
+                    List<String> names = new ArrayList<>();
+                    while (columns.next()) {
+                        names.add(columns.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                    if (!names.isEmpty()) {
+                        return names.containsAll(List.of(LEGACY_COLUMNS));
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+package com.stock.bion.back.result;
+
+import com.stock.bion.back.report.CucumberMessagesAnalyzer;
+import com.stock.bion.back.report.JunitXmlAnalyzer;
+import com.stock.bion.back.report.ReportAnalysis;
+import com.stock.bion.back.runner.RunScope;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Stores runs of suites executed outside the runner from the report they produced, JUnit XML or
+ * cucumber-messages NDJSON. The body is analyzed while it is read and is not kept; the result gets
+ * its status, step counts, duration and breakdown from the analysis, exactly as a cucumber JSON
+ * report would give them. Bodies may be sent with {@code Content-Encoding: gzip}.
+ */
+@RestController
+@RequestMapping("/api/results/import")
+@RequiredArgsConstructor
+@Slf4j
+public class ReportImportController {
+
+    private final TestResultService testResultService;
+
+    @PostMapping(path = "/junit", consumes = {MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_XML_VALUE})
+    public ResponseEntity<TestResultResponse> importJunit(
+            @RequestParam String runId,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) String serviceName,
+            @RequestParam(required = false) Long scenarioId,
+            @RequestParam(required = false) String scenarioTitle,
+            @RequestParam(required = false) RunScope scope,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String encoding,
+            InputStream body)
+            throws IOException {
+        ReportAnalysis analysis = JunitXmlAnalyzer.analyze(decode(body, encoding));
+        return store(analysis, runId, serviceId, serviceName, scenarioId, scenarioTitle, scope);
+    }
+
+    @PostMapping(path = "/cucumber-messages", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<TestResultResponse> importCucumberMessages(
+            @RequestParam String runId,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) String serviceName,
+            @RequestParam(required = false) Long scenarioId,
+            @RequestParam(required = false) String scenarioTitle,
+            @RequestParam(required = false) RunScope scope,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String encoding,
+            InputStream body)
+            throws IOException {
+        ReportAnalysis analysis = CucumberMessagesAnalyzer.analyze(decode(body, encoding));
+        return store(analysis, runId, serviceId, serviceName, scenarioId, scenarioTitle, scope);
+    }
+
+    private ResponseEntity<TestResultResponse> store(
+            ReportAnalysis analysis,
+            String runId,
+            Long serviceId,
+            String serviceName,
+            Long scenarioId,
+            String scenarioTitle,
+            RunScope scope) {
+        TestResultRequest request = TestResultRequest.builder()
+                .scope(scope != null ? scope : RunScope.SCENARIO)
+                .serviceId(serviceId)
+                .serviceName(serviceName)
+                .scenarioId(scenarioId)
+                .scenarioTitle(scenarioTitle)
+                .runId(runId)
+                .status(analysis.status())
+                .durationMs(analysis.durationNs() / 1_000_000)
+                .reportAnalysis(analysis)
+                .build();
+        return ResponseEntity.status(HttpStatus.CREATED).body(testResultService.saveResult(request));
+    }
+
+    private static InputStream decode(InputStream body, String encoding) throws IOException {
+        return "gzip".equalsIgnoreCase(encoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+    }
+
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<Void> handleUnreadableReport(IOException ex) {
+        log.debug("Rejected imported report", ex);
+        return ResponseEntity.badRequest().build();
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Void> handleDuplicateRun() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
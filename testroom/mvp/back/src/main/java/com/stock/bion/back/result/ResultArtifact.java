@@ -0,0 +1,31 @@
+package com.stock.bion.back.result;
+
+import java.util.Locale;
+import java.util.function.Function;
+import org.springframework.http.MediaType;
+
+public enum ResultArtifact {
+    STDOUT(TestResult::getStdoutKey, MediaType.TEXT_PLAIN),
+    STDERR(TestResult::getStderrKey, MediaType.TEXT_PLAIN),
+    REPORT(TestResult::getReportKey, MediaType.APPLICATION_JSON);
+
+    private final Function<TestResult, String> key;
+    private final MediaType mediaType;
+
+    ResultArtifact(Function<TestResult, String> key, MediaType mediaType) {
+        this.key = key;
+        this.mediaType = mediaType;
+    }
+
+    public String keyOf(TestResult result) {
+        return key.apply(result);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ResultArtifact fromPath(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,84 @@
+package com.stock.bion.back.result;
+
+import com.stock.bion.back.artifact.ArtifactStore;
+import com.stock.bion.back.report.ReportSliceRepository;
+import com.stock.bion.back.report.ReportSliceRow;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serves the stdout/stderr/report artifacts of a result on their own, streaming them out of the
+ * {@link ArtifactStore} so they are never materialized as one string. Single features and scenarios
+ * of a report are served from the byte ranges indexed when the report was stored.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResultArtifactService {
+
+    private final TestResultRepository testResultRepository;
+    private final ArtifactStore artifactStore;
+    private final ReportSliceRepository reportSliceRepository;
+
+    /**
+     * Returns the artifact key of the result, or {@code null} if the result has no such artifact.
+     *
+     * @throws TestResultNotFoundException if there is no result with this id
+     */
+    @Transactional(readOnly = true)
+    public String findKey(Long id, ResultArtifact artifact) {
+        TestResult result = testResultRepository.findById(id).orElseThrow(() -> new TestResultNotFoundException(id));
+        return artifact.keyOf(result);
+    }
+
+    /**
+     * Locates one feature of the stored report, or one of its scenarios when {@code scenario} or
+     * {@code line} is given. Empty if the result has no report or the report has no such slice.
+     *
+     * @throws TestResultNotFoundException if there is no result with this id
+     */
+    @Transactional(readOnly = true)
+    public Optional<ReportRange> findReportSlice(Long id, String featureUri, String scenario, Integer line) {
+        TestResult result = testResultRepository.findById(id).orElseThrow(() -> new TestResultNotFoundException(id));
+        if (result.getReportKey() == null) {
+            return Optional.empty();
+        }
+        boolean wholeFeature = scenario == null && line == null;
+        return reportSliceRepository.findByResultIdAndFeatureUriOrderByByteOffsetAsc(id, featureUri).stream()
+                .filter(slice -> wholeFeature
+                        ? slice.getScenario() == null
+                        : slice.getScenario() != null
+                                && (scenario == null || scenario.equals(slice.getScenario()))
+                                && (line == null || line.equals(slice.getLine())))
+                .findFirst()
+                .map(slice -> new ReportRange(result.getReportKey(), slice.getByteOffset(), slice.getByteLength()));
+    }
+
+    public void copyTo(String key, OutputStream out) throws IOException {
+        try (InputStream in = artifactStore.open(key)) {
+            in.transferTo(out);
+        }
+    }
+
+    public void copyTo(ReportRange range, OutputStream out) throws IOException {
+        try (InputStream in = artifactStore.open(range.key(), range.offset())) {
+            byte[] buffer = new byte[8192];
+            long remaining = range.length();
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    /** A byte range of a stored report artifact. */
+    public record ReportRange(String key, long offset, long length) {}
+}
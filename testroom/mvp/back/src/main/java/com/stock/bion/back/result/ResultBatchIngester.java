@@ -0,0 +1,193 @@
+package com.stock.bion.back.result;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores a stream of results posted by an external pipeline, either a JSON array or NDJSON, in
+ * chunks of {@code results.batch.chunk-size}. The body is parsed item by item, so its size does not
+ * matter. Each chunk costs one lookup of the run ids it contains and one
+ * {@link TestResultService#saveAll} call; items whose run id is already stored are reported as
+ * existing instead of failing, which makes resending a batch safe.
+ */
+@Service
+@Slf4j
+public class ResultBatchIngester {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TestResultService testResultService;
+    private final TestResultRepository testResultRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ResultBatchIngester(
+            TestResultService testResultService,
+            TestResultRepository testResultRepository,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${results.batch.chunk-size:500}") int chunkSize) {
+        this.testResultService = testResultService;
+        this.testResultRepository = testResultRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    public BatchIngestResponse ingest(InputStream body) throws IOException {
+        List<BatchItemOutcome> outcomes = new ArrayList<>();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        String error = null;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            int index = 0;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                chunk.add(item(index++, objectMapper.readTree(parser)));
+                if (chunk.size() >= chunkSize) {
+                    outcomes.addAll(store(chunk));
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException ex) {
+            error = "Malformed JSON at item " + (outcomes.size() + chunk.size()) + ": " + ex.getOriginalMessage();
+        }
+        outcomes.addAll(store(chunk));
+
+        int[] counts = new int[BatchItemStatus.values().length];
+        outcomes.forEach(outcome -> counts[outcome.getStatus().ordinal()]++);
+        log.info(
+                "Batch ingest: {} created, {} existing, {} invalid",
+                counts[BatchItemStatus.CREATED.ordinal()],
+                counts[BatchItemStatus.EXISTING.ordinal()],
+                counts[BatchItemStatus.INVALID.ordinal()]);
+        return BatchIngestResponse.builder()
+                .created(counts[BatchItemStatus.CREATED.ordinal()])
+                .existing(counts[BatchItemStatus.EXISTING.ordinal()])
+                .invalid(counts[BatchItemStatus.INVALID.ordinal()])
+                .items(outcomes)
+                .error(error)
+                .build();
+    }
+
+    private Item item(int index, JsonNode node) {
+        if (!node.isObject()) {
+            return Item.invalid(index, null, List.of("item must be a JSON object"));
+        }
+        TestResultRequest request;
+        try {
+            request = objectMapper.treeToValue(node, TestResultRequest.class);
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            String message = ex instanceof JsonProcessingException json ? json.getOriginalMessage() : ex.getMessage();
+            return Item.invalid(index, node.path("runId").asText(null), List.of(message));
+        }
+        List<String> errors = validator.validate(request).stream()
+                .map(ResultBatchIngester::describe)
+                .sorted()
+                .toList();
+        return errors.isEmpty() ? Item.valid(index, request) : Item.invalid(index, request.getRunId(), errors);
+    }
+
+    private static String describe(ConstraintViolation<TestResultRequest> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private List<BatchItemOutcome> store(List<Item> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        // The first item with a run id is the one stored; later ones in the chunk repeat it.
+        Map<String, Item> firstByRunId = new LinkedHashMap<>();
+        for (Item item : chunk) {
+            if (item.request() != null) {
+                firstByRunId.putIfAbsent(item.runId(), item);
+            }
+        }
+        Map<String, Long> existing = new HashMap<>();
+        Map<String, Long> created = new HashMap<>();
+        for (int attempt = 1; !firstByRunId.isEmpty(); attempt++) {
+            Map<String, Long> found = findIds(firstByRunId.keySet());
+            List<Item> fresh = firstByRunId.values().stream()
+                    .filter(item -> !found.containsKey(item.runId()))
+                    .toList();
+            try {
+                List<Long> ids = fresh.isEmpty()
+                        ? List.of()
+                        : testResultService.saveAll(fresh.stream().map(Item::request).toList());
+                for (int i = 0; i < fresh.size(); i++) {
+                    created.put(fresh.get(i).runId(), ids.get(i));
+                }
+                existing = found;
+                break;
+            } catch (DuplicateKeyException race) {
+                // Another request stored one of these run ids in the meantime; look them up again.
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw race;
+                }
+            }
+        }
+
+        List<BatchItemOutcome> outcomes = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            if (item.request() == null) {
+                outcomes.add(BatchItemOutcome.builder()
+                        .index(item.index())
+                        .runId(item.runId())
+                        .status(BatchItemStatus.INVALID)
+                        .errors(item.errors())
+                        .build());
+                continue;
+            }
+            String runId = item.runId();
+            boolean isNew = firstByRunId.get(runId) == item && created.containsKey(runId);
+            outcomes.add(BatchItemOutcome.builder()
+                    .index(item.index())
+                    .runId(runId)
+                    .status(isNew ? BatchItemStatus.CREATED : BatchItemStatus.EXISTING)
+                    .id(created.containsKey(runId) ? created.get(runId) : existing.get(runId))
+                    .errors(List.of())
+                    .build());
+        }
+        return outcomes;
+    }
+
+    private Map<String, Long> findIds(Collection<String> runIds) {
+        Map<String, Long> ids = new HashMap<>();
+        testResultRepository.findByRunIdIn(runIds).forEach(run -> ids.put(run.getRunId(), run.getId()));
+        return ids;
+    }
+
+    /** An item as read from the body: either a valid request or the reasons it is not one. */
+    private record Item(int index, String runId, TestResultRequest request, List<String> errors) {
+
+        static Item valid(int index, TestResultRequest request) {
+            return new Item(index, request.getRunId(), request, List.of());
+        }
+
+        static Item invalid(int index, String runId, List<String> errors) {
+            return new Item(index, runId, null, errors);
+        }
+    }
+}
@@ -1,26 +1,112 @@
 package com.stock.bion.back.result;
 
+import com.stock.bion.back.runner.RunScope;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class ResultController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
     private final TestResultService testResultService;
+    private final ResultArtifactService resultArtifactService;
+    private final ResultRecorder resultRecorder;
+    private final ResultExportService resultExportService;
+    private final ResultBatchIngester resultBatchIngester;
 
     @GetMapping("/results")
-    public List<TestResultResponse> listResults() {
-        return testResultService.findAll();
+    public ResultPage<TestResultSummary> listResults(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) Long scenarioId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) RunScope scope,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        TestResultQuery query = query(serviceId, scenarioId, status, scope, from, to);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        resultRecorder.awaitFlush();
+        return testResultService.findPage(query, cursor, pageSize);
+    }
+
+    /** Streams every result matching the listing filters as NDJSON or CSV, optionally gzipped. */
+    @GetMapping("/results/export")
+    public ResponseEntity<StreamingResponseBody> exportResults(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) Long scenarioId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) RunScope scope,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        TestResultQuery query = query(serviceId, scenarioId, status, scope, from, to);
+        resultRecorder.awaitFlush();
+        String filename = "results." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : exportFormat.getMediaType())
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> resultExportService.export(query, exportFormat, gzip, out));
+    }
+
+    @GetMapping("/results/{id}/{artifact:stdout|stderr|report}")
+    public ResponseEntity<StreamingResponseBody> getArtifact(
+            @PathVariable Long id, @PathVariable String artifact) {
+        ResultArtifact type = ResultArtifact.fromPath(artifact);
+        resultRecorder.awaitFlush();
+        String key = resultArtifactService.findKey(id, type);
+        if (key == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType(type.getMediaType(), StandardCharsets.UTF_8))
+                .eTag(key)
+                .body(out -> resultArtifactService.copyTo(key, out));
+    }
+
+    /**
+     * Serves one feature of the stored report, or one scenario of it, straight from the byte range
+     * indexed at ingest time. Without {@code feature} the request falls through to the full report.
+     */
+    @GetMapping(path = "/results/{id}/report", params = "feature")
+    public ResponseEntity<StreamingResponseBody> getReportSlice(
+            @PathVariable Long id,
+            @RequestParam String feature,
+            @RequestParam(required = false) String scenario,
+            @RequestParam(required = false) Integer line) {
+        resultRecorder.awaitFlush();
+        return resultArtifactService.findReportSlice(id, feature, scenario, line)
+                .map(range -> ResponseEntity.ok()
+                        .contentType(new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8))
+                        .<StreamingResponseBody>body(out -> resultArtifactService.copyTo(range, out)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PostMapping("/results")
@@ -29,4 +115,40 @@ public class ResultController {
         TestResultResponse response = testResultService.saveResult(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    /**
+     * Stores a JSON array or an NDJSON stream of results and reports per item whether it was
+     * created, already stored under its run id, or invalid.
+     */
+    @PostMapping(
+            path = "/results/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchIngestResponse> receiveBatch(InputStream body) throws IOException {
+        BatchIngestResponse response = resultBatchIngester.ingest(body);
+        return response.getError() == null
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.badRequest().body(response);
+    }
+
+    private static TestResultQuery query(
+            Long serviceId, Long scenarioId, String status, RunScope scope, Instant from, Instant to) {
+        return TestResultQuery.builder()
+                .serviceId(serviceId)
+                .scenarioId(scenarioId)
+                .status(status)
+                .scope(scope)
+                .from(from)
+                .to(to)
+                .build();
+    }
+
+    @ExceptionHandler(TestResultNotFoundException.class)
+    public ResponseEntity<Void> handleNotFound() {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest() {
+        return ResponseEntity.badRequest().build();
+    }
 }
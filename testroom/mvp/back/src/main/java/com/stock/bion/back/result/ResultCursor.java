@@ -0,0 +1,38 @@
+package com.stock.bion.back.result;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the {@code (createdAt DESC, id DESC)} ordering of results. Encoded as an opaque
+ * URL-safe token so clients just hand back the {@code nextCursor} they received.
+ */
+public record ResultCursor(Instant createdAt, Long id) {
+
+    public static ResultCursor of(TestResultSummary result) {
+        return new ResultCursor(result.getCreatedAt(), result.getId());
+    }
+
+    public static ResultCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new ResultCursor(
+                    Instant.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, ex);
+        }
+    }
+
+    /** Whether a result at {@code (createdAt, id)} is listed after this cursor, i.e. is older. */
+    public boolean admits(Instant createdAt, Long id) {
+        int byTime = createdAt.compareTo(this.createdAt);
+        return byTime < 0 || (byTime == 0 && id < this.id);
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,222 @@
+package com.stock.bion.back.result;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stock.bion.back.archive.ResultArchive;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes every result matching a listing query to an output stream, newest first, without holding
+ * more than one fetch of rows in memory. Live rows come from a forward-only database cursor and are
+ * merged on the fly with archived rows, which are read one page at a time.
+ */
+@Service
+public class ResultExportService {
+
+    static final String[] CSV_COLUMNS = {
+        "id", "scope", "serviceId", "serviceName", "scenarioId", "scenarioTitle", "serviceFullRun", "status",
+        "durationMs", "runId", "error", "httpStatus", "passedSteps", "failedSteps", "skippedSteps",
+        "undefinedSteps", "durationRegressions", "createdAt"
+    };
+
+    private final TestResultRepository testResultRepository;
+    private final ResultArchive resultArchive;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ResultExportService(
+            TestResultRepository testResultRepository,
+            ResultArchive resultArchive,
+            ObjectMapper objectMapper,
+            @Value("${results.export.fetch-size:1000}") int fetchSize) {
+        this.testResultRepository = testResultRepository;
+        this.resultArchive = resultArchive;
+        this.objectMapper = objectMapper;
+        this.fetchSize = Math.max(fetchSize, 1);
+    }
+
+    /** Returns the number of exported results. {@code out} is finished but not closed. */
+    @Transactional(readOnly = true)
+    public long export(TestResultQuery query, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(new NonClosing(out), 64 * 1024) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                compressed != null ? compressed : new NonClosing(out), StandardCharsets.UTF_8), 64 * 1024);
+        long rows;
+        try (Stream<TestResultSummary> live = testResultRepository.streamSummaries(query, fetchSize)) {
+            Iterator<TestResultSummary> results = resultArchive.isEmpty()
+                    ? live.iterator()
+                    : new MergingIterator(live.iterator(), new ArchivePages(resultArchive, query, fetchSize));
+            rows = format == ExportFormat.CSV ? writeCsv(results, writer) : writeNdjson(results, writer);
+        }
+        writer.close();
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<TestResultSummary> results, Writer writer) throws IOException {
+        long rows = 0;
+        ObjectWriter rowWriter = objectMapper.writerFor(TestResultSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            while (results.hasNext()) {
+                rowWriter.writeValue(json, results.next());
+                json.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long writeCsv(Iterator<TestResultSummary> results, Writer writer) throws IOException {
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        long rows = 0;
+        while (results.hasNext()) {
+            writer.write(csvLine(results.next()));
+            writer.write("\r\n");
+            rows++;
+        }
+        return rows;
+    }
+
+    static String csvLine(TestResultSummary row) {
+        Object[] values = {
+            row.getId(), row.getScope(), row.getServiceId(), row.getServiceName(), row.getScenarioId(),
+            row.getScenarioTitle(), row.getServiceFullRun(), row.getStatus(), row.getDurationMs(), row.getRunId(),
+            row.getError(), row.getHttpStatus(), row.getPassedSteps(), row.getFailedSteps(), row.getSkippedSteps(),
+            row.getUndefinedSteps(), row.getDurationRegressions(), row.getCreatedAt()
+        };
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (values[i] != null) {
+                line.append(csvField(values[i].toString()));
+            }
+        }
+        return line.toString();
+    }
+
+    private static String csvField(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    /** Reads the archive page by page with the listing cursor. */
+    private static final class ArchivePages implements Iterator<TestResultSummary> {
+
+        private final ResultArchive archive;
+        private final TestResultQuery query;
+        private final int pageSize;
+        private Iterator<TestResultSummary> page = List.<TestResultSummary>of().iterator();
+        private TestResultSummary last;
+        private boolean exhausted;
+
+        ArchivePages(ResultArchive archive, TestResultQuery query, int pageSize) {
+            this.archive = archive;
+            this.query = query;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !exhausted) {
+                List<TestResultSummary> next = archive.find(query, last == null ? null : ResultCursor.of(last), pageSize);
+                exhausted = next.size() < pageSize;
+                page = next.iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public TestResultSummary next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = page.next();
+            return last;
+        }
+    }
+
+    /** Merges two newest-first sequences; a live row wins over an archived copy with the same id. */
+    private static final class MergingIterator implements Iterator<TestResultSummary> {
+
+        private final Iterator<TestResultSummary> live;
+        private final Iterator<TestResultSummary> archived;
+        private TestResultSummary nextLive;
+        private TestResultSummary nextArchived;
+
+        MergingIterator(Iterator<TestResultSummary> live, Iterator<TestResultSummary> archived) {
+            this.live = live;
+            this.archived = archived;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextLive == null && live.hasNext()) {
+                nextLive = live.next();
+            }
+            if (nextArchived == null && archived.hasNext()) {
+                nextArchived = archived.next();
+            }
+            return nextLive != null || nextArchived != null;
+        }
+
+        @Override
+        public TestResultSummary next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int order = nextLive == null ? 1 : nextArchived == null ? -1
+                    : TestResultSummary.NEWEST_FIRST.compare(nextLive, nextArchived);
+            if (order <= 0) {
+                if (order == 0) {
+                    nextArchived = null;
+                }
+                TestResultSummary result = nextLive;
+                nextLive = null;
+                return result;
+            }
+            TestResultSummary result = nextArchived;
+            nextArchived = null;
+            return result;
+        }
+    }
+
+    /** Lets the writers be closed to flush them while the servlet container keeps the response open. */
+    private static final class NonClosing extends FilterOutputStream {
+
+        NonClosing(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.stock.bion.back.result;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ResultPage<T> {
+
+    List<T> items;
+
+    /** Cursor for the next page, or {@code null} when this is the last page. */
+    String nextCursor;
+}
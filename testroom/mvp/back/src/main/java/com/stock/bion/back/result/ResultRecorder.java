@@ -0,0 +1,330 @@
+package com.stock.bion.back.result;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Entry point for results of runs executed by this backend. By default a result is stored right
+ * away on the calling thread. With {@code results.write-behind.enabled} it is put on a bounded
+ * queue instead and a single writer thread stores queued results with
+ * {@link TestResultService#saveAll} once {@code batch-size} results are waiting or
+ * {@code flush-interval} has passed since the first of them.
+ *
+ * <ul>
+ *   <li>When the queue is full the result is stored synchronously, which slows callers down
+ *       instead of dropping results.
+ *   <li>When the database cannot be reached a batch is appended to an NDJSON file in
+ *       {@code spool-dir}; spooled batches are replayed in order once the database is back, and on
+ *       the next start. A spooled batch the database rejects for its data is set aside as
+ *       {@code .failed} so it does not hold up the ones after it.
+ *   <li>{@link #awaitFlush()} is a barrier for readers: it returns once every result recorded
+ *       before the call has been stored (or spooled), so a run can be listed right after it ends.
+ * </ul>
+ */
+@Component
+@Slf4j
+public class ResultRecorder {
+
+    private static final Duration SPOOL_RETRY_INTERVAL = Duration.ofSeconds(30);
+    private static final long POLL_MILLIS = 10;
+
+    private final TestResultService testResultService;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration flushTimeout;
+    private final Path spoolDir;
+    private final BlockingQueue<Pending> queue;
+    private final Object flushMonitor = new Object();
+
+    private long submitted;
+    private long flushed;
+    private volatile boolean flushRequested;
+    private volatile boolean running;
+    private Thread writer;
+    private Instant nextSpoolReplay = Instant.EPOCH;
+
+    public ResultRecorder(
+            TestResultService testResultService,
+            ObjectMapper objectMapper,
+            Clock clock,
+            @Value("${results.write-behind.enabled:false}") boolean enabled,
+            @Value("${results.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${results.write-behind.batch-size:200}") int batchSize,
+            @Value("${results.write-behind.flush-interval:250ms}") Duration flushInterval,
+            @Value("${results.write-behind.flush-timeout:5s}") Duration flushTimeout,
+            @Value("${results.write-behind.spool-dir:./data/spool}") Path spoolDir) {
+        this.testResultService = testResultService;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushInterval = flushInterval;
+        this.flushTimeout = flushTimeout;
+        this.spoolDir = spoolDir;
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "result-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Drains the queue before the application context closes. */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(flushTimeout.toMillis() + flushInterval.toMillis());
+    }
+
+    public void record(TestResultRequest request) {
+        if (!enabled) {
+            testResultService.saveResult(request);
+            return;
+        }
+        // Pin the run time now; the row may be written a little later.
+        TestResultRequest stamped = request.getRecordedAt() != null
+                ? request
+                : request.toBuilder().recordedAt(Instant.now(clock)).build();
+        synchronized (this) {
+            if (queue.offer(new Pending(submitted + 1, stamped))) {
+                submitted++;
+                return;
+            }
+        }
+        log.warn("Write-behind queue is full; storing result of run {} synchronously", request.getRunId());
+        testResultService.saveResult(stamped);
+    }
+
+    /** Waits, up to {@code flush-timeout}, until everything recorded so far has been written. */
+    public void awaitFlush() {
+        if (!enabled) {
+            return;
+        }
+        long target;
+        synchronized (this) {
+            target = submitted;
+        }
+        long deadline = System.nanoTime() + flushTimeout.toNanos();
+        synchronized (flushMonitor) {
+            while (flushed < target) {
+                flushRequested = true;
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    log.debug("Flush barrier timed out with {} results still queued", target - flushed);
+                    return;
+                }
+                try {
+                    flushMonitor.wait(remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<Pending> batch = nextBatch();
+                if (batch.isEmpty()) {
+                    replaySpool();
+                    continue;
+                }
+                write(batch);
+                markFlushed(batch.get(batch.size() - 1).seq());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Write-behind writer failed", ex);
+            }
+        }
+    }
+
+    private List<Pending> nextBatch() throws InterruptedException {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Pending first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize && running && !flushRequested && System.nanoTime() < deadline) {
+            Pending next = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+        queue.drainTo(batch, batchSize - batch.size());
+        return batch;
+    }
+
+    private void write(List<Pending> batch) {
+        List<TestResultRequest> requests = batch.stream().map(Pending::request).toList();
+        try {
+            testResultService.saveAll(requests);
+        } catch (RuntimeException ex) {
+            if (isOutage(ex)) {
+                log.warn("Database unavailable; spooling {} results", requests.size(), ex);
+                spool(requests);
+                return;
+            }
+            // One bad result must not take the rest of the batch down with it.
+            for (TestResultRequest request : requests) {
+                try {
+                    testResultService.saveResult(request);
+                } catch (RuntimeException single) {
+                    if (isOutage(single)) {
+                        spool(List.of(request));
+                    } else {
+                        log.error("Dropping result of run {}", request.getRunId(), single);
+                    }
+                }
+            }
+        }
+    }
+
+    private void markFlushed(long seq) {
+        synchronized (flushMonitor) {
+            flushed = seq;
+            flushRequested = false;
+            flushMonitor.notifyAll();
+        }
+    }
+
+    private void spool(List<TestResultRequest> requests) {
+        try {
+            Files.createDirectories(spoolDir);
+            Path temp = Files.createTempFile(spoolDir, "batch", ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (TestResultRequest request : requests) {
+                    out.write(objectMapper.writeValueAsString(spoolable(request)));
+                    out.newLine();
+                }
+            }
+            String name = String.format("%020d-%s.ndjson", clock.millis(), temp.getFileName().toString().replace(".tmp", ""));
+            Files.move(temp, spoolDir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            nextSpoolReplay = Instant.now(clock).plus(SPOOL_RETRY_INTERVAL);
+        } catch (IOException ex) {
+            log.error("Failed to spool {} results; they are lost", requests.size(), ex);
+        }
+    }
+
+    // The raw report bytes and their analysis are not serialized, so inline the report as text.
+    private static TestResultRequest spoolable(TestResultRequest request) {
+        if (request.getReportBytes() == null) {
+            return request;
+        }
+        return request.toBuilder()
+                .report(new String(request.getReportBytes(), StandardCharsets.UTF_8))
+                .reportBytes(null)
+                .reportAnalysis(null)
+                .build();
+    }
+
+    private void replaySpool() {
+        if (Instant.now(clock).isBefore(nextSpoolReplay) || !Files.isDirectory(spoolDir)) {
+            return;
+        }
+        nextSpoolReplay = Instant.now(clock).plus(SPOOL_RETRY_INTERVAL);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(spoolDir)) {
+            files = listing.filter(path -> path.toString().endsWith(".ndjson")).sorted().toList();
+        } catch (IOException ex) {
+            log.warn("Cannot list spool directory {}", spoolDir, ex);
+            return;
+        }
+        for (Path file : files) {
+            try {
+                testResultService.saveAll(readSpool(file));
+                Files.delete(file);
+                log.info("Replayed spooled results from {}", file.getFileName());
+            } catch (RuntimeException ex) {
+                if (isOutage(ex)) {
+                    log.debug("Database still unavailable; keeping spooled results", ex);
+                    return;
+                }
+                log.error("Cannot replay spool file {}; setting it aside", file, ex);
+                setAside(file);
+            } catch (IOException ex) {
+                log.error("Cannot replay spool file {}; setting it aside", file, ex);
+                setAside(file);
+            }
+        }
+    }
+
+    /**
+     * Whether {@code ex} means the database cannot be reached for now, so storing may succeed
+     * later. Anything else, such as a constraint violation or a commit rolled back because of the
+     * data, fails the same way every time.
+     */
+    static boolean isOutage(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException
+                || NestedExceptionUtils.getMostSpecificCause(ex) instanceof SQLTransientConnectionException;
+    }
+
+    private void setAside(Path file) {
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".failed"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            log.error("Cannot set aside spool file {}", file, ex);
+        }
+    }
+
+    private List<TestResultRequest> readSpool(Path file) throws IOException {
+        List<TestResultRequest> requests = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    requests.add(objectMapper.readValue(line, TestResultRequest.class));
+                }
+            }
+        }
+        return requests;
+    }
+
+    private record Pending(long seq, TestResultRequest request) {}
+}
@@ -8,7 +8,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import lombok.AllArgsConstructor;
@@ -17,7 +17,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "test_results")
+@Table(
+        name = "test_results",
+        indexes = {
+            @Index(name = "idx_test_results_created", columnList = "created_at, id"),
+            @Index(name = "idx_test_results_service_created", columnList = "service_id, created_at, id"),
+            @Index(name = "idx_test_results_scenario_created", columnList = "scenario_id, created_at, id"),
+            @Index(name = "idx_test_results_status_created", columnList = "status, created_at, id"),
+            @Index(name = "idx_test_results_stdout_key", columnList = "stdout_key"),
+            @Index(name = "idx_test_results_stderr_key", columnList = "stderr_key"),
+            @Index(name = "idx_test_results_report_key", columnList = "report_key")
+        })
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -59,18 +69,41 @@ public class TestResult {
     @Column(length = 2000)
     private String error;
 
-    @Lob
-    private String stdout;
+    @Column(name = "stdout_key", length = 64)
+    private String stdoutKey;
 
-    @Lob
-    private String stderr;
+    @Column(name = "stderr_key", length = 64)
+    private String stderrKey;
 
-    @Lob
-    private String report;
+    @Column(name = "report_key", length = 64)
+    private String reportKey;
 
     @Column(name = "http_status")
     private Integer httpStatus;
 
-    @Column(nullable = false, updatable = false)
+    @Column(name = "passed_steps")
+    private Integer passedSteps;
+
+    @Column(name = "failed_steps")
+    private Integer failedSteps;
+
+    @Column(name = "skipped_steps")
+    private Integer skippedSteps;
+
+    @Column(name = "undefined_steps")
+    private Integer undefinedSteps;
+
+    /** Number of scenarios and steps that ran significantly slower than usual; null until checked. */
+    @Column(name = "duration_regressions")
+    private Integer durationRegressions;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
+
+    /**
+     * When retention released the result's artifacts, whether or not it had any; only such results
+     * may be archived.
+     */
+    @Column(name = "artifacts_cleared_at")
+    private Instant artifactsClearedAt;
 }
@@ -0,0 +1,81 @@
+package com.stock.bion.back.result;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inserts {@code test_results} rows with a single JDBC batch and returns their generated ids.
+ * Hibernate cannot batch inserts of identity-keyed entities, so write-behind flushes go through here.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestResultBatchInserter {
+
+    private static final String INSERT =
+            "insert into test_results (scope, service_id, service_name, scenario_id, scenario_title,"
+                    + " service_full_run, status, duration_ms, report_url, run_id, error, stdout_key, stderr_key,"
+                    + " report_key, http_status, passed_steps, failed_steps, skipped_steps, undefined_steps,"
+                    + " created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Returns the ids of the inserted rows, in the order of {@code results}. */
+    public List<Long> insert(List<TestResult> results) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, results.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return results.size();
+                    }
+                },
+                keys);
+        return keys.getKeyList().stream()
+                .map(row -> ((Number) firstValue(row)).longValue())
+                .toList();
+    }
+
+    private static void bind(PreparedStatement ps, TestResult result) throws SQLException {
+        ps.setString(1, result.getScope().name());
+        ps.setObject(2, result.getServiceId(), Types.BIGINT);
+        ps.setString(3, result.getServiceName());
+        ps.setObject(4, result.getScenarioId(), Types.BIGINT);
+        ps.setString(5, result.getScenarioTitle());
+        ps.setObject(6, result.getServiceFullRun(), Types.BOOLEAN);
+        ps.setString(7, result.getStatus());
+        ps.setObject(8, result.getDurationMs(), Types.BIGINT);
+        ps.setString(9, result.getReportUrl());
+        ps.setString(10, result.getRunId());
+        ps.setString(11, result.getError());
+        ps.setString(12, result.getStdoutKey());
+        ps.setString(13, result.getStderrKey());
+        ps.setString(14, result.getReportKey());
+        ps.setObject(15, result.getHttpStatus(), Types.INTEGER);
+        ps.setObject(16, result.getPassedSteps(), Types.INTEGER);
+        ps.setObject(17, result.getFailedSteps(), Types.INTEGER);
+        ps.setObject(18, result.getSkippedSteps(), Types.INTEGER);
+        ps.setObject(19, result.getUndefinedSteps(), Types.INTEGER);
+        ps.setTimestamp(20, Timestamp.from(result.getCreatedAt()));
+    }
+
+    // The key column comes back as "id" or "ID" depending on the database.
+    private static Object firstValue(Map<String, Object> row) {
+        return row.values().iterator().next();
+    }
+}
@@ -0,0 +1,8 @@
+package com.stock.bion.back.result;
+
+public class TestResultNotFoundException extends RuntimeException {
+
+    public TestResultNotFoundException(Long id) {
+        super("Test result not found: " + id);
+    }
+}
@@ -0,0 +1,26 @@
+package com.stock.bion.back.result;
+
+import com.stock.bion.back.runner.RunScope;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+
+/** Optional filters for listing results; {@code null} fields are not applied. */
+@Value
+@Builder
+public class TestResultQuery {
+
+    Long serviceId;
+
+    Long scenarioId;
+
+    String status;
+
+    RunScope scope;
+
+    /** Inclusive lower bound on {@code createdAt}. */
+    Instant from;
+
+    /** Exclusive upper bound on {@code createdAt}. */
+    Instant to;
+}
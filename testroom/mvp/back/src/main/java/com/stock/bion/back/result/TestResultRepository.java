@@ -1,6 +1,18 @@
 package com.stock.bion.back.result;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface TestResultRepository extends JpaRepository<TestResult, Long> {
+public interface TestResultRepository extends JpaRepository<TestResult, Long>, TestResultRepositoryCustom {
+
+    /** Run id and result id of every stored result among {@code runIds}. */
+    List<StoredRun> findByRunIdIn(Collection<String> runIds);
+
+    interface StoredRun {
+
+        String getRunId();
+
+        Long getId();
+    }
 }
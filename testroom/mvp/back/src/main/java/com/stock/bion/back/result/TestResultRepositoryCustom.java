@@ -0,0 +1,22 @@
+package com.stock.bion.back.result;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TestResultRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} result summaries matching {@code query}, newest first, strictly
+     * after {@code after} in {@code (createdAt, id)} order. Only the predicates that are actually set
+     * are added so the database can use the matching composite index, and only summary columns are
+     * selected.
+     */
+    List<TestResultSummary> findSummaries(TestResultQuery query, ResultCursor after, int limit);
+
+    /**
+     * Streams every summary matching {@code query} in the same order from a forward-only cursor that
+     * fetches {@code fetchSize} rows at a time. The stream must be consumed inside a transaction and
+     * closed afterwards.
+     */
+    Stream<TestResultSummary> streamSummaries(TestResultQuery query, int fetchSize);
+}
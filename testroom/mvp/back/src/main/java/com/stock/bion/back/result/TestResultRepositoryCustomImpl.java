@@ -0,0 +1,90 @@
+package com.stock.bion.back.result;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+
+class TestResultRepositoryCustomImpl implements TestResultRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TestResultSummary> findSummaries(TestResultQuery query, ResultCursor after, int limit) {
+        return entityManager.createQuery(summaries(query, after)).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<TestResultSummary> streamSummaries(TestResultQuery query, int fetchSize) {
+        return entityManager.createQuery(summaries(query, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<TestResultSummary> summaries(TestResultQuery query, ResultCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TestResultSummary> cq = cb.createQuery(TestResultSummary.class);
+        Root<TestResult> root = cq.from(TestResult.class);
+        Path<Instant> createdAt = root.get("createdAt");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.getServiceId() != null) {
+            predicates.add(cb.equal(root.get("serviceId"), query.getServiceId()));
+        }
+        if (query.getScenarioId() != null) {
+            predicates.add(cb.equal(root.get("scenarioId"), query.getScenarioId()));
+        }
+        if (query.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), query.getStatus()));
+        }
+        if (query.getScope() != null) {
+            predicates.add(cb.equal(root.get("scope"), query.getScope()));
+        }
+        if (query.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            predicates.add(cb.lessThan(createdAt, query.getTo()));
+        }
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.createdAt()),
+                    cb.and(cb.equal(createdAt, after.createdAt()), cb.lessThan(id, after.id()))));
+        }
+
+        cq.select(cb.construct(
+                        TestResultSummary.class,
+                        id,
+                        root.get("scope"),
+                        root.get("serviceId"),
+                        root.get("serviceName"),
+                        root.get("scenarioId"),
+                        root.get("scenarioTitle"),
+                        root.get("serviceFullRun"),
+                        root.get("status"),
+                        root.get("durationMs"),
+                        root.get("runId"),
+                        root.get("error"),
+                        root.get("httpStatus"),
+                        root.get("passedSteps"),
+                        root.get("failedSteps"),
+                        root.get("skippedSteps"),
+                        root.get("undefinedSteps"),
+                        root.get("durationRegressions"),
+                        createdAt))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+        return cq;
+    }
+}
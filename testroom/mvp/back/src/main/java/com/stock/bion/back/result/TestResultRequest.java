@@ -1,14 +1,17 @@
 package com.stock.bion.back.result;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.stock.bion.back.report.ReportAnalysis;
 import com.stock.bion.back.runner.RunScope;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Instant;
 import lombok.Builder;
 import lombok.Value;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class TestResultRequest {
 
     @Builder.Default
@@ -45,4 +48,15 @@ public class TestResultRequest {
     String stderr;
 
     String report;
+
+    /** When the run finished; defaults to the time the result is stored. */
+    Instant recordedAt;
+
+    /** Report as the runner sent it; in-process callers set this instead of {@link #report}. */
+    @JsonIgnore
+    byte[] reportBytes;
+
+    /** Analysis already made of the report, which saves parsing it a second time. */
+    @JsonIgnore
+    ReportAnalysis reportAnalysis;
 }
@@ -22,8 +22,5 @@ public class TestResultResponse {
     String runId;
     String error;
     Integer httpStatus;
-    String stdout;
-    String stderr;
-    String report;
     Instant createdAt;
 }
@@ -1,12 +1,30 @@
 package com.stock.bion.back.result;
 
+import com.stock.bion.back.archive.ResultArchive;
+import com.stock.bion.back.artifact.ArtifactStore;
+import com.stock.bion.back.outbox.ResultOutbox;
+import com.stock.bion.back.report.ReportAnalysis;
+import com.stock.bion.back.report.ReportBreakdown;
+import com.stock.bion.back.report.ReportBreakdownWriter;
+import com.stock.bion.back.report.ReportSliceWriter;
+import com.stock.bion.back.report.StreamingReportAnalyzer;
 import com.stock.bion.back.runner.RunScope;
+import com.stock.bion.back.runner.StepCounts;
+import com.stock.bion.back.search.SearchField;
+import com.stock.bion.back.search.SearchIndexWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,11 +34,58 @@ import org.springframework.transaction.annotation.Transactional;
 public class TestResultService {
 
     private final TestResultRepository testResultRepository;
+    private final ResultArchive resultArchive;
+    private final ArtifactStore artifactStore;
+    private final TestResultBatchInserter testResultBatchInserter;
+    private final ReportBreakdownWriter reportBreakdownWriter;
+    private final ReportSliceWriter reportSliceWriter;
+    private final SearchIndexWriter searchIndexWriter;
+    private final ResultOutbox resultOutbox;
     private final Clock clock;
 
+    /**
+     * Stores a result with its breakdown and search postings. Everything built on top of results
+     * happens later, off the outbox entry written last in the same transaction.
+     */
     @Transactional
     public TestResultResponse saveResult(TestResultRequest request) {
+        Prepared prepared = prepare(request);
+        TestResult saved = testResultRepository.save(prepared.result());
+        afterInsert(saved.getId(), saved, prepared);
+        resultOutbox.append(List.of(saved.getId()));
+        log.info(
+                "Stored test result for run {} with scope {} and status {}",
+                saved.getRunId(),
+                saved.getScope(),
+                saved.getStatus());
+
+        return toResponse(saved);
+    }
+
+    /**
+     * Stores several results with one JDBC batch per table, all in one transaction, and returns
+     * their ids in request order.
+     */
+    @Transactional
+    public List<Long> saveAll(List<TestResultRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Prepared> prepared = requests.stream().map(this::prepare).toList();
+        List<Long> ids = testResultBatchInserter.insert(prepared.stream().map(Prepared::result).toList());
+        for (int i = 0; i < prepared.size(); i++) {
+            afterInsert(ids.get(i), prepared.get(i).result(), prepared.get(i));
+        }
+        resultOutbox.append(ids);
+        log.info("Stored {} test results in one batch", requests.size());
+        return ids;
+    }
+
+    private Prepared prepare(TestResultRequest request) {
         RunScope scope = request.getScope() == null ? RunScope.SCENARIO : request.getScope();
+        byte[] report = reportBytes(request);
+        ReportAnalysis analysis = analyze(request.getReportAnalysis(), report);
+        StepCounts counts = analysis != null ? analysis.counts() : null;
         TestResult result =
                 TestResult.builder()
                         .scope(scope)
@@ -34,30 +99,118 @@ public class TestResultService {
                         .reportUrl(request.getReportUrl())
                         .runId(request.getRunId())
                         .error(request.getError())
-                        .stdout(request.getStdout())
-                        .stderr(request.getStderr())
-                        .report(request.getReport())
+                        .stdoutKey(storeArtifact(request.getStdout()))
+                        .stderrKey(storeArtifact(request.getStderr()))
+                        .reportKey(storeArtifact(report))
                         .httpStatus(request.getHttpStatus())
-                        .createdAt(Instant.now(clock))
+                        .passedSteps(counts != null ? counts.passed() : null)
+                        .failedSteps(counts != null ? counts.failed() : null)
+                        .skippedSteps(counts != null ? counts.skipped() : null)
+                        .undefinedSteps(counts != null ? counts.undefined() : null)
+                        .createdAt(request.getRecordedAt() != null ? request.getRecordedAt() : Instant.now(clock))
                         .build();
+        return new Prepared(result, analysis, searchText(request, analysis));
+    }
 
-        TestResult saved = testResultRepository.save(result);
-        log.info(
-                "Stored test result for run {} with scope {} and status {}",
-                saved.getRunId(),
-                saved.getScope(),
-                saved.getStatus());
+    private void afterInsert(Long id, TestResult result, Prepared prepared) {
+        if (prepared.analysis() != null) {
+            reportBreakdownWriter.write(
+                    id, result.getServiceId(), result.getCreatedAt(), prepared.analysis().breakdown());
+            if (result.getReportKey() != null) {
+                reportSliceWriter.write(id, prepared.analysis().slices());
+            }
+        }
+        searchIndexWriter.index(id, result.getServiceId(), result.getCreatedAt(), prepared.searchText());
+    }
 
-        return toResponse(saved);
+    // Indexed from the request, which still holds the text that only went to the artifact store.
+    private static Map<SearchField, String> searchText(TestResultRequest request, ReportAnalysis analysis) {
+        Map<SearchField, String> text = new EnumMap<>(SearchField.class);
+        text.put(SearchField.ERROR, request.getError());
+        text.put(SearchField.STDOUT, request.getStdout());
+        text.put(SearchField.STDERR, request.getStderr());
+        if (analysis != null) {
+            text.put(SearchField.STEP_ERROR, analysis.breakdown().features().stream()
+                    .flatMap(feature -> feature.scenarios().stream())
+                    .flatMap(scenario -> scenario.steps().stream())
+                    .map(ReportBreakdown.Step::errorMessage)
+                    .filter(message -> message != null)
+                    .collect(Collectors.joining("\n")));
+        }
+        return text;
     }
 
     @Transactional(readOnly = true)
-    public List<TestResultResponse> findAll() {
-        return testResultRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt")).stream()
-                .map(this::toResponse)
-                .toList();
+    public ResultPage<TestResultSummary> findPage(TestResultQuery query, String cursor, int limit) {
+        ResultCursor after = cursor == null || cursor.isBlank() ? null : ResultCursor.decode(cursor);
+        List<TestResultSummary> rows = testResultRepository.findSummaries(query, after, limit + 1);
+        if (!resultArchive.isEmpty()) {
+            rows = mergeArchived(rows, resultArchive.find(query, after, limit + 1), limit + 1);
+        }
+        boolean hasMore = rows.size() > limit;
+        List<TestResultSummary> page = hasMore ? rows.subList(0, limit) : rows;
+        return ResultPage.<TestResultSummary>builder()
+                .items(page)
+                .nextCursor(hasMore ? ResultCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    // Live rows win over archived copies of the same result left behind by an interrupted archive run.
+    // Rows are matched by run id, which is unique, since ids may be reused once rows are archived.
+    private static List<TestResultSummary> mergeArchived(
+            List<TestResultSummary> live, List<TestResultSummary> archived, int limit) {
+        Map<String, TestResultSummary> byRunId = new LinkedHashMap<>();
+        live.forEach(row -> byRunId.put(row.getRunId(), row));
+        archived.forEach(row -> byRunId.putIfAbsent(row.getRunId(), row));
+        return byRunId.values().stream().sorted(TestResultSummary.NEWEST_FIRST).limit(limit).toList();
+    }
+
+    private String storeArtifact(String content) {
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+        try {
+            return artifactStore.put(content);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to store run artifact", ex);
+        }
+    }
+
+    private String storeArtifact(byte[] content) {
+        if (content == null || content.length == 0) {
+            return null;
+        }
+        try {
+            return artifactStore.put(new ByteArrayInputStream(content));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to store run artifact", ex);
+        }
+    }
+
+    private static byte[] reportBytes(TestResultRequest request) {
+        if (request.getReportBytes() != null) {
+            return request.getReportBytes();
+        }
+        String report = request.getReport();
+        return report == null || report.isBlank() ? null : report.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Reports that are not a cucumber array get no step counts or breakdown.
+    private ReportAnalysis analyze(ReportAnalysis known, byte[] report) {
+        ReportAnalysis analysis = known;
+        if (analysis == null && report != null) {
+            try {
+                analysis = StreamingReportAnalyzer.analyze(report);
+            } catch (IOException ex) {
+                log.debug("Report is not valid JSON; step counts and breakdown are skipped", ex);
+                return null;
+            }
+        }
+        return analysis == null || ReportAnalysis.COMPLETED.equals(analysis.status()) ? null : analysis;
     }
 
+    private record Prepared(TestResult result, ReportAnalysis analysis, Map<SearchField, String> searchText) {}
+
     private TestResultResponse toResponse(TestResult entity) {
         return TestResultResponse.builder()
                 .id(entity.getId())
@@ -73,9 +226,6 @@ public class TestResultService {
                 .runId(entity.getRunId())
                 .error(entity.getError())
                 .httpStatus(entity.getHttpStatus())
-                .stdout(entity.getStdout())
-                .stderr(entity.getStderr())
-                .report(entity.getReport())
                 .createdAt(entity.getCreatedAt())
                 .build();
     }
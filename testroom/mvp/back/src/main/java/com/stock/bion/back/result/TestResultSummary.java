@@ -0,0 +1,65 @@
+package com.stock.bion.back.result;
+
+import com.stock.bion.back.runner.RunScope;
+import java.time.Instant;
+import java.util.Comparator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * List-view projection of a {@link TestResult}. It is selected column by column so the stdout,
+ * stderr and report LOBs are never read; those are served separately through the artifact endpoints.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class TestResultSummary {
+
+    /** The listing order: newest first, ties broken by id. */
+    public static final Comparator<TestResultSummary> NEWEST_FIRST =
+            Comparator.comparing(TestResultSummary::getCreatedAt)
+                    .thenComparing(TestResultSummary::getId)
+                    .reversed();
+
+    Long id;
+    RunScope scope;
+    Long serviceId;
+    String serviceName;
+    Long scenarioId;
+    String scenarioTitle;
+    Boolean serviceFullRun;
+    String status;
+    Long durationMs;
+    String runId;
+    String error;
+    Integer httpStatus;
+    Integer passedSteps;
+    Integer failedSteps;
+    Integer skippedSteps;
+    Integer undefinedSteps;
+    Integer durationRegressions;
+    Instant createdAt;
+
+    public static TestResultSummary of(TestResult result) {
+        return new TestResultSummary(
+                result.getId(),
+                result.getScope(),
+                result.getServiceId(),
+                result.getServiceName(),
+                result.getScenarioId(),
+                result.getScenarioTitle(),
+                result.getServiceFullRun(),
+                result.getStatus(),
+                result.getDurationMs(),
+                result.getRunId(),
+                result.getError(),
+                result.getHttpStatus(),
+                result.getPassedSteps(),
+                result.getFailedSteps(),
+                result.getSkippedSteps(),
+                result.getUndefinedSteps(),
+                result.getDurationRegressions(),
+                result.getCreatedAt());
+    }
+}
@@ -0,0 +1,268 @@
+package com.stock.bion.back.retention;
+
+import com.stock.bion.back.artifact.ArtifactStore;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Applies the retention policy to stored results:
+ *
+ * <ul>
+ *   <li>results older than {@code retention.artifacts} lose their stdout/stderr/report artifacts
+ *       and the report's slice index, but keep their summary row and breakdown; they are marked
+ *       with {@code artifacts_cleared_at}, which makes them eligible for archiving;
+ *   <li>results older than {@code retention.summaries} are deleted with their breakdown rows, and
+ *       hourly trend rollups of that age are dropped, leaving the daily ones as the long-term
+ *       history;
+ *   <li>the newest {@code retention.keep-last} runs of every scenario (and of every full-service
+ *       run series) are never touched.
+ * </ul>
+ *
+ * <p>Rows are walked in id order and changed {@code retention.batch-size} at a time, each chunk in
+ * its own short transaction, so no lock is held for longer than one chunk. Artifacts are shared
+ * between results with identical content, so a released key is only deleted from the store once no
+ * row references it and it was last written {@code retention.artifact-grace} before the run
+ * started. The grace covers results whose artifacts were written before the run but whose
+ * transaction had not committed yet when their references were counted.
+ *
+ * <p>The job is off unless {@code retention.enabled} is set, since what it deletes is gone for good.
+ */
+@Component
+@Slf4j
+public class RetentionJob {
+
+    private static final String[] BREAKDOWN_TABLES = {
+            "step_results", "scenario_results", "feature_results", "search_postings", "duration_regressions",
+            "report_slices"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArtifactStore artifactStore;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration artifactRetention;
+    private final Duration summaryRetention;
+    private final Duration artifactGrace;
+    private final int keepLast;
+    private final int batchSize;
+
+    public RetentionJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ArtifactStore artifactStore,
+            Clock clock,
+            @Value("${retention.enabled:false}") boolean enabled,
+            @Value("${retention.artifacts:30d}") Duration artifactRetention,
+            @Value("${retention.summaries:365d}") Duration summaryRetention,
+            @Value("${retention.artifact-grace:1h}") Duration artifactGrace,
+            @Value("${retention.keep-last:10}") int keepLast,
+            @Value("${retention.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.artifactStore = artifactStore;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.artifactRetention = artifactRetention;
+        this.summaryRetention = summaryRetention;
+        this.artifactGrace = artifactGrace;
+        this.keepLast = keepLast;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Scheduled(cron = "${retention.cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    public RetentionReport purge() {
+        Instant startedAt = Instant.now(clock);
+        Set<Long> kept = newestRunIds();
+        Set<String> released = new LinkedHashSet<>();
+
+        long cleared = clearArtifacts(startedAt.minus(artifactRetention), startedAt, kept, released);
+        long[] deleted = deleteResults(startedAt.minus(summaryRetention), kept, released);
+        long rollups = deleteHourlyRollups(startedAt.minus(summaryRetention));
+        long[] collected = collectArtifacts(released, startedAt.minus(artifactGrace));
+
+        RetentionReport report = new RetentionReport(
+                cleared, deleted[0], deleted[1], rollups, collected[0], collected[1],
+                Duration.between(startedAt, Instant.now(clock)));
+        log.info(
+                "Retention: cleared artifacts of {} results, deleted {} results, {} breakdown rows and {} hourly"
+                        + " rollup rows, removed {} artifacts ({} bytes) in {}",
+                report.artifactRowsCleared(), report.resultsDeleted(), report.breakdownRowsDeleted(),
+                report.rollupRowsDeleted(), report.artifactsDeleted(), report.bytesReclaimed(), report.took());
+        return report;
+    }
+
+    private Set<Long> newestRunIds() {
+        if (keepLast <= 0) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select id from (select id, row_number() over ("
+                        + "partition by scope, service_id, scenario_id order by created_at desc, id desc) as rn"
+                        + " from test_results) ranked where rn <= ?",
+                Long.class,
+                keepLast));
+    }
+
+    private long clearArtifacts(Instant cutoff, Instant startedAt, Set<Long> kept, Set<String> released) {
+        long cleared = 0;
+        long afterId = 0;
+        while (true) {
+            List<Candidate> chunk = jdbcTemplate.query(
+                    "select id, stdout_key, stderr_key, report_key from test_results"
+                            + " where created_at < ? and id > ? and artifacts_cleared_at is null"
+                            + " order by id fetch first " + batchSize + " rows only",
+                    RetentionJob::candidate,
+                    Timestamp.from(cutoff),
+                    afterId);
+            if (chunk.isEmpty()) {
+                return cleared;
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+            List<Object[]> ids = new ArrayList<>();
+            for (Candidate candidate : chunk) {
+                if (!kept.contains(candidate.id())) {
+                    ids.add(new Object[] {Timestamp.from(startedAt), candidate.id()});
+                    released.addAll(candidate.keys());
+                }
+            }
+            if (!ids.isEmpty()) {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    jdbcTemplate.batchUpdate(
+                            "update test_results set stdout_key = null, stderr_key = null, report_key = null,"
+                                    + " artifacts_cleared_at = ? where id = ?",
+                            ids);
+                    jdbcTemplate.batchUpdate(
+                            "delete from report_slices where result_id = ?",
+                            ids.stream().map(args -> new Object[] {args[1]}).toList());
+                });
+                cleared += ids.size();
+            }
+        }
+    }
+
+    /** Returns the number of deleted results and of deleted breakdown rows. */
+    private long[] deleteResults(Instant cutoff, Set<Long> kept, Set<String> released) {
+        long results = 0;
+        long breakdownRows = 0;
+        long afterId = 0;
+        while (true) {
+            List<Candidate> chunk = jdbcTemplate.query(
+                    "select id, stdout_key, stderr_key, report_key from test_results"
+                            + " where created_at < ? and id > ? order by id fetch first " + batchSize + " rows only",
+                    RetentionJob::candidate,
+                    Timestamp.from(cutoff),
+                    afterId);
+            if (chunk.isEmpty()) {
+                return new long[] {results, breakdownRows};
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+            List<Long> ids = new ArrayList<>();
+            for (Candidate candidate : chunk) {
+                if (!kept.contains(candidate.id())) {
+                    ids.add(candidate.id());
+                    released.addAll(candidate.keys());
+                }
+            }
+            if (ids.isEmpty()) {
+                continue;
+            }
+            String in = placeholders(ids.size());
+            Object[] args = ids.toArray();
+            long[] counts = transactionTemplate.execute(tx -> {
+                long children = 0;
+                for (String table : BREAKDOWN_TABLES) {
+                    children += jdbcTemplate.update("delete from " + table + " where result_id in (" + in + ")", args);
+                }
+                long rows = jdbcTemplate.update("delete from test_results where id in (" + in + ")", args);
+                return new long[] {rows, children};
+            });
+            results += counts[0];
+            breakdownRows += counts[1];
+        }
+    }
+
+    private long deleteHourlyRollups(Instant cutoff) {
+        long deleted = 0;
+        for (String table : new String[] {"trend_duration_bins", "trend_rollups"}) {
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "select id from " + table + " where granularity = 'HOUR' and bucket_start < ?"
+                                + " order by id fetch first " + batchSize + " rows only",
+                        Long.class,
+                        Timestamp.from(cutoff));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Integer rows = transactionTemplate.execute(tx -> jdbcTemplate.update(
+                        "delete from " + table + " where id in (" + placeholders(ids.size()) + ")", ids.toArray()));
+                deleted += rows != null ? rows : 0;
+            }
+        }
+        return deleted;
+    }
+
+    /** Returns the number of artifacts removed from the store and the bytes they occupied. */
+    private long[] collectArtifacts(Set<String> released, Instant writtenBefore) {
+        long artifacts = 0;
+        long bytes = 0;
+        for (String key : released) {
+            Integer references = jdbcTemplate.queryForObject(
+                    "select count(*) from test_results where stdout_key = ? or stderr_key = ? or report_key = ?",
+                    Integer.class,
+                    key, key, key);
+            Instant lastWritten = artifactStore.lastWritten(key);
+            if ((references != null && references > 0) || lastWritten == null || !lastWritten.isBefore(writtenBefore)) {
+                continue;
+            }
+            long size = artifactStore.size(key);
+            try {
+                artifactStore.delete(key);
+                artifacts++;
+                bytes += size;
+            } catch (IOException ex) {
+                log.warn("Failed to delete artifact {}", key, ex);
+            }
+        }
+        return new long[] {artifacts, bytes};
+    }
+
+    private static Candidate candidate(ResultSet rs, int row) throws SQLException {
+        List<String> keys = new ArrayList<>(3);
+        for (String column : new String[] {"stdout_key", "stderr_key", "report_key"}) {
+            String key = rs.getString(column);
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        return new Candidate(rs.getLong("id"), keys);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record Candidate(long id, List<String> keys) {}
+}
@@ -0,0 +1,13 @@
+package com.stock.bion.back.retention;
+
+import java.time.Duration;
+
+/** What one retention run removed. */
+public record RetentionReport(
+        long artifactRowsCleared,
+        long resultsDeleted,
+        long breakdownRowsDeleted,
+        long rollupRowsDeleted,
+        long artifactsDeleted,
+        long bytesReclaimed,
+        Duration took) {}
@@ -0,0 +1,142 @@
+package com.stock.bion.back.runner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Combines the responses of sharded runs back into a single response with one cucumber feature
+ * entry per feature file, its elements ordered by line as if the feature had run in one piece.
+ */
+public final class CucumberReportMerger {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private CucumberReportMerger() {}
+
+    public static ResponseEntity<RunResponse> merge(List<ResponseEntity<RunResponse>> shards) {
+        HttpStatusCode status = shards.stream()
+                .map(ResponseEntity::getStatusCode)
+                .filter(HttpStatusCode::isError)
+                .findFirst()
+                .orElse(HttpStatusCode.valueOf(200));
+
+        List<RunResponse> bodies = shards.stream()
+                .map(ResponseEntity::getBody)
+                .filter(Objects::nonNull)
+                .toList();
+
+        RunResponse merged = RunResponse.builder()
+                .stdout(join(bodies.stream().map(RunResponse::getStdout).toList()))
+                .stderr(join(bodies.stream().map(RunResponse::getStderr).toList()))
+                .error(join(bodies.stream().map(RunResponse::getError).distinct().toList()))
+                .report(mergeReports(bodies.stream().map(RunResponse::getReport).toList()))
+                .build();
+        return ResponseEntity.status(status).body(merged);
+    }
+
+    // Only sharded runs pay for a tree here; single runs pass the runner's bytes through untouched.
+    static RawJson mergeReports(List<RawJson> rawReports) {
+        List<JsonNode> reports = new ArrayList<>();
+        for (RawJson raw : rawReports) {
+            if (raw == null) {
+                continue;
+            }
+            try {
+                reports.add(OBJECT_MAPPER.readTree(raw.bytes()));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Shard report is not valid JSON", ex);
+            }
+        }
+
+        Map<String, ObjectNode> features = new LinkedHashMap<>();
+        Map<String, List<List<JsonNode>>> groups = new LinkedHashMap<>();
+        boolean anyReport = false;
+
+        for (JsonNode report : reports) {
+            if (report == null || !report.isArray()) {
+                continue;
+            }
+            anyReport = true;
+            for (JsonNode feature : report) {
+                String key = featureKey(feature);
+                if (!features.containsKey(key) && feature.isObject()) {
+                    features.put(key, ((ObjectNode) feature).deepCopy());
+                }
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).addAll(groupElements(feature.path("elements")));
+            }
+        }
+        if (!anyReport) {
+            return null;
+        }
+
+        ArrayNode result = JsonNodeFactory.instance.arrayNode();
+        features.forEach((key, feature) -> {
+            ArrayNode elements = feature.putArray("elements");
+            groups.get(key).stream()
+                    .sorted(Comparator.comparingInt(CucumberReportMerger::groupLine))
+                    .forEach(elements::addAll);
+            result.add(feature);
+        });
+        try {
+            return RawJson.of(OBJECT_MAPPER.writeValueAsBytes(result));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Cucumber repeats the background before every scenario, so keep each background attached to
+    // the scenario that follows it while reordering.
+    private static List<List<JsonNode>> groupElements(JsonNode elements) {
+        List<List<JsonNode>> groups = new ArrayList<>();
+        if (!elements.isArray()) {
+            return groups;
+        }
+        List<JsonNode> pending = new ArrayList<>();
+        for (JsonNode element : elements) {
+            pending.add(element);
+            if (!"background".equals(element.path("type").asText())) {
+                groups.add(pending);
+                pending = new ArrayList<>();
+            }
+        }
+        if (!pending.isEmpty()) {
+            groups.add(pending);
+        }
+        return groups;
+    }
+
+    private static int groupLine(List<JsonNode> group) {
+        return group.get(group.size() - 1).path("line").asInt(Integer.MAX_VALUE);
+    }
+
+    private static String featureKey(JsonNode feature) {
+        if (feature.hasNonNull("uri")) {
+            return feature.get("uri").asText();
+        }
+        if (feature.hasNonNull("id")) {
+            return feature.get("id").asText();
+        }
+        return feature.path("name").asText();
+    }
+
+    private static String join(List<String> parts) {
+        String joined = parts.stream()
+                .filter(part -> part != null && !part.isBlank())
+                .collect(Collectors.joining("\n"));
+        return joined.isEmpty() ? null : joined;
+    }
+}
@@ -0,0 +1,224 @@
+package com.stock.bion.back.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a run into shards at scenario granularity. Every plain scenario is addressed by its own
+ * line and every Scenario Outline is expanded into its Examples rows, so a single outline with many
+ * rows can be spread over several runner calls (cucumber accepts {@code file.feature:LINE} for both).
+ *
+ * <p>Keywords are matched in the dialect named by the feature's {@code # language:} header, English
+ * when there is none. A feature in a dialect not listed here is kept whole, as one unit.
+ */
+public final class FeatureShardPlanner {
+
+    private static final Pattern LANGUAGE = Pattern.compile("^#\\s*language\\s*:\\s*([\\w-]+)");
+
+    // Keywords from cucumber's gherkin-languages.json.
+    private static final Map<String, Dialect> DIALECTS = Map.of(
+            "en", new Dialect(
+                    List.of("Feature", "Business Need", "Ability"),
+                    List.of("Rule"),
+                    List.of("Background"),
+                    List.of("Scenario", "Example"),
+                    List.of("Scenario Outline", "Scenario Template"),
+                    List.of("Examples", "Scenarios")),
+            "ko", new Dialect(
+                    List.of("기능"),
+                    List.of("Rule"),
+                    List.of("배경"),
+                    List.of("시나리오"),
+                    List.of("시나리오 개요"),
+                    List.of("예")));
+
+    private FeatureShardPlanner() {}
+
+    public static List<RunRequest> plan(RunRequest request, int shards) {
+        if (shards <= 1) {
+            return List.of(request);
+        }
+
+        List<RunRequest.Asset> features = request.getFeatures();
+        List<Unit> units = new ArrayList<>();
+        for (int i = 0; i < features.size(); i++) {
+            List<Integer> lines = scenarioLines(features.get(i).getContent());
+            if (lines.isEmpty()) {
+                units.add(new Unit(i, null));
+            } else {
+                for (Integer line : lines) {
+                    units.add(new Unit(i, line));
+                }
+            }
+        }
+        if (units.size() <= 1) {
+            return List.of(request);
+        }
+
+        int shardCount = Math.min(shards, units.size());
+        List<Map<Integer, List<Integer>>> assignments = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            assignments.add(new TreeMap<>());
+        }
+        for (int i = 0; i < units.size(); i++) {
+            Unit unit = units.get(i);
+            List<Integer> lines = assignments.get(i % shardCount)
+                    .computeIfAbsent(unit.featureIndex(), key -> new ArrayList<>());
+            if (unit.line() != null) {
+                lines.add(unit.line());
+            }
+        }
+
+        List<RunRequest> plan = new ArrayList<>();
+        for (Map<Integer, List<Integer>> assignment : assignments) {
+            List<RunRequest.Asset> shardFeatures = new ArrayList<>();
+            assignment.forEach((featureIndex, lines) -> {
+                RunRequest.Asset source = features.get(featureIndex);
+                shardFeatures.add(RunRequest.Asset.builder()
+                        .name(featureName(source, featureIndex))
+                        .content(source.getContent())
+                        .lines(lines.isEmpty() ? null : List.copyOf(lines))
+                        .build());
+            });
+            plan.add(RunRequest.builder()
+                    .features(shardFeatures)
+                    .steps(request.getSteps())
+                    .metadata(request.getMetadata())
+                    .build());
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the 1-based lines that select one scenario each: the keyword line of every plain
+     * scenario, and the line of every Examples row of every outline (or the outline line itself
+     * when it has no rows). Empty for a feature in an unknown dialect.
+     */
+    static List<Integer> scenarioLines(String content) {
+        List<Integer> lines = new ArrayList<>();
+        if (content == null) {
+            return lines;
+        }
+
+        String[] rows = normalize(content).split("\n", -1);
+        Dialect dialect = DIALECTS.get(language(rows));
+        if (dialect == null) {
+            return lines;
+        }
+        Integer outlineLine = null;
+        boolean outlineHasRows = false;
+        boolean inExamples = false;
+        boolean headerSeen = false;
+        String docStringFence = null;
+
+        for (int i = 0; i < rows.length; i++) {
+            int lineNumber = i + 1;
+            String row = rows[i].trim();
+
+            if (docStringFence != null) {
+                if (row.startsWith(docStringFence)) {
+                    docStringFence = null;
+                }
+                continue;
+            }
+            if (row.startsWith("\"\"\"") || row.startsWith("```")) {
+                docStringFence = row.substring(0, 3);
+                continue;
+            }
+
+            if (Dialect.starts(row, dialect.outline())) {
+                flushOutline(lines, outlineLine, outlineHasRows);
+                outlineLine = lineNumber;
+                outlineHasRows = false;
+                inExamples = false;
+            } else if (Dialect.starts(row, dialect.scenario())) {
+                flushOutline(lines, outlineLine, outlineHasRows);
+                outlineLine = null;
+                inExamples = false;
+                lines.add(lineNumber);
+            } else if (Dialect.starts(row, dialect.examples())) {
+                inExamples = outlineLine != null;
+                headerSeen = false;
+            } else if (Dialect.starts(row, dialect.feature())
+                    || Dialect.starts(row, dialect.rule())
+                    || Dialect.starts(row, dialect.background())) {
+                flushOutline(lines, outlineLine, outlineHasRows);
+                outlineLine = null;
+                inExamples = false;
+            } else if (inExamples && row.startsWith("|")) {
+                if (headerSeen) {
+                    lines.add(lineNumber);
+                    outlineHasRows = true;
+                } else {
+                    headerSeen = true;
+                }
+            }
+        }
+        flushOutline(lines, outlineLine, outlineHasRows);
+        return lines;
+    }
+
+    // The language of the header comment above the first keyword line, or "en".
+    private static String language(String[] rows) {
+        for (String row : rows) {
+            String trimmed = row.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!trimmed.startsWith("#")) {
+                break;
+            }
+            Matcher matcher = LANGUAGE.matcher(trimmed);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return "en";
+    }
+
+    private static void flushOutline(List<Integer> lines, Integer outlineLine, boolean outlineHasRows) {
+        if (outlineLine != null && !outlineHasRows) {
+            lines.add(outlineLine);
+        }
+    }
+
+    // Mirrors normalizeContent in the runner so that line numbers match the file it writes.
+    private static String normalize(String text) {
+        String normalized = text.replace("\r\n", "\n");
+        if (!normalized.contains("\n") && normalized.contains("\\n")) {
+            normalized = normalized.replace("\\r\\n", "\n").replace("\\n", "\n");
+        }
+        return normalized;
+    }
+
+    private static String featureName(RunRequest.Asset asset, int index) {
+        if (asset.getName() != null && !asset.getName().isBlank()) {
+            return asset.getName();
+        }
+        return "feature-" + (index + 1) + ".feature";
+    }
+
+    private record Unit(int featureIndex, Integer line) {}
+
+    private record Dialect(
+            List<String> feature,
+            List<String> rule,
+            List<String> background,
+            List<String> scenario,
+            List<String> outline,
+            List<String> examples) {
+
+        static boolean starts(String row, List<String> keywords) {
+            for (String keyword : keywords) {
+                if (row.startsWith(keyword + ":")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
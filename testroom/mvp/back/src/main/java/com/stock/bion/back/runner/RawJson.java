@@ -0,0 +1,64 @@
+package com.stock.bion.back.runner;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON value kept as the UTF-8 bytes it arrived as. It is written back out verbatim, so a runner
+ * report can be passed through to clients and to the artifact store without being parsed into a
+ * tree and serialized again.
+ */
+@JsonSerialize(using = RawJson.Serializer.class)
+@JsonDeserialize(using = RawJson.Deserializer.class)
+public final class RawJson {
+
+    private final byte[] bytes;
+
+    private RawJson(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public static RawJson of(byte[] bytes) {
+        return new RawJson(bytes);
+    }
+
+    public static RawJson of(String json) {
+        return new RawJson(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static class Serializer extends JsonSerializer<RawJson> {
+
+        @Override
+        public void serialize(RawJson value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(value.toString());
+        }
+    }
+
+    /** Fallback for ordinary data binding; the runner client reads reports with {@link RunResponseReader}. */
+    static class Deserializer extends JsonDeserializer<RawJson> {
+
+        @Override
+        public RawJson deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonNode tree = p.readValueAsTree();
+            return RawJson.of(tree.toString());
+        }
+    }
+}
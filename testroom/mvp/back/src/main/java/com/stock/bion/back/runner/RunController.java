@@ -1,7 +1,7 @@
 package com.stock.bion.back.runner;
 
+import com.stock.bion.back.result.ResultRecorder;
 import com.stock.bion.back.result.TestResultRequest;
-import com.stock.bion.back.result.TestResultService;
 import jakarta.validation.Valid;
 import java.time.Duration;
 import java.time.Instant;
@@ -23,7 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class RunController {
 
     private final RunService runService;
-    private final TestResultService testResultService;
+    private final ResultRecorder resultRecorder;
 
     @PostMapping("/run")
     public ResponseEntity<RunResponse> execute(@RequestBody @Valid RunRequest request) {
@@ -45,7 +45,8 @@ public class RunController {
                     .httpStatus(response.getStatusCodeValue())
                     .stdout(body != null ? body.getStdout() : null)
                     .stderr(body != null ? body.getStderr() : null)
-                    .report(body != null && body.getReport() != null ? body.getReport().toString() : null);
+                    .reportBytes(body != null && body.getReport() != null ? body.getReport().bytes() : null)
+                    .reportAnalysis(body != null ? RunStatusResolver.analysisOf(body) : null);
 
             if (metadata != null) {
                 if (metadata.getScope() != null) {
@@ -56,7 +57,7 @@ public class RunController {
                 builder.serviceFullRun(metadata.getServiceFullRun());
             }
 
-            testResultService.saveResult(builder.build());
+            resultRecorder.record(builder.build());
         } catch (Exception ex) {
             log.warn("Failed to persist run result", ex);
         }
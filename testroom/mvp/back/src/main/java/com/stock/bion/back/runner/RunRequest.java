@@ -38,6 +38,9 @@ public class RunRequest {
 
         @NotBlank
         private String content;
+
+        // Optional 1-based scenario/example-row lines; when set only those are run.
+        private List<Integer> lines;
     }
 
     @Data
@@ -1,8 +1,9 @@
 package com.stock.bion.back.runner;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.stock.bion.back.report.ReportAnalysis;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,7 +21,13 @@ public class RunResponse {
 
     private String stderr;
 
-    private JsonNode report;
+    private RawJson report;
 
     private String error;
+
+    private Boolean preflightFailed;
+
+    /** Status, counts and breakdown of {@link #report}, filled in while the body was read. */
+    @JsonIgnore
+    private ReportAnalysis analysis;
 }
@@ -0,0 +1,57 @@
+package com.stock.bion.back.runner;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.stock.bion.back.report.ReportAnalysis;
+import com.stock.bion.back.report.StreamingReportAnalyzer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Reads a runner response body in one streaming pass. The report is analyzed while its tokens go
+ * by and is kept as the exact byte range it occupies in the body, so it never becomes a tree.
+ */
+public final class RunResponseReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private RunResponseReader() {}
+
+    public static RunResponse read(byte[] body) {
+        RunResponse response = new RunResponse();
+        if (body == null || body.length == 0) {
+            return response;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Runner response is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "stdout" -> response.setStdout(parser.getValueAsString());
+                    case "stderr" -> response.setStderr(parser.getValueAsString());
+                    case "error" -> response.setError(parser.getValueAsString());
+                    case "report" -> {
+                        if (token == JsonToken.START_ARRAY || token == JsonToken.START_OBJECT) {
+                            int start = (int) parser.currentTokenLocation().getByteOffset();
+                            ReportAnalysis analysis = StreamingReportAnalyzer.analyze(parser);
+                            int end = (int) parser.currentLocation().getByteOffset();
+                            response.setReport(RawJson.of(Arrays.copyOfRange(body, start, end)));
+                            response.setAnalysis(analysis);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            return response;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read runner response", ex);
+        }
+    }
+}
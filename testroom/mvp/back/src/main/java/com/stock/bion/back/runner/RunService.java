@@ -1,22 +1,43 @@
 package com.stock.bion.back.runner;
 
 import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
+@Slf4j
 public class RunService {
 
+    private static final List<HttpStatus> PREFLIGHT_UNSUPPORTED =
+            List.of(HttpStatus.NOT_FOUND, HttpStatus.METHOD_NOT_ALLOWED, HttpStatus.NOT_IMPLEMENTED);
+
     private final WebClient webClient;
     private final Duration timeout;
+    private final boolean preflightEnabled;
+    private final int shards;
+
+    public RunService(WebClient.Builder webClientBuilder, String runnerBaseUrl, Duration timeout) {
+        this(webClientBuilder, runnerBaseUrl, timeout, false, 1);
+    }
 
+    @Autowired
     public RunService(
             WebClient.Builder webClientBuilder,
             @Value("${runner.url}") String runnerBaseUrl,
-            @Value("${runner.timeout:300s}") Duration timeout) {
+            @Value("${runner.timeout:300s}") Duration timeout,
+            @Value("${runner.preflight.enabled:true}") boolean preflightEnabled,
+            @Value("${runner.shards:1}") int shards) {
         this.webClient = webClientBuilder
                 .baseUrl(runnerBaseUrl)
                 .exchangeStrategies(builder -> builder
@@ -25,29 +46,114 @@ public class RunService {
                         .build())
                 .build();
         this.timeout = timeout.isZero() ? Duration.ofSeconds(300) : timeout;
+        this.preflightEnabled = preflightEnabled;
+        this.shards = Math.max(1, shards);
     }
 
+    /**
+     * Runs the request on the runner. When preflight is enabled the features are first checked with a
+     * cucumber dry-run, and the preflight response is returned as-is if it reports undefined or
+     * ambiguous steps, so the browser run is never started for a suite that cannot pass. With more
+     * than one shard configured the run is split by {@link FeatureShardPlanner}, the shards run in
+     * parallel and their reports are merged back per feature.
+     */
     public ResponseEntity<RunResponse> execute(RunRequest request) {
+        if (preflightEnabled) {
+            ResponseEntity<RunResponse> preflight = preflight(request);
+            if (preflight != null && !passed(preflight)) {
+                RunResponse body = preflight.getBody();
+                log.info("Preflight rejected run with status {}", RunStatusResolver.resolveStatus(body));
+                if (body != null) {
+                    body.setPreflightFailed(true);
+                }
+                return preflight;
+            }
+        }
+
+        List<RunRequest> plan = FeatureShardPlanner.plan(request, shards);
+        if (plan.size() == 1) {
+            return post("/run", plan.get(0));
+        }
+        log.info("Running {} features in {} shards", request.getFeatures().size(), plan.size());
+        try {
+            List<ResponseEntity<RunResponse>> responses = Flux.fromIterable(plan)
+                    .flatMapSequential(shard -> exchange("/run", shard), plan.size())
+                    .collectList()
+                    .block(timeout.plusSeconds(5));
+            return CucumberReportMerger.merge(responses);
+        } catch (RuntimeException ex) {
+            throw new RunnerClientException("Failed to invoke runner service", ex);
+        }
+    }
+
+    /**
+     * Checks the request with a cucumber dry-run. Returns {@code null} when the runner does not
+     * support preflight (404, 405 or 501) or fails to dry-run (any other 5xx), in which case the
+     * caller should go ahead with the real run. The status is checked before the body is read, as
+     * such responses are usually not JSON.
+     */
+    public ResponseEntity<RunResponse> preflight(RunRequest request) {
         try {
             return webClient
                     .post()
-                    .uri("/run")
+                    .uri("/preflight")
                     .contentType(MediaType.APPLICATION_JSON)
                     .bodyValue(request)
-                    .exchangeToMono(response ->
-                            response
-                                    .bodyToMono(RunResponse.class)
-                                    .defaultIfEmpty(new RunResponse())
-                                    .map(body -> {
-                                        if (response.statusCode().isError() && (body.getError() == null || body.getError().isBlank())) {
-                                            body.setError(response.statusCode().toString());
-                                        }
-                                        return ResponseEntity.status(response.statusCode()).body(body);
-                                    }))
+                    .exchangeToMono(response -> {
+                        HttpStatusCode status = response.statusCode();
+                        if (PREFLIGHT_UNSUPPORTED.stream().anyMatch(status::isSameCodeAs)) {
+                            log.debug("Runner does not support preflight ({})", status);
+                            return response.releaseBody().then(Mono.<ResponseEntity<RunResponse>>empty());
+                        }
+                        if (status.is5xxServerError()) {
+                            log.warn("Preflight failed with {}; running without it", status);
+                            return response.releaseBody().then(Mono.<ResponseEntity<RunResponse>>empty());
+                        }
+                        return toEntity(response);
+                    })
                     .timeout(timeout)
                     .block(timeout.plusSeconds(5));
         } catch (RuntimeException ex) {
             throw new RunnerClientException("Failed to invoke runner service", ex);
         }
     }
+
+    private boolean passed(ResponseEntity<RunResponse> preflight) {
+        if (preflight.getStatusCode().isError()) {
+            return false;
+        }
+        String status = RunStatusResolver.resolveStatus(preflight.getBody());
+        return !"FAILED".equals(status) && !"UNDEFINED".equals(status);
+    }
+
+    private ResponseEntity<RunResponse> post(String uri, RunRequest request) {
+        try {
+            return exchange(uri, request).block(timeout.plusSeconds(5));
+        } catch (RuntimeException ex) {
+            throw new RunnerClientException("Failed to invoke runner service", ex);
+        }
+    }
+
+    private Mono<ResponseEntity<RunResponse>> exchange(String uri, RunRequest request) {
+        return webClient
+                .post()
+                .uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchangeToMono(RunService::toEntity)
+                .timeout(timeout);
+    }
+
+    private static Mono<ResponseEntity<RunResponse>> toEntity(ClientResponse response) {
+        return response
+                .bodyToMono(byte[].class)
+                .map(RunResponseReader::read)
+                .defaultIfEmpty(new RunResponse())
+                .map(body -> {
+                    if (response.statusCode().isError() && (body.getError() == null || body.getError().isBlank())) {
+                        body.setError(response.statusCode().toString());
+                    }
+                    return ResponseEntity.status(response.statusCode()).body(body);
+                });
+    }
 }
@@ -1,6 +1,13 @@
 package com.stock.bion.back.runner;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.stock.bion.back.report.ReportAnalysis;
+import com.stock.bion.back.report.ReportBreakdown;
+import com.stock.bion.back.report.StreamingReportAnalyzer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
 
 public final class RunStatusResolver {
 
@@ -15,75 +22,54 @@ public final class RunStatusResolver {
             return "FAILED";
         }
 
-        JsonNode report = response.getReport();
-        if (report != null && report.isArray()) {
-            boolean anyUndefined = false;
-            for (JsonNode feature : report) {
-                JsonNode elements = feature.path("elements");
-                if (!elements.isArray()) {
-                    continue;
-                }
-                for (JsonNode scenario : elements) {
-                    boolean scenarioFailed = inspectSteps(scenario.path("steps"));
-                    if (scenarioFailed) {
-                        return "FAILED";
-                    }
-                    if (inspectHooks(scenario.path("before")) || inspectHooks(scenario.path("after"))) {
-                        return "FAILED";
-                    }
-                    anyUndefined = anyUndefined || hasUndefinedStep(scenario.path("steps"));
-                }
-            }
-            if (anyUndefined) {
-                return "UNDEFINED";
-            }
-            return "PASSED";
-        }
-
-        return "COMPLETED";
+        ReportAnalysis analysis = analysisOf(response);
+        return analysis != null ? analysis.status() : ReportAnalysis.COMPLETED;
     }
 
-    private static boolean inspectSteps(JsonNode steps) {
-        if (!steps.isArray()) {
-            return false;
+    /**
+     * Like {@link #resolveStatus(RunResponse)}, but a run that failed only in scenarios for which
+     * {@code quarantined} holds (by feature uri and scenario name) counts as passed. A runner error
+     * still fails the run.
+     */
+    public static String resolveStatus(RunResponse response, BiPredicate<String, String> quarantined) {
+        String status = resolveStatus(response);
+        if (!ReportBreakdown.FAILED.equals(status) || hasText(response.getError())) {
+            return status;
         }
-        for (JsonNode step : steps) {
-            String status = step.path("result").path("status").asText("");
-            if ("failed".equalsIgnoreCase(status)) {
-                return true;
+        List<String> counted = new ArrayList<>();
+        boolean excused = false;
+        for (ReportBreakdown.Feature feature : response.getAnalysis().breakdown().features()) {
+            for (ReportBreakdown.Scenario scenario : feature.scenarios()) {
+                if (quarantined.test(feature.uri(), scenario.name())) {
+                    excused |= ReportBreakdown.FAILED.equals(scenario.status());
+                } else {
+                    counted.add(scenario.status());
+                }
             }
         }
-        return false;
-    }
-
-    private static boolean hasUndefinedStep(JsonNode steps) {
-        if (!steps.isArray()) {
-            return false;
-        }
-        for (JsonNode step : steps) {
-            String status = step.path("result").path("status").asText("");
-            if ("undefined".equalsIgnoreCase(status) || "pending".equalsIgnoreCase(status)) {
-                return true;
-            }
+        if (!excused) {
+            return status;
         }
-        return false;
+        String rest = ReportBreakdown.rollUp(counted);
+        return ReportBreakdown.SKIPPED.equals(rest) ? ReportBreakdown.PASSED : rest;
     }
 
-    private static boolean inspectHooks(JsonNode hooks) {
-        if (!hooks.isArray()) {
-            return false;
-        }
-        for (JsonNode hook : hooks) {
-            String status = hook.path("result").path("status").asText("");
-            if ("failed".equalsIgnoreCase(status)) {
-                return true;
+    /**
+     * Returns the analysis made while the response was read, or analyzes the report now for
+     * responses that were built in memory.
+     */
+    public static ReportAnalysis analysisOf(RunResponse response) {
+        if (response.getAnalysis() == null && response.getReport() != null) {
+            try {
+                response.setAnalysis(StreamingReportAnalyzer.analyze(response.getReport().bytes()));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Runner report is not valid JSON", ex);
             }
         }
-        return false;
+        return response.getAnalysis();
     }
 
     private static boolean hasText(String value) {
         return value != null && !value.isBlank();
     }
 }
-
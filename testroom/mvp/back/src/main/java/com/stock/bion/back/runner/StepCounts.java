@@ -0,0 +1,4 @@
+package com.stock.bion.back.runner;
+
+/** Number of steps per cucumber result status in one report. */
+public record StepCounts(int passed, int failed, int skipped, int undefined) {}
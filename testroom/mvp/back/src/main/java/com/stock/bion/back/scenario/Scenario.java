@@ -21,7 +21,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
+/**
+ * A saved scenario. Its feature and step files are loaded only when used, for up to
+ * {@value #ASSET_BATCH} scenarios per query; lists that only show names and sizes read them
+ * through {@link ScenarioRepositoryCustom#findSummaries} instead.
+ */
 @Entity
 @Table(name = "scenarios")
 @Getter
@@ -30,6 +36,8 @@ import lombok.NoArgsConstructor;
 @Builder
 public class Scenario {
 
+    static final int ASSET_BATCH = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -38,14 +46,16 @@ public class Scenario {
     private String title;
 
     @Builder.Default
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = ASSET_BATCH)
     @CollectionTable(
             name = "scenario_features", joinColumns = @JoinColumn(name = "scenario_id"))
     @OrderColumn(name = "position")
     private List<ScenarioAsset> features = new ArrayList<>();
 
     @Builder.Default
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = ASSET_BATCH)
     @CollectionTable(name = "scenario_steps", joinColumns = @JoinColumn(name = "scenario_id"))
     @OrderColumn(name = "position")
     private List<ScenarioAsset> steps = new ArrayList<>();
@@ -1,14 +1,19 @@
 package com.stock.bion.back.scenario;
 
+import com.stock.bion.back.asset.AssetHash;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
-import jakarta.persistence.Lob;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+/**
+ * A feature or step file of a scenario. The text lives in the
+ * {@link com.stock.bion.back.asset.AssetStore} under {@code contentHash}; its length is kept here
+ * so lists can show it without reading the text.
+ */
 @Embeddable
 @Getter
 @NoArgsConstructor
@@ -20,7 +25,11 @@ public class ScenarioAsset {
     @Column(name = "asset_name")
     private String name;
 
-    @Lob
-    @Column(nullable = false)
-    private String content;
+    /** {@code null} only for files saved before the asset store, until the {@code AssetBackfill} has run. */
+    @Column(name = "content_hash", length = AssetHash.LENGTH)
+    private String contentHash;
+
+    /** Length of the content in characters. */
+    @Column(name = "content_length")
+    private Long contentLength;
 }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -30,6 +31,13 @@ public class ScenarioController {
         return scenarioService.findAll();
     }
 
+    /** Scenarios with the names and sizes of their files, a page at a time. */
+    @GetMapping("/summaries")
+    public ScenarioPage findSummaries(
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int limit) {
+        return scenarioService.findPage(null, cursor, limit);
+    }
+
     @GetMapping("/{id}")
     public ScenarioResponse findById(@PathVariable Long id) {
         return scenarioService.findById(id);
@@ -57,4 +65,9 @@ public class ScenarioController {
     public ResponseEntity<Void> handleNotFound() {
         return ResponseEntity.notFound().build();
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest() {
+        return ResponseEntity.badRequest().build();
+    }
 }
@@ -0,0 +1,29 @@
+package com.stock.bion.back.scenario;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/** Keyset position in the {@code (updatedAt DESC, id DESC)} ordering of scenarios, as an opaque token. */
+public record ScenarioCursor(Instant updatedAt, Long id) {
+
+    public static ScenarioCursor of(ScenarioSummary scenario) {
+        return new ScenarioCursor(scenario.getUpdatedAt(), scenario.getId());
+    }
+
+    public static ScenarioCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new ScenarioCursor(
+                    Instant.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, ex);
+        }
+    }
+
+    public String encode() {
+        String raw = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
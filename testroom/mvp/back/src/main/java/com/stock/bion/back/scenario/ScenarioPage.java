@@ -0,0 +1,15 @@
+package com.stock.bion.back.scenario;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ScenarioPage {
+
+    List<ScenarioSummary> items;
+
+    /** Cursor for the next page, or {@code null} when this is the last page. */
+    String nextCursor;
+}
@@ -2,11 +2,18 @@ package com.stock.bion.back.scenario;
 
 import com.stock.bion.back.service.Service;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ScenarioRepository extends JpaRepository<Scenario, Long> {
+public interface ScenarioRepository extends JpaRepository<Scenario, Long>, ScenarioRepositoryCustom {
     List<Scenario> findAllByServiceOrderByUpdatedAtDesc(Service service);
     long countByServiceId(Long serviceId);
+
+    /** The scenario with its features joined in; its steps follow with one more query when used. */
+    @Query("select s from Scenario s left join fetch s.features where s.id = :id")
+    Optional<Scenario> findDetailById(@Param("id") Long id);
 }
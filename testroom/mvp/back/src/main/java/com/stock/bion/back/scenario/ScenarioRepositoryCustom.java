@@ -0,0 +1,13 @@
+package com.stock.bion.back.scenario;
+
+import java.util.List;
+
+public interface ScenarioRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} scenarios, of one service or of all when {@code serviceId} is
+     * {@code null}, most recently updated first and strictly after {@code after}. Takes three
+     * queries however many scenarios and files there are, and never reads file content.
+     */
+    List<ScenarioSummary> findSummaries(Long serviceId, ScenarioCursor after, int limit);
+}
@@ -0,0 +1,75 @@
+package com.stock.bion.back.scenario;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ScenarioRepositoryCustomImpl implements ScenarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ScenarioSummary> findSummaries(Long serviceId, ScenarioCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        if (serviceId != null) {
+            predicates.add("s.service.id = :serviceId");
+        }
+        if (after != null) {
+            predicates.add("(s.updatedAt < :updatedAt or (s.updatedAt = :updatedAt and s.id < :id))");
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select s.id as id, s.title as title, s.updatedAt as updatedAt from Scenario s"
+                        + (predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates))
+                        + " order by s.updatedAt desc, s.id desc",
+                Tuple.class);
+        if (serviceId != null) {
+            query.setParameter("serviceId", serviceId);
+        }
+        if (after != null) {
+            query.setParameter("updatedAt", after.updatedAt()).setParameter("id", after.id());
+        }
+        List<Tuple> rows = query.setMaxResults(limit).getResultList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = rows.stream().map(row -> row.get("id", Long.class)).toList();
+        Map<Long, List<ScenarioSummary.Asset>> features = assets("features", ids);
+        Map<Long, List<ScenarioSummary.Asset>> steps = assets("steps", ids);
+        return rows.stream()
+                .map(row -> {
+                    Long id = row.get("id", Long.class);
+                    return ScenarioSummary.builder()
+                            .id(id)
+                            .title(row.get("title", String.class))
+                            .features(features.getOrDefault(id, List.of()))
+                            .steps(steps.getOrDefault(id, List.of()))
+                            .updatedAt(row.get("updatedAt", Instant.class))
+                            .build();
+                })
+                .toList();
+    }
+
+    private Map<Long, List<ScenarioSummary.Asset>> assets(String collection, List<Long> ids) {
+        Map<Long, List<ScenarioSummary.Asset>> assets = new HashMap<>();
+        entityManager.createQuery(
+                        "select s.id as id, a.name as name, a.contentLength as contentLength from Scenario s join s."
+                                + collection + " a where s.id in :ids order by s.id, index(a)",
+                        Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(row -> assets.computeIfAbsent(row.get("id", Long.class), id -> new ArrayList<>())
+                        .add(ScenarioSummary.Asset.builder()
+                                .name(row.get("name", String.class))
+                                .size(row.get("contentLength", Long.class))
+                                .build()));
+        return assets;
+    }
+}
@@ -1,7 +1,12 @@
 package com.stock.bion.back.scenario;
 
+import com.stock.bion.back.asset.AssetStore;
+import com.stock.bion.back.service.ServiceSummaryWriter;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -13,8 +18,11 @@ import org.springframework.util.StringUtils;
 public class ScenarioService {
 
     private static final String UNTITLED = "Untitled Scenario";
+    private static final int MAX_PAGE_SIZE = 200;
 
     private final ScenarioRepository scenarioRepository;
+    private final ServiceSummaryWriter serviceSummaryWriter;
+    private final AssetStore assetStore;
 
     @Transactional
     public ScenarioResponse create(ScenarioRequest request) {
@@ -29,20 +37,67 @@ public class ScenarioService {
         return toResponse(saved);
     }
 
+    /** Creates a scenario of the service, titled {@value #UNTITLED} unless the request has a title. */
+    @Transactional
+    public ScenarioResponse create(com.stock.bion.back.service.Service service, ScenarioRequest request) {
+        Scenario scenario =
+                Scenario.builder()
+                        .title(StringUtils.hasText(request.getTitle()) ? request.getTitle().trim() : UNTITLED)
+                        .features(mapAssets(request.getFeatures()))
+                        .steps(mapAssets(request.getSteps()))
+                        .build();
+        scenario.setService(service);
+        return toResponse(scenarioRepository.save(scenario));
+    }
+
     @Transactional(readOnly = true)
     public List<ScenarioResponse> findAll() {
-        return scenarioRepository.findAll(Sort.by(Sort.Direction.DESC, "updatedAt")).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(scenarioRepository.findAll(Sort.by(Sort.Direction.DESC, "updatedAt")));
+    }
+
+    /** One page of scenarios, of one service or of all when {@code serviceId} is {@code null}. */
+    @Transactional(readOnly = true)
+    public ScenarioPage findPage(Long serviceId, String cursor, int limit) {
+        ScenarioCursor after = cursor == null || cursor.isBlank() ? null : ScenarioCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<ScenarioSummary> rows = scenarioRepository.findSummaries(serviceId, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ScenarioSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return ScenarioPage.builder()
+                .items(page)
+                .nextCursor(hasMore ? ScenarioCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public ScenarioResponse findById(Long id) {
-        Scenario scenario =
-                scenarioRepository
-                        .findById(id)
-                        .orElseThrow(() -> new ScenarioNotFoundException(id));
-        return toResponse(scenario);
+        return toResponse(findDetail(null, id));
+    }
+
+    /** A scenario of the service, with content; scenarios of other services are not found. */
+    @Transactional(readOnly = true)
+    public ScenarioResponse findById(Long serviceId, Long id) {
+        return toResponse(findDetail(serviceId, id));
+    }
+
+    /** The scenarios of the service with their content, most recently updated first. */
+    @Transactional(readOnly = true)
+    public List<ScenarioResponse> findAllByService(com.stock.bion.back.service.Service service) {
+        return toResponses(scenarioRepository.findAllByServiceOrderByUpdatedAtDesc(service));
+    }
+
+    /**
+     * The step files of the service's scenarios with their content, keeping only the first file
+     * with each content hash, newest scenario first; a run needs every step definition once.
+     */
+    @Transactional(readOnly = true)
+    public List<ScenarioResponse.Asset> findDistinctStepsByService(com.stock.bion.back.service.Service service) {
+        Map<String, ScenarioAsset> byContent = new LinkedHashMap<>();
+        for (Scenario scenario : scenarioRepository.findAllByServiceOrderByUpdatedAtDesc(service)) {
+            scenario.getSteps().forEach(step -> byContent.putIfAbsent(step.getContentHash(), step));
+        }
+        List<ScenarioAsset> steps = List.copyOf(byContent.values());
+        return toResponseAssets(steps, assetStore.contents(byContent.keySet()));
     }
 
     @Transactional
@@ -53,53 +108,103 @@ public class ScenarioService {
                         .orElseThrow(() -> new ScenarioNotFoundException(id));
 
         scenario.setTitle(resolveTitle(request, scenario.getTitle()));
-        scenario.setFeatures(mapAssets(request.getFeatures()));
-        scenario.setSteps(mapAssets(request.getSteps()));
+        replaceAssets(scenario, request);
 
         Scenario saved = scenarioRepository.save(scenario);
         return toResponse(saved);
     }
 
+    /**
+     * Updates a scenario of the service. A blank title keeps the current one, and the steps are
+     * replaced as given, which is usually none since steps live in the service's step library.
+     */
+    @Transactional
+    public ScenarioResponse update(Long serviceId, Long id, ScenarioRequest request) {
+        Scenario scenario = findDetail(serviceId, id);
+        scenario.setTitle(StringUtils.hasText(request.getTitle()) ? request.getTitle().trim() : scenario.getTitle());
+        replaceAssets(scenario, request);
+        return toResponse(scenarioRepository.save(scenario));
+    }
+
     @Transactional
     public void delete(Long id) {
-        if (!scenarioRepository.existsById(id)) {
+        Scenario scenario =
+                scenarioRepository
+                        .findById(id)
+                        .orElseThrow(() -> new ScenarioNotFoundException(id));
+        Long serviceId = scenario.getService() != null ? scenario.getService().getId() : null;
+        assetStore.release(contentHashes(scenario).toList());
+        scenarioRepository.delete(scenario);
+        // The recount is plain SQL, which does not see the delete until it is flushed.
+        scenarioRepository.flush();
+        serviceSummaryWriter.recount(serviceId);
+    }
+
+    private Scenario findDetail(Long serviceId, Long id) {
+        Scenario scenario =
+                scenarioRepository
+                        .findDetailById(id)
+                        .orElseThrow(() -> new ScenarioNotFoundException(id));
+        if (serviceId != null
+                && (scenario.getService() == null || !scenario.getService().getId().equals(serviceId))) {
             throw new ScenarioNotFoundException(id);
         }
-        scenarioRepository.deleteById(id);
+        return scenario;
     }
 
     private ScenarioResponse toResponse(Scenario scenario) {
-        return ScenarioResponse.builder()
-                .id(scenario.getId())
-                .title(scenario.getTitle())
-                .features(
-                        scenario.getFeatures().stream()
-                                .map(asset -> ScenarioResponse.Asset.builder()
-                                        .name(asset.getName())
-                                        .content(asset.getContent())
-                                        .build())
-                                .collect(Collectors.toList()))
-                .steps(
-                        scenario.getSteps().stream()
-                                .map(asset -> ScenarioResponse.Asset.builder()
-                                        .name(asset.getName())
-                                        .content(asset.getContent())
-                                        .build())
-                                .collect(Collectors.toList()))
-                .createdAt(scenario.getCreatedAt())
-                .updatedAt(scenario.getUpdatedAt())
-                .build();
+        return toResponses(List.of(scenario)).get(0);
+    }
+
+    // The content of all the scenarios' files is fetched from the asset store at once.
+    private List<ScenarioResponse> toResponses(List<Scenario> scenarios) {
+        Map<String, String> contents =
+                assetStore.contents(scenarios.stream().flatMap(ScenarioService::contentHashes).toList());
+        return scenarios.stream()
+                .map(scenario -> ScenarioResponse.builder()
+                        .id(scenario.getId())
+                        .title(scenario.getTitle())
+                        .features(toResponseAssets(scenario.getFeatures(), contents))
+                        .steps(toResponseAssets(scenario.getSteps(), contents))
+                        .createdAt(scenario.getCreatedAt())
+                        .updatedAt(scenario.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static List<ScenarioResponse.Asset> toResponseAssets(
+            List<ScenarioAsset> assets, Map<String, String> contents) {
+        return assets.stream()
+                .map(asset -> ScenarioResponse.Asset.builder()
+                        .name(asset.getName())
+                        .content(contents.get(asset.getContentHash()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // New content is stored before the old is released, so files that did not change keep their text.
+    private void replaceAssets(Scenario scenario, ScenarioRequest request) {
+        List<String> previous = contentHashes(scenario).toList();
+        scenario.setFeatures(mapAssets(request.getFeatures()));
+        scenario.setSteps(mapAssets(request.getSteps()));
+        assetStore.release(previous);
     }
 
     private List<ScenarioAsset> mapAssets(List<ScenarioRequest.Asset> assets) {
         return assets.stream()
                 .map(asset -> ScenarioAsset.builder()
                         .name(asset.getName())
-                        .content(asset.getContent())
+                        .contentHash(assetStore.put(asset.getContent()))
+                        .contentLength((long) asset.getContent().length())
                         .build())
                 .collect(Collectors.toList());
     }
 
+    private static Stream<String> contentHashes(Scenario scenario) {
+        return Stream.concat(scenario.getFeatures().stream(), scenario.getSteps().stream())
+                .map(ScenarioAsset::getContentHash);
+    }
+
     private String resolveTitle(ScenarioRequest request, String fallback) {
         if (StringUtils.hasText(request.getTitle())) {
             return request.getTitle().trim();
@@ -0,0 +1,28 @@
+package com.stock.bion.back.scenario;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+/** A scenario as listed: its feature and step files by name and size, without their content. */
+@Value
+@Builder
+public class ScenarioSummary {
+
+    Long id;
+    String title;
+    List<Asset> features;
+    List<Asset> steps;
+    Instant updatedAt;
+
+    @Value
+    @Builder
+    public static class Asset {
+
+        String name;
+
+        /** Length of the content in characters; {@code null} if it was not recorded. */
+        Long size;
+    }
+}
@@ -0,0 +1,190 @@
+package com.stock.bion.back.search;
+
+import com.stock.bion.back.artifact.ArtifactStore;
+import com.stock.bion.back.result.TestResult;
+import com.stock.bion.back.result.TestResultRepository;
+import com.stock.bion.back.result.TestResultSummary;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Answers full-text queries from the {@code search_postings} inverted index. Every query word must
+ * occur in the result (in any field); hits come newest first. Highlights are cut from the original
+ * text of the fields that matched, fetched only for the returned page.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResultSearchService {
+
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int SNIPPET_RADIUS = 80;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TestResultRepository testResultRepository;
+    private final ArtifactStore artifactStore;
+
+    @Transactional(readOnly = true)
+    public List<SearchHit> search(String query, Long serviceId, Instant from, Instant to, int limit) {
+        List<String> terms = new ArrayList<>(SearchTokenizer.queryTerms(query, MAX_QUERY_TERMS));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder sql = new StringBuilder("select result_id from search_postings where term in (")
+                .append(placeholders(terms.size()))
+                .append(")");
+        List<Object> args = new ArrayList<>(terms);
+        if (serviceId != null) {
+            sql.append(" and service_id = ?");
+            args.add(serviceId);
+        }
+        if (from != null) {
+            sql.append(" and created_at >= ?");
+            args.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" and created_at < ?");
+            args.add(Timestamp.from(to));
+        }
+        sql.append(" group by result_id having count(distinct term) = ?")
+                .append(" order by max(created_at) desc, result_id desc fetch first ")
+                .append(limit)
+                .append(" rows only");
+        args.add(terms.size());
+        List<Long> ids = jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TestResult> results = testResultRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TestResult::getId, Function.identity()));
+        Map<Long, Set<SearchField>> matchedFields = matchedFields(ids, terms);
+        Pattern pattern = highlightPattern(terms);
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (Long id : ids) {
+            TestResult result = results.get(id);
+            if (result == null) {
+                continue;
+            }
+            Map<SearchField, String> highlights = new EnumMap<>(SearchField.class);
+            for (SearchField field : matchedFields.getOrDefault(id, Set.of())) {
+                String snippet = snippet(text(result, field), pattern);
+                if (snippet != null) {
+                    highlights.put(field, snippet);
+                }
+            }
+            hits.add(SearchHit.builder().result(TestResultSummary.of(result)).highlights(highlights).build());
+        }
+        return hits;
+    }
+
+    private Map<Long, Set<SearchField>> matchedFields(List<Long> ids, List<String> terms) {
+        List<Object> args = new ArrayList<>(ids);
+        args.addAll(terms);
+        Map<Long, Set<SearchField>> fields = new HashMap<>();
+        jdbcTemplate.query(
+                "select distinct result_id, field from search_postings where result_id in ("
+                        + placeholders(ids.size()) + ") and term in (" + placeholders(terms.size()) + ")",
+                rs -> {
+                    fields.computeIfAbsent(rs.getLong("result_id"), key -> new HashSet<>())
+                            .add(SearchField.valueOf(rs.getString("field")));
+                },
+                args.toArray());
+        return fields;
+    }
+
+    private String text(TestResult result, SearchField field) {
+        return switch (field) {
+            case ERROR -> result.getError();
+            case STDOUT -> artifactText(result.getStdoutKey());
+            case STDERR -> artifactText(result.getStderrKey());
+            case STEP_ERROR -> String.join("\n", jdbcTemplate.queryForList(
+                    "select error_message from step_results where result_id = ? and error_message is not null",
+                    String.class,
+                    result.getId()));
+        };
+    }
+
+    // Indexing stopped at the same length, so nothing past it can have matched.
+    private String artifactText(String key) {
+        if (key == null) {
+            return null;
+        }
+        try (InputStream in = artifactStore.open(key);
+                Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            char[] buffer = new char[SearchIndexWriter.MAX_INDEXED_CHARS];
+            int total = 0;
+            int read;
+            while (total < buffer.length && (read = reader.read(buffer, total, buffer.length - total)) > 0) {
+                total += read;
+            }
+            return new String(buffer, 0, total);
+        } catch (IOException ex) {
+            log.debug("Artifact {} is not readable for highlighting", key, ex);
+            return null;
+        }
+    }
+
+    static String snippet(String text, Pattern pattern) {
+        if (text == null) {
+            return null;
+        }
+        Matcher first = pattern.matcher(text);
+        if (!first.find()) {
+            return null;
+        }
+        int start = Math.max(0, first.start() - SNIPPET_RADIUS);
+        int end = Math.min(text.length(), first.end() + SNIPPET_RADIUS);
+        String window = text.substring(start, end);
+
+        StringBuilder out = new StringBuilder(start > 0 ? "…" : "");
+        Matcher matcher = pattern.matcher(window);
+        int last = 0;
+        while (matcher.find()) {
+            out.append(escape(window.substring(last, matcher.start())))
+                    .append("<mark>")
+                    .append(escape(matcher.group()))
+                    .append("</mark>");
+            last = matcher.end();
+        }
+        out.append(escape(window.substring(last)));
+        return end < text.length() ? out.append("…").toString() : out.toString();
+    }
+
+    static Pattern highlightPattern(List<String> terms) {
+        String alternation = terms.stream().map(Pattern::quote).collect(Collectors.joining("|"));
+        return Pattern.compile(alternation, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
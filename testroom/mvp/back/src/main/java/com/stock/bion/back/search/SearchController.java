@@ -0,0 +1,31 @@
+package com.stock.bion.back.search;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/results")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final int MAX_HITS = 100;
+
+    private final ResultSearchService resultSearchService;
+
+    /** Results whose error, output or failed step messages contain every word of {@code q}. */
+    @GetMapping("/search")
+    public List<SearchHit> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "20") int limit) {
+        return resultSearchService.search(q, serviceId, from, to, Math.min(Math.max(limit, 1), MAX_HITS));
+    }
+}
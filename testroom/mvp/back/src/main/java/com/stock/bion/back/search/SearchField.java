@@ -0,0 +1,9 @@
+package com.stock.bion.back.search;
+
+/** The parts of a result that are indexed for search. */
+public enum SearchField {
+    ERROR,
+    STDOUT,
+    STDERR,
+    STEP_ERROR
+}
@@ -0,0 +1,16 @@
+package com.stock.bion.back.search;
+
+import com.stock.bion.back.result.TestResultSummary;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SearchHit {
+
+    TestResultSummary result;
+
+    /** An HTML-escaped excerpt per matching field, with the query terms wrapped in {@code <mark>}. */
+    Map<SearchField, String> highlights;
+}
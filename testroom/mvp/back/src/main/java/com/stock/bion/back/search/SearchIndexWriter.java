@@ -0,0 +1,46 @@
+package com.stock.bion.back.search;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a stored result to the search index with one JDBC batch, inside the transaction that stores
+ * it. Only the first {@value #MAX_INDEXED_CHARS} characters of each field and at most
+ * {@value #MAX_TERMS} distinct terms per field are indexed, which keeps huge logs from dominating
+ * the index.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexWriter {
+
+    static final int MAX_INDEXED_CHARS = 1 << 20;
+    static final int MAX_TERMS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void index(Long resultId, Long serviceId, Instant createdAt, Map<SearchField, String> fields) {
+        Timestamp at = Timestamp.from(createdAt);
+        List<Object[]> rows = new ArrayList<>();
+        fields.forEach((field, text) -> {
+            if (text == null || text.isBlank()) {
+                return;
+            }
+            String indexed = text.length() > MAX_INDEXED_CHARS ? text.substring(0, MAX_INDEXED_CHARS) : text;
+            for (String term : SearchTokenizer.terms(indexed, MAX_TERMS)) {
+                rows.add(new Object[] {term, resultId, field.name(), serviceId, at});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into search_postings (term, result_id, field, service_id, created_at)"
+                            + " values (?, ?, ?, ?, ?)",
+                    rows);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.stock.bion.back.search;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the inverted index: {@code term} occurs in {@code field} of result
+ * {@code resultId}. Service and time are copied from the result so filtered searches never join
+ * {@code test_results}.
+ */
+@Entity
+@Table(
+        name = "search_postings",
+        indexes = {
+            @Index(name = "idx_search_postings_term", columnList = "term, created_at, result_id"),
+            @Index(name = "idx_search_postings_term_service", columnList = "term, service_id, created_at"),
+            @Index(name = "idx_search_postings_result", columnList = "result_id")
+        })
+@Getter
+@NoArgsConstructor
+public class SearchPosting {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String term;
+
+    @Column(name = "result_id", nullable = false)
+    private Long resultId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SearchField field;
+
+    @Column(name = "service_id")
+    private Long serviceId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,67 @@
+package com.stock.bion.back.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case index terms: runs of letters and digits, plus the camel-case parts of
+ * each run, so {@code TimeoutError} is found by {@code timeouterror}, {@code timeout} and
+ * {@code error} alike.
+ */
+public final class SearchTokenizer {
+
+    static final int MIN_LENGTH = 2;
+    static final int MAX_LENGTH = 64;
+
+    private SearchTokenizer() {}
+
+    public static Set<String> terms(String text, int maxTerms) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length() && terms.size() < maxTerms; i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(terms, text.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /** Whole words only, as typed in a query; camel-case parts would make a query stricter. */
+    public static Set<String> queryTerms(String query, int maxTerms) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : query.split("[^\\p{L}\\p{Nd}]+")) {
+            if (terms.size() < maxTerms) {
+                add(terms, word);
+            }
+        }
+        return terms;
+    }
+
+    private static void addWord(Set<String> terms, String word) {
+        add(terms, word);
+        int partStart = 0;
+        for (int i = 1; i < word.length(); i++) {
+            if (Character.isUpperCase(word.charAt(i)) && Character.isLowerCase(word.charAt(i - 1))) {
+                add(terms, word.substring(partStart, i));
+                partStart = i;
+            }
+        }
+        if (partStart > 0) {
+            add(terms, word.substring(partStart));
+        }
+    }
+
+    private static void add(Set<String> terms, String term) {
+        if (term.length() >= MIN_LENGTH && term.length() <= MAX_LENGTH) {
+            terms.add(term.toLowerCase(Locale.ROOT));
+        }
+    }
+}
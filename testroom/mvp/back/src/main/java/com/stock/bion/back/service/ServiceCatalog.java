@@ -0,0 +1,53 @@
+package com.stock.bion.back.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads services together with their {@link ServiceSummary}, all of them in one query. A service
+ * whose summary has not been built yet shows zero counts and no runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceCatalog {
+
+    private static final String SELECT =
+            "select s.id, s.name, s.description, s.created_at, s.updated_at, m.scenario_count, m.step_count,"
+                    + " m.last_run_status, m.last_run_at, m.recent_outcomes, m.pass_rate"
+                    + " from services s left join service_summaries m on m.service_id = s.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** All services, by name. */
+    public List<ServiceResponse> findAll() {
+        return jdbcTemplate.query(SELECT + " order by s.name", ServiceCatalog::map);
+    }
+
+    public Optional<ServiceResponse> find(Long id) {
+        return jdbcTemplate.query(SELECT + " where s.id = ?", ServiceCatalog::map, id).stream().findFirst();
+    }
+
+    private static ServiceResponse map(ResultSet rs, int row) throws SQLException {
+        Timestamp lastRunAt = rs.getTimestamp("last_run_at");
+        String outcomes = rs.getString("recent_outcomes");
+        return ServiceResponse.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .createdAt(rs.getTimestamp("created_at").toInstant())
+                .updatedAt(rs.getTimestamp("updated_at").toInstant())
+                .scenarioCount(rs.getLong("scenario_count"))
+                .stepCount(rs.getLong("step_count"))
+                .lastRunStatus(rs.getString("last_run_status"))
+                .lastRunAt(lastRunAt != null ? lastRunAt.toInstant() : null)
+                .recentRuns(outcomes != null ? outcomes.length() : 0)
+                .passRate(rs.getObject("pass_rate", Double.class))
+                .build();
+    }
+}
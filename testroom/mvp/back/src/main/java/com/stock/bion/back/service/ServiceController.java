@@ -1,30 +1,29 @@
 package com.stock.bion.back.service;
 
+import com.stock.bion.back.flakiness.FlakinessService;
+import com.stock.bion.back.result.ResultRecorder;
 import com.stock.bion.back.result.TestResultRequest;
-import com.stock.bion.back.result.TestResultService;
 import com.stock.bion.back.runner.RunRequest;
 import com.stock.bion.back.runner.RunResponse;
 import com.stock.bion.back.runner.RunScope;
 import com.stock.bion.back.runner.RunService;
 import com.stock.bion.back.runner.RunStatusResolver;
-import com.stock.bion.back.scenario.Scenario;
-import com.stock.bion.back.scenario.ScenarioRepository;
+import com.stock.bion.back.scenario.ScenarioNotFoundException;
+import com.stock.bion.back.scenario.ScenarioPage;
 import com.stock.bion.back.scenario.ScenarioRequest;
 import com.stock.bion.back.scenario.ScenarioResponse;
-import com.stock.bion.back.step.ServiceStep;
-import com.stock.bion.back.step.ServiceStepRepository;
+import com.stock.bion.back.scenario.ScenarioService;
 import com.stock.bion.back.step.ServiceStepRequest;
 import com.stock.bion.back.step.ServiceStepResponse;
+import com.stock.bion.back.step.ServiceStepService;
 import jakarta.validation.Valid;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -38,22 +37,22 @@ import org.springframework.web.bind.annotation.*;
 public class ServiceController {
 
     private final ServiceRepository serviceRepository;
-    private final ScenarioRepository scenarioRepository;
-    private final ServiceStepRepository stepRepository;
+    private final ScenarioService scenarioService;
+    private final ServiceStepService stepService;
     private final RunService runService;
-    private final TestResultService testResultService;
+    private final ResultRecorder resultRecorder;
+    private final FlakinessService flakinessService;
+    private final ServiceCatalog serviceCatalog;
+    private final ServiceSummaryWriter serviceSummaryWriter;
 
     @GetMapping
     public List<ServiceResponse> findAll() {
-        return serviceRepository.findAll(Sort.by(Sort.Direction.ASC, "name")).stream()
-                .map(this::toResponseWithCount)
-                .collect(Collectors.toList());
+        return serviceCatalog.findAll();
     }
 
     @GetMapping("/{id}")
     public ServiceResponse findById(@PathVariable Long id) {
-        Service svc = serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
-        return toResponseWithCount(svc);
+        return serviceCatalog.find(id).orElseThrow(() -> new ServiceNotFoundException(id));
     }
 
     @PostMapping
@@ -66,7 +65,8 @@ public class ServiceController {
                 .name(request.getName().trim())
                 .description(request.getDescription())
                 .build());
-        return toResponseWithCount(saved);
+        serviceSummaryWriter.recount(saved.getId());
+        return findById(saved.getId());
     }
 
     @PutMapping("/{id}")
@@ -74,8 +74,8 @@ public class ServiceController {
         Service svc = serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
         svc.setName(request.getName().trim());
         svc.setDescription(request.getDescription());
-        Service saved = serviceRepository.save(svc);
-        return toResponseWithCount(saved);
+        serviceRepository.save(svc);
+        return findById(id);
     }
 
     @DeleteMapping("/{id}")
@@ -85,28 +85,39 @@ public class ServiceController {
             throw new ServiceNotFoundException(id);
         }
         serviceRepository.deleteById(id);
+        serviceSummaryWriter.remove(id);
     }
 
     @GetMapping("/{id}/scenarios")
     public List<ScenarioResponse> listScenarios(@PathVariable Long id) {
         Service svc = serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
-        return scenarioRepository.findAllByServiceOrderByUpdatedAtDesc(svc).stream()
-                .map(this::toScenarioResponse)
-                .collect(Collectors.toList());
+        return scenarioService.findAllByService(svc);
+    }
+
+    /** The service's scenarios with the names and sizes of their files, a page at a time. */
+    @GetMapping("/{id}/scenarios/summaries")
+    public ScenarioPage listScenarioSummaries(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!serviceRepository.existsById(id)) {
+            throw new ServiceNotFoundException(id);
+        }
+        return scenarioService.findPage(id, cursor, limit);
+    }
+
+    @GetMapping("/{id}/scenarios/{scenarioId}")
+    public ScenarioResponse findScenario(@PathVariable Long id, @PathVariable Long scenarioId) {
+        return scenarioService.findById(id, scenarioId);
     }
 
     @PostMapping("/{id}/scenarios")
     @ResponseStatus(HttpStatus.CREATED)
     public ScenarioResponse createScenario(@PathVariable Long id, @RequestBody @Valid ScenarioRequest request) {
         Service svc = serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
-        Scenario scenario = Scenario.builder()
-                .title(request.getTitle() == null || request.getTitle().isBlank() ? "Untitled Scenario" : request.getTitle().trim())
-                .features(request.getFeatures().stream().map(a -> new com.stock.bion.back.scenario.ScenarioAsset(a.getName(), a.getContent())).collect(Collectors.toList()))
-                .steps(request.getSteps().stream().map(a -> new com.stock.bion.back.scenario.ScenarioAsset(a.getName(), a.getContent())).collect(Collectors.toList()))
-                .build();
-        scenario.setService(svc);
-        Scenario saved = scenarioRepository.save(scenario);
-        return toScenarioResponse(saved);
+        ScenarioResponse created = scenarioService.create(svc, request);
+        serviceSummaryWriter.recount(id);
+        return created;
     }
 
     @PutMapping("/{id}/scenarios/{scenarioId}")
@@ -114,26 +125,10 @@ public class ServiceController {
             @PathVariable Long id,
             @PathVariable Long scenarioId,
             @RequestBody @Valid ScenarioRequest request) {
-        Service svc = serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
-        Scenario scenario = scenarioRepository.findById(scenarioId)
-                .orElseThrow(() -> new com.stock.bion.back.scenario.ScenarioNotFoundException(scenarioId));
-        if (scenario.getService() == null || !scenario.getService().getId().equals(svc.getId())) {
-            throw new com.stock.bion.back.scenario.ScenarioNotFoundException(scenarioId);
+        if (!serviceRepository.existsById(id)) {
+            throw new ServiceNotFoundException(id);
         }
-
-        scenario.setTitle(request.getTitle() == null || request.getTitle().isBlank()
-                ? scenario.getTitle()
-                : request.getTitle().trim());
-        scenario.setFeatures(request.getFeatures().stream()
-                .map(a -> new com.stock.bion.back.scenario.ScenarioAsset(a.getName(), a.getContent()))
-                .collect(java.util.stream.Collectors.toList()));
-        // Steps are managed at service-level; allow but overwrite to provided (often empty)
-        scenario.setSteps(request.getSteps().stream()
-                .map(a -> new com.stock.bion.back.scenario.ScenarioAsset(a.getName(), a.getContent()))
-                .collect(java.util.stream.Collectors.toList()));
-
-        Scenario saved = scenarioRepository.save(scenario);
-        return toScenarioResponse(saved);
+        return scenarioService.update(id, scenarioId, request);
     }
 
     @PostMapping("/{id}/run")
@@ -143,29 +138,20 @@ public class ServiceController {
     ) {
         Service svc = serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
         // Load scenarios once (for features fallback and legacy steps fallback)
-        var scenarios = scenarioRepository.findAllByServiceOrderByUpdatedAtDesc(svc);
+        var scenarios = scenarioService.findAllByService(svc);
 
         // Prefer Service-level step library if present; otherwise fallback to scenarios' steps
-        var serviceSteps = stepRepository.findAllByServiceOrderByUpdatedAtDesc(svc);
+        // Both are deduplicated by the content hash they are stored under.
+        var serviceSteps = stepService.findDistinctByService(svc);
         java.util.List<RunRequest.Asset> allSteps;
         if (!serviceSteps.isEmpty()) {
-            var stepIndex = new java.util.LinkedHashMap<String, RunRequest.Asset>();
-            serviceSteps.forEach(s -> {
-                String content = s.getContent() == null ? "" : s.getContent().trim();
-                String key = Integer.toHexString(content.hashCode());
-                stepIndex.putIfAbsent(key, RunRequest.Asset.builder().name(s.getName()).content(s.getContent()).build());
-            });
-            allSteps = new java.util.ArrayList<>(stepIndex.values());
+            allSteps = serviceSteps.stream()
+                    .map(s -> RunRequest.Asset.builder().name(s.getName()).content(s.getContent()).build())
+                    .toList();
         } else {
-            var stepIndex = new java.util.LinkedHashMap<String, RunRequest.Asset>();
-            scenarios.stream()
-                    .flatMap(sc -> sc.getSteps().stream())
-                    .forEach(a -> {
-                        String content = a.getContent() == null ? "" : a.getContent().trim();
-                        String key = Integer.toHexString(content.hashCode());
-                        stepIndex.putIfAbsent(key, RunRequest.Asset.builder().name(a.getName()).content(a.getContent()).build());
-                    });
-            allSteps = new java.util.ArrayList<>(stepIndex.values());
+            allSteps = scenarioService.findDistinctStepsByService(svc).stream()
+                    .map(a -> RunRequest.Asset.builder().name(a.getName()).content(a.getContent()).build())
+                    .toList();
         }
 
         // Features policy:
@@ -206,16 +192,19 @@ public class ServiceController {
                     .scenarioId(scenarioId)
                     .scenarioTitle(scenarioTitle)
                     .serviceFullRun(fullServiceRun)
-                    .status(RunStatusResolver.resolveStatus(body))
+                    .status(fullServiceRun
+                            ? RunStatusResolver.resolveStatus(body, flakinessService.quarantineOf(svc.getId()))
+                            : RunStatusResolver.resolveStatus(body))
                     .durationMs(durationMs)
                     .runId(UUID.randomUUID().toString())
                     .error(body != null ? body.getError() : null)
                     .httpStatus(response.getStatusCodeValue())
                     .stdout(body != null ? body.getStdout() : null)
                     .stderr(body != null ? body.getStderr() : null)
-                    .report(body != null && body.getReport() != null ? body.getReport().toString() : null);
+                    .reportBytes(body != null && body.getReport() != null ? body.getReport().bytes() : null)
+                    .reportAnalysis(body != null ? RunStatusResolver.analysisOf(body) : null);
 
-            testResultService.saveResult(builder.build());
+            resultRecorder.record(builder.build());
         } catch (Exception ex) {
             log.warn("Failed to persist service run result for service {}", svc.getId(), ex);
         }
@@ -227,45 +216,40 @@ public class ServiceController {
     @GetMapping("/{id}/steps")
     public java.util.List<ServiceStepResponse> listSteps(@PathVariable Long id) {
         Service svc = serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
-        return stepRepository.findAllByServiceOrderByUpdatedAtDesc(svc).stream()
-                .map(this::toStepResponse)
-                .toList();
+        return stepService.findAllByService(svc);
     }
 
     @PostMapping("/{id}/steps")
     @ResponseStatus(HttpStatus.CREATED)
     public ServiceStepResponse createStep(@PathVariable Long id, @RequestBody @Valid ServiceStepRequest request) {
         Service svc = serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
-        ServiceStep saved = stepRepository.save(ServiceStep.builder()
-                .service(svc)
-                .name(request.getName())
-                .content(request.getContent())
-                .build());
-        return toStepResponse(saved);
+        ServiceStepResponse created = stepService.create(svc, request);
+        serviceSummaryWriter.recount(id);
+        return created;
     }
 
     @PutMapping("/{id}/steps/{stepId}")
     public ServiceStepResponse updateStep(@PathVariable Long id, @PathVariable Long stepId, @RequestBody @Valid ServiceStepRequest request) {
         serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
-        ServiceStep step = stepRepository.findById(stepId).orElseThrow(() -> new IllegalArgumentException("Step not found: " + stepId));
-        step.setName(request.getName());
-        step.setContent(request.getContent());
-        return toStepResponse(stepRepository.save(step));
+        return stepService.update(stepId, request);
     }
 
     @DeleteMapping("/{id}/steps/{stepId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteStep(@PathVariable Long id, @PathVariable Long stepId) {
         serviceRepository.findById(id).orElseThrow(() -> new ServiceNotFoundException(id));
-        if (!stepRepository.existsById(stepId)) {
-            throw new IllegalArgumentException("Step not found: " + stepId);
-        }
-        stepRepository.deleteById(stepId);
+        stepService.delete(stepId);
+        serviceSummaryWriter.recount(id);
+    }
+
+    @ExceptionHandler(ScenarioNotFoundException.class)
+    public ResponseEntity<Void> handleScenarioNotFound() {
+        return ResponseEntity.notFound().build();
     }
 
     private String resolveScenarioTitle(
             RunRequest.Metadata metadata,
-            List<Scenario> scenarios,
+            List<ScenarioResponse> scenarios,
             ServiceRunRequest request,
             boolean fullServiceRun) {
         if (fullServiceRun) {
@@ -275,7 +259,7 @@ public class ServiceController {
             return metadata.getScenarioTitle();
         }
         if (metadata != null && metadata.getScenarioId() != null) {
-            Optional<Scenario> match =
+            Optional<ScenarioResponse> match =
                     scenarios.stream().filter(sc -> sc.getId().equals(metadata.getScenarioId())).findFirst();
             if (match.isPresent()) {
                 return match.get().getTitle();
@@ -286,38 +270,5 @@ public class ServiceController {
         }
         return null;
     }
-
-    private ServiceStepResponse toStepResponse(ServiceStep step) {
-        return ServiceStepResponse.builder()
-                .id(step.getId())
-                .name(step.getName())
-                .content(step.getContent())
-                .createdAt(step.getCreatedAt())
-                .updatedAt(step.getUpdatedAt())
-                .build();
-    }
-
-    private ServiceResponse toResponseWithCount(Service svc) {
-        long count = scenarioRepository.countByServiceId(svc.getId());
-        return ServiceResponse.builder()
-                .id(svc.getId())
-                .name(svc.getName())
-                .description(svc.getDescription())
-                .createdAt(svc.getCreatedAt())
-                .updatedAt(svc.getUpdatedAt())
-                .scenarioCount(count)
-                .build();
-    }
-
-    private ScenarioResponse toScenarioResponse(Scenario scenario) {
-        return ScenarioResponse.builder()
-                .id(scenario.getId())
-                .title(scenario.getTitle())
-                .features(scenario.getFeatures().stream().map(a -> ScenarioResponse.Asset.builder().name(a.getName()).content(a.getContent()).build()).collect(Collectors.toList()))
-                .steps(scenario.getSteps().stream().map(a -> ScenarioResponse.Asset.builder().name(a.getName()).content(a.getContent()).build()).collect(Collectors.toList()))
-                .createdAt(scenario.getCreatedAt())
-                .updatedAt(scenario.getUpdatedAt())
-                .build();
-    }
 }
 
@@ -13,5 +13,12 @@ public class ServiceResponse {
     Instant createdAt;
     Instant updatedAt;
     long scenarioCount;
+    long stepCount;
+    String lastRunStatus;
+    Instant lastRunAt;
+    /** How many of the latest runs {@code passRate} is taken over. */
+    int recentRuns;
+    /** Share of passed runs among the latest ones; {@code null} before the first run. */
+    Double passRate;
 }
 
@@ -0,0 +1,55 @@
+package com.stock.bion.back.service;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * What the service catalog shows about a service, kept up to date by the
+ * {@link ServiceSummaryWriter} as scenarios, steps and results are written, so listing services
+ * never has to count or scan anything.
+ *
+ * <p>{@code recentOutcomes} holds one character per run of the service, oldest first, {@code P}
+ * for a passed run and {@code F} for any other; {@code passRate} is the share of {@code P}s in it.
+ */
+@Entity
+@Table(name = "service_summaries")
+@Getter
+@NoArgsConstructor
+public class ServiceSummary {
+
+    static final int MAX_WINDOW = 100;
+
+    @Id
+    @Column(name = "service_id")
+    private Long serviceId;
+
+    @Column(name = "scenario_count", nullable = false)
+    private long scenarioCount;
+
+    @Column(name = "step_count", nullable = false)
+    private long stepCount;
+
+    @Column(name = "last_run_status", length = 32)
+    private String lastRunStatus;
+
+    @Column(name = "last_run_at")
+    private Instant lastRunAt;
+
+    /**
+     * The newest result the backfill folded into {@code recentOutcomes}; outbox events of results up
+     * to it are not counted again.
+     */
+    @Column(name = "last_result_id")
+    private Long lastResultId;
+
+    @Column(name = "recent_outcomes", nullable = false, length = MAX_WINDOW)
+    private String recentOutcomes;
+
+    @Column(name = "pass_rate")
+    private Double passRate;
+}
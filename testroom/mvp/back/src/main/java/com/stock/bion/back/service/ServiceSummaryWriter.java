@@ -0,0 +1,194 @@
+package com.stock.bion.back.service;
+
+import com.stock.bion.back.outbox.ResultConsumer;
+import com.stock.bion.back.outbox.ResultEvent;
+import com.stock.bion.back.report.ReportAnalysis;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the {@link ServiceSummary} rows. Scenario and step counts are recounted from scratch
+ * whenever a scenario or step of the service is added or removed, so a lost or concurrent update
+ * is corrected by the next one. Runs are fed in from the result outbox and folded into the last
+ * {@code services.summary.window} outcomes of their service.
+ *
+ * <p>Services that have no row yet, such as those created before the summaries existed, get one
+ * built from their scenarios, steps and latest results when the application starts.
+ */
+@Component
+@Slf4j
+public class ServiceSummaryWriter implements ResultConsumer {
+
+    private static final String RECOUNT =
+            "update service_summaries set scenario_count = (select count(*) from scenarios where service_id = ?),"
+                    + " step_count = (select count(*) from service_steps where service_id = ?) where service_id = ?";
+    private static final String INSERT =
+            "insert into service_summaries (service_id, scenario_count, step_count, recent_outcomes)"
+                    + " select ?, (select count(*) from scenarios where service_id = ?),"
+                    + " (select count(*) from service_steps where service_id = ?), ''"
+                    + " where not exists (select 1 from service_summaries where service_id = ?)";
+    private static final String UPDATE_RUNS =
+            "update service_summaries set last_run_status = ?, last_run_at = ?, recent_outcomes = ?,"
+                    + " pass_rate = ? where service_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int window;
+
+    public ServiceSummaryWriter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${services.summary.window:20}") int window) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.window = Math.min(Math.max(window, 1), ServiceSummary.MAX_WINDOW);
+    }
+
+    /** Brings the scenario and step counts of the service up to date, creating its row if needed. */
+    public void recount(Long serviceId) {
+        if (serviceId == null) {
+            return;
+        }
+        if (jdbcTemplate.update(RECOUNT, serviceId, serviceId, serviceId) == 0) {
+            insert(serviceId);
+        }
+    }
+
+    public void remove(Long serviceId) {
+        jdbcTemplate.update("delete from service_summaries where service_id = ?", serviceId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> missing = jdbcTemplate.queryForList(
+                "select id from services s"
+                        + " where not exists (select 1 from service_summaries m where m.service_id = s.id)",
+                Long.class);
+        for (Long serviceId : missing) {
+            // The new row stays locked until these are folded in; an outbox batch then skips them.
+            transactionTemplate.executeWithoutResult(tx -> {
+                insert(serviceId);
+                List<ResultEvent> latest = jdbcTemplate.query(
+                        "select id, status, created_at from test_results where service_id = ?"
+                                + " order by id desc fetch first " + window + " rows only",
+                        (rs, row) -> new ResultEvent(0, rs.getLong("id"), serviceId, null, rs.getString("status"),
+                                null, rs.getTimestamp("created_at").toInstant()),
+                        serviceId);
+                Collections.reverse(latest);
+                accept(latest);
+                if (!latest.isEmpty()) {
+                    jdbcTemplate.update(
+                            "update service_summaries set last_result_id = ? where service_id = ?",
+                            latest.get(latest.size() - 1).resultId(), serviceId);
+                }
+            });
+        }
+        if (!missing.isEmpty()) {
+            log.info("Built summaries of {} services", missing.size());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "service-summaries";
+    }
+
+    @Override
+    public void accept(List<ResultEvent> events) {
+        Map<Long, List<ResultEvent>> byService = new LinkedHashMap<>();
+        for (ResultEvent event : events) {
+            if (event.exists() && event.serviceId() != null) {
+                byService.computeIfAbsent(event.serviceId(), id -> new ArrayList<>()).add(event);
+            }
+        }
+        if (byService.isEmpty()) {
+            return;
+        }
+        // Services without a row were deleted, or are about to be backfilled from their results.
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query(
+                "select service_id, last_run_status, last_run_at, last_result_id, recent_outcomes"
+                        + " from service_summaries where service_id in ("
+                        + String.join(", ", Collections.nCopies(byService.size(), "?")) + ") for update",
+                rs -> {
+                    Timestamp lastRunAt = rs.getTimestamp("last_run_at");
+                    Runs runs = new Runs(
+                            rs.getString("last_run_status"),
+                            lastRunAt != null ? lastRunAt.toInstant() : null,
+                            rs.getObject("last_result_id", Long.class),
+                            rs.getString("recent_outcomes"));
+                    long serviceId = rs.getLong("service_id");
+                    Runs folded = runs;
+                    for (ResultEvent event : byService.get(serviceId)) {
+                        folded = folded.add(event, window);
+                    }
+                    if (folded != runs) {
+                        updates.add(new Object[] {
+                                folded.lastStatus(),
+                                folded.lastRunAt() != null ? Timestamp.from(folded.lastRunAt()) : null,
+                                folded.outcomes(),
+                                passRate(folded.outcomes()),
+                                serviceId});
+                    }
+                },
+                byService.keySet().toArray());
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_RUNS, updates);
+        }
+    }
+
+    private void insert(Long serviceId) {
+        try {
+            jdbcTemplate.update(INSERT, serviceId, serviceId, serviceId, serviceId);
+        } catch (DuplicateKeyException race) {
+            // Created concurrently; its counts are just as current.
+        }
+    }
+
+    /** Appends the run's outcome to {@code outcomes}, dropping the oldest ones beyond {@code window}. */
+    static String append(String outcomes, String status, int window) {
+        String appended = (outcomes != null ? outcomes : "") + (ReportAnalysis.passed(status) ? 'P' : 'F');
+        return appended.length() > window ? appended.substring(appended.length() - window) : appended;
+    }
+
+    /** The share of passed runs in {@code outcomes}, or {@code null} if there are none. */
+    static Double passRate(String outcomes) {
+        if (outcomes == null || outcomes.isEmpty()) {
+            return null;
+        }
+        return outcomes.chars().filter(c -> c == 'P').count() / (double) outcomes.length();
+    }
+
+    /**
+     * The run columns of one summary row. The outbox hands each result over exactly once, in
+     * whatever order they were committed, so only {@code lastResultId} needs guarding against: the
+     * newest result the backfill folded in, whose events up to it may still be on their way.
+     */
+    record Runs(String lastStatus, Instant lastRunAt, Long lastResultId, String outcomes) {
+
+        Runs add(ResultEvent event, int window) {
+            if (lastResultId != null && event.resultId() <= lastResultId) {
+                return this;
+            }
+            boolean newest = lastRunAt == null || !event.createdAt().isBefore(lastRunAt);
+            return new Runs(
+                    newest ? event.status() : lastStatus,
+                    newest ? event.createdAt() : lastRunAt,
+                    lastResultId,
+                    append(outcomes, event.status(), window));
+        }
+    }
+}
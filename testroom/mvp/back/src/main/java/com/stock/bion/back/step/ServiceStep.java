@@ -1,5 +1,6 @@
 package com.stock.bion.back.step;
 
+import com.stock.bion.back.asset.AssetHash;
 import com.stock.bion.back.service.Service;
 import jakarta.persistence.*;
 import java.time.Instant;
@@ -27,9 +28,12 @@ public class ServiceStep {
     @Column(nullable = true)
     private String name;
 
-    @Lob
-    @Column(nullable = false)
-    private String content;
+    /**
+     * Key of the step definition text in the {@link com.stock.bion.back.asset.AssetStore};
+     * {@code null} only for steps saved before it, until the {@code AssetBackfill} has run.
+     */
+    @Column(name = "content_hash", length = AssetHash.LENGTH)
+    private String contentHash;
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -39,7 +43,7 @@ public class ServiceStep {
 
     public void setService(Service service) { this.service = service; }
     public void setName(String name) { this.name = name; }
-    public void setContent(String content) { this.content = content; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
 
     @PrePersist
     void onPersist() {
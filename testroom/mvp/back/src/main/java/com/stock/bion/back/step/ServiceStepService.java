@@ -0,0 +1,81 @@
+package com.stock.bion.back.step;
+
+import com.stock.bion.back.asset.AssetStore;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** The step library of a service. Step text is kept in the {@link AssetStore}. */
+@Service
+@RequiredArgsConstructor
+public class ServiceStepService {
+
+    private final ServiceStepRepository stepRepository;
+    private final AssetStore assetStore;
+
+    /** The service's steps with their text, most recently updated first. */
+    @Transactional(readOnly = true)
+    public List<ServiceStepResponse> findAllByService(com.stock.bion.back.service.Service service) {
+        return toResponses(stepRepository.findAllByServiceOrderByUpdatedAtDesc(service));
+    }
+
+    /**
+     * The service's steps with their text, most recently updated first, keeping only the first
+     * step with each content hash; a run needs every step definition once.
+     */
+    @Transactional(readOnly = true)
+    public List<ServiceStepResponse> findDistinctByService(com.stock.bion.back.service.Service service) {
+        Map<String, ServiceStep> byContent = new LinkedHashMap<>();
+        for (ServiceStep step : stepRepository.findAllByServiceOrderByUpdatedAtDesc(service)) {
+            byContent.putIfAbsent(step.getContentHash(), step);
+        }
+        return toResponses(List.copyOf(byContent.values()));
+    }
+
+    @Transactional
+    public ServiceStepResponse create(com.stock.bion.back.service.Service service, ServiceStepRequest request) {
+        ServiceStep saved = stepRepository.save(ServiceStep.builder()
+                .service(service)
+                .name(request.getName())
+                .contentHash(assetStore.put(request.getContent()))
+                .build());
+        return toResponse(saved, request.getContent());
+    }
+
+    @Transactional
+    public ServiceStepResponse update(Long stepId, ServiceStepRequest request) {
+        ServiceStep step = stepRepository.findById(stepId)
+                .orElseThrow(() -> new IllegalArgumentException("Step not found: " + stepId));
+        String previous = step.getContentHash();
+        step.setName(request.getName());
+        step.setContentHash(assetStore.put(request.getContent()));
+        assetStore.release(List.of(previous));
+        return toResponse(stepRepository.save(step), request.getContent());
+    }
+
+    @Transactional
+    public void delete(Long stepId) {
+        ServiceStep step = stepRepository.findById(stepId)
+                .orElseThrow(() -> new IllegalArgumentException("Step not found: " + stepId));
+        stepRepository.delete(step);
+        assetStore.release(List.of(step.getContentHash()));
+    }
+
+    private List<ServiceStepResponse> toResponses(List<ServiceStep> steps) {
+        Map<String, String> contents = assetStore.contents(steps.stream().map(ServiceStep::getContentHash).toList());
+        return steps.stream().map(step -> toResponse(step, contents.get(step.getContentHash()))).toList();
+    }
+
+    private static ServiceStepResponse toResponse(ServiceStep step, String content) {
+        return ServiceStepResponse.builder()
+                .id(step.getId())
+                .name(step.getName())
+                .content(content)
+                .createdAt(step.getCreatedAt())
+                .updatedAt(step.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.stock.bion.back.trend;
+
+import java.util.Map;
+
+/**
+ * Log-scale duration bins: bin 0 holds runs under a millisecond and bin {@code i} holds durations
+ * in {@code [2^((i-1)/4), 2^(i/4))} ms, so every bin is about 19% wider than the previous one and a
+ * percentile read from merged bins is within that of the exact value. Anything above roughly a day lands
+ * in the last bin.
+ */
+public final class DurationHistogram {
+
+    static final int BINS_PER_DOUBLING = 4;
+    static final int MAX_BIN = 108;
+
+    private DurationHistogram() {}
+
+    public static int bin(long durationMs) {
+        if (durationMs < 1) {
+            return 0;
+        }
+        int bin = (int) Math.floor(BINS_PER_DOUBLING * (Math.log(durationMs) / Math.log(2))) + 1;
+        return Math.min(bin, MAX_BIN);
+    }
+
+    /** Upper bound of the bin in milliseconds, the value reported for percentiles landing in it. */
+    public static long upperBoundMs(int bin) {
+        return bin == 0 ? 1 : (long) Math.ceil(Math.pow(2, (double) bin / BINS_PER_DOUBLING));
+    }
+
+    /**
+     * Returns the duration below which {@code quantile} of the counted runs fall, or {@code null}
+     * when nothing was counted.
+     *
+     * @param counts run count per bin, iterated in ascending bin order
+     */
+    public static Long percentile(Map<Integer, Long> counts, double quantile) {
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        int last = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            seen += entry.getValue();
+            last = entry.getKey();
+            if (seen >= Math.max(rank, 1)) {
+                return upperBoundMs(last);
+            }
+        }
+        return upperBoundMs(last);
+    }
+}
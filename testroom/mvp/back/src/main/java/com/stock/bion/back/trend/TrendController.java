@@ -0,0 +1,44 @@
+package com.stock.bion.back.trend;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/services/{serviceId}/trends")
+@RequiredArgsConstructor
+public class TrendController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+
+    private final TrendService trendService;
+    private final Clock clock;
+
+    /** Pass rate and duration percentiles per hour or day in {@code [from, to)}, last 30 days by default. */
+    @GetMapping
+    public List<TrendPoint> trend(
+            @PathVariable Long serviceId,
+            @RequestParam(required = false) Long scenarioId,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to != null ? to : Instant.now(clock);
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        return trendService.findTrend(serviceId, scenarioId, TrendGranularity.fromParam(bucket), start, end);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest() {
+        return ResponseEntity.badRequest().build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.stock.bion.back.trend;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** Number of runs of a {@link TrendRollup} bucket whose duration fell in one {@link DurationHistogram} bin. */
+@Entity
+@Table(
+        name = "trend_duration_bins",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_trend_duration_bins_bin",
+                columnNames = {"service_id", "scenario_key", "granularity", "bucket_start", "bin"}))
+@Getter
+@NoArgsConstructor
+public class TrendDurationBin {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "scenario_key", nullable = false)
+    private Long scenarioKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private TrendGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private int bin;
+
+    @Column(name = "run_count", nullable = false)
+    private long runCount;
+}
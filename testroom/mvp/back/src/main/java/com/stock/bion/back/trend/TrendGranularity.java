@@ -0,0 +1,29 @@
+package com.stock.bion.back.trend;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/** Width of one rollup bucket. Buckets are aligned to UTC. */
+public enum TrendGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    TrendGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public Instant bucketStart(Instant at) {
+        return at.truncatedTo(unit);
+    }
+
+    public static TrendGranularity fromParam(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown trend bucket: " + value);
+        }
+    }
+}
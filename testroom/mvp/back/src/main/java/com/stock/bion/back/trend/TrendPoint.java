@@ -0,0 +1,30 @@
+package com.stock.bion.back.trend;
+
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TrendPoint {
+
+    Instant bucketStart;
+
+    long runs;
+
+    long passed;
+
+    long failed;
+
+    long undefined;
+
+    double passRate;
+
+    long avgDurationMs;
+
+    Long p50DurationMs;
+
+    Long p95DurationMs;
+
+    long maxDurationMs;
+}
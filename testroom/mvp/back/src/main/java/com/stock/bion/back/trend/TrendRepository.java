@@ -0,0 +1,33 @@
+package com.stock.bion.back.trend;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendRepository extends JpaRepository<TrendRollup, Long> {
+
+    @Query("select r from TrendRollup r"
+            + " where r.serviceId = :serviceId and r.scenarioKey = :scenarioKey and r.granularity = :granularity"
+            + " and r.bucketStart >= :from and r.bucketStart < :to"
+            + " order by r.bucketStart")
+    List<TrendRollup> findRollups(
+            @Param("serviceId") Long serviceId,
+            @Param("scenarioKey") Long scenarioKey,
+            @Param("granularity") TrendGranularity granularity,
+            @Param("from") Instant from,
+            @Param("to") Instant to);
+
+    @Query("select b from TrendDurationBin b"
+            + " where b.serviceId = :serviceId and b.scenarioKey = :scenarioKey and b.granularity = :granularity"
+            + " and b.bucketStart >= :from and b.bucketStart < :to")
+    List<TrendDurationBin> findBins(
+            @Param("serviceId") Long serviceId,
+            @Param("scenarioKey") Long scenarioKey,
+            @Param("granularity") TrendGranularity granularity,
+            @Param("from") Instant from,
+            @Param("to") Instant to);
+}
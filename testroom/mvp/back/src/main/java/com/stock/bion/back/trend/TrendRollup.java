@@ -0,0 +1,64 @@
+package com.stock.bion.back.trend;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Run counts by status and duration totals of one service, or one scenario of it, over one hour or
+ * day. {@code scenarioKey} is the scenario id, or {@code 0} for the row covering the whole service.
+ */
+@Entity
+@Table(
+        name = "trend_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_trend_rollups_bucket",
+                columnNames = {"service_id", "scenario_key", "granularity", "bucket_start"}))
+@Getter
+@NoArgsConstructor
+public class TrendRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "scenario_key", nullable = false)
+    private Long scenarioKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private TrendGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private long runs;
+
+    @Column(nullable = false)
+    private long passed;
+
+    @Column(nullable = false)
+    private long failed;
+
+    @Column(nullable = false)
+    private long undefined;
+
+    @Column(name = "duration_ms_sum", nullable = false)
+    private long durationMsSum;
+
+    @Column(name = "duration_ms_max", nullable = false)
+    private long durationMsMax;
+}
@@ -0,0 +1,96 @@
+package com.stock.bion.back.trend;
+
+import com.stock.bion.back.outbox.ResultConsumer;
+import com.stock.bion.back.outbox.ResultEvent;
+import com.stock.bion.back.report.ReportAnalysis;
+import com.stock.bion.back.report.ReportBreakdown;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds one stored run to the hourly and daily {@link TrendRollup} rows of its service and scenario
+ * with in-place increments, so trends never have to be recomputed from {@code test_results}.
+ *
+ * <p>Runs are fed in from the result outbox, so rolled-back results are never counted and a failed
+ * rollup never loses a result. Two instances opening the same bucket at once race on its unique
+ * key; the loser's batch is simply redone as updates.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrendRollupWriter implements ResultConsumer {
+
+    private static final String UPDATE_ROLLUP =
+            "update trend_rollups set runs = runs + 1, passed = passed + ?, failed = failed + ?,"
+                    + " undefined = undefined + ?, duration_ms_sum = duration_ms_sum + ?,"
+                    + " duration_ms_max = greatest(duration_ms_max, ?)"
+                    + " where service_id = ? and scenario_key = ? and granularity = ? and bucket_start = ?";
+    private static final String INSERT_ROLLUP =
+            "insert into trend_rollups (passed, failed, undefined, duration_ms_sum, duration_ms_max,"
+                    + " service_id, scenario_key, granularity, bucket_start, runs) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 1)";
+    private static final String UPDATE_BIN =
+            "update trend_duration_bins set run_count = run_count + 1"
+                    + " where bin = ? and service_id = ? and scenario_key = ? and granularity = ? and bucket_start = ?";
+    private static final String INSERT_BIN =
+            "insert into trend_duration_bins (bin, service_id, scenario_key, granularity, bucket_start, run_count)"
+                    + " values (?, ?, ?, ?, ?, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String name() {
+        return "trend-rollups";
+    }
+
+    @Override
+    public void accept(List<ResultEvent> events) {
+        for (ResultEvent event : events) {
+            if (event.exists() && event.serviceId() != null) {
+                increment(event.serviceId(), event.scenarioId(), event.status(), event.durationMs(), event.createdAt());
+            }
+        }
+    }
+
+    private void increment(Long serviceId, Long scenarioId, String status, Long durationMs, Instant createdAt) {
+        long duration = durationMs != null ? Math.max(durationMs, 0) : 0;
+        List<Long> scenarioKeys = new ArrayList<>(List.of(0L));
+        if (scenarioId != null) {
+            scenarioKeys.add(scenarioId);
+        }
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            Timestamp bucketStart = Timestamp.from(granularity.bucketStart(createdAt));
+            for (Long scenarioKey : scenarioKeys) {
+                Object[] key = {serviceId, scenarioKey, granularity.name(), bucketStart};
+                upsert(UPDATE_ROLLUP, INSERT_ROLLUP, concat(new Object[] {
+                    ReportAnalysis.passed(status) ? 1 : 0, count(status, ReportBreakdown.FAILED),
+                    count(status, ReportBreakdown.UNDEFINED), duration, duration
+                }, key));
+                if (durationMs != null) {
+                    upsert(UPDATE_BIN, INSERT_BIN, concat(new Object[] {DurationHistogram.bin(duration)}, key));
+                }
+            }
+        }
+    }
+
+    // The update and insert statements take the same parameters in the same order.
+    private void upsert(String update, String insert, Object[] args) {
+        if (jdbcTemplate.update(update, args) == 0) {
+            jdbcTemplate.update(insert, args);
+        }
+    }
+
+    private static int count(String status, String expected) {
+        return expected.equalsIgnoreCase(status) ? 1 : 0;
+    }
+
+    private static Object[] concat(Object[] values, Object[] key) {
+        Object[] args = new Object[values.length + key.length];
+        System.arraycopy(values, 0, args, 0, values.length);
+        System.arraycopy(key, 0, args, values.length, key.length);
+        return args;
+    }
+}
@@ -0,0 +1,54 @@
+package com.stock.bion.back.trend;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class TrendService {
+
+    private final TrendRepository trendRepository;
+
+    /**
+     * Reads the pre-aggregated buckets of a service, or of one of its scenarios, in {@code [from, to)}.
+     * Percentiles come from the bucket's duration histogram; see {@link DurationHistogram}.
+     */
+    @Transactional(readOnly = true)
+    public List<TrendPoint> findTrend(
+            Long serviceId, Long scenarioId, TrendGranularity granularity, Instant from, Instant to) {
+        Long scenarioKey = scenarioId != null ? scenarioId : 0L;
+        Instant start = granularity.bucketStart(from);
+
+        Map<Instant, Map<Integer, Long>> histograms = new HashMap<>();
+        for (TrendDurationBin bin : trendRepository.findBins(serviceId, scenarioKey, granularity, start, to)) {
+            histograms.computeIfAbsent(bin.getBucketStart(), key -> new TreeMap<>())
+                    .merge(bin.getBin(), bin.getRunCount(), Long::sum);
+        }
+
+        return trendRepository.findRollups(serviceId, scenarioKey, granularity, start, to).stream()
+                .map(rollup -> toPoint(rollup, histograms.getOrDefault(rollup.getBucketStart(), Map.of())))
+                .toList();
+    }
+
+    private TrendPoint toPoint(TrendRollup rollup, Map<Integer, Long> histogram) {
+        long runs = rollup.getRuns();
+        return TrendPoint.builder()
+                .bucketStart(rollup.getBucketStart())
+                .runs(runs)
+                .passed(rollup.getPassed())
+                .failed(rollup.getFailed())
+                .undefined(rollup.getUndefined())
+                .passRate(runs == 0 ? 0 : (double) rollup.getPassed() / runs)
+                .avgDurationMs(runs == 0 ? 0 : rollup.getDurationMsSum() / runs)
+                .p50DurationMs(DurationHistogram.percentile(histogram, 0.5))
+                .p95DurationMs(DurationHistogram.percentile(histogram, 0.95))
+                .maxDurationMs(rollup.getDurationMsMax())
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.stock.bion.back.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.stock.bion.back.result.ResultCursor;
+import com.stock.bion.back.result.TestResultQuery;
+import com.stock.bion.back.result.TestResultSummary;
+import com.stock.bion.back.runner.RunScope;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultArchiveTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().registerModule(new JavaTimeModule()).registerModule(new ParameterNamesModule());
+
+    private ResultArchive archive;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        archive = new ResultArchive(dir, objectMapper);
+        List<TestResultSummary> rows = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            rows.add(summary(id, id % 2 == 0 ? 7L : 8L));
+        }
+        archive.append(rows);
+    }
+
+    @Test
+    void findPagesNewestFirstAcrossBlocks() {
+        TestResultQuery all = TestResultQuery.builder().build();
+
+        List<TestResultSummary> first = archive.find(all, null, 3);
+        List<TestResultSummary> second = archive.find(all, ResultCursor.of(first.get(2)), 3);
+
+        assertThat(first).extracting(TestResultSummary::getId).containsExactly(1000L, 999L, 998L);
+        assertThat(second).extracting(TestResultSummary::getId).containsExactly(997L, 996L, 995L);
+    }
+
+    @Test
+    void fullPageStillTakesRowsFromAnOverlappingSegment() throws Exception {
+        // Archived on a later night, but from the time range of the newest block of the first segment.
+        List<TestResultSummary> late = new ArrayList<>();
+        for (long k = 1; k <= 5; k++) {
+            late.add(TestResultSummary.builder()
+                    .id(2000 + k)
+                    .scope(RunScope.SCENARIO)
+                    .status("PASSED")
+                    .runId("run-late-" + k)
+                    .createdAt(START.plusSeconds(980 + k).plusMillis(500))
+                    .build());
+        }
+        archive.append(late);
+
+        List<TestResultSummary> page = archive.find(TestResultQuery.builder().build(), null, 20);
+
+        assertThat(page).hasSize(20);
+        assertThat(page.subList(15, 20))
+                .extracting(TestResultSummary::getId)
+                .containsExactly(2005L, 985L, 2004L, 984L, 2003L);
+    }
+
+    @Test
+    void findAppliesFiltersAndSurvivesReload() throws Exception {
+        ResultArchive reloaded = new ResultArchive(dir, objectMapper);
+        reloaded.load();
+        TestResultQuery query = TestResultQuery.builder()
+                .serviceId(7L)
+                .from(START.plusSeconds(10))
+                .to(START.plusSeconds(20))
+                .build();
+
+        assertThat(reloaded.find(query, null, 100))
+                .extracting(TestResultSummary::getId)
+                .containsExactly(18L, 16L, 14L, 12L, 10L);
+    }
+
+    private static TestResultSummary summary(long id, long serviceId) {
+        return TestResultSummary.builder()
+                .id(id)
+                .scope(RunScope.SCENARIO)
+                .serviceId(serviceId)
+                .status("PASSED")
+                .runId("run-" + id)
+                .createdAt(START.plusSeconds(id))
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.stock.bion.back.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalArtifactStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalArtifactStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalArtifactStore(root);
+    }
+
+    @Test
+    void putStoresCompressedContentUnderItsHash() throws IOException {
+        String content = "Scenario passed\n".repeat(1_000);
+
+        String key = store.put(content);
+
+        assertThat(key).hasSize(64);
+        assertThat(store.exists(key)).isTrue();
+        assertThat(store.size(key)).isLessThan(content.length());
+        try (InputStream in = store.open(key)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        String first = store.put("same report");
+        String second = store.put("same report");
+
+        assertThat(second).isEqualTo(first);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void storingExistingContentAgainRefreshesLastWritten() throws IOException {
+        String key = store.put("shared stdout");
+        Instant old = Instant.parse("2020-01-01T00:00:00Z");
+        try (Stream<Path> files = Files.walk(root)) {
+            Path file = files.filter(Files::isRegularFile).findFirst().orElseThrow();
+            Files.setLastModifiedTime(file, FileTime.from(old));
+        }
+        assertThat(store.lastWritten(key)).isEqualTo(old);
+
+        store.put("shared stdout");
+
+        assertThat(store.lastWritten(key)).isAfter(old);
+        assertThat(store.lastWritten("ab".repeat(32))).isNull();
+    }
+
+    @Test
+    void openFromAnOffsetInflatesOnlyTheBlockThatHoldsIt() throws IOException {
+        StringBuilder report = new StringBuilder();
+        for (int i = 0; report.length() < 5 * LocalArtifactStore.BLOCK_SIZE; i++) {
+            report.append("{\"name\": \"scenario ").append(i).append("\", \"status\": \"passed\"},\n");
+        }
+        byte[] content = report.toString().getBytes(StandardCharsets.UTF_8);
+        String key = store.put(report.toString());
+        // Corrupting the first block must not matter to reads that start past it.
+        Path file;
+        try (Stream<Path> files = Files.walk(root)) {
+            file = files.filter(Files::isRegularFile).findFirst().orElseThrow();
+        }
+        byte[] stored = Files.readAllBytes(file);
+        Arrays.fill(stored, 30, 60, (byte) 0x55);
+        Files.write(file, stored);
+
+        for (long offset : new long[] {LocalArtifactStore.BLOCK_SIZE, 3L * LocalArtifactStore.BLOCK_SIZE + 17}) {
+            try (InputStream in = store.open(key, offset)) {
+                assertThat(in.readNBytes(100)).isEqualTo(Arrays.copyOfRange(content, (int) offset, (int) offset + 100));
+            }
+        }
+        try (InputStream in = store.open(key, content.length)) {
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void blocksReadBackAsOnePlainGzipStream() throws IOException {
+        String content = "x".repeat(2 * LocalArtifactStore.BLOCK_SIZE + 5);
+        String key = store.put(content);
+        String empty = store.put("");
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file(key)))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(content);
+        }
+        try (InputStream in = store.open(empty)) {
+            assertThat(in.readAllBytes()).isEmpty();
+        }
+    }
+
+    @Test
+    void singleMemberFilesAreReadFromTheStart() throws IOException {
+        String content = "y".repeat(LocalArtifactStore.BLOCK_SIZE) + "tail";
+        String key = "ab".repeat(32);
+        Files.createDirectories(file(key).getParent());
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file(key)))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (InputStream in = store.open(key, LocalArtifactStore.BLOCK_SIZE)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("tail");
+        }
+    }
+
+    private Path file(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key + ".gz");
+    }
+}
@@ -0,0 +1,107 @@
+package com.stock.bion.back.asset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.stock.bion.back.config.TimeConfig;
+import com.stock.bion.back.scenario.Scenario;
+import com.stock.bion.back.scenario.ScenarioRepository;
+import com.stock.bion.back.service.Service;
+import com.stock.bion.back.service.ServiceRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Not transactional: the schema changes commit anyway, and the backfill runs its own transactions.
+@DataJpaTest
+@Import({AssetStore.class, AssetBackfill.class, TimeConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssetBackfillTest {
+
+    private static final String LOGIN = "Feature: Login";
+
+    @Autowired
+    private AssetBackfill assetBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ScenarioRepository scenarioRepository;
+
+    private Long serviceId;
+    private Long scenarioId;
+
+    @BeforeEach
+    void setUp() {
+        // The columns as they were before the asset store, on tables that already hold files.
+        jdbcTemplate.execute("alter table scenario_features add column if not exists content clob not null");
+        jdbcTemplate.execute("alter table service_steps add column if not exists content clob not null");
+        serviceId = serviceRepository.save(Service.builder().name("legacy").build()).getId();
+        scenarioId = scenarioRepository.save(Scenario.builder().title("login").build()).getId();
+        for (int position = 0; position < 2; position++) {
+            jdbcTemplate.update(
+                    "insert into scenario_features (scenario_id, position, asset_name, content) values (?, ?, ?, ?)",
+                    scenarioId, position, "login-" + position + ".feature", LOGIN);
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(
+                "insert into service_steps (service_id, name, content, created_at, updated_at) values (?, ?, ?, ?, ?)",
+                serviceId, "login.steps.ts", "Given('login', () => {})", now, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of(
+                "scenario_features", "scenarios", "service_steps", "services", "asset_blobs")) {
+            jdbcTemplate.update("delete from " + table);
+        }
+    }
+
+    @Test
+    void movesExistingContentIntoTheStoreOnce() {
+        assetBackfill.backfill();
+        assetBackfill.backfill();
+
+        String hash = AssetHash.of(LOGIN);
+        assertThat(jdbcTemplate.queryForList(
+                        "select content_hash from scenario_features where scenario_id = ?", String.class, scenarioId))
+                .containsExactly(hash, hash);
+        assertThat(jdbcTemplate.queryForList(
+                        "select content_length from scenario_features where scenario_id = ?", Long.class, scenarioId))
+                .containsOnly((long) LOGIN.length());
+        assertThat(jdbcTemplate.queryForObject(
+                        "select content_hash from service_steps where service_id = ?", String.class, serviceId))
+                .isEqualTo(AssetHash.of("Given('login', () => {})"));
+        assertThat(jdbcTemplate.queryForObject(
+                        "select ref_count from asset_blobs where hash = ?", Long.class, hash))
+                .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject(
+                        "select content from asset_blobs where hash = ?", String.class, hash))
+                .isEqualTo(LOGIN);
+    }
+
+    @Test
+    void filesSavedAfterwardsNeedNoOldContent() {
+        assetBackfill.backfill();
+
+        jdbcTemplate.update(
+                "insert into scenario_features (scenario_id, position, asset_name, content_hash) values (?, 2, ?, ?)",
+                scenarioId, "new.feature", AssetHash.of("Feature: New"));
+
+        assertThat(jdbcTemplate.queryForObject(
+                        "select count(*) from scenario_features where scenario_id = ?", Long.class, scenarioId))
+                .isEqualTo(3L);
+    }
+}
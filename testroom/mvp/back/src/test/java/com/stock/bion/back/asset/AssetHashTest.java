@@ -0,0 +1,22 @@
+package com.stock.bion.back.asset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AssetHashTest {
+
+    @Test
+    void isTheHexSha256OfTheUtf8Bytes() {
+        assertThat(AssetHash.of("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad")
+                .hasSize(AssetHash.LENGTH);
+    }
+
+    @Test
+    void textsWithTheSameStringHashCodeGetDifferentKeys() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        assertThat(AssetHash.of("Aa")).isNotEqualTo(AssetHash.of("BB"));
+    }
+}
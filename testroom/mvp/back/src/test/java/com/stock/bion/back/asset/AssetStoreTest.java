@@ -0,0 +1,99 @@
+package com.stock.bion.back.asset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DataJpaTest
+class AssetStoreTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T12:00:00Z");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void identicalTextIsStoredOnceAndCountedPerReference() {
+        AssetStore store = storeAt(T0);
+
+        String first = store.put("Feature: Cart");
+        String second = store.put("Feature: Cart");
+
+        assertThat(second).isEqualTo(first).isEqualTo(AssetHash.of("Feature: Cart"));
+        assertThat(refCount(first)).isEqualTo(2L);
+        assertThat(store.contents(List.of(first, first))).containsExactly(Map.entry(first, "Feature: Cart"));
+    }
+
+    @Test
+    void releaseDropsOneReferenceAndNeverGoesBelowZero() {
+        AssetStore store = storeAt(T0);
+        String hash = store.put("Feature: Search");
+        store.put("Feature: Search");
+
+        store.release(List.of(hash));
+        assertThat(refCount(hash)).isEqualTo(1L);
+
+        store.release(List.of(hash, hash));
+        assertThat(refCount(hash)).isZero();
+    }
+
+    @Test
+    void unreferencedTextIsCollectedOnlyAfterTheGracePeriod() {
+        AssetStore store = storeAt(T0);
+        String released = store.put("Feature: Checkout");
+        String kept = store.put("Feature: Payment");
+        store.release(List.of(released));
+
+        storeAt(T0.plus(Duration.ofMinutes(30))).collect();
+        assertThat(exists(released)).isTrue();
+
+        storeAt(T0.plus(Duration.ofHours(2))).collect();
+        assertThat(exists(released)).isFalse();
+        assertThat(exists(kept)).isTrue();
+    }
+
+    @Test
+    void textPutAgainBeforeCollectionIsKept() {
+        String hash = storeAt(T0).put("Feature: Login");
+        storeAt(T0).release(List.of(hash));
+
+        storeAt(T0.plus(Duration.ofMinutes(50))).put("Feature: Login");
+        storeAt(T0.plus(Duration.ofHours(2))).collect();
+
+        assertThat(refCount(hash)).isEqualTo(1L);
+    }
+
+    private AssetStore storeAt(Instant now) {
+        AssetStore store =
+                new AssetStore(jdbcTemplate, transactionManager, Clock.fixed(now, ZoneOffset.UTC), Duration.ofHours(1));
+        ReflectionTestUtils.setField(store, "entityManager", entityManager);
+        return store;
+    }
+
+    private Long refCount(String hash) {
+        return jdbcTemplate.queryForObject("select ref_count from asset_blobs where hash = ?", Long.class, hash);
+    }
+
+    private boolean exists(String hash) {
+        return jdbcTemplate.queryForObject("select count(*) from asset_blobs where hash = ?", Long.class, hash) > 0;
+    }
+}
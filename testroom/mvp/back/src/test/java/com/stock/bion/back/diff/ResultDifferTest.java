@@ -0,0 +1,132 @@
+package com.stock.bion.back.diff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.stock.bion.back.report.ReportBreakdown;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ResultDifferTest {
+
+    private static final String PASSED = ReportBreakdown.PASSED;
+    private static final String FAILED = ReportBreakdown.FAILED;
+
+    @Test
+    void identicalRunsHaveNoDifferences() {
+        ReportBreakdown run = breakdown(feature("features/login.feature", PASSED,
+                scenario("Sign in", PASSED, 1_000, step("Given ", "I open the page", PASSED, 1_000))));
+
+        ResultDiff diff = diff(run, run);
+
+        assertThat(diff.getFeatures()).isEmpty();
+        assertThat(diff.getNewlyFailing()).isZero();
+    }
+
+    @Test
+    void statusChangesAreReportedDownToTheStep() {
+        ReportBreakdown base = breakdown(feature("features/login.feature", PASSED,
+                scenario("Sign in", PASSED, 1_000,
+                        step("Given ", "I open the page", PASSED, 400),
+                        step("When ", "I sign in", PASSED, 600))));
+        ReportBreakdown head = breakdown(feature("features/login.feature", FAILED,
+                scenario("Sign in", FAILED, 1_010,
+                        step("Given ", "I open the page", PASSED, 410),
+                        step("When ", "I sign in", FAILED, 600))));
+
+        ResultDiff diff = diff(base, head);
+
+        assertThat(diff.getNewlyFailing()).isEqualTo(1);
+        FeatureDiff feature = diff.getFeatures().get(0);
+        assertThat(feature.getChange()).isEqualTo(DiffChange.STATUS_CHANGED);
+        ScenarioDiff scenario = feature.getScenarios().get(0);
+        assertThat(scenario.getChange()).isEqualTo(DiffChange.STATUS_CHANGED);
+        assertThat(scenario.getDurationDeltaMs()).isEqualTo(10);
+        assertThat(scenario.getSteps()).singleElement().satisfies(step -> {
+            assertThat(step.getText()).isEqualTo("When I sign in");
+            assertThat(step.getBaseStatus()).isEqualTo(PASSED);
+            assertThat(step.getHeadStatus()).isEqualTo(FAILED);
+        });
+    }
+
+    @Test
+    void addedAndRemovedScenariosAreMatchedByNameAndOccurrence() {
+        ReportBreakdown base = breakdown(feature("features/orders.feature", FAILED,
+                scenario("Order <item>", PASSED, 100),
+                scenario("Order <item>", FAILED, 100),
+                scenario("Cancel", PASSED, 100)));
+        ReportBreakdown head = breakdown(feature("features/orders.feature", PASSED,
+                scenario("Order <item>", PASSED, 100),
+                scenario("Order <item>", PASSED, 100),
+                scenario("Order <item>", PASSED, 100)));
+
+        ResultDiff diff = diff(base, head);
+
+        assertThat(diff.getFeatures().get(0).getScenarios())
+                .extracting(ScenarioDiff::getName, ScenarioDiff::getChange)
+                .containsExactly(
+                        tuple("Order <item>", DiffChange.STATUS_CHANGED),
+                        tuple("Order <item>", DiffChange.ADDED),
+                        tuple("Cancel", DiffChange.REMOVED));
+        assertThat(diff.getFixed()).isEqualTo(1);
+        assertThat(diff.getScenariosAdded()).isEqualTo(1);
+        assertThat(diff.getScenariosRemoved()).isEqualTo(1);
+    }
+
+    @Test
+    void onlySignificantDurationChangesCount() {
+        assertThat(ResultDiffer.change(PASSED, PASSED, ms(1_000), ms(1_150))).isEqualTo(DiffChange.UNCHANGED);
+        assertThat(ResultDiffer.change(PASSED, PASSED, ms(100), ms(190))).isEqualTo(DiffChange.UNCHANGED);
+        assertThat(ResultDiffer.change(PASSED, PASSED, ms(1_000), ms(1_300))).isEqualTo(DiffChange.SLOWER);
+        assertThat(ResultDiffer.change(PASSED, PASSED, ms(2_000), ms(500))).isEqualTo(DiffChange.FASTER);
+    }
+
+    @Test
+    void removedFeaturesAreListedAfterTheHeadOnes() {
+        ReportBreakdown base = breakdown(
+                feature("features/a.feature", PASSED, scenario("A", PASSED, 10)),
+                feature("features/b.feature", PASSED, scenario("B", PASSED, 10)));
+        ReportBreakdown head = breakdown(
+                feature("features/c.feature", PASSED, scenario("C", PASSED, 10)),
+                feature("features/a.feature", PASSED, scenario("A", PASSED, 10)));
+
+        ResultDiff diff = diff(base, head);
+
+        assertThat(diff.getFeatures())
+                .extracting(FeatureDiff::getUri, FeatureDiff::getChange)
+                .containsExactly(
+                        tuple("features/c.feature", DiffChange.ADDED),
+                        tuple("features/b.feature", DiffChange.REMOVED));
+        assertThat(diff.getFeatures().get(0).getScenarios()).extracting(ScenarioDiff::getChange)
+                .containsExactly(DiffChange.ADDED);
+    }
+
+    private static ResultDiff diff(ReportBreakdown base, ReportBreakdown head) {
+        return ResultDiffer.diff(ResultDiff.builder().baseId(1L).headId(2L), base, head);
+    }
+
+    private static ReportBreakdown breakdown(ReportBreakdown.Feature... features) {
+        return new ReportBreakdown(List.of(features));
+    }
+
+    private static ReportBreakdown.Feature feature(String uri, String status, ReportBreakdown.Scenario... scenarios) {
+        long duration = 0;
+        for (ReportBreakdown.Scenario scenario : scenarios) {
+            duration += scenario.durationNs();
+        }
+        return new ReportBreakdown.Feature(uri, uri, status, duration, List.of(scenarios));
+    }
+
+    private static ReportBreakdown.Scenario scenario(
+            String name, String status, long durationMs, ReportBreakdown.Step... steps) {
+        return new ReportBreakdown.Scenario(name, 3, status, ms(durationMs), null, List.of(steps));
+    }
+
+    private static ReportBreakdown.Step step(String keyword, String name, String status, long durationMs) {
+        return new ReportBreakdown.Step(1, keyword, name, status, ms(durationMs), null);
+    }
+
+    private static long ms(long millis) {
+        return millis * 1_000_000;
+    }
+}
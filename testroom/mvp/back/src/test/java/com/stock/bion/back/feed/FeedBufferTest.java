@@ -0,0 +1,60 @@
+package com.stock.bion.back.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.stock.bion.back.result.TestResultSummary;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FeedBufferTest {
+
+    @Test
+    void replaysEverythingAfterTheLastSeenEvent() {
+        FeedBuffer buffer = new FeedBuffer("e1", 10);
+        FeedEvent first = buffer.append(result(1));
+        buffer.append(result(2));
+        buffer.append(result(3));
+
+        List<FeedEvent> missed = buffer.after(first.id()).orElseThrow();
+
+        assertThat(first.id()).isEqualTo("e1-1");
+        assertThat(missed).extracting(event -> event.result().getId()).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void upToDateClientMissesNothing() {
+        FeedBuffer buffer = new FeedBuffer("e1", 10);
+        FeedEvent last = buffer.append(result(1));
+
+        assertThat(buffer.after(last.id()).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void clientBehindTheBufferMustReload() {
+        FeedBuffer buffer = new FeedBuffer("e1", 2);
+        FeedEvent first = buffer.append(result(1));
+        FeedEvent second = buffer.append(result(2));
+        buffer.append(result(3));
+        buffer.append(result(4));
+
+        assertThat(buffer.after(first.id())).isEmpty();
+        assertThat(buffer.after(second.id()).orElseThrow())
+                .extracting(event -> event.result().getId())
+                .containsExactly(3L, 4L);
+    }
+
+    @Test
+    void idsFromAnotherEpochOrMalformedMustReload() {
+        FeedBuffer buffer = new FeedBuffer("e2", 10);
+        buffer.append(result(1));
+
+        assertThat(buffer.after("e1-1")).isEmpty();
+        assertThat(buffer.after("e2-x")).isEmpty();
+        assertThat(buffer.after("e2-5")).isEmpty();
+        assertThat(buffer.after("garbage")).isEmpty();
+    }
+
+    private static TestResultSummary result(long id) {
+        return TestResultSummary.builder().id(id).build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.stock.bion.back.flakiness;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FlakinessControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void leaderboardIsPublicButQuarantineNeedsAUser() throws Exception {
+        mockMvc.perform(get("/api/flakiness")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/flakiness/1/quarantine")).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/flakiness/1/quarantine")).andExpect(status().isForbidden());
+    }
+}
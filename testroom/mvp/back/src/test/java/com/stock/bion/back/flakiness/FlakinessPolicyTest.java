@@ -0,0 +1,142 @@
+package com.stock.bion.back.flakiness;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+class FlakinessPolicyTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final FlakinessPolicy policy = new FlakinessPolicy(0.1, 0.2, 5, Duration.ofHours(1), false);
+
+    @Test
+    void alternatingRunsBecomeFlakyOnceThereAreEnoughRuns() {
+        ScenarioFlakiness stats = new ScenarioFlakiness();
+
+        Instant at = alternate(policy, stats, T0, 4);
+        assertThat(stats.getFlips()).isEqualTo(3);
+        assertThat(stats.getFlipScore()).isCloseTo(0.271, within());
+        assertThat(stats.isFlaky()).isFalse();
+
+        policy.apply(stats, "PASSED", at);
+
+        assertThat(stats.getRuns()).isEqualTo(5);
+        assertThat(stats.getFailures()).isEqualTo(2);
+        assertThat(stats.getFlips()).isEqualTo(4);
+        assertThat(stats.getFlipScore()).isCloseTo(0.3439, within());
+        assertThat(stats.isFlaky()).isTrue();
+        assertThat(stats.isQuarantined()).isFalse();
+    }
+
+    @Test
+    void consistentlyFailingScenarioIsNotFlaky() {
+        ScenarioFlakiness stats = new ScenarioFlakiness();
+        for (int i = 0; i < 10; i++) {
+            policy.apply(stats, "FAILED", T0.plusSeconds(i));
+        }
+
+        assertThat(stats.getFailures()).isEqualTo(10);
+        assertThat(stats.getFlips()).isZero();
+        assertThat(stats.getFlipScore()).isZero();
+        assertThat(stats.isFlaky()).isFalse();
+    }
+
+    @Test
+    void passAfterFailureCountsAsRecoveryOnlyWithinTheRerunWindow() {
+        ScenarioFlakiness stats = new ScenarioFlakiness();
+        policy.apply(stats, "FAILED", T0);
+        policy.apply(stats, "PASSED", T0.plus(Duration.ofMinutes(10)));
+        policy.apply(stats, "FAILED", T0.plus(Duration.ofMinutes(20)));
+        policy.apply(stats, "PASSED", T0.plus(Duration.ofHours(3)));
+
+        assertThat(stats.getFlips()).isEqualTo(3);
+        assertThat(stats.getRecoveries()).isEqualTo(1);
+    }
+
+    @Test
+    void skippedAndOutOfOrderRunsAreCountedWithoutMovingTheScore() {
+        ScenarioFlakiness stats = new ScenarioFlakiness();
+        policy.apply(stats, "PASSED", T0.plusSeconds(10));
+        policy.apply(stats, "SKIPPED", T0.plusSeconds(20));
+        policy.apply(stats, "FAILED", T0);
+
+        assertThat(stats.getRuns()).isEqualTo(3);
+        assertThat(stats.getFailures()).isEqualTo(1);
+        assertThat(stats.getFlips()).isZero();
+        assertThat(stats.getLastStatus()).isEqualTo("PASSED");
+        assertThat(stats.getLastRunAt()).isEqualTo(T0.plusSeconds(20));
+    }
+
+    @Test
+    void flakyFlagClearsOnlyBelowHalfTheThreshold() {
+        ScenarioFlakiness stats = new ScenarioFlakiness();
+        Instant at = alternate(policy, stats, T0, 5);
+        assertThat(stats.isFlaky()).isTrue();
+
+        while (stats.getFlipScore() >= 0.2) {
+            policy.apply(stats, "PASSED", at);
+            at = at.plusSeconds(60);
+        }
+        assertThat(stats.isFlaky()).isTrue();
+
+        while (stats.getFlipScore() >= 0.1) {
+            policy.apply(stats, "PASSED", at);
+            at = at.plusSeconds(60);
+        }
+        assertThat(stats.isFlaky()).isFalse();
+    }
+
+    @Test
+    void autoQuarantineIsLiftedWhenTheScenarioSettles() {
+        FlakinessPolicy auto = new FlakinessPolicy(0.1, 0.2, 5, Duration.ofHours(1), true);
+        ScenarioFlakiness stats = new ScenarioFlakiness();
+        Instant at = alternate(auto, stats, T0, 5);
+
+        assertThat(stats.isQuarantined()).isTrue();
+        assertThat(stats.isQuarantineAuto()).isTrue();
+        assertThat(stats.getQuarantinedAt()).isNotNull();
+
+        settle(auto, stats, at);
+
+        assertThat(stats.isQuarantined()).isFalse();
+        assertThat(stats.getQuarantinedAt()).isNull();
+    }
+
+    @Test
+    void manualQuarantineIsKeptWhenTheScenarioSettles() {
+        FlakinessPolicy auto = new FlakinessPolicy(0.1, 0.2, 5, Duration.ofHours(1), true);
+        ScenarioFlakiness stats = new ScenarioFlakiness();
+        stats.setQuarantined(true);
+        Instant at = alternate(auto, stats, T0, 5);
+        assertThat(stats.isQuarantineAuto()).isFalse();
+
+        settle(auto, stats, at);
+
+        assertThat(stats.isFlaky()).isFalse();
+        assertThat(stats.isQuarantined()).isTrue();
+    }
+
+    /** Applies {@code runs} runs alternating between passed and failed, starting with passed. */
+    private static Instant alternate(FlakinessPolicy policy, ScenarioFlakiness stats, Instant from, int runs) {
+        Instant at = from;
+        for (int i = 0; i < runs; i++) {
+            policy.apply(stats, i % 2 == 0 ? "PASSED" : "FAILED", at);
+            at = at.plus(Duration.ofMinutes(5));
+        }
+        return at;
+    }
+
+    private static void settle(FlakinessPolicy policy, ScenarioFlakiness stats, Instant from) {
+        for (int i = 0; i < 20; i++) {
+            policy.apply(stats, "PASSED", from.plus(Duration.ofMinutes(i)));
+        }
+    }
+
+    private static Offset<Double> within() {
+        return Offset.offset(1e-9);
+    }
+}
@@ -0,0 +1,105 @@
+package com.stock.bion.back.latency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.stock.bion.back.trend.DurationHistogram;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StepLatencyServiceTest {
+
+    private static final Instant FROM = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Instant TO = Instant.parse("2025-01-31T00:00:00Z");
+
+    @Mock
+    private StepLatencyRepository repository;
+
+    @Test
+    void stepsAreRankedByTotalTimeAndOnlyTheirHistogramsAreRead() {
+        StepLatencyService service = new StepLatencyService(repository);
+        when(repository.findTotals(eq(7L), eq(Instant.parse("2025-01-01T00:00:00Z")), eq(TO))).thenReturn(List.of(
+                totals("When I sign in", 100, 2_000, 90),
+                totals("Given I open the login page", 10, 6_000, 5_000),
+                totals("Then I see the dashboard", 50, 2_000, 100)));
+        when(repository.findBins(any(), any(), any(), anyCollection())).thenReturn(List.of(
+                bin("Given I open the login page", DurationHistogram.bin(200), 9),
+                bin("Given I open the login page", DurationHistogram.bin(5_000), 1)));
+
+        List<StepLatency> slowest = service.findSlowest(7L, FROM, TO, StepLatencySort.TOTAL, 2);
+
+        assertThat(slowest).extracting(StepLatency::getStepText)
+                .containsExactly("Given I open the login page", "Then I see the dashboard");
+        StepLatency first = slowest.get(0);
+        assertThat(first.getShareOfTotal()).isEqualTo(0.6);
+        assertThat(first.getAvgDurationMs()).isEqualTo(600);
+        assertThat(first.getP50DurationMs()).isEqualTo(DurationHistogram.upperBoundMs(DurationHistogram.bin(200)));
+        assertThat(first.getP99DurationMs()).isEqualTo(5_000);
+        assertThat(slowest.get(1).getP95DurationMs()).isNull();
+        verify(repository).findBins(
+                7L, Instant.parse("2025-01-01T00:00:00Z"), TO,
+                List.of("Given I open the login page", "Then I see the dashboard"));
+    }
+
+    @Test
+    void percentileSortReadsEveryHistogram() {
+        StepLatencyService service = new StepLatencyService(repository);
+        when(repository.findTotals(any(), any(), any())).thenReturn(List.of(
+                totals("fast but frequent", 1_000, 50_000, 80),
+                totals("slow tail", 10, 3_000, 2_000)));
+        when(repository.findBins(any(), any(), any(), anyCollection())).thenReturn(List.of(
+                bin("fast but frequent", DurationHistogram.bin(50), 1_000),
+                bin("slow tail", DurationHistogram.bin(100), 8),
+                bin("slow tail", DurationHistogram.bin(2_000), 2)));
+
+        List<StepLatency> slowest = service.findSlowest(7L, FROM, TO, StepLatencySort.P95, 1);
+
+        assertThat(slowest).extracting(StepLatency::getStepText).containsExactly("slow tail");
+        verify(repository).findBins(any(), any(), any(), eq(List.of("fast but frequent", "slow tail")));
+    }
+
+    private static StepLatencyRepository.StepTotals totals(String text, long runs, long sumMs, long maxMs) {
+        return new StepLatencyRepository.StepTotals() {
+            public String getStepText() {
+                return text;
+            }
+
+            public long getRuns() {
+                return runs;
+            }
+
+            public long getDurationMsSum() {
+                return sumMs;
+            }
+
+            public long getDurationMsMax() {
+                return maxMs;
+            }
+        };
+    }
+
+    private static StepLatencyRepository.StepBinCount bin(String text, int bin, long count) {
+        return new StepLatencyRepository.StepBinCount() {
+            public String getStepText() {
+                return text;
+            }
+
+            public int getBin() {
+                return bin;
+            }
+
+            public long getRunCount() {
+                return count;
+            }
+        };
+    }
+}
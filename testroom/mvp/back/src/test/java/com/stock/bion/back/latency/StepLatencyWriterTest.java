@@ -0,0 +1,50 @@
+package com.stock.bion.back.latency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.stock.bion.back.report.ReportBreakdown;
+import com.stock.bion.back.trend.DurationHistogram;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class StepLatencyWriterTest {
+
+    @Test
+    void executedStepsAreSummedUpPerStepText() {
+        ReportBreakdown breakdown = new ReportBreakdown(List.of(new ReportBreakdown.Feature(
+                "features/login.feature", "Login", ReportBreakdown.FAILED, 0, List.of(
+                        scenario(
+                                step(1, "Given ", "I open the login page", ReportBreakdown.PASSED, 1_200_000_000L),
+                                step(2, "When ", "I sign in", ReportBreakdown.PASSED, 300_000_000L)),
+                        scenario(
+                                step(1, "Given ", "I open the login page", ReportBreakdown.FAILED, 4_500_000_000L),
+                                step(2, "When ", "I sign in", ReportBreakdown.SKIPPED, 0))))));
+
+        Map<String, StepLatencyWriter.StepSample> samples = StepLatencyWriter.samples(breakdown);
+
+        assertThat(samples).containsOnlyKeys("Given I open the login page", "When I sign in");
+        StepLatencyWriter.StepSample open = samples.get("Given I open the login page");
+        assertThat(open.runs).isEqualTo(2);
+        assertThat(open.durationMsSum).isEqualTo(5_700);
+        assertThat(open.durationMsMax).isEqualTo(4_500);
+        assertThat(open.bins).containsOnlyKeys(DurationHistogram.bin(1_200), DurationHistogram.bin(4_500));
+        assertThat(samples.get("When I sign in").runs).isEqualTo(1);
+    }
+
+    @Test
+    void stepTextIsTrimmedAndCapped() {
+        assertThat(StepLatencyWriter.stepText(step(1, "Then ", " it works ", ReportBreakdown.PASSED, 0)))
+                .isEqualTo("Then it works");
+        assertThat(StepLatencyWriter.stepText(step(1, null, "x".repeat(600), ReportBreakdown.PASSED, 0)))
+                .hasSize(StepLatencyWriter.MAX_STEP_TEXT);
+    }
+
+    private static ReportBreakdown.Scenario scenario(ReportBreakdown.Step... steps) {
+        return new ReportBreakdown.Scenario("Sign in", 3, ReportBreakdown.PASSED, 0, null, List.of(steps));
+    }
+
+    private static ReportBreakdown.Step step(int position, String keyword, String name, String status, long ns) {
+        return new ReportBreakdown.Step(position, keyword, name, status, ns, null);
+    }
+}
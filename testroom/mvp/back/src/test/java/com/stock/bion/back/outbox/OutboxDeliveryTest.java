@@ -0,0 +1,94 @@
+package com.stock.bion.back.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DataJpaTest
+class OutboxDeliveryTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> delivered = new ArrayList<>();
+    private final ResultConsumer consumer = new ResultConsumer() {
+        @Override
+        public String name() {
+            return "test";
+        }
+
+        @Override
+        public void accept(List<ResultEvent> events) {
+            events.forEach(event -> delivered.add(event.id()));
+        }
+    };
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new OutboxDispatcher(
+                List.of(consumer), jdbcTemplate, transactionManager, Clock.fixed(NOW, ZoneOffset.UTC),
+                200, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofDays(1), 5);
+        jdbcTemplate.update(
+                "insert into outbox_offsets (consumer, last_id, updated_at) values (?, 0, ?)",
+                consumer.name(), Timestamp.from(NOW));
+    }
+
+    @Test
+    void eventCommittedAfterTheGapTimeoutIsStillDelivered() {
+        Instant old = NOW.minusSeconds(60);
+        enqueue(1, old);
+        enqueue(3, old);
+
+        assertThat(dispatcher.deliver(consumer, 200, false)).isEqualTo(2);
+        assertThat(delivered).containsExactly(1L, 3L);
+
+        // The transaction holding id 2 commits only now.
+        enqueue(2, old);
+        enqueue(4, NOW);
+
+        assertThat(dispatcher.deliver(consumer, 200, false)).isEqualTo(1);
+        assertThat(dispatcher.deliver(consumer, 200, false)).isEqualTo(1);
+        assertThat(dispatcher.deliver(consumer, 200, false)).isZero();
+        assertThat(delivered).containsExactly(1L, 3L, 2L, 4L);
+    }
+
+    @Test
+    void pruneKeepsEventsThatFillAGap() {
+        Instant old = NOW.minusSeconds(60);
+        enqueue(1, old);
+        enqueue(3, old);
+        dispatcher.deliver(consumer, 200, false);
+        enqueue(2, old);
+
+        dispatcher.prune();
+
+        assertThat(jdbcTemplate.queryForList("select id from result_outbox", Long.class)).containsExactly(2L);
+        assertThat(dispatcher.deliver(consumer, 200, false)).isEqualTo(1);
+        assertThat(delivered).containsExactly(1L, 3L, 2L);
+    }
+
+    private void enqueue(long id, Instant enqueuedAt) {
+        jdbcTemplate.update(
+                "insert into result_outbox (id, result_id, enqueued_at) values (?, ?, ?)",
+                id, id * 10, Timestamp.from(enqueuedAt));
+    }
+}
@@ -0,0 +1,51 @@
+package com.stock.bion.back.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Instant SETTLED_BEFORE = NOW.minusSeconds(10);
+
+    @Test
+    void deliversEventsThatFollowTheOffsetWithoutGaps() {
+        List<ResultEvent> events = OutboxDispatcher.contiguous(
+                List.of(pending(6, NOW), pending(7, NOW), pending(8, NOW)), 5, SETTLED_BEFORE);
+
+        assertThat(events).extracting(ResultEvent::id).containsExactly(6L, 7L, 8L);
+    }
+
+    @Test
+    void stopsAtAGapThatMayStillBeCommitted() {
+        List<ResultEvent> events = OutboxDispatcher.contiguous(
+                List.of(pending(6, NOW), pending(8, NOW), pending(9, NOW)), 5, SETTLED_BEFORE);
+
+        assertThat(events).extracting(ResultEvent::id).containsExactly(6L);
+    }
+
+    @Test
+    void skipsAGapOnceTheEventAfterItHasSettled() {
+        Instant old = NOW.minusSeconds(60);
+        List<ResultEvent> events = OutboxDispatcher.contiguous(
+                List.of(pending(8, old), pending(9, old), pending(11, NOW)), 5, SETTLED_BEFORE);
+
+        assertThat(events).extracting(ResultEvent::id).containsExactly(8L, 9L);
+    }
+
+    @Test
+    void gapsAreTheIdsSteppedOver() {
+        List<ResultEvent> events = OutboxDispatcher.contiguous(
+                List.of(pending(6, NOW), pending(8, NOW), pending(11, NOW)), 5, NOW.plusSeconds(1));
+
+        assertThat(OutboxDispatcher.gaps(events, 5)).containsExactly(7L, 9L, 10L);
+    }
+
+    private static OutboxDispatcher.Pending pending(long id, Instant enqueuedAt) {
+        return new OutboxDispatcher.Pending(
+                new ResultEvent(id, id * 10, 1L, null, "PASSED", 5L, enqueuedAt), enqueuedAt);
+    }
+}
@@ -0,0 +1,109 @@
+package com.stock.bion.back.regression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.stock.bion.back.report.ReportBreakdown;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RegressionDetectorTest {
+
+    private static final Instant AT = Instant.parse("2025-01-01T00:00:00Z");
+    private static final long[] JITTER = {-40, 25, 0, 35, -20, 10, -30, 45, -5, 15};
+
+    private final RegressionDetector detector =
+            new RegressionDetector(0.05, 4, 10, 1.3, Duration.ofMillis(200));
+
+    @Test
+    void runsWithinTheUsualJitterAreNotRegressions() {
+        DurationBaseline baseline = new DurationBaseline();
+        for (int i = 0; i < 50; i++) {
+            assertThat(detector.observe(baseline, 1_000 + JITTER[i % JITTER.length], AT)).isNull();
+        }
+
+        assertThat(baseline.getSamples()).isEqualTo(50);
+        assertThat(RegressionDetector.typicalMs(baseline)).isBetween(990L, 1_010L);
+    }
+
+    @Test
+    void aMuchSlowerRunIsARegression() {
+        DurationBaseline baseline = warmedUp(1_000);
+
+        Double score = detector.observe(baseline, 2_000, AT);
+
+        assertThat(score).isNotNull();
+        assertThat(score).isGreaterThan(4.0);
+    }
+
+    @Test
+    void nothingIsReportedBeforeTheBaselineHasEnoughSamples() {
+        DurationBaseline baseline = new DurationBaseline();
+        for (int i = 0; i < 9; i++) {
+            detector.observe(baseline, 1_000, AT);
+        }
+
+        assertThat(detector.observe(baseline, 5_000, AT)).isNull();
+    }
+
+    @Test
+    void smallAbsoluteSlowdownsAreIgnored() {
+        DurationBaseline baseline = warmedUp(20);
+
+        assertThat(detector.observe(baseline, 150, AT)).isNull();
+    }
+
+    @Test
+    void anOutlierBarelyMovesTheBaselineButALastingSlowdownBecomesTheNewNormal() {
+        DurationBaseline baseline = warmedUp(1_000);
+
+        detector.observe(baseline, 30_000, AT);
+        assertThat(RegressionDetector.typicalMs(baseline)).isLessThan(1_050L);
+
+        int flagged = 0;
+        for (int i = 0; i < 100; i++) {
+            if (detector.observe(baseline, 2_000 + JITTER[i % JITTER.length], AT) != null) {
+                flagged++;
+            }
+        }
+        assertThat(flagged).isBetween(1, 30);
+        assertThat(detector.observe(baseline, 2_000, AT)).isNull();
+    }
+
+    @Test
+    void passedScenariosAndStepsAreAveragedPerReport() {
+        ReportBreakdown breakdown = new ReportBreakdown(List.of(new ReportBreakdown.Feature(
+                "features/orders.feature", "Orders", ReportBreakdown.FAILED, 0, List.of(
+                        scenario("Order <item>", ReportBreakdown.PASSED, 1_000,
+                                step("Given ", "I add an item", ReportBreakdown.PASSED, 300)),
+                        scenario("Order <item>", ReportBreakdown.PASSED, 3_000,
+                                step("Given ", "I add an item", ReportBreakdown.PASSED, 500)),
+                        scenario("Pay", ReportBreakdown.FAILED, 9_000,
+                                step("When ", "I pay", ReportBreakdown.FAILED, 9_000))))));
+
+        Map<RegressionTracker.Subject, Long> durations = RegressionTracker.durations(breakdown);
+
+        assertThat(durations).containsOnly(
+                Map.entry(RegressionTracker.Subject.scenario("features/orders.feature", "Order <item>"), 2_000L),
+                Map.entry(new RegressionTracker.Subject(RegressionKind.STEP, "", "Given I add an item"), 400L));
+    }
+
+    private DurationBaseline warmedUp(long typicalMs) {
+        DurationBaseline baseline = new DurationBaseline();
+        for (int i = 0; i < 30; i++) {
+            detector.observe(baseline, typicalMs + JITTER[i % JITTER.length] * typicalMs / 1_000, AT);
+        }
+        return baseline;
+    }
+
+    private static ReportBreakdown.Scenario scenario(
+            String name, String status, long durationMs, ReportBreakdown.Step step) {
+        return new ReportBreakdown.Scenario(name, 3, status, durationMs * 1_000_000, null, List.of(step));
+    }
+
+    private static ReportBreakdown.Step step(String keyword, String name, String status, long durationMs) {
+        return new ReportBreakdown.Step(1, keyword, name, status, durationMs * 1_000_000, null);
+    }
+}
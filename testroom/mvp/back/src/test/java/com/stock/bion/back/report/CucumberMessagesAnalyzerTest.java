@@ -0,0 +1,77 @@
+package com.stock.bion.back.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.stock.bion.back.runner.StepCounts;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CucumberMessagesAnalyzerTest {
+
+    private static final List<String> MESSAGES = List.of(
+            "{\"meta\":{\"protocolVersion\":\"24.0.0\"}}",
+            "{\"gherkinDocument\":{\"uri\":\"features/login.feature\",\"feature\":{\"name\":\"Login\",\"children\":["
+                    + "{\"background\":{\"id\":\"bg\",\"steps\":[{\"id\":\"s0\",\"keyword\":\"Given \",\"text\":\"a user\"}]}},"
+                    + "{\"scenario\":{\"id\":\"sc1\",\"name\":\"valid password\",\"location\":{\"line\":6},"
+                    + "\"steps\":[{\"id\":\"s1\",\"keyword\":\"When \",\"text\":\"logging in\"}]}},"
+                    + "{\"rule\":{\"children\":[{\"scenario\":{\"id\":\"sc2\",\"name\":\"lockout\",\"location\":{\"line\":10},"
+                    + "\"steps\":[{\"id\":\"s2\",\"keyword\":\"Then \",\"text\":\"locked <n>\"}],"
+                    + "\"examples\":[{\"tableBody\":[{\"id\":\"row1\",\"location\":{\"line\":14}}]}]}}]}}]}}}",
+            "{\"pickle\":{\"id\":\"p1\",\"uri\":\"features/login.feature\",\"name\":\"valid password\",\"astNodeIds\":[\"sc1\"],"
+                    + "\"steps\":[{\"id\":\"ps0\",\"text\":\"a user\",\"astNodeIds\":[\"s0\"]},"
+                    + "{\"id\":\"ps1\",\"text\":\"logging in\",\"astNodeIds\":[\"s1\"]}]}}",
+            "{\"pickle\":{\"id\":\"p2\",\"uri\":\"features/login.feature\",\"name\":\"lockout\",\"astNodeIds\":[\"sc2\",\"row1\"],"
+                    + "\"steps\":[{\"id\":\"ps2\",\"text\":\"locked 3\",\"astNodeIds\":[\"s2\",\"row1\"]}]}}",
+            "{\"testCase\":{\"id\":\"tc1\",\"pickleId\":\"p1\",\"testSteps\":["
+                    + "{\"id\":\"h1\",\"hookId\":\"hook\"},{\"id\":\"t0\",\"pickleStepId\":\"ps0\"},{\"id\":\"t1\",\"pickleStepId\":\"ps1\"}]}}",
+            "{\"testCase\":{\"id\":\"tc2\",\"pickleId\":\"p2\",\"testSteps\":[{\"id\":\"t2\",\"pickleStepId\":\"ps2\"}]}}",
+            "{\"testCaseStarted\":{\"id\":\"a1\",\"testCaseId\":\"tc1\",\"attempt\":0}}",
+            step("a1", "h1", "PASSED", 0, null),
+            step("a1", "t0", "PASSED", 100, null),
+            "{\"attachment\":{\"testCaseStartedId\":\"a1\",\"body\":\"" + "A".repeat(10_000) + "\",\"mediaType\":\"image/png\"}}",
+            step("a1", "t1", "PASSED", 200, null),
+            "{\"testCaseFinished\":{\"testCaseStartedId\":\"a1\",\"willBeRetried\":false}}",
+            "{\"testCaseStarted\":{\"id\":\"a2\",\"testCaseId\":\"tc2\",\"attempt\":0}}",
+            step("a2", "t2", "FAILED", 50, "flaky"),
+            "{\"testCaseFinished\":{\"testCaseStartedId\":\"a2\",\"willBeRetried\":true}}",
+            "{\"testCaseStarted\":{\"id\":\"a3\",\"testCaseId\":\"tc2\",\"attempt\":1}}",
+            step("a3", "t2", "UNDEFINED", 0, null),
+            "{\"testCaseFinished\":{\"testCaseStartedId\":\"a3\",\"willBeRetried\":false}}",
+            "{\"testRunFinished\":{\"success\":false}}");
+
+    @Test
+    void finalAttemptsBecomeScenariosWithTheCucumberStatusRules() throws IOException {
+        ReportAnalysis analysis = CucumberMessagesAnalyzer.analyze(
+                new ByteArrayInputStream(String.join("\n", MESSAGES).getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(analysis.status()).isEqualTo(ReportBreakdown.UNDEFINED);
+        assertThat(analysis.counts()).isEqualTo(new StepCounts(2, 0, 0, 1));
+        assertThat(analysis.durationNs()).isEqualTo(300);
+
+        ReportBreakdown.Feature feature = analysis.breakdown().features().get(0);
+        assertThat(feature.uri()).isEqualTo("features/login.feature");
+        assertThat(feature.name()).isEqualTo("Login");
+        assertThat(feature.status()).isEqualTo(ReportBreakdown.UNDEFINED);
+        assertThat(feature.scenarios())
+                .extracting(
+                        ReportBreakdown.Scenario::name, ReportBreakdown.Scenario::line, ReportBreakdown.Scenario::status)
+                .containsExactly(
+                        tuple("valid password", 6, ReportBreakdown.PASSED),
+                        tuple("lockout", 14, ReportBreakdown.UNDEFINED));
+        assertThat(feature.scenarios().get(0).steps())
+                .extracting(ReportBreakdown.Step::position, ReportBreakdown.Step::keyword, ReportBreakdown.Step::name)
+                .containsExactly(
+                        tuple(0, "Given", "a user"),
+                        tuple(1, "When", "logging in"));
+    }
+
+    private static String step(String attempt, String testStep, String status, long nanos, String message) {
+        return "{\"testStepFinished\":{\"testCaseStartedId\":\"" + attempt + "\",\"testStepId\":\"" + testStep + "\","
+                + "\"testStepResult\":{\"status\":\"" + status + "\",\"duration\":{\"seconds\":0,\"nanos\":" + nanos + "}"
+                + (message != null ? ",\"message\":\"" + message + "\"" : "") + "}}}";
+    }
+}
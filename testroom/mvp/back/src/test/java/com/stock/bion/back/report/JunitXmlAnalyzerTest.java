@@ -0,0 +1,75 @@
+package com.stock.bion.back.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.stock.bion.back.runner.StepCounts;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class JunitXmlAnalyzerTest {
+
+    private static final String REPORT = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <testsuites>
+              <testsuite name="Login" tests="3">
+                <testcase classname="Login" name="valid password" time="0.5"/>
+                <testcase classname="Login" name="wrong password" time="1.25">
+                  <failure message="expected 401 but was 500">stack trace</failure>
+                  <system-out><![CDATA[lots of output]]></system-out>
+                </testcase>
+                <testcase classname="Login" name="sso" time="0"><skipped/></testcase>
+              </testsuite>
+              <testsuite name="Logout">
+                <testcase name="logout" time="0.25"><error>NullPointerException
+              at Logout.java:12</error></testcase>
+              </testsuite>
+            </testsuites>
+            """;
+
+    @Test
+    void testCasesBecomeScenariosWithTheCucumberStatusRules() throws IOException {
+        ReportAnalysis analysis = JunitXmlAnalyzer.analyze(stream(REPORT));
+
+        assertThat(analysis.status()).isEqualTo(ReportBreakdown.FAILED);
+        assertThat(analysis.counts()).isEqualTo(new StepCounts(1, 2, 1, 0));
+        assertThat(analysis.durationNs()).isEqualTo(2_000_000_000L);
+        assertThat(analysis.breakdown().features())
+                .extracting(ReportBreakdown.Feature::name, ReportBreakdown.Feature::status)
+                .containsExactly(
+                        tuple("Login", ReportBreakdown.FAILED),
+                        tuple("Logout", ReportBreakdown.FAILED));
+        ReportBreakdown.Feature login = analysis.breakdown().features().get(0);
+        assertThat(login.scenarios())
+                .extracting(ReportBreakdown.Scenario::status)
+                .containsExactly(ReportBreakdown.PASSED, ReportBreakdown.FAILED, ReportBreakdown.SKIPPED);
+        assertThat(login.scenarios().get(1).errorMessage()).isEqualTo("expected 401 but was 500");
+        assertThat(analysis.breakdown().features().get(1).scenarios().get(0).errorMessage())
+                .startsWith("NullPointerException");
+    }
+
+    @Test
+    void passingSuiteIsPassed() throws IOException {
+        ReportAnalysis analysis = JunitXmlAnalyzer.analyze(
+                stream("<testsuite name=\"s\"><testcase name=\"a\" time=\"1\"/></testsuite>"));
+
+        assertThat(analysis.status()).isEqualTo(ReportBreakdown.PASSED);
+        assertThat(analysis.counts()).isEqualTo(new StepCounts(1, 0, 0, 0));
+    }
+
+    @Test
+    void externalEntitiesAreRejected() {
+        String xxe = "<?xml version=\"1.0\"?><!DOCTYPE r [<!ENTITY x SYSTEM \"file:///etc/passwd\">]>"
+                + "<testsuite name=\"&x;\"/>";
+
+        assertThatThrownBy(() -> JunitXmlAnalyzer.analyze(stream(xxe))).isInstanceOf(IOException.class);
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
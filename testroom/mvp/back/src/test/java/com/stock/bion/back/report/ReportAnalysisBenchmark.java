@@ -0,0 +1,113 @@
+package com.stock.bion.back.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stock.bion.back.runner.RunResponse;
+import com.stock.bion.back.runner.RunResponseReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares reading a runner response the way results used to be saved (tree for the response,
+ * {@code toString()} for storage, a second tree to count steps) with the single streaming pass.
+ * Run with {@code -Dbenchmark=true}; prints CPU time and allocated bytes per iteration.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReportAnalysisBenchmark {
+
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareTreeAndStreamingOnLargeReport() throws Exception {
+        byte[] body = runnerBody(200, 20, 8);
+        System.out.printf("runner body: %.1f MB%n", body.length / 1024.0 / 1024.0);
+
+        measure("tree", () -> {
+            JsonNode response = objectMapper.readTree(body);
+            String stored = response.get("report").toString();
+            JsonNode report = objectMapper.readTree(stored);
+            int steps = 0;
+            for (JsonNode feature : report) {
+                for (JsonNode element : feature.path("elements")) {
+                    for (JsonNode step : element.path("steps")) {
+                        steps += step.path("result").path("status").asText().isEmpty() ? 0 : 1;
+                    }
+                }
+            }
+            return steps + ReportBreakdown.from(report).features().size();
+        });
+        measure("streaming", () -> {
+            RunResponse response = RunResponseReader.read(body);
+            return response.getReport().bytes().length + response.getAnalysis().counts().passed();
+        });
+    }
+
+    private void measure(String name, Workload workload) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += workload.run();
+        }
+        long cpu = threads.getCurrentThreadCpuTime();
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += workload.run();
+        }
+        cpu = threads.getCurrentThreadCpuTime() - cpu;
+        allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+        System.out.printf(
+                "%-10s %8.1f ms cpu/op %8.1f MB alloc/op (sink %d)%n",
+                name, cpu / 1e6 / ITERATIONS, allocated / 1024.0 / 1024.0 / ITERATIONS, sink);
+    }
+
+    // A run with a screenshot attached to every failed step, as the runner produces them.
+    private static byte[] runnerBody(int features, int scenarios, int steps) {
+        Random random = new Random(42);
+        byte[] png = new byte[24 * 1024];
+        random.nextBytes(png);
+        String screenshot = Base64.getEncoder().encodeToString(png);
+
+        StringBuilder json = new StringBuilder("{\"stdout\":\"done\",\"stderr\":\"\",\"report\":[");
+        for (int f = 0; f < features; f++) {
+            json.append(f == 0 ? "" : ",")
+                    .append("{\"uri\":\"features/f").append(f).append(".feature\",\"name\":\"Feature ").append(f)
+                    .append("\",\"elements\":[");
+            for (int s = 0; s < scenarios; s++) {
+                json.append(s == 0 ? "" : ",")
+                        .append("{\"type\":\"scenario\",\"name\":\"Scenario ").append(s)
+                        .append("\",\"line\":").append(3 + s * 10).append(",\"steps\":[");
+                for (int st = 0; st < steps; st++) {
+                    boolean failed = random.nextInt(100) == 0;
+                    json.append(st == 0 ? "" : ",")
+                            .append("{\"keyword\":\"Given \",\"name\":\"step ").append(st)
+                            .append("\",\"match\":{\"location\":\"steps.ts:").append(st).append("\"}")
+                            .append(",\"result\":{\"status\":\"").append(failed ? "failed" : "passed")
+                            .append("\",\"duration\":").append(random.nextInt(1_000_000));
+                    if (failed) {
+                        json.append(",\"error_message\":\"AssertionError\"}")
+                                .append(",\"embeddings\":[{\"mime_type\":\"image/png\",\"data\":\"")
+                                .append(screenshot).append("\"}]}");
+                    } else {
+                        json.append("}}");
+                    }
+                }
+                json.append("]}");
+            }
+            json.append("]}");
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        long run() throws Exception;
+    }
+}
@@ -0,0 +1,55 @@
+package com.stock.bion.back.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class ReportBreakdownTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void fromFlattensFeaturesScenariosAndSteps() throws Exception {
+        String report =
+                """
+                [{
+                  "uri": "features/login.feature",
+                  "name": "Login",
+                  "elements": [
+                    {"type": "background", "name": "", "steps": [{"keyword": "Given ", "name": "a user", "result": {"status": "passed", "duration": 1}}]},
+                    {
+                      "type": "scenario", "name": "Wrong password", "line": 6,
+                      "before": [{"result": {"status": "passed", "duration": 5}}],
+                      "steps": [
+                        {"keyword": "Given ", "name": "I open the login page", "result": {"status": "passed", "duration": 100}},
+                        {"keyword": "When ", "name": "I submit", "result": {"status": "failed", "duration": 50, "error_message": "TimeoutError"}},
+                        {"keyword": "Then ", "name": "I see an error", "result": {"status": "skipped"}}
+                      ]
+                    },
+                    {
+                      "type": "scenario", "name": "Happy path", "line": 12,
+                      "steps": [{"keyword": "Given ", "name": "I log in", "result": {"status": "passed", "duration": 10}}]
+                    }
+                  ]
+                }]
+                """;
+
+        ReportBreakdown breakdown = ReportBreakdown.from(objectMapper.readTree(report));
+
+        assertThat(breakdown.features()).hasSize(1);
+        ReportBreakdown.Feature feature = breakdown.features().get(0);
+        assertThat(feature.status()).isEqualTo(ReportBreakdown.FAILED);
+        assertThat(feature.durationNs()).isEqualTo(166L);
+        assertThat(feature.scenarios()).hasSize(2);
+
+        ReportBreakdown.Scenario failed = feature.scenarios().get(0);
+        assertThat(failed.line()).isEqualTo(6);
+        assertThat(failed.status()).isEqualTo(ReportBreakdown.FAILED);
+        assertThat(failed.durationNs()).isEqualTo(156L);
+        assertThat(failed.errorMessage()).isEqualTo("TimeoutError");
+        assertThat(failed.steps()).extracting(ReportBreakdown.Step::keyword).containsExactly("Given", "Given", "When", "Then");
+
+        assertThat(feature.scenarios().get(1).status()).isEqualTo(ReportBreakdown.PASSED);
+    }
+}
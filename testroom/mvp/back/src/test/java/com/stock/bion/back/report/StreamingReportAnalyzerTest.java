@@ -0,0 +1,102 @@
+package com.stock.bion.back.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.stock.bion.back.runner.StepCounts;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class StreamingReportAnalyzerTest {
+
+    @Test
+    void analyzeResolvesStatusCountsAndDurationInOnePass() throws Exception {
+        String report =
+                """
+                [{"uri": "a.feature", "elements": [
+                  {"type": "scenario", "line": 3,
+                   "before": [{"result": {"status": "passed", "duration": 7}}],
+                   "steps": [
+                     {"keyword": "Given ", "name": "x", "result": {"status": "passed", "duration": 10},
+                      "embeddings": [{"mime_type": "image/png", "data": "iVBORw0KGgo="}]},
+                     {"keyword": "Then ", "name": "y", "result": {"status": "pending", "duration": 3}}
+                   ]}
+                ]}]
+                """;
+
+        ReportAnalysis analysis = StreamingReportAnalyzer.analyze(report.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(analysis.status()).isEqualTo("UNDEFINED");
+        assertThat(analysis.counts()).isEqualTo(new StepCounts(1, 0, 0, 1));
+        assertThat(analysis.durationNs()).isEqualTo(20L);
+        assertThat(analysis.breakdown().features().get(0).scenarios().get(0).steps()).hasSize(2);
+    }
+
+    @Test
+    void failedHookFailsTheRun() throws Exception {
+        String report =
+                """
+                [{"elements": [{"after": [{"result": {"status": "failed"}}],
+                  "steps": [{"result": {"status": "passed"}}]}]}]
+                """;
+
+        ReportAnalysis analysis = StreamingReportAnalyzer.analyze(report.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(analysis.status()).isEqualTo("FAILED");
+        assertThat(analysis.counts().passed()).isEqualTo(1);
+    }
+
+    @Test
+    void nonArrayValueIsNotAReport() throws Exception {
+        ReportAnalysis analysis = StreamingReportAnalyzer.analyze("{\"passed\": true}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(analysis.status()).isEqualTo(ReportAnalysis.COMPLETED);
+    }
+
+    @Test
+    void slicesLocateFeaturesAndScenariosByByteOffset() throws Exception {
+        String report =
+                """
+                 [{"uri": "features/\u00e4.feature", "elements": [
+                  {"type": "background", "name": "setup", "steps": []},
+                  {"type": "scenario", "name": "first", "line": 4, "steps": []},
+                  {"type": "scenario", "name": "zweite \u00fc", "line": 9, "steps": []}
+                ]}]
+                """;
+        byte[] bytes = report.getBytes(StandardCharsets.UTF_8);
+
+        ReportAnalysis analysis = StreamingReportAnalyzer.analyze(bytes);
+
+        assertThat(analysis.slices()).extracting(ReportSlice::scenario).containsExactly(null, "first", "zweite \u00fc");
+        assertThat(slice(bytes, analysis.slices().get(0))).startsWith("{\"uri\"").endsWith("]}");
+        assertThat(slice(bytes, analysis.slices().get(1)))
+                .isEqualTo("{\"type\": \"scenario\", \"name\": \"first\", \"line\": 4, \"steps\": []}");
+        assertThat(slice(bytes, analysis.slices().get(2))).startsWith("{").contains("zweite \u00fc").endsWith("}");
+    }
+
+    @Test
+    void embeddedReportSlicesAreRelativeToTheReport() throws Exception {
+        byte[] body = "{\"ok\": true, \"report\": [{\"uri\": \"features/a.feature\"}]}"
+                .getBytes(StandardCharsets.UTF_8);
+        ReportAnalysis analysis;
+        int start;
+        try (JsonParser parser = new JsonFactory().createParser(body)) {
+            while (!"report".equals(parser.currentName())) {
+                parser.nextToken();
+            }
+            parser.nextToken();
+            start = (int) parser.currentTokenLocation().getByteOffset();
+            analysis = StreamingReportAnalyzer.analyze(parser);
+        }
+
+        byte[] report = Arrays.copyOfRange(body, start, body.length - 1);
+        assertThat(analysis.slices()).hasSize(1);
+        assertThat(slice(report, analysis.slices().get(0))).isEqualTo("{\"uri\": \"features/a.feature\"}");
+    }
+
+    private static String slice(byte[] report, ReportSlice slice) {
+        return new String(report, (int) slice.offset(), (int) slice.length(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,129 @@
+package com.stock.bion.back.result;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+@ExtendWith(MockitoExtension.class)
+class ResultBatchIngesterTest {
+
+    @Mock
+    private TestResultService testResultService;
+
+    @Mock
+    private TestResultRepository testResultRepository;
+
+    private ResultBatchIngester ingester;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper =
+                new ObjectMapper().registerModule(new JavaTimeModule()).registerModule(new ParameterNamesModule());
+        ingester = new ResultBatchIngester(
+                testResultService,
+                testResultRepository,
+                objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                100);
+    }
+
+    @Test
+    void ndjsonItemsAreCreatedOnceAndReportedPerItem() throws IOException {
+        when(testResultRepository.findByRunIdIn(anyCollection())).thenReturn(List.of(stored("old", 99L)));
+        when(testResultService.saveAll(anyList())).thenReturn(List.of(1L));
+        String body = String.join("\n",
+                "{\"runId\":\"new\",\"status\":\"PASSED\",\"durationMs\":5}",
+                "{\"runId\":\"old\",\"status\":\"PASSED\",\"durationMs\":5}",
+                "{\"runId\":\"new\",\"status\":\"PASSED\",\"durationMs\":5}",
+                "{\"runId\":\"typo\",\"status\":\"PASSED\",\"durationMs\":\"fast\"}",
+                "{\"runId\":\"blank\",\"durationMs\":1}");
+
+        BatchIngestResponse response = ingester.ingest(stream(body));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getExisting()).isEqualTo(2);
+        assertThat(response.getInvalid()).isEqualTo(2);
+        assertThat(response.getError()).isNull();
+        assertThat(response.getItems())
+                .extracting(BatchItemOutcome::getStatus)
+                .containsExactly(
+                        BatchItemStatus.CREATED,
+                        BatchItemStatus.EXISTING,
+                        BatchItemStatus.EXISTING,
+                        BatchItemStatus.INVALID,
+                        BatchItemStatus.INVALID);
+        assertThat(response.getItems()).extracting(BatchItemOutcome::getId).containsExactly(1L, 99L, 1L, null, null);
+        assertThat(response.getItems().get(4).getErrors()).containsExactly("status: must not be blank");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TestResultRequest>> saved = ArgumentCaptor.forClass(List.class);
+        verify(testResultService).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(TestResultRequest::getRunId).containsExactly("new");
+    }
+
+    @Test
+    void itemsBeforeMalformedJsonAreStillStored() throws IOException {
+        when(testResultRepository.findByRunIdIn(anyCollection())).thenReturn(List.of());
+        when(testResultService.saveAll(anyList())).thenReturn(List.of(7L));
+
+        BatchIngestResponse response = ingester.ingest(
+                stream("[{\"runId\":\"a\",\"status\":\"FAILED\",\"durationMs\":5}, {\"runId\":"));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getError()).startsWith("Malformed JSON at item 1");
+    }
+
+    @Test
+    void runStoredConcurrentlyIsReportedAsExisting() throws IOException {
+        when(testResultRepository.findByRunIdIn(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(stored("a", 5L)));
+        when(testResultService.saveAll(anyList())).thenThrow(new DuplicateKeyException("run_id"));
+
+        BatchIngestResponse response =
+                ingester.ingest(stream("[{\"runId\":\"a\",\"status\":\"PASSED\",\"durationMs\":5}]"));
+
+        assertThat(response.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getStatus()).isEqualTo(BatchItemStatus.EXISTING);
+            assertThat(item.getId()).isEqualTo(5L);
+        });
+        verify(testResultService, times(1)).saveAll(anyList());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TestResultRepository.StoredRun stored(String runId, Long id) {
+        return new TestResultRepository.StoredRun() {
+            @Override
+            public String getRunId() {
+                return runId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+        };
+    }
+}
@@ -1,21 +1,31 @@
 package com.stock.bion.back.result;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.stock.bion.back.security.JwtAuthenticationFilter;
 import com.stock.bion.back.security.JwtTokenProvider;
@@ -33,6 +43,18 @@ class ResultControllerTest {
     @MockBean
     private TestResultService testResultService;
 
+    @MockBean
+    private ResultArtifactService resultArtifactService;
+
+    @MockBean
+    private ResultRecorder resultRecorder;
+
+    @MockBean
+    private ResultExportService resultExportService;
+
+    @MockBean
+    private ResultBatchIngester resultBatchIngester;
+
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -92,4 +114,64 @@ class ResultControllerTest {
                                 .content(invalidPayload))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void listResultsPassesFiltersAndReturnsPage() throws Exception {
+        TestResultSummary item =
+                TestResultSummary.builder()
+                        .id(7L)
+                        .serviceId(3L)
+                        .status("FAILED")
+                        .runId("run-7")
+                        .createdAt(Instant.parse("2025-01-02T00:00:00Z"))
+                        .build();
+        when(testResultService.findPage(any(TestResultQuery.class), eq("abc"), eq(20)))
+                .thenReturn(ResultPage.<TestResultSummary>builder().items(List.of(item)).nextCursor("next").build());
+
+        mockMvc.perform(
+                        get("/api/results")
+                                .param("cursor", "abc")
+                                .param("limit", "20")
+                                .param("serviceId", "3")
+                                .param("status", "FAILED")
+                                .param("from", "2025-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        ArgumentCaptor<TestResultQuery> captor = ArgumentCaptor.forClass(TestResultQuery.class);
+        verify(testResultService).findPage(captor.capture(), eq("abc"), eq(20));
+        TestResultQuery query = captor.getValue();
+        assertThat(query.getServiceId()).isEqualTo(3L);
+        assertThat(query.getStatus()).isEqualTo("FAILED");
+        assertThat(query.getFrom()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void getArtifactReturnsNotFoundForUnknownResult() throws Exception {
+        when(resultArtifactService.findKey(99L, ResultArtifact.STDOUT)).thenThrow(new TestResultNotFoundException(99L));
+
+        mockMvc.perform(get("/api/results/99/stdout")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportStreamsTheFilteredResultsAsAnAttachment() throws Exception {
+        MvcResult started = mockMvc.perform(
+                        get("/api/results/export").param("format", "csv").param("gzip", "true").param("serviceId", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"results.csv.gz\""));
+        ArgumentCaptor<TestResultQuery> captor = ArgumentCaptor.forClass(TestResultQuery.class);
+        verify(resultExportService).export(captor.capture(), eq(ExportFormat.CSV), eq(true), any(OutputStream.class));
+        assertThat(captor.getValue().getServiceId()).isEqualTo(3L);
+    }
+
+    @Test
+    void exportRejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/results/export").param("format", "xml")).andExpect(status().isBadRequest());
+    }
 }
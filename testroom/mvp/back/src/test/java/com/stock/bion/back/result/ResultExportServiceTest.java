@@ -0,0 +1,110 @@
+package com.stock.bion.back.result;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.stock.bion.back.archive.ResultArchive;
+import com.stock.bion.back.runner.RunScope;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ResultExportServiceTest {
+
+    private static final TestResultQuery ALL = TestResultQuery.builder().build();
+
+    @Mock
+    private TestResultRepository repository;
+
+    @Mock
+    private ResultArchive resultArchive;
+
+    private ResultExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ResultExportService(
+                repository, resultArchive, new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerLine() throws IOException {
+        when(resultArchive.isEmpty()).thenReturn(true);
+        when(repository.streamSummaries(ALL, 2)).thenReturn(Stream.of(summary(2, "PASSED"), summary(1, "FAILED")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export(ALL, ExportFormat.NDJSON, false, out);
+
+        assertThat(rows).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":2,").contains("\"status\":\"PASSED\"");
+        assertThat(lines[1]).startsWith("{\"id\":1,").contains("\"status\":\"FAILED\"");
+    }
+
+    @Test
+    void csvQuotesFieldsThatNeedIt() throws IOException {
+        when(resultArchive.isEmpty()).thenReturn(true);
+        TestResultSummary failed = TestResultSummary.builder()
+                .id(7L)
+                .scope(RunScope.SCENARIO)
+                .status("FAILED")
+                .error("expected \"ok\",\ngot error")
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .build();
+        when(repository.streamSummaries(ALL, 2)).thenReturn(Stream.of(failed));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(ALL, ExportFormat.CSV, false, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                String.join(",", ResultExportService.CSV_COLUMNS) + "\r\n"
+                        + "7,SCENARIO,,,,,,FAILED,,,\"expected \"\"ok\"\",\ngot error\",,,,,,,2025-01-01T00:00:00Z\r\n");
+    }
+
+    @Test
+    void archivedRowsAreMergedInOrderAndLiveCopiesWin() throws IOException {
+        when(resultArchive.isEmpty()).thenReturn(false);
+        when(repository.streamSummaries(ALL, 2)).thenReturn(Stream.of(summary(5, "PASSED"), summary(3, "PASSED")));
+        when(resultArchive.find(eq(ALL), isNull(), eq(2)))
+                .thenReturn(List.of(summary(4, "ARCHIVED"), summary(3, "ARCHIVED")));
+        when(resultArchive.find(eq(ALL), any(ResultCursor.class), eq(2)))
+                .thenReturn(List.of(summary(1, "ARCHIVED")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(ALL, ExportFormat.CSV, true, out);
+
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(csv.split("\r\n"))
+                .extracting(line -> line.substring(0, line.indexOf(',')) + ":" + line.split(",")[7])
+                .containsExactly("id:status", "5:PASSED", "4:ARCHIVED", "3:PASSED", "1:ARCHIVED");
+    }
+
+    private static TestResultSummary summary(long id, String status) {
+        return TestResultSummary.builder()
+                .id(id)
+                .scope(RunScope.SCENARIO)
+                .status(status)
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z").plusSeconds(id))
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.stock.bion.back.result;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.UnexpectedRollbackException;
+
+class ResultRecorderTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private final TestResultService service = mock(TestResultService.class);
+    private ResultRecorder recorder;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    void disabledRecorderStoresSynchronously() {
+        recorder = recorder(false);
+        TestResultRequest request = request("run-1");
+
+        recorder.record(request);
+
+        verify(service).saveResult(request);
+    }
+
+    @Test
+    void flushBarrierReturnsOnceQueuedResultsAreBatched() {
+        recorder = recorder(true);
+
+        recorder.record(request("run-1"));
+        recorder.record(request("run-2"));
+        recorder.awaitFlush();
+
+        ArgumentCaptor<List<TestResultRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(service).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(TestResultRequest::getRunId).containsExactly("run-1", "run-2");
+        assertThat(captor.getValue()).allSatisfy(saved -> assertThat(saved.getRecordedAt()).isNotNull());
+        verify(service, never()).saveResult(any(TestResultRequest.class));
+    }
+
+    @Test
+    void batchesAreSpooledWhenTheDatabaseIsDown() throws Exception {
+        doThrow(new DataAccessResourceFailureException("down")).when(service).saveAll(anyList());
+        recorder = recorder(true);
+
+        recorder.record(request("run-1"));
+        recorder.awaitFlush();
+
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            List<Path> spooled = files.filter(path -> path.toString().endsWith(".ndjson")).toList();
+            assertThat(spooled).hasSize(1);
+            assertThat(Files.readString(spooled.get(0))).contains("\"runId\":\"run-1\"");
+        }
+    }
+
+    @Test
+    void batchesTheDatabaseRejectsAreStoredOneByOneInsteadOfSpooled() throws Exception {
+        doThrow(new DataIntegrityViolationException("value too long")).when(service).saveAll(anyList());
+        recorder = recorder(true);
+
+        recorder.record(request("run-1"));
+        recorder.awaitFlush();
+
+        verify(service).saveResult(argThat(request -> "run-1".equals(request.getRunId())));
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectedSpoolFileIsSetAsideAndLaterFilesAreReplayed() throws Exception {
+        Files.writeString(spoolDir.resolve("00000000000000000001-a.ndjson"), "{\"runId\":\"run-stored\"}\n");
+        Files.writeString(spoolDir.resolve("00000000000000000002-b.ndjson"), "{\"runId\":\"run-new\"}\n");
+        doThrow(new DuplicateKeyException("run-stored")).when(service)
+                .saveAll(argThat(requests -> "run-stored".equals(requests.get(0).getRunId())));
+        recorder = recorder(true);
+
+        verify(service, timeout(5000)).saveAll(argThat(requests -> "run-new".equals(requests.get(0).getRunId())));
+        recorder.stop();
+
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            assertThat(files).extracting(path -> path.getFileName().toString())
+                    .containsExactly("00000000000000000001-a.ndjson.failed");
+        }
+    }
+
+    @Test
+    void onlyConnectivityAndTransientFailuresCountAsAnOutage() {
+        assertThat(ResultRecorder.isOutage(new CannotGetJdbcConnectionException("refused"))).isTrue();
+        assertThat(ResultRecorder.isOutage(new QueryTimeoutException("slow"))).isTrue();
+        assertThat(ResultRecorder.isOutage(new CannotCreateTransactionException("no connection"))).isTrue();
+        assertThat(ResultRecorder.isOutage(new DuplicateKeyException("run-1"))).isFalse();
+        assertThat(ResultRecorder.isOutage(new DataIntegrityViolationException("too long"))).isFalse();
+        assertThat(ResultRecorder.isOutage(new TransactionSystemException(
+                "commit failed", new SQLTransientConnectionException("connection reset")))).isTrue();
+        assertThat(ResultRecorder.isOutage(new TransactionSystemException("commit failed"))).isFalse();
+        assertThat(ResultRecorder.isOutage(new UnexpectedRollbackException("rolled back"))).isFalse();
+    }
+
+    private ResultRecorder recorder(boolean enabled) {
+        // Configured like the application's, which can create the request through its constructor.
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ResultRecorder created = new ResultRecorder(
+                service, objectMapper, Clock.systemUTC(), enabled, 10, 50,
+                Duration.ofMillis(20), Duration.ofSeconds(5), spoolDir);
+        created.start();
+        return created;
+    }
+
+    private static TestResultRequest request(String runId) {
+        return TestResultRequest.builder().status("PASSED").durationMs(1L).runId(runId).build();
+    }
+}
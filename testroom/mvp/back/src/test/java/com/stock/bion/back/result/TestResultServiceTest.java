@@ -2,18 +2,29 @@ package com.stock.bion.back.result;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.stock.bion.back.archive.ResultArchive;
+import com.stock.bion.back.artifact.ArtifactStore;
+import com.stock.bion.back.outbox.ResultOutbox;
+import com.stock.bion.back.report.ReportBreakdownWriter;
+import com.stock.bion.back.report.ReportSliceWriter;
+import com.stock.bion.back.runner.RunScope;
+import com.stock.bion.back.search.SearchIndexWriter;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class TestResultServiceTest {
@@ -21,6 +32,27 @@ class TestResultServiceTest {
     @Mock
     private TestResultRepository repository;
 
+    @Mock
+    private ResultArchive resultArchive;
+
+    @Mock
+    private ArtifactStore artifactStore;
+
+    @Mock
+    private TestResultBatchInserter batchInserter;
+
+    @Mock
+    private ReportBreakdownWriter reportBreakdownWriter;
+
+    @Mock
+    private ReportSliceWriter reportSliceWriter;
+
+    @Mock
+    private SearchIndexWriter searchIndexWriter;
+
+    @Mock
+    private ResultOutbox resultOutbox;
+
     private TestResultService service;
 
     private final Instant fixedInstant = Instant.parse("2025-01-01T00:00:00Z");
@@ -28,7 +60,9 @@ class TestResultServiceTest {
     @BeforeEach
     void setUp() {
         Clock fixedClock = Clock.fixed(fixedInstant, ZoneOffset.UTC);
-        service = new TestResultService(repository, fixedClock);
+        service = new TestResultService(
+                repository, resultArchive, artifactStore, batchInserter, reportBreakdownWriter, reportSliceWriter,
+                searchIndexWriter, resultOutbox, fixedClock);
     }
 
     @Test
@@ -70,4 +104,83 @@ class TestResultServiceTest {
         assertThat(response.getStatus()).isEqualTo("PASSED");
         assertThat(response.getCreatedAt()).isEqualTo(fixedInstant);
     }
+
+    @Test
+    void saveResultStoresStepCountsFromReport() {
+        TestResultRequest request =
+                TestResultRequest.builder()
+                        .status("FAILED")
+                        .durationMs(10L)
+                        .runId("run-counts")
+                        .report(
+                                """
+                                [{"elements": [{"steps": [
+                                  {"result": {"status": "passed"}},
+                                  {"result": {"status": "failed"}},
+                                  {"result": {"status": "skipped"}},
+                                  {"result": {"status": "undefined"}},
+                                  {"result": {"status": "passed"}}
+                                ]}]}]
+                                """)
+                        .build();
+        when(repository.save(any(TestResult.class))).thenAnswer(invocation -> {
+            TestResult result = invocation.getArgument(0);
+            ReflectionTestUtils.setField(result, "id", 7L);
+            return result;
+        });
+
+        service.saveResult(request);
+
+        ArgumentCaptor<TestResult> captor = ArgumentCaptor.forClass(TestResult.class);
+        verify(repository).save(captor.capture());
+        TestResult saved = captor.getValue();
+        assertThat(saved.getPassedSteps()).isEqualTo(2);
+        assertThat(saved.getFailedSteps()).isEqualTo(1);
+        assertThat(saved.getSkippedSteps()).isEqualTo(1);
+        assertThat(saved.getUndefinedSteps()).isEqualTo(1);
+        verify(resultOutbox).append(List.of(7L));
+    }
+
+    @Test
+    void saveAllInsertsOneBatchAndKeepsRecordedTimes() {
+        Instant finishedAt = Instant.parse("2024-12-31T23:59:00Z");
+        List<TestResultRequest> requests = List.of(
+                TestResultRequest.builder().status("PASSED").durationMs(1L).runId("a").recordedAt(finishedAt).build(),
+                TestResultRequest.builder().status("FAILED").durationMs(2L).runId("b").build());
+        when(batchInserter.insert(anyList())).thenReturn(List.of(1L, 2L));
+
+        service.saveAll(requests);
+
+        ArgumentCaptor<List<TestResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter).insert(captor.capture());
+        assertThat(captor.getValue()).extracting(TestResult::getRunId).containsExactly("a", "b");
+        assertThat(captor.getValue()).extracting(TestResult::getCreatedAt).containsExactly(finishedAt, fixedInstant);
+        verify(repository, never()).save(any(TestResult.class));
+        verify(resultOutbox).append(List.of(1L, 2L));
+    }
+
+    @Test
+    void findPageMatchesArchivedCopiesByRunIdNotById() {
+        TestResultQuery query = TestResultQuery.builder().build();
+        TestResultSummary live = summary(5, "run-live", fixedInstant);
+        TestResultSummary copy = summary(3, "run-live", fixedInstant.minusSeconds(60));
+        TestResultSummary reusedId = summary(5, "run-archived", fixedInstant.minusSeconds(120));
+        when(repository.findSummaries(query, null, 11)).thenReturn(List.of(live));
+        when(resultArchive.isEmpty()).thenReturn(false);
+        when(resultArchive.find(query, null, 11)).thenReturn(List.of(copy, reusedId));
+
+        ResultPage<TestResultSummary> page = service.findPage(query, null, 10);
+
+        assertThat(page.getItems()).containsExactly(live, reusedId);
+    }
+
+    private static TestResultSummary summary(long id, String runId, Instant createdAt) {
+        return TestResultSummary.builder()
+                .id(id)
+                .scope(RunScope.SCENARIO)
+                .status("PASSED")
+                .runId(runId)
+                .createdAt(createdAt)
+                .build();
+    }
 }
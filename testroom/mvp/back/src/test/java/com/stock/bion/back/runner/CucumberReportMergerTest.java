@@ -0,0 +1,95 @@
+package com.stock.bion.back.runner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class CucumberReportMergerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shardsOfOneFeatureAreMergedBackInLineOrder() throws IOException {
+        RawJson first = RawJson.of(
+                """
+                [{"uri": "checkout.feature", "name": "Checkout", "elements": [
+                  {"type": "scenario", "line": 12, "name": "Pay with card"}
+                ]}]
+                """);
+        RawJson second = RawJson.of(
+                """
+                [{"uri": "checkout.feature", "name": "Checkout", "elements": [
+                  {"type": "scenario", "line": 4, "name": "Empty cart"},
+                  {"type": "scenario", "line": 13, "name": "Pay with bank"}
+                ]}]
+                """);
+
+        JsonNode merged = objectMapper.readTree(CucumberReportMerger.mergeReports(List.of(first, second)).bytes());
+
+        assertThat(merged).hasSize(1);
+        assertThat(merged.get(0).get("name").asText()).isEqualTo("Checkout");
+        assertThat(lines(merged.get(0))).containsExactly(4, 12, 13);
+    }
+
+    @Test
+    void backgroundStaysWithTheScenarioAfterIt() throws IOException {
+        RawJson first = RawJson.of(
+                """
+                [{"uri": "checkout.feature", "elements": [
+                  {"type": "background", "line": 2},
+                  {"type": "scenario", "line": 12}
+                ]}]
+                """);
+        RawJson second = RawJson.of(
+                """
+                [{"uri": "checkout.feature", "elements": [
+                  {"type": "background", "line": 2},
+                  {"type": "scenario", "line": 4}
+                ]}]
+                """);
+
+        JsonNode merged = objectMapper.readTree(CucumberReportMerger.mergeReports(List.of(first, second)).bytes());
+
+        assertThat(lines(merged.get(0))).containsExactly(2, 4, 2, 12);
+        assertThat(merged.get(0).get("elements").get(0).get("type").asText()).isEqualTo("background");
+        assertThat(merged.get(0).get("elements").get(2).get("type").asText()).isEqualTo("background");
+    }
+
+    @Test
+    void firstErrorStatusWinsAndErrorsAreJoined() {
+        ResponseEntity<RunResponse> merged = CucumberReportMerger.merge(List.of(
+                ResponseEntity.ok(RunResponse.builder().stdout("shard 1").build()),
+                ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(RunResponse.builder().stdout("shard 2").error("browser crashed").build()),
+                ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                        .body(RunResponse.builder().error("browser crashed").build())));
+
+        assertThat(merged.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(merged.getBody().getStdout()).isEqualTo("shard 1\nshard 2");
+        assertThat(merged.getBody().getError()).isEqualTo("browser crashed");
+    }
+
+    @Test
+    void noReportsGiveNoReport() {
+        ResponseEntity<RunResponse> merged = CucumberReportMerger.merge(List.of(
+                ResponseEntity.ok(RunResponse.builder().stdout("shard 1").build()),
+                ResponseEntity.ok(RunResponse.builder().stdout("shard 2").build())));
+
+        assertThat(merged.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(merged.getBody().getReport()).isNull();
+        assertThat(CucumberReportMerger.mergeReports(new ArrayList<>())).isNull();
+    }
+
+    private static List<Integer> lines(JsonNode feature) {
+        List<Integer> lines = new ArrayList<>();
+        feature.get("elements").forEach(element -> lines.add(element.get("line").asInt()));
+        return lines;
+    }
+}
@@ -0,0 +1,93 @@
+package com.stock.bion.back.runner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FeatureShardPlannerTest {
+
+    private static final String OUTLINE_FEATURE =
+            """
+            Feature: Checkout
+              Background:
+                Given a signed in user
+              Scenario: Empty cart
+                Given the cart contains
+                  | item |
+                  | none |
+              Scenario Outline: Pay with <method>
+                When I pay with <method>
+                Examples:
+                  | method |
+                  | card   |
+                  | bank   |
+                  | points |
+            """;
+
+    @Test
+    void scenarioLinesExpandsOutlineRowsAndIgnoresStepTables() {
+        assertThat(FeatureShardPlanner.scenarioLines(OUTLINE_FEATURE)).containsExactly(4, 12, 13, 14);
+    }
+
+    @Test
+    void scenarioLinesFollowsTheLanguageHeader() {
+        String korean =
+                """
+                # language: ko
+                기능: 결제
+                  배경:
+                    조건 로그인한 사용자
+                  시나리오: 빈 장바구니
+                    만약 결제를 누르면
+                  시나리오 개요: <수단>으로 결제
+                    만약 <수단>으로 결제하면
+                    예:
+                      | 수단 |
+                      | 카드 |
+                      | 포인트 |
+                """;
+
+        assertThat(FeatureShardPlanner.scenarioLines(korean)).containsExactly(5, 11, 12);
+    }
+
+    @Test
+    void featureInAnUnknownDialectStaysWhole() {
+        String french =
+                """
+                # language: fr
+                Fonctionnalité: Paiement
+                  Scénario: Panier vide
+                    Quand je paie
+                """;
+
+        assertThat(FeatureShardPlanner.scenarioLines(french)).isEmpty();
+    }
+
+    @Test
+    void planSpreadsExampleRowsAcrossShards() {
+        RunRequest request =
+                RunRequest.builder()
+                        .features(List.of(RunRequest.Asset.builder().content(OUTLINE_FEATURE).build()))
+                        .steps(List.of(RunRequest.Asset.builder().name("steps.ts").content("// steps").build()))
+                        .build();
+
+        List<RunRequest> plan = FeatureShardPlanner.plan(request, 2);
+
+        assertThat(plan).hasSize(2);
+        assertThat(plan.get(0).getFeatures().get(0).getLines()).containsExactly(4, 13);
+        assertThat(plan.get(1).getFeatures().get(0).getLines()).containsExactly(12, 14);
+        assertThat(plan.get(0).getFeatures().get(0).getName()).isEqualTo("feature-1.feature");
+        assertThat(plan.get(1).getSteps()).hasSize(1);
+    }
+
+    @Test
+    void planKeepsRequestWhenSingleShard() {
+        RunRequest request =
+                RunRequest.builder()
+                        .features(List.of(RunRequest.Asset.builder().content(OUTLINE_FEATURE).build()))
+                        .build();
+
+        assertThat(FeatureShardPlanner.plan(request, 1)).containsExactly(request);
+    }
+}
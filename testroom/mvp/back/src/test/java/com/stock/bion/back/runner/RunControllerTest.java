@@ -8,8 +8,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stock.bion.back.result.ResultRecorder;
 import com.stock.bion.back.result.TestResultRequest;
-import com.stock.bion.back.result.TestResultService;
 import com.stock.bion.back.security.JwtAuthenticationFilter;
 import com.stock.bion.back.security.JwtTokenProvider;
 import java.util.List;
@@ -36,7 +36,7 @@ class RunControllerTest {
     private RunService runService;
 
     @MockitoBean
-    private TestResultService testResultService;
+    private ResultRecorder resultRecorder;
 
     @MockitoBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -70,6 +70,6 @@ class RunControllerTest {
                 .andExpect(jsonPath("$.stdout").value("Scenario passed"));
 
         verify(runService).execute(any(RunRequest.class));
-        verify(testResultService).saveResult(any(TestResultRequest.class));
+        verify(resultRecorder).record(any(TestResultRequest.class));
     }
 }
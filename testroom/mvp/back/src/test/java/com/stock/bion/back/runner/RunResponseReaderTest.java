@@ -0,0 +1,31 @@
+package com.stock.bion.back.runner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class RunResponseReaderTest {
+
+    @Test
+    void readKeepsReportBytesVerbatimAndAnalyzesThem() {
+        String report = "[ {\"elements\":[{\"steps\":[{\"result\":{\"status\":\"failed\"}}]}]} ]";
+        String body = "{\"stdout\":\"out\",\"report\":" + report + ",\"stderr\":null,\"extra\":{\"a\":[1]}}";
+
+        RunResponse response = RunResponseReader.read(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getStdout()).isEqualTo("out");
+        assertThat(response.getStderr()).isNull();
+        assertThat(response.getReport().toString()).isEqualTo(report);
+        assertThat(response.getAnalysis().status()).isEqualTo("FAILED");
+        assertThat(RunStatusResolver.resolveStatus(response)).isEqualTo("FAILED");
+    }
+
+    @Test
+    void responsesWithoutReportResolveAsCompleted() {
+        RunResponse response = RunResponseReader.read("{\"stdout\":\"ok\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getReport()).isNull();
+        assertThat(RunStatusResolver.resolveStatus(response)).isEqualTo("COMPLETED");
+    }
+}
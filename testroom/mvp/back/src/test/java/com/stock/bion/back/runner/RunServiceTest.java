@@ -80,4 +80,109 @@ class RunServiceTest {
         assertThat(body.get("steps").size()).isEqualTo(1);
         assertThat(body.get("features").get(0).get("content").asText()).isEqualTo("Feature: Login");
     }
+
+    @Test
+    void executeSkipsRunWhenPreflightReportsUndefinedSteps() throws Exception {
+        RunService preflightingService =
+                new RunService(WebClient.builder(), mockWebServer.url("/").toString(), Duration.ofSeconds(5), true, 1);
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(
+                                """
+                                    {
+                                      "stdout": "",
+                                      "report": [
+                                        { "elements": [ { "steps": [ { "result": { "status": "undefined" } } ] } ] }
+                                      ]
+                                    }
+                                    """));
+
+        ResponseEntity<RunResponse> response = preflightingService.execute(sampleRequest());
+
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getPreflightFailed()).isTrue();
+        assertThat(RunStatusResolver.resolveStatus(response.getBody())).isEqualTo("UNDEFINED");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/preflight");
+    }
+
+    @Test
+    void executeRunsAfterCleanPreflight() throws Exception {
+        RunService preflightingService =
+                new RunService(WebClient.builder(), mockWebServer.url("/").toString(), Duration.ofSeconds(5), true, 1);
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(
+                                """
+                                    {
+                                      "report": [
+                                        { "elements": [ { "steps": [ { "result": { "status": "skipped" } } ] } ] }
+                                      ]
+                                    }
+                                    """));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{ \"stdout\": \"Scenario passed\" }"));
+
+        ResponseEntity<RunResponse> response = preflightingService.execute(sampleRequest());
+
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStdout()).contains("Scenario passed");
+        assertThat(response.getBody().getPreflightFailed()).isNull();
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/preflight");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/run");
+    }
+
+    @Test
+    void executeRunsWhenRunnerHasNoPreflightRoute() throws Exception {
+        RunService preflightingService =
+                new RunService(WebClient.builder(), mockWebServer.url("/").toString(), Duration.ofSeconds(5), true, 1);
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setResponseCode(404)
+                        .setHeader("Content-Type", "text/html; charset=utf-8")
+                        .setBody("<!DOCTYPE html><html><body><pre>Cannot POST /preflight</pre></body></html>"));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{ \"stdout\": \"Scenario passed\" }"));
+
+        ResponseEntity<RunResponse> response = preflightingService.execute(sampleRequest());
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(response.getBody().getStdout()).contains("Scenario passed");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/preflight");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/run");
+    }
+
+    @Test
+    void executeRunsWhenPreflightFailsOnTheRunner() throws Exception {
+        RunService preflightingService =
+                new RunService(WebClient.builder(), mockWebServer.url("/").toString(), Duration.ofSeconds(5), true, 1);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500).setBody("Internal Server Error"));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody("{ \"stdout\": \"Scenario passed\" }"));
+
+        ResponseEntity<RunResponse> response = preflightingService.execute(sampleRequest());
+
+        assertThat(response.getBody().getStdout()).contains("Scenario passed");
+        assertThat(response.getBody().getPreflightFailed()).isNull();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    private RunRequest sampleRequest() {
+        return RunRequest.builder()
+                .features(
+                        List.of(
+                                RunRequest.Asset.builder()
+                                        .name("login.feature")
+                                        .content("Feature: Login")
+                                        .build()))
+                .build();
+    }
 }
@@ -0,0 +1,109 @@
+package com.stock.bion.back.scenario;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.stock.bion.back.asset.AssetHash;
+import com.stock.bion.back.service.Service;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ScenarioRepositoryTest {
+
+    private static final int SCENARIOS = 30;
+
+    @Autowired
+    private ScenarioRepository scenarioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Service service;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        service = entityManager.persist(Service.builder().name("checkout").build());
+        for (int i = 0; i < SCENARIOS; i++) {
+            Scenario scenario = Scenario.builder()
+                    .title("scenario " + i)
+                    .features(new ArrayList<>(List.of(asset("s" + i + ".feature", "Feature: " + i))))
+                    .steps(new ArrayList<>(List.of(asset("login.steps.ts", "login"), asset("cart.steps.ts", "cart"))))
+                    .build();
+            scenario.setService(service);
+            entityManager.persist(scenario);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void summaryPageTakesThreeQueriesWhateverItsSize() {
+        List<ScenarioSummary> page = scenarioRepository.findSummaries(service.getId(), null, 20);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(page).hasSize(20);
+        ScenarioSummary newest = page.get(0);
+        assertThat(newest.getTitle()).isEqualTo("scenario 29");
+        assertThat(newest.getFeatures()).extracting(ScenarioSummary.Asset::getName).containsExactly("s29.feature");
+        assertThat(newest.getFeatures()).extracting(ScenarioSummary.Asset::getSize).containsExactly(11L);
+        assertThat(newest.getSteps())
+                .extracting(ScenarioSummary.Asset::getName)
+                .containsExactly("login.steps.ts", "cart.steps.ts");
+    }
+
+    @Test
+    void nextPageStartsAfterTheCursor() {
+        List<ScenarioSummary> first = scenarioRepository.findSummaries(service.getId(), null, 20);
+
+        List<ScenarioSummary> rest = scenarioRepository.findSummaries(
+                service.getId(), ScenarioCursor.of(first.get(first.size() - 1)), 20);
+
+        assertThat(rest).hasSize(SCENARIOS - 20);
+        assertThat(rest.get(0).getTitle()).isEqualTo("scenario 9");
+    }
+
+    @Test
+    void detailJoinsFeaturesAndLoadsStepsWithOneMoreQuery() {
+        Long id = scenarioRepository.findSummaries(service.getId(), null, 1).get(0).getId();
+        statistics.clear();
+
+        Scenario scenario = scenarioRepository.findDetailById(id).orElseThrow();
+        assertThat(scenario.getFeatures()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(scenario.getSteps())
+                .extracting(ScenarioAsset::getContentHash)
+                .containsExactly(AssetHash.of("login"), AssetHash.of("cart"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fullListLoadsFilesInBatchesInsteadOfPerScenario() {
+        List<Scenario> scenarios = scenarioRepository.findAllByServiceOrderByUpdatedAtDesc(service);
+        scenarios.forEach(scenario -> {
+            scenario.getFeatures().size();
+            scenario.getSteps().size();
+        });
+
+        assertThat(scenarios).hasSize(SCENARIOS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private static ScenarioAsset asset(String name, String content) {
+        return new ScenarioAsset(name, AssetHash.of(content), (long) content.length());
+    }
+}
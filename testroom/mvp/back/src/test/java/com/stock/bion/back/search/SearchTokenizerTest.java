@@ -0,0 +1,42 @@
+package com.stock.bion.back.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SearchTokenizerTest {
+
+    @Test
+    void termsAreLowerCaseWordsAndTheirCamelCaseParts() {
+        assertThat(SearchTokenizer.terms("java.net.SocketTimeoutException: Read timed out", 100))
+                .containsExactly(
+                        "java", "net", "sockettimeoutexception", "socket", "timeout", "exception", "read", "timed",
+                        "out");
+    }
+
+    @Test
+    void tooShortAndTooLongWordsAreDropped() {
+        assertThat(SearchTokenizer.terms("a " + "x".repeat(65) + " ok", 100)).containsExactly("ok");
+    }
+
+    @Test
+    void termCountIsCapped() {
+        assertThat(SearchTokenizer.terms("one two three four", 2)).containsExactly("one", "two");
+    }
+
+    @Test
+    void queryTermsKeepWholeWordsOnly() {
+        assertThat(SearchTokenizer.queryTerms("  SocketTimeout, expected <200>", 8))
+                .containsExactly("sockettimeout", "expected", "200");
+    }
+
+    @Test
+    void snippetMarksMatchesAndEscapesHtml() {
+        String snippet = ResultSearchService.snippet(
+                "expected <200> but got timeout",
+                ResultSearchService.highlightPattern(List.of("timeout", "200")));
+
+        assertThat(snippet).isEqualTo("expected &lt;<mark>200</mark>&gt; but got <mark>timeout</mark>");
+    }
+}
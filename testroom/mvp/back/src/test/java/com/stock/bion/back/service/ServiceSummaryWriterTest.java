@@ -0,0 +1,64 @@
+package com.stock.bion.back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.stock.bion.back.outbox.ResultEvent;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class ServiceSummaryWriterTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void outcomesKeepOnlyTheLatestRuns() {
+        String outcomes = "";
+        for (String status : new String[] {"FAILED", "PASSED", "COMPLETED", "SKIPPED", "PASSED"}) {
+            outcomes = ServiceSummaryWriter.append(outcomes, status, 4);
+        }
+
+        assertThat(outcomes).isEqualTo("PPFP");
+        assertThat(ServiceSummaryWriter.passRate(outcomes)).isEqualTo(0.75);
+        assertThat(ServiceSummaryWriter.passRate("")).isNull();
+    }
+
+    @Test
+    void resultsTheBackfillFoldedInAreNotCountedAgain() {
+        ServiceSummaryWriter.Runs runs = new ServiceSummaryWriter.Runs("PASSED", T0, 11L, "FP");
+
+        ServiceSummaryWriter.Runs again = runs.add(event(11, "PASSED", T0), 20);
+        ServiceSummaryWriter.Runs next = runs.add(event(12, "FAILED", T0.plusSeconds(1)), 20);
+
+        assertThat(again).isSameAs(runs);
+        assertThat(next.outcomes()).isEqualTo("FPF");
+        assertThat(next.lastResultId()).isEqualTo(11L);
+        assertThat(next.lastStatus()).isEqualTo("FAILED");
+    }
+
+    @Test
+    void resultCommittedAfterAHigherOneIsStillCounted() {
+        ServiceSummaryWriter.Runs runs = new ServiceSummaryWriter.Runs(null, null, null, "");
+
+        // Result 13 committed before 12, which the outbox then delivers from its gaps.
+        runs = runs.add(event(13, "PASSED", T0.plusSeconds(1)), 20).add(event(12, "FAILED", T0), 20);
+
+        assertThat(runs.outcomes()).isEqualTo("PF");
+        assertThat(runs.lastStatus()).isEqualTo("PASSED");
+        assertThat(runs.lastRunAt()).isEqualTo(T0.plusSeconds(1));
+    }
+
+    @Test
+    void lateResultIsCountedButDoesNotBecomeTheLastRun() {
+        ServiceSummaryWriter.Runs runs = new ServiceSummaryWriter.Runs("PASSED", T0, 10L, "P");
+
+        runs = runs.add(event(12, "FAILED", T0.minusSeconds(60)), 20);
+
+        assertThat(runs.outcomes()).isEqualTo("PF");
+        assertThat(runs.lastStatus()).isEqualTo("PASSED");
+        assertThat(runs.lastRunAt()).isEqualTo(T0);
+    }
+
+    private static ResultEvent event(long resultId, String status, Instant createdAt) {
+        return new ResultEvent(resultId, resultId, 1L, null, status, 100L, createdAt);
+    }
+}
@@ -0,0 +1,37 @@
+package com.stock.bion.back.trend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class DurationHistogramTest {
+
+    @Test
+    void binsAreLogScaleAndBoundedAboveByTheirUpperBound() {
+        assertThat(DurationHistogram.bin(0)).isZero();
+        assertThat(DurationHistogram.bin(1)).isEqualTo(1);
+        assertThat(DurationHistogram.bin(Long.MAX_VALUE)).isEqualTo(DurationHistogram.MAX_BIN);
+        for (long ms : new long[] {1, 7, 150, 999, 1000, 45_000, 3_600_000}) {
+            int bin = DurationHistogram.bin(ms);
+            assertThat(DurationHistogram.upperBoundMs(bin)).isGreaterThanOrEqualTo(ms);
+            assertThat(DurationHistogram.upperBoundMs(bin)).isLessThanOrEqualTo((long) Math.ceil(ms * 1.19) + 1);
+        }
+    }
+
+    @Test
+    void percentileWalksCumulativeCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (int i = 0; i < 90; i++) {
+            counts.merge(DurationHistogram.bin(100), 1L, Long::sum);
+        }
+        for (int i = 0; i < 10; i++) {
+            counts.merge(DurationHistogram.bin(5_000), 1L, Long::sum);
+        }
+
+        assertThat(DurationHistogram.percentile(counts, 0.5)).isBetween(100L, 119L);
+        assertThat(DurationHistogram.percentile(counts, 0.95)).isBetween(5_000L, 5_950L);
+        assertThat(DurationHistogram.percentile(Map.of(), 0.5)).isNull();
+    }
+}
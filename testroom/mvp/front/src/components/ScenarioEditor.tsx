@@ -15,6 +15,35 @@ type ScenarioRecord = {
   updatedAt: string
 }
 
+type AssetSummary = {
+  name?: string
+  size?: number | null
+}
+
+type ScenarioSummary = {
+  id: number
+  title: string
+  features: AssetSummary[]
+  steps: AssetSummary[]
+  updatedAt: string
+}
+
+type ScenarioPage = {
+  items: ScenarioSummary[]
+  nextCursor?: string | null
+}
+
+function toSummary(scenario: ScenarioRecord): ScenarioSummary {
+  const summarize = (asset: ScenarioAsset) => ({ name: asset.name, size: asset.content.length })
+  return {
+    id: scenario.id,
+    title: scenario.title,
+    features: scenario.features.map(summarize),
+    steps: scenario.steps.map(summarize),
+    updatedAt: scenario.updatedAt,
+  }
+}
+
 type ScenarioPayload = {
   title: string
   features: ScenarioAsset[]
@@ -48,16 +77,23 @@ type RunHistoryEntry = {
   serviceFullRun?: boolean | null
   status?: string | null
   durationMs?: number | null
-  reportUrl?: string | null
   runId: string
   error?: string | null
   httpStatus?: number | null
-  stdout?: string | null
-  stderr?: string | null
-  report?: string | null
+  passedSteps?: number | null
+  failedSteps?: number | null
+  skippedSteps?: number | null
+  undefinedSteps?: number | null
   createdAt: string
 }
 
+// The report of a history entry, fetched the first time its failure details are expanded.
+type HistoryReport = {
+  open: boolean
+  details?: FailureDetails
+  error?: string
+}
+
 const STATUS_CLASS_MAP: Record<string, string> = {
   PASSED: 'bg-emerald-100 text-emerald-700 border border-emerald-300',
   COMPLETED: 'bg-emerald-100 text-emerald-700 border border-emerald-300',
@@ -95,19 +131,20 @@ function normalizeStatusLabel(status: string | undefined | null) {
   return status.toUpperCase()
 }
 
-function parseHistoryReport(report: string | null | undefined): CucumberReport | null {
-  if (!report) return null
-  try {
-    const parsed = JSON.parse(report)
-    return Array.isArray(parsed) ? (parsed as CucumberReport) : null
-  } catch {
-    return null
-  }
+function isFailedStatus(status: string | undefined | null) {
+  const key = normalizeStatusLabel(status)
+  return key === 'FAILED' || key === 'ERROR'
 }
 
-function extractHistoryDetails(report: string | null | undefined): FailureDetails {
-  const parsed = parseHistoryReport(report)
-  return extractFailureDetails(parsed)
+function formatStepCounts(entry: RunHistoryEntry) {
+  const counts = [
+    [entry.passedSteps, 'passed'],
+    [entry.failedSteps, 'failed'],
+    [entry.skippedSteps, 'skipped'],
+    [entry.undefinedSteps, 'undefined'],
+  ] as const
+  if (counts.every(([count]) => count === undefined || count === null)) return null
+  return counts.map(([count, label]) => `${count ?? 0} ${label}`).join(' · ')
 }
 
 type TypeDefinitionResponse = {
@@ -115,6 +152,21 @@ type TypeDefinitionResponse = {
 }
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || ''
+const RUN_HISTORY_LIMIT = 50
+const SCENARIO_PAGE_SIZE = 50
+
+// One entry per run, newest first; a run can arrive both in the list and on the feed.
+const mergeRunHistory = (...lists: RunHistoryEntry[][]): RunHistoryEntry[] => {
+  const byRun = new Map<string, RunHistoryEntry>()
+  lists.flat().forEach((entry) => {
+    if (!byRun.has(entry.runId)) {
+      byRun.set(entry.runId, entry)
+    }
+  })
+  return [...byRun.values()]
+    .sort((a, b) => Date.parse(b.createdAt) - Date.parse(a.createdAt))
+    .slice(0, RUN_HISTORY_LIMIT)
+}
 
 type ScenarioEditorProps = {
   basePath?: string
@@ -310,7 +362,9 @@ function ScenarioEditor({ basePath = '/api/scenarios' }: ScenarioEditorProps) {
   const monaco = useMonaco()
   const typeLibrariesLoadedRef = useRef(false)
 
-  const [scenarios, setScenarios] = useState<ScenarioRecord[]>([])
+  const [scenarios, setScenarios] = useState<ScenarioSummary[]>([])
+  const [scenariosCursor, setScenariosCursor] = useState<string | null>(null)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
   const [selectedScenarioId, setSelectedScenarioId] = useState<number | null>(null)
   const [title, setTitle] = useState(DEFAULT_TITLE)
   const [featureName, setFeatureName] = useState(DEFAULT_FEATURE_NAME)
@@ -330,6 +384,7 @@ function ScenarioEditor({ basePath = '/api/scenarios' }: ScenarioEditorProps) {
   const [isRunHistoryLoading, setIsRunHistoryLoading] = useState(false)
   const [runHistoryError, setRunHistoryError] = useState<string | null>(null)
   const [activePanel, setActivePanel] = useState<'editor' | 'history'>('editor')
+  const [historyReports, setHistoryReports] = useState<Record<number, HistoryReport>>({})
 
   useEffect(() => {
     if (!monaco) {
@@ -522,7 +577,9 @@ function ScenarioEditor({ basePath = '/api/scenarios' }: ScenarioEditorProps) {
       ) : (
         <ul className="mt-3 space-y-2">
           {items.map((entry) => {
-            const failureDetails = extractHistoryDetails(entry.report)
+            const stepCounts = formatStepCounts(entry)
+            const historyReport = entry.id !== undefined ? historyReports[entry.id] : undefined
+            const failureDetails = historyReport?.details ?? { attachments: [], messages: [] }
             const imageAttachments = failureDetails.attachments.filter((attachment) =>
               attachment.mimeType.toLowerCase().startsWith('image/')
             )
@@ -562,91 +619,116 @@ function ScenarioEditor({ basePath = '/api/scenarios' }: ScenarioEditorProps) {
                     <span className="font-mono text-[11px] text-slate-700">{entry.runId}</span>
                   </span>
                 </div>
+                {stepCounts && <p className="mt-2 text-xs text-slate-600">Steps: {stepCounts}</p>}
                 {entry.error && (
                   <p className="mt-2 text-xs text-rose-600">
                     Error: <span className="font-mono text-[11px]">{entry.error}</span>
                   </p>
                 )}
-                {entry.stdout && (
-                  <details className="mt-2 text-xs">
-                    <summary className="cursor-pointer text-slate-600">Show stdout</summary>
-                    <pre className="mt-1 max-h-40 overflow-auto whitespace-pre-wrap rounded border border-slate-200 bg-slate-50 p-2 text-[11px] text-slate-800">
-                      {entry.stdout}
-                    </pre>
-                  </details>
-                )}
-                {entry.stderr && (
-                  <details className="mt-2 text-xs">
-                    <summary className="cursor-pointer text-slate-600">Show stderr</summary>
-                    <pre className="mt-1 max-h-40 overflow-auto whitespace-pre-wrap rounded border border-slate-200 bg-slate-50 p-2 text-[11px] text-slate-800">
-                      {entry.stderr}
-                    </pre>
-                  </details>
-                )}
-                {failureDetails.messages.length > 0 && (
-                  <details className="mt-2 text-xs">
-                    <summary className="cursor-pointer text-slate-600">
-                      Failure messages ({failureDetails.messages.length})
-                    </summary>
-                    <div className="mt-1 space-y-1">
-                      {failureDetails.messages.map((message, index) => (
-                        <pre
-                          key={`history-failure-message-${entry.runId}-${index}`}
-                          className="max-h-40 overflow-auto whitespace-pre-wrap rounded border border-amber-200 bg-amber-50 p-2 text-[11px] text-amber-800"
-                        >
-                          {message}
-                        </pre>
-                      ))}
-                    </div>
-                  </details>
-                )}
-                {imageAttachments.length > 0 && (
-                  <div className="mt-3">
-                    <p className="text-xs font-semibold text-slate-600">
-                      Screenshots ({imageAttachments.length})
-                    </p>
-                    <div className="mt-1 flex flex-wrap gap-2">
-                      {imageAttachments.map((attachment) => {
-                        const dataUrl = `data:${attachment.mimeType};base64,${attachment.data}`
-                        return (
-                          <button
-                            key={attachment.id}
-                            type="button"
-                            className="group overflow-hidden rounded border border-slate-200 bg-slate-100"
-                            onClick={() => onSelectAttachment(attachment)}
-                          >
-                            <img
-                              src={dataUrl}
-                              alt={attachment.stepName ?? 'Screenshot'}
-                              className="h-20 w-28 object-cover transition group-hover:opacity-80"
-                            />
-                          </button>
-                        )
-                      })}
-                    </div>
+                {entry.id !== undefined && (
+                  <div className="mt-2 flex gap-3 text-xs">
+                    {(['stdout', 'stderr', 'report'] as const).map((artifact) => (
+                      <a
+                        key={`history-artifact-${entry.runId}-${artifact}`}
+                        href={`${API_BASE_URL}/api/results/${entry.id}/${artifact}`}
+                        target="_blank"
+                        rel="noreferrer"
+                        className="text-slate-600 underline hover:text-slate-800"
+                      >
+                        {artifact}
+                      </a>
+                    ))}
                   </div>
                 )}
-                {textAttachments.length > 0 && (
-                  <details className="mt-2 text-xs">
-                    <summary className="cursor-pointer text-slate-600">
-                      Failure logs ({textAttachments.length})
+                {entry.id !== undefined && isFailedStatus(entry.status) && (
+                  <details className="mt-2 text-xs" open={historyReport?.open ?? false}>
+                    <summary
+                      className="cursor-pointer text-slate-600"
+                      onClick={(event) => {
+                        event.preventDefault()
+                        if (entry.id !== undefined) {
+                          void toggleHistoryReport(entry.id)
+                        }
+                      }}
+                    >
+                      Failure details
                     </summary>
-                    <div className="mt-1 space-y-2">
-                      {textAttachments.map((attachment) => (
-                        <div
-                          key={attachment.id}
-                          className="rounded border border-slate-200 bg-slate-50 p-2"
-                        >
-                          <p className="text-[11px] font-medium text-slate-600">
-                            {attachment.scenarioName && `${attachment.scenarioName}: `}
-                            {attachment.stepName ?? 'Log'}
-                          </p>
-                          <pre className="mt-1 max-h-40 overflow-auto whitespace-pre-wrap text-[11px] text-slate-700">
-                            {decodeAttachment(attachment.data)}
-                          </pre>
+                    {historyReport?.error ? (
+                      <p className="mt-1 text-rose-600">{historyReport.error}</p>
+                    ) : !historyReport?.details ? (
+                      <p className="mt-1 text-slate-500">Loading report...</p>
+                    ) : (
+                      failureDetails.messages.length === 0 &&
+                      failureDetails.attachments.length === 0 && (
+                        <p className="mt-1 text-slate-500">The report has no failure messages.</p>
+                      )
+                    )}
+                    {failureDetails.messages.length > 0 && (
+                      <details className="mt-2 text-xs">
+                        <summary className="cursor-pointer text-slate-600">
+                          Failure messages ({failureDetails.messages.length})
+                        </summary>
+                        <div className="mt-1 space-y-1">
+                          {failureDetails.messages.map((message, index) => (
+                            <pre
+                              key={`history-failure-message-${entry.runId}-${index}`}
+                              className="max-h-40 overflow-auto whitespace-pre-wrap rounded border border-amber-200 bg-amber-50 p-2 text-[11px] text-amber-800"
+                            >
+                              {message}
+                            </pre>
+                          ))}
                         </div>
-                      ))}
-                    </div>
+                      </details>
+                    )}
+                    {imageAttachments.length > 0 && (
+                      <div className="mt-3">
+                        <p className="text-xs font-semibold text-slate-600">
+                          Screenshots ({imageAttachments.length})
+                        </p>
+                        <div className="mt-1 flex flex-wrap gap-2">
+                          {imageAttachments.map((attachment) => {
+                            const dataUrl = `data:${attachment.mimeType};base64,${attachment.data}`
+                            return (
+                              <button
+                                key={attachment.id}
+                                type="button"
+                                className="group overflow-hidden rounded border border-slate-200 bg-slate-100"
+                                onClick={() => onSelectAttachment(attachment)}
+                              >
+                                <img
+                                  src={dataUrl}
+                                  alt={attachment.stepName ?? 'Screenshot'}
+                                  className="h-20 w-28 object-cover transition group-hover:opacity-80"
+                                />
+                              </button>
+                            )
+                          })}
+                        </div>
+                      </div>
+                    )}
+                    {textAttachments.length > 0 && (
+                      <details className="mt-2 text-xs">
+                        <summary className="cursor-pointer text-slate-600">
+                          Failure logs ({textAttachments.length})
+                        </summary>
+                        <div className="mt-1 space-y-2">
+                          {textAttachments.map((attachment) => (
+                            <div
+                              key={attachment.id}
+                              className="rounded border border-slate-200 bg-slate-50 p-2"
+                            >
+                              <p className="text-[11px] font-medium text-slate-600">
+                                {attachment.scenarioName && `${attachment.scenarioName}: `}
+                                {attachment.stepName ?? 'Log'}
+                              </p>
+                              <pre className="mt-1 max-h-40 overflow-auto whitespace-pre-wrap text-[11px] text-slate-700">
+                                {decodeAttachment(attachment.data)}
+                              </pre>
+                            </div>
+                          ))}
+                        </div>
+                      </details>
+                    )}
                   </details>
                 )}
               </li>
@@ -682,8 +764,11 @@ function ScenarioEditor({ basePath = '/api/scenarios' }: ScenarioEditorProps) {
     setIsRunHistoryLoading(true)
     setRunHistoryError(null)
     try {
-      const data = await fetchJson<RunHistoryEntry[]>('/api/results')
-      setRunHistory(Array.isArray(data) ? data : [])
+      const data = await fetchJson<{ items: RunHistoryEntry[]; nextCursor?: string | null }>(
+        `/api/results?limit=${RUN_HISTORY_LIMIT}`
+      )
+      const items = Array.isArray(data?.items) ? data.items : []
+      setRunHistory((current) => mergeRunHistory(items, current))
     } catch (err) {
       const message =
         err instanceof Error ? err.message : 'Failed to load run history. Please try again.'
@@ -693,15 +778,48 @@ function ScenarioEditor({ basePath = '/api/scenarios' }: ScenarioEditorProps) {
     }
   }, [fetchJson])
 
-  useEffect(() => {
-    void loadRunHistory()
-  }, [loadRunHistory])
+  const toggleHistoryReport = useCallback(
+    async (id: number) => {
+      const requested = historyReports[id] !== undefined
+      setHistoryReports((current) => ({ ...current, [id]: { ...current[id], open: !current[id]?.open } }))
+      if (requested) {
+        return
+      }
+      try {
+        const report = await fetchJson<CucumberReport>(`/api/results/${id}/report`)
+        const details = extractFailureDetails(report)
+        setHistoryReports((current) => ({ ...current, [id]: { ...current[id], details } }))
+      } catch (err) {
+        const message = err instanceof Error ? err.message : 'Failed to load the report.'
+        setHistoryReports((current) => ({ ...current, [id]: { ...current[id], error: message } }))
+      }
+    },
+    [fetchJson, historyReports]
+  )
 
+  // New results are pushed by the server instead of refetching the list after every run. The list
+  // is loaded once the feed is connected, so a result stored in between arrives on one or the other.
   useEffect(() => {
-    if (activePanel === 'history') {
-      void loadRunHistory()
+    const feed = new EventSource(`${API_BASE_URL}/api/results/feed`)
+    let loaded = false
+    const loadOnce = () => {
+      if (!loaded) {
+        loaded = true
+        void loadRunHistory()
+      }
     }
-  }, [activePanel, loadRunHistory])
+    feed.addEventListener('open', loadOnce)
+    // Still show the list when the feed cannot connect.
+    feed.addEventListener('error', loadOnce)
+    feed.addEventListener('result', (event) => {
+      const entry = JSON.parse((event as MessageEvent<string>).data) as RunHistoryEntry
+      setRunHistory((current) => mergeRunHistory([entry], current))
+    })
+    feed.addEventListener('reset', () => {
+      void loadRunHistory()
+    })
+    return () => feed.close()
+  }, [loadRunHistory])
 
   useEffect(() => {
     if (!monaco || typeLibrariesLoadedRef.current) {
@@ -845,10 +963,11 @@ interface ImportMeta {
     setError(null)
 
     try {
-      const data = await fetchJson<ScenarioRecord[]>(basePath)
-      setScenarios(data)
-      if (data.length > 0) {
-        applyScenario(data[0])
+      const page = await fetchJson<ScenarioPage>(`${basePath}/summaries?limit=${SCENARIO_PAGE_SIZE}`)
+      setScenarios(page.items)
+      setScenariosCursor(page.nextCursor ?? null)
+      if (page.items.length > 0) {
+        applyScenario(await fetchJson<ScenarioRecord>(`${basePath}/${page.items[0].id}`))
       } else {
         resetEditor()
       }
@@ -865,27 +984,43 @@ interface ImportMeta {
     void loadScenarios()
   }, [loadScenarios])
 
+  const loadMoreScenarios = useCallback(async () => {
+    if (!scenariosCursor) return
+    setIsLoadingMore(true)
+    try {
+      const page = await fetchJson<ScenarioPage>(
+        `${basePath}/summaries?limit=${SCENARIO_PAGE_SIZE}&cursor=${encodeURIComponent(scenariosCursor)}`
+      )
+      setScenarios((current) => [
+        ...current,
+        ...page.items.filter((item) => !current.some((existing) => existing.id === item.id)),
+      ])
+      setScenariosCursor(page.nextCursor ?? null)
+    } catch (err) {
+      const message = err instanceof Error ? err.message : 'Failed to load more scenarios.'
+      setError(message)
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }, [basePath, fetchJson, scenariosCursor])
+
   const handleSelectScenario = useCallback(
-    (id: number) => {
-      const scenario = scenarios.find((item) => item.id === id)
-      if (!scenario) {
-        return
-      }
-      applyScenario(scenario)
+    async (id: number) => {
       setFeedback(null)
       setError(null)
+      try {
+        applyScenario(await fetchJson<ScenarioRecord>(`${basePath}/${id}`))
+      } catch (err) {
+        const message = err instanceof Error ? err.message : 'Failed to load the scenario.'
+        setError(message)
+      }
     },
-    [applyScenario, scenarios]
+    [applyScenario, basePath, fetchJson]
   )
 
   const upsertScenarioInList = useCallback((updated: ScenarioRecord) => {
-    setScenarios((current) => {
-      const exists = current.some((item) => item.id === updated.id)
-      if (exists) {
-        return current.map((item) => (item.id === updated.id ? updated : item))
-      }
-      return [updated, ...current]
-    })
+    const summary = toSummary(updated)
+    setScenarios((current) => [summary, ...current.filter((item) => item.id !== updated.id)])
   }, [])
 
   const handleNewScenario = useCallback(() => {
@@ -1000,9 +1135,8 @@ interface ImportMeta {
       setError(message)
     } finally {
       setIsRunning(false)
-      void loadRunHistory()
     }
-  }, [runPayload, serviceRunPath, scenarioPayload, scenarioRunMetadata, loadRunHistory])
+  }, [runPayload, serviceRunPath, scenarioPayload, scenarioRunMetadata])
 
   // Removed: redundant "Run Service (all steps)" button/handler. Use Run Scenario instead.
 
@@ -1032,7 +1166,7 @@ interface ImportMeta {
                   <li key={scenario.id}>
                     <button
                       type="button"
-                      onClick={() => handleSelectScenario(scenario.id)}
+                      onClick={() => void handleSelectScenario(scenario.id)}
                       className={`w-full rounded border px-3 py-2 text-left text-sm transition hover:border-blue-400 ${
                         isActive
                           ? 'border-blue-500 bg-blue-50 text-blue-900'
@@ -1043,10 +1177,27 @@ interface ImportMeta {
                       <span className="text-xs text-slate-500">
                         Updated {new Date(scenario.updatedAt).toLocaleString()}
                       </span>
+                      {scenario.features.length > 0 && (
+                        <span className="block truncate text-xs text-slate-400">
+                          {scenario.features.map((feature) => feature.name).join(', ')}
+                        </span>
+                      )}
                     </button>
                   </li>
                 )
               })}
+              {scenariosCursor && (
+                <li>
+                  <button
+                    type="button"
+                    onClick={() => void loadMoreScenarios()}
+                    disabled={isLoadingMore}
+                    className="w-full rounded border border-slate-200 px-3 py-2 text-xs text-slate-600 hover:border-blue-400 disabled:opacity-50"
+                  >
+                    {isLoadingMore ? 'Loading...' : 'Load more'}
+                  </button>
+                </li>
+              )}
             </ul>
           )}
         </aside>
@@ -1181,7 +1332,6 @@ interface ImportMeta {
                         setError(message)
                       } finally {
                         setIsRunningService(false)
-                        void loadRunHistory()
                       }
                     }}
                     disabled={isBusy}
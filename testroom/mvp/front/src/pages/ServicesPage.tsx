@@ -9,6 +9,11 @@ type Service = {
   createdAt: string
   updatedAt: string
   scenarioCount: number
+  stepCount: number
+  lastRunStatus?: string | null
+  lastRunAt?: string | null
+  recentRuns: number
+  passRate?: number | null
 }
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || ''
@@ -122,7 +127,16 @@ export default function ServicesPage() {
                 </Link>
               </h2>
               {svc.description && <p className="mt-1 text-sm text-slate-600">{svc.description}</p>}
-              <p className="mt-2 text-xs text-slate-500">{svc.scenarioCount} scenarios</p>
+              <p className="mt-2 text-xs text-slate-500">
+                {svc.scenarioCount} scenarios · {svc.stepCount} steps
+              </p>
+              {svc.lastRunAt && (
+                <p className="mt-1 text-xs text-slate-500">
+                  Last run {svc.lastRunStatus} {new Date(svc.lastRunAt).toLocaleString()}
+                  {svc.passRate != null &&
+                    ` · ${Math.round(svc.passRate * 100)}% passed in the last ${svc.recentRuns} runs`}
+                </p>
+              )}
             </li>
           ))}
         </ul>
@@ -80,9 +80,19 @@ async function materializeRunDir(body) {
 
   await fs.mkdir(stepDir, { recursive: true });
 
+  // lines가 지정된 피처는 `file.feature:12:15` 형태로 해당 시나리오/Examples 행만 실행한다.
+  const featurePaths = [];
+  let hasLineFilter = false;
+
   await Promise.all(
     body.features.map((item, index) => {
       const fileName = item.name || `feature-${index + 1}.feature`;
+      if (Array.isArray(item.lines) && item.lines.length > 0) {
+        hasLineFilter = true;
+        featurePaths.push(`features/${fileName}:${item.lines.join(':')}`);
+      } else {
+        featurePaths.push(`features/${fileName}`);
+      }
       return fs.writeFile(
         path.join(featureDir, fileName),
         normalizeContent(item.content),
@@ -104,7 +114,7 @@ async function materializeRunDir(body) {
     );
   }
 
-  return { runDir, featureDir };
+  return { runDir, featureDir, featurePaths: hasLineFilter ? featurePaths : null };
 }
 
 function runCucumber(opts) {
@@ -120,16 +130,25 @@ function runCucumber(opts) {
 
   const args = ['--config', 'cucumber.js'];
 
-  // 최소 변경: 환경변수로 retry 옵션 주입
-  const retry = Number(process.env.CUCUMBER_RETRY || '1');
-  if (!Number.isNaN(retry) && retry > 0) {
-    args.push('--retry', String(retry));
+  if (opts.dryRun) {
+    // dry-run은 훅/스텝을 실행하지 않으므로 브라우저를 띄우지 않고 undefined/ambiguous만 판별한다.
+    args.push('--dry-run');
+  } else {
+    // 최소 변경: 환경변수로 retry 옵션 주입
+    const retry = Number(process.env.CUCUMBER_RETRY || '1');
+    if (!Number.isNaN(retry) && retry > 0) {
+      args.push('--retry', String(retry));
+    }
+    const retryTagFilter = process.env.CUCUMBER_RETRY_TAG_FILTER;
+    if (retryTagFilter) {
+      args.push('--retryTagFilter', String(retryTagFilter));
+    }
   }
-  const retryTagFilter = process.env.CUCUMBER_RETRY_TAG_FILTER;
-  if (retryTagFilter) {
-    args.push('--retryTagFilter', String(retryTagFilter));
+  if (opts.featurePaths) {
+    args.push(...opts.featurePaths);
+  } else {
+    args.push('features');
   }
-  args.push('features');
 
   const env = {
     ...process.env,
@@ -198,6 +217,75 @@ async function seedSupportFiles(runDir) {
   );
 }
 
+async function removeRunDir(runDir) {
+  if (!runDir) {
+    return;
+  }
+  try {
+    await fs.rm(runDir, { recursive: true, force: true });
+  } catch (cleanupError) {
+    // eslint-disable-next-line no-console
+    console.warn(`Failed to remove run directory ${runDir}:`, cleanupError);
+  }
+}
+
+function isEmptyReport(report) {
+  return !Array.isArray(report) || report.length === 0;
+}
+
+// Preflight: 실제 실행 전에 cucumber --dry-run으로 문법 오류와 undefined/ambiguous 스텝만 빠르게 확인한다.
+app.post('/preflight', async (req, res) => {
+  try {
+    validatePayload(req.body);
+  } catch (err) {
+    res.status(400).json({ error: err.message });
+    return;
+  }
+
+  let context;
+  try {
+    context = await materializeRunDir(req.body);
+    await seedSupportFiles(context.runDir);
+
+    let result;
+    try {
+      result = await runCucumber({ ...context, dryRun: true });
+    } catch (err) {
+      if (typeof err.code !== 'number') {
+        throw err;
+      }
+      // undefined 스텝이 있으면 cucumber가 non-zero로 종료하지만 report는 정상적으로 남는다.
+      result = err;
+    }
+
+    const report = await readRunReport(context.runDir);
+    if (result.code !== 0 && isEmptyReport(report)) {
+      // Gherkin 파싱 오류 등으로 시나리오가 하나도 로드되지 않은 경우
+      res.status(422).json({
+        error: 'Preflight failed: features could not be loaded',
+        stdout: result.stdout,
+        stderr: result.stderr,
+        report,
+      });
+      return;
+    }
+
+    res.json({
+      stdout: result.stdout,
+      stderr: result.stderr,
+      report,
+    });
+  } catch (err) {
+    res.status(500).json({
+      error: err.message,
+      stdout: err.stdout,
+      stderr: err.stderr,
+    });
+  } finally {
+    await removeRunDir(context?.runDir);
+  }
+});
+
 app.post('/run', async (req, res) => {
   try {
     validatePayload(req.body);
@@ -231,14 +319,7 @@ app.post('/run', async (req, res) => {
       report,
     });
   } finally {
-    if (context?.runDir) {
-      try {
-        await fs.rm(context.runDir, { recursive: true, force: true });
-      } catch (cleanupError) {
-        // eslint-disable-next-line no-console
-        console.warn(`Failed to remove run directory ${context.runDir}:`, cleanupError);
-      }
-    }
+    await removeRunDir(context?.runDir);
   }
 });
 